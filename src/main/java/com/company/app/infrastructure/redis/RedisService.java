@@ -1,23 +1,32 @@
 package com.company.app.infrastructure.redis;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.Cursor;
 import org.springframework.data.redis.core.HashOperations;
 import org.springframework.data.redis.core.ListOperations;
+import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 
+import com.company.app.infrastructure.redis.ratelimit.RedisRateLimiter;
+import com.company.app.infrastructure.redis.ratelimit.RedisRateLimiter.RateLimitPolicy;
+
 @Service
 public class RedisService {
 
     @Autowired
     private StringRedisTemplate redisTemplate;
 
+    @Autowired
+    private RedisRateLimiter rateLimiter;
+
     // ===== 1. CACHING - Most Common Use Case =====
 
     public void cacheUserData(String userId, String userData) {
@@ -128,26 +137,8 @@ public class RedisService {
     // ===== 8. RATE LIMITING =====
 
     public boolean isRateLimited(String userId, int maxRequests, Duration window) {
-        String key = "rate_limit:" + userId;
-
-        // Get current count
-        String currentStr = redisTemplate.opsForValue().get(key);
-        int current = currentStr != null ? Integer.parseInt(currentStr) : 0;
-
-        if (current >= maxRequests) {
-            return true; // Rate limited
-        }
-
-        // Increment counter
-        if (current == 0) {
-            // First request, set with expiration
-            redisTemplate.opsForValue().set(key, "1", window);
-        } else {
-            // Increment existing counter
-            redisTemplate.opsForValue().increment(key);
-        }
-
-        return false; // Not rate limited
+        // one atomic script per check (GCRA over the window) instead of a racy GET then SET/INCR
+        return !rateLimiter.tryAcquire(userId, Map.of("", new RateLimitPolicy(maxRequests, window))).isAllowed();
     }
 
     // ===== 9. PUB/SUB MESSAGING =====
@@ -158,11 +149,32 @@ public class RedisService {
 
     // ===== 10. UTILITY METHODS =====
 
-    public void clearCache(String pattern) {
-        Set<String> keys = redisTemplate.keys(pattern);
-        if (keys != null && !keys.isEmpty()) {
-            redisTemplate.delete(keys);
+    private static final int SCAN_BATCH_SIZE = 500;
+
+    public long clearCache(String pattern) {
+        // SCAN + UNLINK in batches instead of KEYS + DEL, so other clients are never blocked
+        ScanOptions options = ScanOptions.scanOptions().match(pattern).count(SCAN_BATCH_SIZE).build();
+        List<String> batch = new ArrayList<>(SCAN_BATCH_SIZE);
+        long removed = 0;
+
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() >= SCAN_BATCH_SIZE) {
+                    removed += unlink(batch);
+                }
+            }
+        }
+        return removed + unlink(batch);
+    }
+
+    private long unlink(List<String> keys) {
+        if (keys.isEmpty()) {
+            return 0;
         }
+        Long removed = redisTemplate.unlink(keys);
+        keys.clear();
+        return removed != null ? removed : 0;
     }
 
     public Boolean exists(String key) {
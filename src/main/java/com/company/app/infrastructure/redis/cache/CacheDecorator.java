@@ -0,0 +1,16 @@
+package com.company.app.infrastructure.redis.cache;
+
+import org.springframework.cache.Cache;
+
+/**
+ * واجهة لإضافة طبقة فوق منطقة تخزين مؤقت
+ * تطبق الطبقات بالترتيب المحدد في CacheConfig
+ */
+@FunctionalInterface
+public interface CacheDecorator {
+
+    /**
+     * تغليف منطقة التخزين المؤقت وإرجاع النسخة المغلفة
+     */
+    Cache decorate(Cache cache);
+}
@@ -0,0 +1,373 @@
+package com.company.app.infrastructure.redis.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.cache.CacheKeyPrefix;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import com.company.app.infrastructure.redis.cache.breaker.RedisCircuitBreaker;
+import com.company.app.infrastructure.redis.cache.near.CacheInvalidationBus;
+import com.company.app.infrastructure.redis.cache.near.LocalInvalidationListener;
+import com.company.app.infrastructure.redis.cache.ttl.AdaptiveTtlPolicy;
+import com.company.app.infrastructure.redis.sharding.ShardedRedisConnectionFactory;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * عدادات الأجيال لإبطال التخزين المؤقت بشكل محدد النطاق
+ * كل نطاق (لوحة، مستخدم، ...) له عداد يدخل في مفاتيح التخزين؛ زيادة العداد تجعل المفاتيح القديمة
+ * غير قابلة للوصول دون حذف أي مفتاح، وتنتهي صلاحيتها لاحقاً حسب TTL المنطقة.
+ * إبطالات العملية الواحدة تُجمع في CacheInvalidationBatch وتُنفذ بسكربت Lua واحد.
+ * إذا كان Redis غير متاح تُطبق الإبطالات محلياً وتُؤجل، ثم تُعاد كدفعة واحدة عند إغلاق قاطع الدائرة
+ */
+@Service
+@Slf4j
+public class CacheGenerationService implements LocalInvalidationListener {
+
+    public static final String LISTENER_NAME = "cacheGenerations";
+
+    // مفاتيح الأجيال بلا انتهاء: لو عاد العداد إلى الصفر لتكررت أرقام أجيال ما زالت مفاتيحها القديمة موجودة
+    private static final String GENERATION_KEY_PREFIX = "cache_gen:";
+
+    // KEYS: مفاتيح الأجيال (عددها ARGV[1]) ثم أزواج (مفتاح تخزين، فهرس منطقته)
+    // ARGV: عدد الأجيال، قناة الإبطال، ثم رسائل الإبطال
+    // PERSIST يزيل TTL كانت تضعه الإصدارات السابقة على مفاتيح الأجيال
+    private static final RedisScript<List<Object>> INVALIDATE_SCRIPT = RedisScripts.listScript("""
+            local generations = tonumber(ARGV[1])
+            local result = {}
+            for i = 1, generations do
+                result[i] = redis.call('INCR', KEYS[i])
+                redis.call('PERSIST', KEYS[i])
+            end
+            for i = generations + 1, #KEYS, 2 do
+                redis.call('UNLINK', KEYS[i])
+                redis.call('ZREM', KEYS[i + 1], KEYS[i])
+            end
+            for i = 3, #ARGV do
+                redis.call('PUBLISH', ARGV[2], ARGV[i])
+            end
+            return result
+            """);
+
+    private final StringRedisTemplate redisTemplate;
+    private final CacheInvalidationBus invalidationBus;
+    private final AdaptiveTtlPolicy ttlPolicy;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final long localTtlNanos;
+    private final int maxPendingInvalidations;
+    private final Map<String, Generation> localGenerations = new ConcurrentHashMap<>();
+    private final Object pendingLock = new Object();
+    // تُنشأ عند أول تأجيل حتى لا يتسرب this قبل اكتمال البناء
+    private CacheInvalidationBatch pending;
+    private int pendingSize;
+
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder scopesBumped = new LongAdder();
+    private final LongAdder keysUnlinked = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder deferred = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+    public CacheGenerationService(StringRedisTemplate redisTemplate, CacheInvalidationBus invalidationBus,
+            AdaptiveTtlPolicy ttlPolicy, RedisCircuitBreaker circuitBreaker,
+            @Value("${app.cache.generation.local-ttl:10s}") Duration localTtl,
+            @Value("${app.cache.circuit-breaker.max-pending-invalidations:100000}") int maxPendingInvalidations) {
+        this.redisTemplate = redisTemplate;
+        this.invalidationBus = invalidationBus;
+        this.ttlPolicy = ttlPolicy;
+        this.circuitBreaker = circuitBreaker;
+        this.localTtlNanos = localTtl.toNanos();
+        this.maxPendingInvalidations = maxPendingInvalidations;
+    }
+
+    /**
+     * التسجيل في قناة الإبطال وفي قاطع الدائرة بعد اكتمال البناء
+     */
+    @PostConstruct
+    public void register() {
+        invalidationBus.register(LISTENER_NAME, this);
+        circuitBreaker.onRecovery(this::replayDeferred);
+    }
+
+    /**
+     * الجيل الحالي لنطاق معين (صفر إذا لم يتم تعديله من قبل)
+     */
+    public long currentGeneration(String scope) {
+        long now = System.nanoTime();
+        Generation cached = localGenerations.get(scope);
+        if (cached != null && now - cached.expiresAtNanos() < 0) {
+            return cached.value();
+        }
+
+        try {
+            String stored = redisTemplate.opsForValue().get(GENERATION_KEY_PREFIX + scope);
+            long value = stored != null ? Long.parseLong(stored) : 0L;
+            localGenerations.put(scope, new Generation(value, now + localTtlNanos));
+            return value;
+        } catch (Exception e) {
+            log.warn("Failed to read cache generation for scope {}", scope, e);
+            return cached != null ? cached.value() : 0L;
+        }
+    }
+
+    /**
+     * الجيل المخزن في Redis الآن دون النسخة المحلية (للتحقق من أن النطاق لم يتغير منذ قراءة سابقة)
+     */
+    public long storedGeneration(String scope) {
+        String stored = redisTemplate.opsForValue().get(GENERATION_KEY_PREFIX + scope);
+        long value = stored != null ? Long.parseLong(stored) : 0L;
+        localGenerations.put(scope, new Generation(value, System.nanoTime() + localTtlNanos));
+        return value;
+    }
+
+    /**
+     * زيادة جيل نطاق معين لإبطال جميع المفاتيح المرتبطة به
+     */
+    public long bumpGeneration(String scope) {
+        newBatch().bumpScope(scope).execute();
+        Generation generation = localGenerations.get(scope);
+        return generation != null ? generation.value() : 0L;
+    }
+
+    /**
+     * بدء دفعة إبطال جديدة لعملية واحدة
+     */
+    public CacheInvalidationBatch newBatch() {
+        return new CacheInvalidationBatch(this);
+    }
+
+    /**
+     * تنفيذ دفعة إبطال في رحلة واحدة: INCR للأجيال، UNLINK للمفاتيح مع إزالتها من الفهارس،
+     * ونشر رسائل الإبطال للعقد الأخرى من داخل السكربت نفسه
+     */
+    public void invalidate(CacheInvalidationBatch batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        List<String> scopes = new ArrayList<>(batch.getScopes());
+        // every write bumps its scopes, so this is where write rates for adaptive TTLs are observed
+        scopes.forEach(ttlPolicy::recordWrite);
+        List<String> generationKeys = new ArrayList<>();
+        scopes.forEach(scope -> generationKeys.add(GENERATION_KEY_PREFIX + scope));
+        List<String> messages = new ArrayList<>();
+        scopes.forEach(scope -> messages.add(invalidationBus.evictMessage(LISTENER_NAME, scope)));
+
+        ShardedRedisConnectionFactory sharding =
+                ShardedRedisConnectionFactory.unwrap(redisTemplate.getConnectionFactory());
+        // (cache key, index of its region) pairs
+        List<String> unlinkKeys = new ArrayList<>();
+        for (Map.Entry<String, Set<String>> region : batch.getKeys().entrySet()) {
+            String cacheName = region.getKey();
+            String prefix = CacheKeyPrefix.simple().compute(cacheName);
+            for (String key : region.getValue()) {
+                unlinkKeys.add(prefix + key);
+                unlinkKeys.add(CacheKeyIndex.indexKeyName(cacheName, sharding,
+                        (prefix + key).getBytes(StandardCharsets.UTF_8)));
+                messages.add(invalidationBus.evictMessage(cacheName, key));
+            }
+        }
+        int unlinked = unlinkKeys.size() / 2;
+        batch.getBroadcasts().forEach((listenerName, listenerKeys) ->
+                listenerKeys.forEach(key -> messages.add(invalidationBus.evictMessage(listenerName, key))));
+
+        long start = System.nanoTime();
+        List<?> generations;
+        try {
+            generations = sharding == null
+                    ? runInvalidation(generationKeys, unlinkKeys, messages)
+                    : runShardedInvalidation(sharding, generationKeys, unlinkKeys, messages);
+        } catch (RuntimeException e) {
+            failures.increment();
+            if (!RedisCircuitBreaker.isRedisUnavailable(e)) {
+                throw e;
+            }
+            // the database write stands; Redis catches up when it is reachable again
+            defer(batch);
+            return;
+        } finally {
+            recordLatency(System.nanoTime() - start);
+        }
+
+        long expiresAt = System.nanoTime() + localTtlNanos;
+        for (int i = 0; i < scopes.size(); i++) {
+            Object value = generations != null && i < generations.size() ? generations.get(i) : null;
+            long generation = value instanceof Number number ? number.longValue() : 0L;
+            localGenerations.put(scopes.get(i), new Generation(generation, expiresAt));
+        }
+        batch.getKeys().forEach((cacheName, cacheKeys) ->
+                cacheKeys.forEach(key -> invalidationBus.evictLocally(cacheName, key)));
+        batch.getBroadcasts().forEach((listenerName, listenerKeys) ->
+                listenerKeys.forEach(key -> invalidationBus.evictLocally(listenerName, key)));
+
+        batches.increment();
+        scopesBumped.add(scopes.size());
+        keysUnlinked.add(unlinked);
+        log.debug("Invalidated {} scopes and {} keys in one round trip", scopes.size(), unlinked);
+    }
+
+    private List<?> runInvalidation(List<String> generationKeys, List<String> unlinkKeys, List<String> messages) {
+        List<String> keys = new ArrayList<>(generationKeys);
+        keys.addAll(unlinkKeys);
+        List<String> args = new ArrayList<>();
+        args.add(String.valueOf(generationKeys.size()));
+        args.add(CacheInvalidationBus.CHANNEL);
+        args.addAll(messages);
+        return redisTemplate.execute(INVALIDATE_SCRIPT, keys, args.toArray());
+    }
+
+    /**
+     * عند توزيع المفاتيح على عدة عقد: نفس السكربت مرة لكل عقدة بمفاتيحها (فهارس المناطق موزعة مع مفاتيحها)
+     * الرسائل تُنشر مرة واحدة من أول عقدة، لأن المشتركين مشتركون على جميع العقد
+     */
+    private List<?> runShardedInvalidation(ShardedRedisConnectionFactory sharding, List<String> generationKeys,
+            List<String> unlinkKeys, List<String> messages) {
+        Map<String, List<Integer>> generationsByNode = new LinkedHashMap<>();
+        for (int i = 0; i < generationKeys.size(); i++) {
+            generationsByNode.computeIfAbsent(sharding.nodeFor(generationKeys.get(i)), node -> new ArrayList<>())
+                    .add(i);
+        }
+        Map<String, List<String>> unlinksByNode = new LinkedHashMap<>();
+        for (int i = 0; i < unlinkKeys.size(); i += 2) {
+            List<String> nodeKeys = unlinksByNode.computeIfAbsent(sharding.nodeFor(unlinkKeys.get(i)),
+                    node -> new ArrayList<>());
+            nodeKeys.add(unlinkKeys.get(i));
+            nodeKeys.add(unlinkKeys.get(i + 1));
+        }
+        Set<String> nodes = new LinkedHashSet<>(generationsByNode.keySet());
+        nodes.addAll(unlinksByNode.keySet());
+
+        Object[] generations = new Object[generationKeys.size()];
+        List<String> pendingMessages = messages;
+        for (String node : nodes) {
+            List<Integer> positions = generationsByNode.getOrDefault(node, List.of());
+            List<?> results = runInvalidation(positions.stream().map(generationKeys::get).toList(),
+                    unlinksByNode.getOrDefault(node, List.of()), pendingMessages);
+            pendingMessages = List.of();
+            for (int i = 0; i < positions.size() && results != null && i < results.size(); i++) {
+                generations[positions.get(i)] = results.get(i);
+            }
+        }
+        return Arrays.asList(generations);
+    }
+
+    /**
+     * إعادة الإبطالات المؤجلة أثناء انقطاع Redis في رحلة واحدة، ثم تفريغ النسخ المحلية على هذه العقدة
+     * (قد تكون حُمّلت بأجيال محلية مؤقتة، ورسائل الإبطال من العقد الأخرى لم تصل أثناء الانقطاع)
+     */
+    public void replayDeferred() {
+        CacheInvalidationBatch replay;
+        synchronized (pendingLock) {
+            replay = pending;
+            pending = null;
+            pendingSize = 0;
+        }
+        if (replay != null && !replay.isEmpty()) {
+            log.info("Replaying {} scopes and {} regions of invalidations deferred while Redis was unavailable",
+                    replay.getScopes().size(), replay.getKeys().size());
+            invalidate(replay);
+        }
+        invalidationBus.clearAllLocally();
+    }
+
+    /**
+     * الحصول على إحصائيات الإبطال (زمن كل دفعة هو زمن الإبطال لطلب الكتابة)
+     */
+    public InvalidationStats getStats() {
+        long count = batches.sum();
+        return InvalidationStats.builder()
+                .batches(count)
+                .scopesBumped(scopesBumped.sum())
+                .keysUnlinked(keysUnlinked.sum())
+                .failures(failures.sum())
+                .deferred(deferred.sum())
+                .dropped(dropped.sum())
+                .averageLatencyMicros(count > 0 ? TimeUnit.NANOSECONDS.toMicros(totalLatencyNanos.sum()) / count : 0)
+                .maxLatencyMicros(TimeUnit.NANOSECONDS.toMicros(maxLatencyNanos.get()))
+                .build();
+    }
+
+    private void defer(CacheInvalidationBatch batch) {
+        synchronized (pendingLock) {
+            int size = batch.getScopes().size() + batch.getKeys().values().stream().mapToInt(Set::size).sum()
+                    + batch.getBroadcasts().values().stream().mapToInt(Set::size).sum();
+            if (pendingSize + size > maxPendingInvalidations) {
+                dropped.increment();
+                log.error("Dropping cache invalidation batch: {} invalidations already deferred", pendingSize);
+            } else {
+                if (pending == null) {
+                    pending = newBatch();
+                }
+                batch.getScopes().forEach(pending::bumpScope);
+                batch.getKeys().forEach((cacheName, cacheKeys) ->
+                        cacheKeys.forEach(key -> pending.unlink(cacheName, key)));
+                batch.getBroadcasts().forEach((listenerName, listenerKeys) ->
+                        listenerKeys.forEach(key -> pending.broadcast(listenerName, key)));
+                pendingSize += size;
+            }
+        }
+        deferred.increment();
+
+        // move this node to a generation no local copy was stored under, and drop its local copies
+        long expiresAt = System.nanoTime() + localTtlNanos;
+        batch.getScopes().forEach(scope -> localGenerations.compute(scope, (name, current) ->
+                new Generation((current != null ? current.value() : 0L) + 1, expiresAt)));
+        batch.getKeys().forEach((cacheName, cacheKeys) ->
+                cacheKeys.forEach(key -> invalidationBus.evictLocally(cacheName, key)));
+        batch.getBroadcasts().forEach((listenerName, listenerKeys) ->
+                listenerKeys.forEach(key -> invalidationBus.evictLocally(listenerName, key)));
+        log.warn("Redis unavailable, deferred invalidation of {} scopes", batch.getScopes().size());
+    }
+
+    private void recordLatency(long nanos) {
+        totalLatencyNanos.add(nanos);
+        maxLatencyNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    @Override
+    public void evictLocal(Object key) {
+        localGenerations.remove(String.valueOf(key));
+    }
+
+    @Override
+    public void clearLocal() {
+        localGenerations.clear();
+    }
+
+    private record Generation(long value, long expiresAtNanos) {
+    }
+
+    /**
+     * فئة لحفظ إحصائيات الإبطال
+     */
+    @lombok.Builder
+    @lombok.Data
+    public static class InvalidationStats {
+        private long batches;
+        private long scopesBumped;
+        private long keysUnlinked;
+        private long failures;
+        private long deferred;
+        private long dropped;
+        private long averageLatencyMicros;
+        private long maxLatencyMicros;
+    }
+}
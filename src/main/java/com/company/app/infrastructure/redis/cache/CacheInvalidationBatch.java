@@ -0,0 +1,70 @@
+package com.company.app.infrastructure.redis.cache;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * مجموعة إبطالات عملية واحدة (أجيال نطاقات ومفاتيح تخزين) تُرسل إلى Redis دفعة واحدة
+ * التكرار داخل الدفعة يُحذف تلقائياً، فإبطال نفس المستخدم مرتين يكلف أمراً واحداً
+ */
+public class CacheInvalidationBatch {
+
+    private final CacheGenerationService generationService;
+    private final Set<String> scopes = new LinkedHashSet<>();
+    private final Map<String, Set<String>> keys = new LinkedHashMap<>();
+    private final Map<String, Set<String>> broadcasts = new LinkedHashMap<>();
+
+    CacheInvalidationBatch(CacheGenerationService generationService) {
+        this.generationService = generationService;
+    }
+
+    /**
+     * زيادة جيل نطاق (لوحة، مستخدم، ...)
+     */
+    public CacheInvalidationBatch bumpScope(String scope) {
+        scopes.add(scope);
+        return this;
+    }
+
+    /**
+     * حذف مفتاح من منطقة تخزين (UNLINK مع إزالته من فهرس المنطقة والنسخ المحلية)
+     */
+    public CacheInvalidationBatch unlink(String cacheName, String key) {
+        keys.computeIfAbsent(cacheName, name -> new LinkedHashSet<>()).add(key);
+        return this;
+    }
+
+    /**
+     * إشعار مستقبل محلي باسمه على جميع العقد (بما فيها هذه العقدة) دون أي مفتاح في Redis
+     */
+    public CacheInvalidationBatch broadcast(String listenerName, String key) {
+        broadcasts.computeIfAbsent(listenerName, name -> new LinkedHashSet<>()).add(key);
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return scopes.isEmpty() && keys.isEmpty() && broadcasts.isEmpty();
+    }
+
+    public Set<String> getScopes() {
+        return Collections.unmodifiableSet(scopes);
+    }
+
+    public Map<String, Set<String>> getKeys() {
+        return Collections.unmodifiableMap(keys);
+    }
+
+    public Map<String, Set<String>> getBroadcasts() {
+        return Collections.unmodifiableMap(broadcasts);
+    }
+
+    /**
+     * تنفيذ الدفعة في رحلة واحدة إلى Redis
+     */
+    public void execute() {
+        generationService.invalidate(this);
+    }
+}
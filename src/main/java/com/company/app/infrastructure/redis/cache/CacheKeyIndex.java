@@ -0,0 +1,145 @@
+package com.company.app.infrastructure.redis.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import com.company.app.infrastructure.redis.sharding.ShardedRedisConnectionFactory;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * فهرس مفاتيح لكل منطقة تخزين مؤقت في Redis
+ * مجموعة مرتبة cache_index:{region} تحتوي المفاتيح مع وقت انتهاء صلاحيتها كقيمة ترتيب،
+ * مما يسمح بعدّ المفاتيح الحية دون KEYS وبتفريغ المنطقة على دفعات دون حجب Redis.
+ * عند توزيع المفاتيح على عدة عقد يكون للمنطقة فهرس على كل عقدة (cache_index:{region}:{tag})
+ * بجانب مفاتيحها، حتى تبقى الكتابة وتحديث الفهرس على نفس العقدة
+ */
+@Slf4j
+public class CacheKeyIndex {
+
+    private static final String INDEX_KEY_PREFIX = "cache_index:";
+    private static final int PRUNE_ONE_IN = 128;
+
+    private final RedisConnectionFactory connectionFactory;
+    private final ShardedRedisConnectionFactory sharding;
+    private final int batchSize;
+
+    public CacheKeyIndex(RedisConnectionFactory connectionFactory, int batchSize) {
+        this.connectionFactory = connectionFactory;
+        this.sharding = ShardedRedisConnectionFactory.unwrap(connectionFactory);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * تسجيل مفتاح في الفهرس (يُستدعى داخل pipeline مفتوح)
+     */
+    public void recordPut(RedisConnection connection, String cacheName, byte[] key, Duration ttl) {
+        byte[] indexKey = bytes(indexKeyName(cacheName, sharding, key));
+        connection.zSetCommands().zAdd(indexKey, expiryScore(ttl), key);
+        // prune expired members now and then so the index does not grow unbounded between stats calls
+        if (ThreadLocalRandom.current().nextInt(PRUNE_ONE_IN) == 0) {
+            connection.zSetCommands().zRemRangeByScore(indexKey, Double.NEGATIVE_INFINITY,
+                    System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * إزالة مفتاح من الفهرس (يُستدعى داخل pipeline مفتوح)
+     */
+    public void recordRemove(RedisConnection connection, String cacheName, byte[] key) {
+        connection.zSetCommands().zRem(bytes(indexKeyName(cacheName, sharding, key)), key);
+    }
+
+    /**
+     * عدد المفاتيح الحية في منطقة معينة
+     * يحذف أولاً المفاتيح المنتهية ثم يستخدم ZCARD (O(1))
+     */
+    public long liveCount(String cacheName) {
+        List<byte[]> indexKeys = indexKeys(cacheName);
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.openPipeline();
+            for (byte[] indexKey : indexKeys) {
+                connection.zSetCommands().zRemRangeByScore(indexKey, Double.NEGATIVE_INFINITY,
+                        System.currentTimeMillis());
+                connection.zSetCommands().zCard(indexKey);
+            }
+            List<Object> results = connection.closePipeline();
+            long count = 0;
+            for (int i = 1; i < results.size(); i += 2) {
+                count += results.get(i) instanceof Long value ? value : 0L;
+            }
+            return count;
+        }
+    }
+
+    /**
+     * حذف جميع المفاتيح المفهرسة لمنطقة على دفعات باستخدام UNLINK
+     * كل دفعة أمر قصير، فلا يتم حجب باقي العملاء كما يحدث مع KEYS
+     */
+    public long unlinkAll(RedisConnection connection, String cacheName) {
+        long removed = 0;
+        for (byte[] indexKey : indexKeys(cacheName)) {
+            removed += unlinkAll(connection, indexKey);
+        }
+        log.debug("Unlinked {} indexed keys for cache region {}", removed, cacheName);
+        return removed;
+    }
+
+    private long unlinkAll(RedisConnection connection, byte[] indexKey) {
+        long removed = 0;
+        while (true) {
+            Set<byte[]> batch = connection.zSetCommands().zRange(indexKey, 0, batchSize - 1);
+            if (batch == null || batch.isEmpty()) {
+                break;
+            }
+            byte[][] keys = batch.toArray(new byte[0][]);
+            connection.openPipeline();
+            connection.keyCommands().unlink(keys);
+            connection.zSetCommands().zRem(indexKey, keys);
+            connection.closePipeline();
+            removed += keys.length;
+        }
+        return removed;
+    }
+
+    /**
+     * اسم مفتاح فهرس منطقة (للسكربتات التي تحدث الفهرس على الخادم)
+     */
+    static String indexKeyName(String cacheName) {
+        return INDEX_KEY_PREFIX + cacheName;
+    }
+
+    /**
+     * اسم فهرس المنطقة الذي يحتوي مفتاحاً معيناً: فهرس العقدة التي يقع عليها المفتاح عند التوزيع
+     */
+    static String indexKeyName(String cacheName, ShardedRedisConnectionFactory sharding, byte[] key) {
+        return sharding == null ? indexKeyName(cacheName) : indexKeyName(cacheName) + ":" + sharding.colocationTag(key);
+    }
+
+    private List<byte[]> indexKeys(String cacheName) {
+        if (sharding == null) {
+            return List.of(bytes(indexKeyName(cacheName)));
+        }
+        List<byte[]> indexKeys = new ArrayList<>();
+        sharding.colocationTags().forEach(tag -> indexKeys.add(bytes(indexKeyName(cacheName) + ":" + tag)));
+        return indexKeys;
+    }
+
+    private static byte[] bytes(String key) {
+        return key.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static double expiryScore(Duration ttl) {
+        if (ttl == null || ttl.isZero() || ttl.isNegative()) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return System.currentTimeMillis() + ttl.toMillis();
+    }
+}
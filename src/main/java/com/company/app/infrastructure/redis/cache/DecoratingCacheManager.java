@@ -0,0 +1,52 @@
+package com.company.app.infrastructure.redis.cache;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+/**
+ * مدير تخزين مؤقت يغلف مديراً آخر (Redis) ويطبق سلسلة من الطبقات على كل منطقة
+ */
+public class DecoratingCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final List<CacheDecorator> decorators;
+    private final Map<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public DecoratingCacheManager(CacheManager delegate, List<CacheDecorator> decorators) {
+        this.delegate = delegate;
+        this.decorators = List.copyOf(decorators);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createDecoratedCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    /**
+     * الحصول على مدير التخزين الأصلي
+     */
+    public CacheManager getDelegate() {
+        return delegate;
+    }
+
+    private Cache createDecoratedCache(String name) {
+        Cache cache = delegate.getCache(name);
+        if (cache == null) {
+            return null;
+        }
+        for (CacheDecorator decorator : decorators) {
+            cache = decorator.decorate(cache);
+        }
+        return cache;
+    }
+}
@@ -0,0 +1,128 @@
+package com.company.app.infrastructure.redis.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.data.redis.cache.CacheKeyPrefix;
+import org.springframework.data.redis.cache.CacheStatistics;
+import org.springframework.data.redis.cache.CacheStatisticsCollector;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.types.Expiration;
+
+/**
+ * كاتب تخزين مؤقت يحافظ على فهرس المفاتيح لكل منطقة
+ * الكتابة والحذف يرسلان مع تحديث الفهرس في pipeline واحد، والتفريغ يتم على دفعات عبر الفهرس ثم SCAN
+ */
+public class KeyIndexingCacheWriter implements RedisCacheWriter {
+
+    private final RedisCacheWriter delegate;
+    private final RedisConnectionFactory connectionFactory;
+    private final CacheKeyIndex keyIndex;
+
+    public KeyIndexingCacheWriter(RedisCacheWriter delegate, RedisConnectionFactory connectionFactory,
+            CacheKeyIndex keyIndex) {
+        this.delegate = delegate;
+        this.connectionFactory = connectionFactory;
+        this.keyIndex = keyIndex;
+    }
+
+    @Override
+    public byte[] get(String name, byte[] key) {
+        return delegate.get(name, key);
+    }
+
+    @Override
+    public byte[] get(String name, byte[] key, Duration ttl) {
+        return delegate.get(name, key, ttl);
+    }
+
+    @Override
+    public boolean supportsAsyncRetrieve() {
+        return delegate.supportsAsyncRetrieve();
+    }
+
+    @Override
+    public CompletableFuture<byte[]> retrieve(String name, byte[] key, Duration ttl) {
+        return delegate.retrieve(name, key, ttl);
+    }
+
+    @Override
+    public void put(String name, byte[] key, byte[] value, Duration ttl) {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.openPipeline();
+            if (hasExpiration(ttl)) {
+                connection.stringCommands().set(key, value, Expiration.from(ttl), SetOption.upsert());
+            } else {
+                connection.stringCommands().set(key, value);
+            }
+            keyIndex.recordPut(connection, name, key, ttl);
+            connection.closePipeline();
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> store(String name, byte[] key, byte[] value, Duration ttl) {
+        return CompletableFuture.runAsync(() -> put(name, key, value, ttl));
+    }
+
+    @Override
+    public byte[] putIfAbsent(String name, byte[] key, byte[] value, Duration ttl) {
+        byte[] existing = delegate.putIfAbsent(name, key, value, ttl);
+        if (existing == null) {
+            try (RedisConnection connection = connectionFactory.getConnection()) {
+                keyIndex.recordPut(connection, name, key, ttl);
+            }
+        }
+        return existing;
+    }
+
+    @Override
+    public void remove(String name, byte[] key) {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.openPipeline();
+            connection.keyCommands().unlink(key);
+            keyIndex.recordRemove(connection, name, key);
+            connection.closePipeline();
+        }
+    }
+
+    @Override
+    public void clean(String name, byte[] pattern) {
+        if (isWholeRegion(name, pattern)) {
+            try (RedisConnection connection = connectionFactory.getConnection()) {
+                keyIndex.unlinkAll(connection, name);
+            }
+        }
+        // catch keys written before the index existed; the delegate uses SCAN, not KEYS
+        delegate.clean(name, pattern);
+    }
+
+    @Override
+    public void clearStatistics(String name) {
+        delegate.clearStatistics(name);
+    }
+
+    @Override
+    public RedisCacheWriter withStatisticsCollector(CacheStatisticsCollector cacheStatisticsCollector) {
+        return new KeyIndexingCacheWriter(delegate.withStatisticsCollector(cacheStatisticsCollector),
+                connectionFactory, keyIndex);
+    }
+
+    @Override
+    public CacheStatistics getCacheStatistics(String cacheName) {
+        return delegate.getCacheStatistics(cacheName);
+    }
+
+    private static boolean isWholeRegion(String name, byte[] pattern) {
+        return (CacheKeyPrefix.simple().compute(name) + "*")
+                .equals(new String(pattern, StandardCharsets.UTF_8));
+    }
+
+    private static boolean hasExpiration(Duration ttl) {
+        return ttl != null && !ttl.isZero() && !ttl.isNegative();
+    }
+}
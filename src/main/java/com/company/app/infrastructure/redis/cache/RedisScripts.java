@@ -0,0 +1,23 @@
+package com.company.app.infrastructure.redis.cache;
+
+import java.util.List;
+
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+/**
+ * إنشاء سكربتات Lua التي تعيد مصفوفة Redis بنوع نتيجة محدد بدلاً من النوع الخام List
+ */
+public final class RedisScripts {
+
+    private RedisScripts() {
+    }
+
+    /**
+     * سكربت نتيجته مصفوفة (عناصرها أرقام أو نصوص أو بايتات حسب مُرمّز النتيجة)
+     */
+    @SuppressWarnings("unchecked")
+    public static RedisScript<List<Object>> listScript(String script) {
+        return new DefaultRedisScript<>(script, (Class<List<Object>>) (Class<?>) List.class);
+    }
+}
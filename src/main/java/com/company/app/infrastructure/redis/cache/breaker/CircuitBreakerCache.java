@@ -0,0 +1,209 @@
+package com.company.app.infrastructure.redis.cache.breaker;
+
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.cache.Cache;
+
+import com.company.app.infrastructure.redis.cache.DelegatingCache;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * منطقة تخزين تستمر في العمل عندما يكون Redis غير متاح
+ * القراءة الفاشلة تُعامل كإخفاق، والقيمة تُحمّل مباشرة من المصدر دون انتظار Redis،
+ * والكتابة الفاشلة لا ترمي استثناء. الحذف الفاشل والكتابة الفاشلة يُحفظ مفتاحهما ويُحذف بعد عودة Redis
+ * حتى لا تبقى فيه قيمة قديمة.
+ * الأخطاء الأخرى (الترميز، التحميل، ...) تمر كما هي
+ */
+@Slf4j
+public class CircuitBreakerCache extends DelegatingCache {
+
+    private final int maxPendingEvictions;
+    private final Set<Object> pendingEvictions = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean pendingClear = new AtomicBoolean();
+
+    private final LongAdder bypassedReads = new LongAdder();
+    private final LongAdder bypassedWrites = new LongAdder();
+    private final LongAdder deferredEvictions = new LongAdder();
+    private final LongAdder replayedEvictions = new LongAdder();
+
+    public CircuitBreakerCache(Cache delegate, int maxPendingEvictions) {
+        super(delegate);
+        this.maxPendingEvictions = maxPendingEvictions;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        try {
+            return delegate.get(key);
+        } catch (RuntimeException e) {
+            bypass(e, bypassedReads);
+            return null;
+        }
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        AtomicBoolean invoked = new AtomicBoolean();
+        AtomicBoolean loaded = new AtomicBoolean();
+        AtomicReference<T> value = new AtomicReference<>();
+        try {
+            return delegate.get(key, () -> {
+                invoked.set(true);
+                T result = valueLoader.call();
+                value.set(result);
+                loaded.set(true);
+                return result;
+            });
+        } catch (RuntimeException e) {
+            if (invoked.get() && !loaded.get()) {
+                // the loader itself failed; never run it twice
+                throw e;
+            }
+            bypass(e, bypassedReads);
+            if (loaded.get()) {
+                // only the write-back failed
+                return value.get();
+            }
+        }
+        try {
+            return valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        try {
+            delegate.put(key, value);
+        } catch (RuntimeException e) {
+            bypass(e, bypassedWrites);
+            // the write never reached Redis: drop the old entry on recovery so it is not served again
+            deferEviction(key);
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        try {
+            return delegate.putIfAbsent(key, value);
+        } catch (RuntimeException e) {
+            bypass(e, bypassedWrites);
+            deferEviction(key);
+            return null;
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        try {
+            delegate.evict(key);
+        } catch (RuntimeException e) {
+            bypass(e, deferredEvictions);
+            deferEviction(key);
+        }
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        try {
+            return delegate.evictIfPresent(key);
+        } catch (RuntimeException e) {
+            bypass(e, deferredEvictions);
+            deferEviction(key);
+            return false;
+        }
+    }
+
+    @Override
+    public void clear() {
+        try {
+            delegate.clear();
+        } catch (RuntimeException e) {
+            bypass(e, deferredEvictions);
+            pendingClear.set(true);
+        }
+    }
+
+    @Override
+    public boolean invalidate() {
+        try {
+            return delegate.invalidate();
+        } catch (RuntimeException e) {
+            bypass(e, deferredEvictions);
+            pendingClear.set(true);
+            return false;
+        }
+    }
+
+    /**
+     * إعادة عمليات الحذف المؤجلة بعد عودة Redis
+     */
+    public void replayPending() {
+        if (pendingClear.getAndSet(false)) {
+            pendingEvictions.clear();
+            clear();
+            replayedEvictions.increment();
+            log.info("Replayed deferred clear of cache region {}", getName());
+            return;
+        }
+        for (Object key : pendingEvictions) {
+            pendingEvictions.remove(key);
+            evict(key);
+            replayedEvictions.increment();
+        }
+    }
+
+    /**
+     * الحصول على إحصائيات الوضع المتدهور
+     */
+    public DegradedStats getStats() {
+        return DegradedStats.builder()
+                .bypassedReads(bypassedReads.sum())
+                .bypassedWrites(bypassedWrites.sum())
+                .deferredEvictions(deferredEvictions.sum())
+                .pendingEvictions(pendingClear.get() ? -1 : pendingEvictions.size())
+                .replayedEvictions(replayedEvictions.sum())
+                .build();
+    }
+
+    private void deferEviction(Object key) {
+        if (pendingClear.get()) {
+            return;
+        }
+        if (pendingEvictions.size() >= maxPendingEvictions) {
+            // too many keys to replay one by one: clear the whole region once Redis is back
+            pendingClear.set(true);
+            pendingEvictions.clear();
+            return;
+        }
+        pendingEvictions.add(key);
+    }
+
+    private void bypass(RuntimeException error, LongAdder counter) {
+        if (!RedisCircuitBreaker.isRedisUnavailable(error)) {
+            throw error;
+        }
+        counter.increment();
+        log.debug("Redis unavailable, bypassing cache region {}: {}", getName(), error.getMessage());
+    }
+
+    /**
+     * فئة لحفظ إحصائيات الوضع المتدهور لمنطقة (pendingEvictions = -1 يعني تفريغ المنطقة بالكامل عند العودة)
+     */
+    @lombok.Builder
+    @lombok.Data
+    public static class DegradedStats {
+        private long bypassedReads;
+        private long bypassedWrites;
+        private long deferredEvictions;
+        private long pendingEvictions;
+        private long replayedEvictions;
+    }
+}
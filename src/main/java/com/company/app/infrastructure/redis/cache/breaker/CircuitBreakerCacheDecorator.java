@@ -0,0 +1,42 @@
+package com.company.app.infrastructure.redis.cache.breaker;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.cache.Cache;
+
+import com.company.app.infrastructure.redis.cache.CacheDecorator;
+import com.company.app.infrastructure.redis.cache.breaker.CircuitBreakerCache.DegradedStats;
+
+/**
+ * يضيف وضع التشغيل المتدهور لكل منطقة Redis (أقرب طبقة إلى Redis)
+ * عندما يكون Redis غير متاح تصبح القراءة إخفاقاً يُحمّل من قاعدة البيانات، وتُتجاوز الكتابة،
+ * وتُؤجل عمليات الحذف حتى يعود Redis ويُغلق قاطع الدائرة
+ */
+public class CircuitBreakerCacheDecorator implements CacheDecorator {
+
+    private final int maxPendingEvictions;
+    private final Map<String, CircuitBreakerCache> caches = new ConcurrentHashMap<>();
+
+    public CircuitBreakerCacheDecorator(RedisCircuitBreaker breaker, int maxPendingEvictions) {
+        this.maxPendingEvictions = maxPendingEvictions;
+        breaker.onRecovery(() -> caches.values().forEach(CircuitBreakerCache::replayPending));
+    }
+
+    @Override
+    public Cache decorate(Cache cache) {
+        CircuitBreakerCache guarded = new CircuitBreakerCache(cache, maxPendingEvictions);
+        caches.put(cache.getName(), guarded);
+        return guarded;
+    }
+
+    /**
+     * إحصائيات الوضع المتدهور لكل منطقة
+     */
+    public Map<String, DegradedStats> getStats() {
+        Map<String, DegradedStats> stats = new TreeMap<>();
+        caches.forEach((name, cache) -> stats.put(name, cache.getStats()));
+        return stats;
+    }
+}
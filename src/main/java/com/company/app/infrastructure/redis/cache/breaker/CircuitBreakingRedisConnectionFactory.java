@@ -0,0 +1,222 @@
+package com.company.app.infrastructure.redis.cache.breaker;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.ReactiveRedisClusterConnection;
+import org.springframework.data.redis.connection.ReactiveRedisConnection;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisSentinelConnection;
+import org.springframework.util.ClassUtils;
+
+/**
+ * مصنع اتصالات Redis يمرر كل أمر عبر قاطع الدائرة
+ * يقيس زمن كل أمر (وزمن الحصول على الاتصال) ويسجل الأخطاء التي تعني عدم توفر Redis،
+ * وعند فتح القاطع يفشل الحصول على الاتصال وكل أمر فوراً. الأوامر داخل pipeline أو transaction
+ * تُقاس عند closePipeline أو exec لأنها لا تنتظر الرد قبل ذلك.
+ * اتصالات reactive و sentinel تمر دون قاطع (لا يستخدمها التطبيق)
+ */
+public class CircuitBreakingRedisConnectionFactory
+        implements RedisConnectionFactory, ReactiveRedisConnectionFactory, SmartLifecycle, DisposableBean {
+
+    // local bookkeeping and pub/sub calls: never rejected and never timed
+    private static final Set<String> UNGUARDED = Set.of("close", "isClosed", "getNativeConnection", "isPipelined",
+            "isQueueing", "openPipeline", "multi", "isSubscribed", "getSubscription", "subscribe", "pSubscribe",
+            "getSentinelConnection");
+    // calls that flush deferred commands and therefore wait for Redis even on a pipelined connection
+    private static final Set<String> FLUSHING = Set.of("closePipeline", "exec", "discard");
+
+    private final RedisConnectionFactory delegate;
+    private final RedisCircuitBreaker breaker;
+
+    public CircuitBreakingRedisConnectionFactory(RedisConnectionFactory delegate, RedisCircuitBreaker breaker) {
+        this.delegate = delegate;
+        this.breaker = breaker;
+        breaker.setProbe(() -> {
+            try (RedisConnection connection = delegate.getConnection()) {
+                connection.ping();
+            }
+        });
+    }
+
+    public RedisConnectionFactory getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public RedisConnection getConnection() {
+        RedisConnection connection = timed(delegate::getConnection);
+        return guard(connection, connection);
+    }
+
+    @Override
+    public RedisClusterConnection getClusterConnection() {
+        RedisClusterConnection connection = timed(delegate::getClusterConnection);
+        return guard(connection, connection);
+    }
+
+    @Override
+    public boolean getConvertPipelineAndTxResults() {
+        return delegate.getConvertPipelineAndTxResults();
+    }
+
+    @Override
+    public RedisSentinelConnection getSentinelConnection() {
+        return delegate.getSentinelConnection();
+    }
+
+    @Override
+    public DataAccessException translateExceptionIfPossible(RuntimeException ex) {
+        return delegate.translateExceptionIfPossible(ex);
+    }
+
+    @Override
+    public ReactiveRedisConnection getReactiveConnection() {
+        return reactive().getReactiveConnection();
+    }
+
+    @Override
+    public ReactiveRedisClusterConnection getReactiveClusterConnection() {
+        return reactive().getReactiveClusterConnection();
+    }
+
+    @Override
+    public void start() {
+        if (delegate instanceof SmartLifecycle lifecycle) {
+            lifecycle.start();
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (delegate instanceof SmartLifecycle lifecycle) {
+            lifecycle.stop();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return !(delegate instanceof SmartLifecycle lifecycle) || lifecycle.isRunning();
+    }
+
+    @Override
+    public int getPhase() {
+        return delegate instanceof SmartLifecycle lifecycle ? lifecycle.getPhase() : DEFAULT_PHASE;
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (delegate instanceof DisposableBean disposable) {
+            disposable.destroy();
+        }
+    }
+
+    private ReactiveRedisConnectionFactory reactive() {
+        if (delegate instanceof ReactiveRedisConnectionFactory reactive) {
+            return reactive;
+        }
+        throw new UnsupportedOperationException("Reactive connections are not supported by " + delegate);
+    }
+
+    private <T> T timed(Supplier<T> call) {
+        breaker.checkAvailable();
+        long start = System.nanoTime();
+        try {
+            T result = call.get();
+            breaker.recordSuccess(System.nanoTime() - start);
+            return result;
+        } catch (RuntimeException e) {
+            record(e, System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    private void record(Throwable error, long nanos) {
+        if (RedisCircuitBreaker.isRedisUnavailable(error)) {
+            breaker.recordFailure(nanos);
+        } else {
+            // a command error (wrong type, script error, ...) still tells us Redis answered in time
+            breaker.recordSuccess(nanos);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T guard(T target, RedisConnection connection) {
+        ClassLoader classLoader = getClass().getClassLoader();
+        Class<?>[] interfaces = ClassUtils.getAllInterfacesForClass(target.getClass(), classLoader);
+        return (T) Proxy.newProxyInstance(classLoader, interfaces,
+                new GuardedInvocationHandler(target, connection));
+    }
+
+    /**
+     * يمرر استدعاءات الاتصال (وواجهات الأوامر التي يعيدها مثل stringCommands) عبر القاطع
+     */
+    private final class GuardedInvocationHandler implements InvocationHandler {
+
+        private final Object target;
+        private final RedisConnection connection;
+
+        GuardedInvocationHandler(Object target, RedisConnection connection) {
+            this.target = target;
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> invokeTarget(method, args);
+                };
+            }
+            String name = method.getName();
+            if (isCommandsAccessor(method)) {
+                Object commands = invokeTarget(method, args);
+                return commands != null ? Proxy.newProxyInstance(getClass().getClassLoader(),
+                        new Class<?>[] { method.getReturnType() }, new GuardedInvocationHandler(commands, connection))
+                        : null;
+            }
+            if (UNGUARDED.contains(name)) {
+                return invokeTarget(method, args);
+            }
+
+            breaker.checkAvailable();
+            if (!FLUSHING.contains(name) && (connection.isPipelined() || connection.isQueueing())) {
+                return invokeTarget(method, args);
+            }
+            long start = System.nanoTime();
+            try {
+                Object result = invokeTarget(method, args);
+                breaker.recordSuccess(System.nanoTime() - start);
+                return result;
+            } catch (Throwable e) {
+                record(e, System.nanoTime() - start);
+                throw e;
+            }
+        }
+
+        private Object invokeTarget(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+
+        private static boolean isCommandsAccessor(Method method) {
+            return method.getParameterCount() == 0 && method.getReturnType().isInterface()
+                    && method.getName().endsWith("Commands");
+        }
+    }
+}
@@ -0,0 +1,361 @@
+package com.company.app.infrastructure.redis.cache.breaker;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * قاطع دائرة أمام جميع عمليات Redis
+ * يُفتح عندما تتجاوز نسبة الأخطاء أو نسبة الاستدعاءات البطيئة الحد في آخر window-size استدعاء،
+ * وعندها تفشل العمليات فوراً دون انتظار مهلة Redis فيتجاوزها المستدعي إلى التخزين المحلي أو قاعدة البيانات.
+ * بعد open-duration يفحص القاطع Redis في الخلفية (PING) ولا يُغلق إلا بعد probe-successes فحصاً ناجحاً متتالياً،
+ * ثم ينفذ مستمعي التعافي (إعادة الإبطالات المؤجلة).
+ * تسجيل نتيجة كل أمر لا يأخذ قفلاً (نافذة دائرية بعدادات ذرية)؛ القفل لانتقالات الحالة فقط
+ */
+@Slf4j
+public class RedisCircuitBreaker implements DisposableBean {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private static final String PREFIX = "app.cache.circuit-breaker.";
+    private static final int FAILURE = 1;
+    private static final int SLOW = 2;
+
+    private final boolean enabled;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final double slowCallRateThreshold;
+    private final long slowCallNanos;
+    private final Duration openDuration;
+    private final Duration probeInterval;
+    private final int probeSuccesses;
+    private final int windowSize;
+
+    // نتائج آخر الاستدعاءات؛ تُستبدل بنافذة جديدة عند كل انتقال (عدا HALF_OPEN)
+    private volatile OutcomeWindow window;
+
+    private volatile State state = State.CLOSED;
+    private volatile Runnable probe;
+    private volatile Instant lastTransitionAt;
+    private int consecutiveProbeSuccesses;
+    private final List<Runnable> recoveryListeners = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService probeExecutor;
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder slowCalls = new LongAdder();
+    private final LongAdder rejectedCalls = new LongAdder();
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder probeFailures = new LongAdder();
+    private final Map<String, LongAdder> transitions = new ConcurrentHashMap<>();
+
+    public RedisCircuitBreaker(Environment environment) {
+        this.enabled = environment.getProperty(PREFIX + "enabled", Boolean.class, true);
+        this.windowSize = Math.max(1, environment.getProperty(PREFIX + "window-size", Integer.class, 100));
+        this.minimumCalls = Math.min(windowSize,
+                Math.max(1, environment.getProperty(PREFIX + "minimum-calls", Integer.class, 20)));
+        this.failureRateThreshold = environment.getProperty(PREFIX + "failure-rate-threshold", Double.class, 0.5);
+        this.slowCallRateThreshold = environment.getProperty(PREFIX + "slow-call-rate-threshold", Double.class, 0.5);
+        this.slowCallNanos = environment.getProperty(PREFIX + "slow-call-threshold", Duration.class,
+                Duration.ofMillis(250)).toNanos();
+        this.openDuration = environment.getProperty(PREFIX + "open-duration", Duration.class, Duration.ofSeconds(5));
+        this.probeInterval = environment.getProperty(PREFIX + "probe-interval", Duration.class, Duration.ofSeconds(1));
+        this.probeSuccesses = Math.max(1, environment.getProperty(PREFIX + "probe-successes", Integer.class, 3));
+        this.window = new OutcomeWindow(windowSize);
+        this.probeExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "redis-circuit-probe");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * هل الخطأ يعني أن Redis غير متاح (اتصال، مهلة، أو قاطع مفتوح) وليس خطأ في الأمر نفسه؟
+     */
+    public static boolean isRedisUnavailable(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DataAccessResourceFailureException
+                    || cause instanceof TransientDataAccessException
+                    || cause instanceof TimeoutException) {
+                return true;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * هل يُسمح باستدعاء Redis الآن؟ (الاستدعاءات المرفوضة تُحسب)
+     */
+    public boolean allowRequest() {
+        if (!enabled || state == State.CLOSED) {
+            return true;
+        }
+        rejectedCalls.increment();
+        return false;
+    }
+
+    /**
+     * رفض الاستدعاء فوراً إذا كان القاطع مفتوحاً
+     */
+    public void checkAvailable() {
+        if (!allowRequest()) {
+            throw new RedisCircuitOpenException("Redis circuit breaker is " + state + ", bypassing Redis");
+        }
+    }
+
+    public void recordSuccess(long nanos) {
+        record(false, nanos);
+    }
+
+    public void recordFailure(long nanos) {
+        record(true, nanos);
+    }
+
+    /**
+     * الفحص الذي يُنفذ في الخلفية أثناء الفتح (يفشل برمي استثناء)
+     */
+    public void setProbe(Runnable probe) {
+        this.probe = probe;
+    }
+
+    /**
+     * تسجيل إجراء يُنفذ بعد عودة Redis (على خيط الفحص)
+     */
+    public void onRecovery(Runnable listener) {
+        recoveryListeners.add(listener);
+    }
+
+    @Override
+    public void destroy() {
+        probeExecutor.shutdownNow();
+    }
+
+    /**
+     * الحصول على حالة القاطع وعدد الانتقالات بين الحالات
+     */
+    public CircuitBreakerStats getStats() {
+        Map<String, Long> transitionCounts = new TreeMap<>();
+        transitions.forEach((transition, count) -> transitionCounts.put(transition, count.sum()));
+        OutcomeWindow current = window;
+        int windowCalls = current.buffered();
+        int windowFailures = current.failures();
+        int windowSlow = current.slow();
+        return CircuitBreakerStats.builder()
+                .enabled(enabled)
+                .state(state)
+                .bufferedCalls(windowCalls)
+                .failureRate(windowCalls > 0 ? (double) windowFailures / windowCalls : 0.0)
+                .slowCallRate(windowCalls > 0 ? (double) windowSlow / windowCalls : 0.0)
+                .calls(calls.sum())
+                .failures(failures.sum())
+                .slowCalls(slowCalls.sum())
+                .rejectedCalls(rejectedCalls.sum())
+                .probes(probes.sum())
+                .probeFailures(probeFailures.sum())
+                .transitions(transitionCounts)
+                .lastTransitionAt(lastTransitionAt)
+                .build();
+    }
+
+    private void record(boolean failure, long nanos) {
+        if (!enabled) {
+            return;
+        }
+        boolean slow = nanos >= slowCallNanos;
+        calls.increment();
+        if (failure) {
+            failures.increment();
+        }
+        if (slow) {
+            slowCalls.increment();
+        }
+
+        // calls that were already in flight when the breaker opened do not count
+        if (state != State.CLOSED) {
+            return;
+        }
+        OutcomeWindow current = window;
+        current.record((failure ? FAILURE : 0) | (slow ? SLOW : 0));
+        int buffered = current.buffered();
+        if (buffered < minimumCalls) {
+            return;
+        }
+        int failuresInWindow = current.failures();
+        int slowInWindow = current.slow();
+        if ((double) failuresInWindow / buffered >= failureRateThreshold
+                || (double) slowInWindow / buffered >= slowCallRateThreshold) {
+            // a window replaced by a transition since this call started no longer decides
+            if (window == current && state == State.CLOSED) {
+                log.warn("Opening Redis circuit breaker: {} failures and {} slow calls in the last {} calls",
+                        failuresInWindow, slowInWindow, buffered);
+                open(State.CLOSED);
+            }
+        }
+    }
+
+    private synchronized boolean transition(State from, State to) {
+        if (state != from) {
+            return false;
+        }
+        state = to;
+        lastTransitionAt = Instant.now();
+        transitions.computeIfAbsent(from + "->" + to, key -> new LongAdder()).increment();
+        if (to != State.HALF_OPEN) {
+            window = new OutcomeWindow(windowSize);
+        }
+        log.info("Redis circuit breaker {} -> {}", from, to);
+        return true;
+    }
+
+    private void open(State from) {
+        if (transition(from, State.OPEN)) {
+            consecutiveProbeSuccesses = 0;
+            schedule(openDuration);
+        }
+    }
+
+    private void schedule(Duration delay) {
+        try {
+            probeExecutor.schedule(this::probe, delay.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RuntimeException e) {
+            // executor already shut down during context close
+            log.debug("Could not schedule Redis probe", e);
+        }
+    }
+
+    private void probe() {
+        if (state == State.OPEN) {
+            transition(State.OPEN, State.HALF_OPEN);
+        }
+        if (state != State.HALF_OPEN) {
+            return;
+        }
+
+        probes.increment();
+        if (!probeSucceeds()) {
+            probeFailures.increment();
+            open(State.HALF_OPEN);
+            return;
+        }
+        if (++consecutiveProbeSuccesses < probeSuccesses) {
+            schedule(probeInterval);
+            return;
+        }
+        if (transition(State.HALF_OPEN, State.CLOSED)) {
+            consecutiveProbeSuccesses = 0;
+            for (Runnable listener : recoveryListeners) {
+                try {
+                    listener.run();
+                } catch (RuntimeException e) {
+                    log.warn("Redis recovery action failed", e);
+                }
+            }
+        }
+    }
+
+    private boolean probeSucceeds() {
+        Runnable check = probe;
+        if (check == null) {
+            return true;
+        }
+        long start = System.nanoTime();
+        try {
+            check.run();
+            return System.nanoTime() - start < slowCallNanos;
+        } catch (RuntimeException e) {
+            log.debug("Redis probe failed", e);
+            return false;
+        }
+    }
+
+    /**
+     * نافذة دائرية لنتائج آخر الاستدعاءات دون قفل: كل استدعاء يحجز خانة بعداد ذري ويستبدل نتيجتها،
+     * ويُعدّل عدادي الأخطاء والبطء بالفرق بين النتيجة الجديدة والنتيجة المُزاحة
+     */
+    private static final class OutcomeWindow {
+        private final AtomicIntegerArray outcomes;
+        private final AtomicLong calls = new AtomicLong();
+        private final AtomicInteger failures = new AtomicInteger();
+        private final AtomicInteger slow = new AtomicInteger();
+
+        OutcomeWindow(int size) {
+            this.outcomes = new AtomicIntegerArray(size);
+        }
+
+        void record(int outcome) {
+            int slot = (int) (calls.getAndIncrement() % outcomes.length());
+            int evicted = outcomes.getAndSet(slot, outcome);
+            if (((outcome ^ evicted) & FAILURE) != 0) {
+                failures.addAndGet((outcome & FAILURE) != 0 ? 1 : -1);
+            }
+            if (((outcome ^ evicted) & SLOW) != 0) {
+                slow.addAndGet((outcome & SLOW) != 0 ? 1 : -1);
+            }
+        }
+
+        int buffered() {
+            return (int) Math.min(calls.get(), outcomes.length());
+        }
+
+        int failures() {
+            return Math.max(0, failures.get());
+        }
+
+        int slow() {
+            return Math.max(0, slow.get());
+        }
+    }
+
+    /**
+     * فئة لحفظ حالة وإحصائيات قاطع الدائرة
+     */
+    @lombok.Builder
+    @lombok.Data
+    public static class CircuitBreakerStats {
+        private boolean enabled;
+        private State state;
+        private int bufferedCalls;
+        private double failureRate;
+        private double slowCallRate;
+        private long calls;
+        private long failures;
+        private long slowCalls;
+        private long rejectedCalls;
+        private long probes;
+        private long probeFailures;
+        private Map<String, Long> transitions;
+        private Instant lastTransitionAt;
+    }
+}
@@ -0,0 +1,30 @@
+package com.company.app.infrastructure.redis.cache.breaker;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * تغليف مصنع اتصالات Redis (المُنشأ تلقائياً من Spring Boot) بقاطع الدائرة
+ * حتى تمر عبره جميع العمليات: القوالب، مناطق التخزين المؤقت، السكربتات وأوامر pipeline
+ */
+@Slf4j
+public class RedisCircuitBreakerPostProcessor implements BeanPostProcessor {
+
+    private final RedisCircuitBreaker breaker;
+
+    public RedisCircuitBreakerPostProcessor(RedisCircuitBreaker breaker) {
+        this.breaker = breaker;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!breaker.isEnabled() || !(bean instanceof RedisConnectionFactory factory)
+                || bean instanceof CircuitBreakingRedisConnectionFactory) {
+            return bean;
+        }
+        log.info("Guarding Redis connection factory {} with a circuit breaker", beanName);
+        return new CircuitBreakingRedisConnectionFactory(factory, breaker);
+    }
+}
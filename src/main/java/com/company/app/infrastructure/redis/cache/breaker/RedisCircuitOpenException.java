@@ -0,0 +1,14 @@
+package com.company.app.infrastructure.redis.cache.breaker;
+
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+/**
+ * يُرمى فوراً بدلاً من استدعاء Redis عندما يكون قاطع الدائرة مفتوحاً
+ * يرث استثناء فشل الاتصال حتى تعامله معالجات الأخطاء الحالية كأن Redis غير متاح
+ */
+public class RedisCircuitOpenException extends RedisConnectionFailureException {
+
+    public RedisCircuitOpenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,63 @@
+package com.company.app.infrastructure.redis.cache.coalescing;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * عقد إيجار قصير في Redis لتحميل مفتاح واحد على مستوى العنقود
+ * العقدة التي تحصل على العقد تحمّل القيمة، وباقي العقد تنتظر ظهورها في التخزين المؤقت
+ */
+@Slf4j
+public class CacheLoadLease {
+
+    private static final String LEASE_KEY_PREFIX = "cache_lease:";
+
+    // يحذف العقد فقط إذا كان ما زال مملوكاً لنفس الرمز
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public CacheLoadLease(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * محاولة الحصول على العقد
+     * يعيد رمز العقد، أو null إذا كانت عقدة أخرى تملكه.
+     * عند تعذر الوصول إلى Redis يعيد رمزاً محلياً حتى لا يتوقف التحميل
+     */
+    public String tryAcquire(String cacheName, Object key, Duration ttl) {
+        String token = UUID.randomUUID().toString();
+        try {
+            Boolean acquired = redisTemplate.opsForValue().setIfAbsent(leaseKey(cacheName, key), token, ttl);
+            return Boolean.FALSE.equals(acquired) ? null : token;
+        } catch (Exception e) {
+            log.warn("Failed to acquire cache load lease for {}::{}", cacheName, key, e);
+            return token;
+        }
+    }
+
+    /**
+     * تحرير العقد إذا كان ما زال مملوكاً لهذا الرمز
+     */
+    public void release(String cacheName, Object key, String token) {
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(leaseKey(cacheName, key)), token);
+        } catch (Exception e) {
+            log.warn("Failed to release cache load lease for {}::{}", cacheName, key, e);
+        }
+    }
+
+    private static String leaseKey(String cacheName, Object key) {
+        return LEASE_KEY_PREFIX + cacheName + "::" + key;
+    }
+}
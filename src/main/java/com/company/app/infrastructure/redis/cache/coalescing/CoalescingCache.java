@@ -0,0 +1,172 @@
+package com.company.app.infrastructure.redis.cache.coalescing;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.cache.Cache;
+
+import com.company.app.infrastructure.redis.cache.DelegatingCache;
+
+/**
+ * دمج طلبات التحميل المتزامنة لنفس المفتاح (single-flight)
+ * عند عدم وجود القيمة يشغّل طلب واحد فقط المحمّل على هذه العقدة وتنتظر باقي الطلبات نتيجته.
+ * مع تفعيل العقد (lease) في Redis يتم التحميل مرة واحدة على مستوى العنقود
+ */
+public class CoalescingCache extends DelegatingCache {
+
+    private final Map<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final CacheLoadLease lease;
+    private final Duration leaseTtl;
+    private final Duration leaseWait;
+    private final Duration pollInterval;
+
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder coalescedLoads = new LongAdder();
+    private final LongAdder leaseWaits = new LongAdder();
+    private final LongAdder leaseTimeouts = new LongAdder();
+
+    /**
+     * @param lease عقد Redis للتحميل على مستوى العنقود، أو null للدمج المحلي فقط
+     */
+    public CoalescingCache(Cache delegate, CacheLoadLease lease, Duration leaseTtl, Duration leaseWait,
+            Duration pollInterval) {
+        super(delegate);
+        this.lease = lease;
+        this.leaseTtl = leaseTtl;
+        this.leaseWait = leaseWait;
+        this.pollInterval = pollInterval;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = delegate.get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+
+        CompletableFuture<Object> own = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, own);
+        if (running != null) {
+            coalescedLoads.increment();
+            return (T) await(running, key, valueLoader);
+        }
+
+        try {
+            Object value = load(key, valueLoader);
+            own.complete(value);
+            return (T) value;
+        } catch (RuntimeException e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    private Object load(Object key, Callable<?> valueLoader) {
+        if (lease == null) {
+            return loadAndPut(key, valueLoader);
+        }
+
+        String token = lease.tryAcquire(getName(), key, leaseTtl);
+        if (token != null) {
+            try {
+                return loadAndPut(key, valueLoader);
+            } finally {
+                lease.release(getName(), key, token);
+            }
+        }
+
+        // another node holds the lease: wait for its value to land in the cache
+        long deadline = System.nanoTime() + leaseWait.toNanos();
+        while (System.nanoTime() - deadline < 0) {
+            sleep(key, valueLoader);
+            ValueWrapper wrapper = delegate.get(key);
+            if (wrapper != null) {
+                leaseWaits.increment();
+                return wrapper.get();
+            }
+        }
+        leaseTimeouts.increment();
+        return loadAndPut(key, valueLoader);
+    }
+
+    private Object loadAndPut(Object key, Callable<?> valueLoader) {
+        loads.increment();
+        Object value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        if (value != null) {
+            delegate.put(key, value);
+        }
+        return value;
+    }
+
+    private static Object await(CompletableFuture<Object> running, Object key, Callable<?> valueLoader) {
+        try {
+            return running.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ValueRetrievalException(key, valueLoader, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new ValueRetrievalException(key, valueLoader, e.getCause());
+        }
+    }
+
+    private void sleep(Object key, Callable<?> valueLoader) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(pollInterval.toNanos());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    /**
+     * الحصول على إحصائيات دمج التحميل
+     */
+    public CoalescingStats getStats() {
+        long loaded = loads.sum();
+        long coalesced = coalescedLoads.sum();
+        long waited = leaseWaits.sum();
+        long requests = loaded + coalesced + waited;
+
+        return CoalescingStats.builder()
+                .loads(loaded)
+                .coalescedLoads(coalesced)
+                .leaseWaits(waited)
+                .leaseTimeouts(leaseTimeouts.sum())
+                .inFlight(inFlight.size())
+                .savedLoadRatio(requests > 0 ? (double) (coalesced + waited) / requests : 0.0)
+                .clusterLease(lease != null)
+                .build();
+    }
+
+    /**
+     * فئة لحفظ إحصائيات دمج التحميل
+     */
+    @lombok.Builder
+    @lombok.Data
+    public static class CoalescingStats {
+        private long loads;
+        private long coalescedLoads;
+        private long leaseWaits;
+        private long leaseTimeouts;
+        private int inFlight;
+        private double savedLoadRatio;
+        private boolean clusterLease;
+    }
+}
@@ -0,0 +1,68 @@
+package com.company.app.infrastructure.redis.cache.coalescing;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.cache.Cache;
+import org.springframework.core.env.Environment;
+
+import com.company.app.infrastructure.redis.cache.CacheDecorator;
+import com.company.app.infrastructure.redis.cache.coalescing.CoalescingCache.CoalescingStats;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * يضيف دمج التحميل المتزامن (single-flight) لكل منطقة
+ * الإعدادات قابلة للتخصيص لكل منطقة عبر app.cache.coalescing.{region}.*
+ */
+@Slf4j
+public class CoalescingCacheDecorator implements CacheDecorator {
+
+    private static final String PREFIX = "app.cache.coalescing.";
+
+    private final Environment environment;
+    private final CacheLoadLease lease;
+    private final Map<String, CoalescingCache> caches = new ConcurrentHashMap<>();
+
+    public CoalescingCacheDecorator(Environment environment, CacheLoadLease lease) {
+        this.environment = environment;
+        this.lease = lease;
+    }
+
+    @Override
+    public Cache decorate(Cache cache) {
+        String region = cache.getName();
+        if (!setting(region, "enabled", Boolean.class, true)) {
+            return cache;
+        }
+
+        boolean clusterLease = setting(region, "lease.enabled", Boolean.class, false);
+        Duration leaseTtl = setting(region, "lease.ttl", Duration.class, Duration.ofSeconds(5));
+        Duration leaseWait = setting(region, "lease.wait", Duration.class, Duration.ofSeconds(2));
+        Duration pollInterval = setting(region, "lease.poll-interval", Duration.class, Duration.ofMillis(50));
+
+        log.info("Enabling load coalescing for region {} (clusterLease={}, leaseTtl={}, leaseWait={})",
+                region, clusterLease, leaseTtl, leaseWait);
+
+        CoalescingCache coalescingCache = new CoalescingCache(cache, clusterLease ? lease : null,
+                leaseTtl, leaseWait, pollInterval);
+        caches.put(region, coalescingCache);
+        return coalescingCache;
+    }
+
+    /**
+     * إحصائيات دمج التحميل لكل منطقة
+     */
+    public Map<String, CoalescingStats> getStats() {
+        Map<String, CoalescingStats> stats = new TreeMap<>();
+        caches.forEach((name, cache) -> stats.put(name, cache.getStats()));
+        return stats;
+    }
+
+    private <T> T setting(String region, String name, Class<T> type, T defaultValue) {
+        T global = environment.getProperty(PREFIX + name, type, defaultValue);
+        return environment.getProperty(PREFIX + region + "." + name, type, global);
+    }
+}
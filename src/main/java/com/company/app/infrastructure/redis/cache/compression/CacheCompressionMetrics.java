@@ -0,0 +1,114 @@
+package com.company.app.infrastructure.redis.cache.compression;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * إحصائيات ضغط قيم التخزين لكل منطقة
+ * نسبة الضغط محسوبة على القيم المضغوطة فقط، ووقت المعالج هو زمن الضغط وفك الضغط على خيط الطلب
+ * (الترميز لا ينتظر أي إدخال أو إخراج، فالزمن المنقضي يساوي وقت المعالج تقريباً)
+ */
+public class CacheCompressionMetrics {
+
+    private final Map<String, RegionRecorder> regions = new ConcurrentHashMap<>();
+
+    /**
+     * مسجل الإحصائيات لمنطقة (يُنشأ عند أول طلب)
+     */
+    public RegionRecorder region(String region) {
+        return regions.computeIfAbsent(region, name -> new RegionRecorder());
+    }
+
+    public Map<String, CompressionStats> getStats() {
+        Map<String, CompressionStats> stats = new TreeMap<>();
+        regions.forEach((name, recorder) -> stats.put(name, recorder.snapshot()));
+        return stats;
+    }
+
+    /**
+     * عدادات منطقة واحدة
+     */
+    public static class RegionRecorder {
+        private final LongAdder uncompressed = new LongAdder();
+        private final LongAdder uncompressedBytes = new LongAdder();
+        private final LongAdder compressed = new LongAdder();
+        private final LongAdder incompressible = new LongAdder();
+        private final LongAdder originalBytes = new LongAdder();
+        private final LongAdder storedBytes = new LongAdder();
+        private final LongAdder compressNanos = new LongAdder();
+        private final LongAdder decompressed = new LongAdder();
+        private final LongAdder decompressNanos = new LongAdder();
+
+        void recordUncompressed(int size) {
+            uncompressed.increment();
+            uncompressedBytes.add(size);
+        }
+
+        void recordIncompressible(int size, long nanos) {
+            incompressible.increment();
+            uncompressedBytes.add(size);
+            compressNanos.add(nanos);
+        }
+
+        void recordCompressed(int originalSize, int storedSize, long nanos) {
+            compressed.increment();
+            originalBytes.add(originalSize);
+            storedBytes.add(storedSize);
+            compressNanos.add(nanos);
+        }
+
+        void recordDecompressed(long nanos) {
+            decompressed.increment();
+            decompressNanos.add(nanos);
+        }
+
+        CompressionStats snapshot() {
+            long compressedCount = compressed.sum();
+            long original = originalBytes.sum();
+            long stored = storedBytes.sum();
+            long decompressedCount = decompressed.sum();
+            long compressAttempts = compressedCount + incompressible.sum();
+            return CompressionStats.builder()
+                    .uncompressedWrites(uncompressed.sum())
+                    .compressedWrites(compressedCount)
+                    .incompressibleWrites(incompressible.sum())
+                    .uncompressedBytes(uncompressedBytes.sum())
+                    .originalBytes(original)
+                    .storedBytes(stored)
+                    .compressionRatio(stored > 0 ? (double) original / stored : 0.0)
+                    .bytesSaved(original - stored)
+                    .compressCpuMillis(TimeUnit.NANOSECONDS.toMillis(compressNanos.sum()))
+                    .averageCompressMicros(compressAttempts > 0
+                            ? compressNanos.sum() / 1_000.0 / compressAttempts : 0.0)
+                    .decompressions(decompressedCount)
+                    .decompressCpuMillis(TimeUnit.NANOSECONDS.toMillis(decompressNanos.sum()))
+                    .averageDecompressMicros(decompressedCount > 0
+                            ? decompressNanos.sum() / 1_000.0 / decompressedCount : 0.0)
+                    .build();
+        }
+    }
+
+    /**
+     * فئة لحفظ إحصائيات الضغط لمنطقة
+     */
+    @lombok.Builder
+    @lombok.Data
+    public static class CompressionStats {
+        private long uncompressedWrites;
+        private long compressedWrites;
+        private long incompressibleWrites;
+        private long uncompressedBytes;
+        private long originalBytes;
+        private long storedBytes;
+        private double compressionRatio;
+        private long bytesSaved;
+        private long compressCpuMillis;
+        private double averageCompressMicros;
+        private long decompressions;
+        private long decompressCpuMillis;
+        private double averageDecompressMicros;
+    }
+}
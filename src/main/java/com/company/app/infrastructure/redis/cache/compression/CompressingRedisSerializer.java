@@ -0,0 +1,86 @@
+package com.company.app.infrastructure.redis.cache.compression;
+
+import java.util.Arrays;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import com.company.app.infrastructure.redis.cache.compression.CacheCompressionMetrics.RegionRecorder;
+
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+
+/**
+ * ضغط شفاف للقيم الكبيرة بـ LZ4 فوق أي مسلسل آخر
+ * القيم الأصغر من الحد تُكتب كما هي؛ القيم المضغوطة تبدأ ببايت علامة (0x00) ثم الطول الأصلي (4 بايت) ثم البيانات.
+ * بايت العلامة لا يمكن أن يبدأ به الترميز الثنائي (إصدار المخطط) ولا نص JSON، لذا تُقرأ القيم القديمة كما هي.
+ * إذا لم يصغر الحجم بالضغط تُكتب القيمة دون ضغط
+ */
+public class CompressingRedisSerializer implements RedisSerializer<Object> {
+
+    static final byte COMPRESSED = 0x00;
+    private static final int HEADER_SIZE = 5;
+
+    private static final LZ4Factory LZ4 = LZ4Factory.fastestInstance();
+
+    private final RedisSerializer<Object> delegate;
+    private final int thresholdBytes;
+    private final RegionRecorder metrics;
+    private final LZ4Compressor compressor = LZ4.fastCompressor();
+    private final LZ4FastDecompressor decompressor = LZ4.fastDecompressor();
+
+    public CompressingRedisSerializer(RedisSerializer<Object> delegate, int thresholdBytes, RegionRecorder metrics) {
+        this.delegate = delegate;
+        this.thresholdBytes = thresholdBytes;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        byte[] raw = delegate.serialize(value);
+        if (raw == null || raw.length < thresholdBytes) {
+            metrics.recordUncompressed(raw != null ? raw.length : 0);
+            return raw;
+        }
+
+        long start = System.nanoTime();
+        byte[] compressed = new byte[HEADER_SIZE + compressor.maxCompressedLength(raw.length)];
+        int length = compressor.compress(raw, 0, raw.length, compressed, HEADER_SIZE);
+        long nanos = System.nanoTime() - start;
+        if (HEADER_SIZE + length >= raw.length) {
+            metrics.recordIncompressible(raw.length, nanos);
+            return raw;
+        }
+
+        compressed[0] = COMPRESSED;
+        compressed[1] = (byte) (raw.length >>> 24);
+        compressed[2] = (byte) (raw.length >>> 16);
+        compressed[3] = (byte) (raw.length >>> 8);
+        compressed[4] = (byte) raw.length;
+        metrics.recordCompressed(raw.length, HEADER_SIZE + length, nanos);
+        return Arrays.copyOf(compressed, HEADER_SIZE + length);
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0 || bytes[0] != COMPRESSED) {
+            return delegate.deserialize(bytes);
+        }
+        if (bytes.length < HEADER_SIZE) {
+            throw new SerializationException("Truncated compressed cache value");
+        }
+
+        int originalLength = ((bytes[1] & 0xFF) << 24) | ((bytes[2] & 0xFF) << 16)
+                | ((bytes[3] & 0xFF) << 8) | (bytes[4] & 0xFF);
+        long start = System.nanoTime();
+        byte[] raw = new byte[originalLength];
+        try {
+            decompressor.decompress(bytes, HEADER_SIZE, raw, 0, originalLength);
+        } catch (RuntimeException e) {
+            throw new SerializationException("Corrupt compressed cache value", e);
+        }
+        metrics.recordDecompressed(System.nanoTime() - start);
+        return delegate.deserialize(raw);
+    }
+}
@@ -0,0 +1,99 @@
+package com.company.app.infrastructure.redis.cache.hotkey;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * مخطط Count-Min لتقدير تكرار المفاتيح بذاكرة ثابتة
+ * التقدير لا يقل أبداً عن العدد الحقيقي، والتحديث المحافظ يقلل المبالغة.
+ * بعد كل نافذة من الزيارات تُقسم جميع العدادات على 2 (aging) حتى يعكس المخطط الحركة الحالية
+ */
+public class CountMinSketch {
+
+    private static final int DEPTH = 4;
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L };
+
+    private final AtomicIntegerArray counters;
+    private final int width;
+    private final int mask;
+    private final long windowSize;
+    private final AtomicLong additions = new AtomicLong();
+    private final AtomicLong agings = new AtomicLong();
+
+    /**
+     * @param width      عدد العدادات في كل صف (يُقرب إلى أس 2 الأدنى)
+     * @param windowSize عدد الزيارات قبل تقسيم العدادات على 2
+     */
+    public CountMinSketch(int width, long windowSize) {
+        this.width = Integer.highestOneBit(Math.max(16, width));
+        this.mask = this.width - 1;
+        this.windowSize = Math.max(1, windowSize);
+        this.counters = new AtomicIntegerArray(DEPTH * this.width);
+    }
+
+    /**
+     * تسجيل زيارة وإرجاع التقدير الجديد لتكرار المفتاح
+     */
+    public int increment(String key) {
+        long hash = mix(key.hashCode());
+        int[] indexes = new int[DEPTH];
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            indexes[row] = row * width + (int) (mix(hash ^ SEEDS[row]) & mask);
+            min = Math.min(min, counters.get(indexes[row]));
+        }
+        // conservative update: only the counters at the current minimum grow
+        for (int row = 0; row < DEPTH; row++) {
+            int index = indexes[row];
+            int current = counters.get(index);
+            if (current == min && current < Integer.MAX_VALUE) {
+                counters.compareAndSet(index, current, current + 1);
+            }
+        }
+        if (additions.incrementAndGet() % windowSize == 0) {
+            age();
+        }
+        return min == Integer.MAX_VALUE ? min : min + 1;
+    }
+
+    /**
+     * تقدير تكرار مفتاح دون تسجيل زيارة
+     */
+    public int estimate(String key) {
+        long hash = mix(key.hashCode());
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            min = Math.min(min, counters.get(row * width + (int) (mix(hash ^ SEEDS[row]) & mask)));
+        }
+        return min;
+    }
+
+    /**
+     * عدد مرات الشيخوخة (تستخدمه الطبقة العليا لإعادة تقييم المفاتيح الساخنة)
+     */
+    public long getAgings() {
+        return agings.get();
+    }
+
+    public long getAdditions() {
+        return additions.get();
+    }
+
+    public long getWindowSize() {
+        return windowSize;
+    }
+
+    private void age() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.getAndUpdate(i, value -> value >>> 1);
+        }
+        agings.incrementAndGet();
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,89 @@
+package com.company.app.infrastructure.redis.cache.hotkey;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * كشف المفاتيح الساخنة في الوقت الحقيقي
+ * كل زيارة تُسجل في مخطط Count-Min؛ المفتاح الذي يتجاوز تقديره الحد خلال النافذة الحالية يصبح ساخناً.
+ * عدد المفاتيح الساخنة محدود، وبعد كل شيخوخة للمخطط يُعاد تقييمها فتخرج المفاتيح التي بردت
+ */
+public class HotKeyDetector {
+
+    private final CountMinSketch sketch;
+    private final int threshold;
+    private final int maxHotKeys;
+    private final Map<String, Integer> hotKeys = new ConcurrentHashMap<>();
+    private final AtomicLong evaluatedAgings = new AtomicLong();
+
+    public HotKeyDetector(int sketchWidth, long windowSize, int threshold, int maxHotKeys) {
+        this.sketch = new CountMinSketch(sketchWidth, windowSize);
+        this.threshold = Math.max(1, threshold);
+        this.maxHotKeys = Math.max(1, maxHotKeys);
+    }
+
+    /**
+     * تسجيل زيارة لمفتاح وإرجاع ما إذا كان ساخناً الآن
+     */
+    public boolean record(String key) {
+        int estimate = sketch.increment(key);
+        reevaluateAfterAging();
+
+        if (estimate < threshold) {
+            return hotKeys.containsKey(key);
+        }
+        hotKeys.put(key, estimate);
+        if (hotKeys.size() > maxHotKeys) {
+            // keep the hottest keys only
+            hotKeys.entrySet().stream()
+                    .min(Map.Entry.comparingByValue())
+                    .ifPresent(coldest -> hotKeys.remove(coldest.getKey(), coldest.getValue()));
+        }
+        return hotKeys.containsKey(key);
+    }
+
+    public boolean isHot(String key) {
+        return hotKeys.containsKey(key);
+    }
+
+    /**
+     * المفاتيح الساخنة الحالية مرتبة من الأعلى تكراراً
+     */
+    public List<HotKey> getHotKeys() {
+        return hotKeys.keySet().stream()
+                .map(key -> new HotKey(key, sketch.estimate(key)))
+                .sorted(Comparator.comparingInt(HotKey::estimatedFrequency).reversed())
+                .toList();
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    public long getWindowSize() {
+        return sketch.getWindowSize();
+    }
+
+    public long getAccesses() {
+        return sketch.getAdditions();
+    }
+
+    private void reevaluateAfterAging() {
+        long agings = sketch.getAgings();
+        long evaluated = evaluatedAgings.get();
+        if (agings == evaluated || !evaluatedAgings.compareAndSet(evaluated, agings)) {
+            return;
+        }
+        hotKeys.replaceAll((key, old) -> sketch.estimate(key));
+        hotKeys.values().removeIf(estimate -> estimate < threshold / 2);
+    }
+
+    /**
+     * مفتاح ساخن مع تقدير تكراره في النافذة الحالية
+     */
+    public record HotKey(String key, int estimatedFrequency) {
+    }
+}
@@ -0,0 +1,133 @@
+package com.company.app.infrastructure.redis.cache.hotkey;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import com.company.app.infrastructure.redis.cache.near.LocalCacheStore;
+
+/**
+ * نسخة محلية قصيرة المدة للمفاتيح الساخنة فقط
+ * كل قراءة تُسجل في كاشف المفاتيح الساخنة؛ قراءات المفاتيح الساخنة تُخدم من ذاكرة العقدة
+ * بدلاً من نفس الـ shard في Redis. المفاتيح الباردة تمر مباشرة دون أي تخزين محلي.
+ *
+ * الإبطال يسجل علامة بتسلسل متزايد لكل مفتاح، والنسخة المحملة قبل العلامة لا تُخدم ولا تُخزن
+ */
+public class HotKeyReplica {
+
+    private final boolean enabled;
+    private final HotKeyDetector detector;
+    private final LocalCacheStore replicas;
+    private final LocalCacheStore invalidations;
+    private final Duration ttl;
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidationCount = new LongAdder();
+
+    public HotKeyReplica(boolean enabled, HotKeyDetector detector, long maxEntries, Duration ttl) {
+        this.enabled = enabled;
+        this.detector = detector;
+        this.ttl = ttl;
+        this.replicas = new LocalCacheStore(maxEntries, maxEntries * 64 * 1024, ttl);
+        // العلامة تعيش بقدر النسخة على الأقل حتى لا تعود نسخة قديمة بعد انتهاء العلامة
+        this.invalidations = new LocalCacheStore(maxEntries * 16, maxEntries * 16 * 128, ttl.multipliedBy(2));
+    }
+
+    /**
+     * قراءة قيمة عبر النسخة المحلية إذا كان المفتاح ساخناً
+     *
+     * @param hotKey  المفتاح الذي تُحسب سخونته ويُبطل به (مثل معرف اللوحة)
+     * @param view    جزء القيمة المطلوب تحت هذا المفتاح (قائمة، حالة، عدد...)
+     * @param loader  القراءة من Redis؛ القيمة null لا تُخزن محلياً
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String hotKey, String view, Supplier<T> loader) {
+        if (!enabled || !detector.record(hotKey)) {
+            return loader.get();
+        }
+
+        String entryKey = hotKey + "|" + view;
+        long marker = invalidationMarker(hotKey);
+        if (replicas.get(entryKey) instanceof Replica replica && replica.loadSequence() >= marker) {
+            hits.increment();
+            return (T) replica.value();
+        }
+
+        misses.increment();
+        long loadSequence = sequence.get();
+        T value = loader.get();
+        if (value != null && loadSequence >= invalidationMarker(hotKey)) {
+            replicas.put(entryKey, new Replica(loadSequence, value));
+        }
+        return value;
+    }
+
+    /**
+     * إبطال جميع النسخ المحلية لمفتاح على هذه العقدة
+     */
+    public void invalidate(String hotKey) {
+        if (!enabled) {
+            return;
+        }
+        invalidations.put(hotKey, sequence.incrementAndGet());
+        invalidationCount.increment();
+    }
+
+    public void clear() {
+        replicas.clear();
+        invalidations.put("*", sequence.incrementAndGet());
+    }
+
+    /**
+     * الحصول على المفاتيح الساخنة الحالية وإحصائيات النسخة المحلية
+     */
+    public HotKeyStats getStats() {
+        long hit = hits.sum();
+        long miss = misses.sum();
+        return HotKeyStats.builder()
+                .enabled(enabled)
+                .hotKeys(detector.getHotKeys())
+                .threshold(detector.getThreshold())
+                .windowSize(detector.getWindowSize())
+                .accesses(detector.getAccesses())
+                .replicaTtlMillis(ttl.toMillis())
+                .replicaHits(hit)
+                .replicaMisses(miss)
+                .replicaHitRatio(hit + miss > 0 ? (double) hit / (hit + miss) : 0.0)
+                .replicaEntries(replicas.size())
+                .invalidations(invalidationCount.sum())
+                .build();
+    }
+
+    private long invalidationMarker(String hotKey) {
+        long marker = invalidations.get(hotKey) instanceof Long value ? value : 0L;
+        long all = invalidations.get("*") instanceof Long value ? value : 0L;
+        return Math.max(marker, all);
+    }
+
+    private record Replica(long loadSequence, Object value) {
+    }
+
+    /**
+     * فئة لحفظ إحصائيات المفاتيح الساخنة
+     */
+    @lombok.Builder
+    @lombok.Data
+    public static class HotKeyStats {
+        private boolean enabled;
+        private List<HotKeyDetector.HotKey> hotKeys;
+        private int threshold;
+        private long windowSize;
+        private long accesses;
+        private long replicaTtlMillis;
+        private long replicaHits;
+        private long replicaMisses;
+        private double replicaHitRatio;
+        private long replicaEntries;
+        private long invalidations;
+    }
+}
@@ -0,0 +1,117 @@
+package com.company.app.infrastructure.redis.cache.near;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * مرشح Bloom داخل العملية وآمن للاستخدام المتزامن
+ * لا يعطي نتيجة سلبية خاطئة أبداً: إذا أجاب بعدم الوجود فالعنصر لم يُضف قطعاً.
+ * الحجم وعدد دوال التجزئة يُحسبان من العدد المتوقع ونسبة الإيجابيات الخاطئة المقبولة
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+    private final LongAdder insertions = new LongAdder();
+
+    public BloomFilter(long expectedInsertions, double falsePositiveProbability) {
+        long n = Math.max(1, expectedInsertions);
+        double p = Math.min(Math.max(falsePositiveProbability, 1e-9), 0.5);
+        long m = (long) Math.ceil(-n * Math.log(p) / (Math.log(2) * Math.log(2)));
+        this.bits = new AtomicLongArray((int) Math.min(Integer.MAX_VALUE - 8, (m + 63) / 64));
+        this.bitCount = (long) bits.length() * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+    }
+
+    public void put(String value) {
+        long hash = hash(value);
+        long h1 = hash;
+        long h2 = mix(hash ^ 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < hashCount; i++) {
+            setBit(Math.floorMod(h1 + i * h2, bitCount));
+        }
+        insertions.increment();
+    }
+
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        long h1 = hash;
+        long h2 = mix(hash ^ 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < hashCount; i++) {
+            if (!getBit(Math.floorMod(h1 + i * h2, bitCount))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * دمج مرشح آخر بنفس الحجم (اتحاد المجموعتين)
+     */
+    public void merge(BloomFilter other) {
+        if (other.bitCount != bitCount || other.hashCount != hashCount) {
+            throw new IllegalArgumentException("Bloom filters must have the same size to be merged");
+        }
+        for (int i = 0; i < bits.length(); i++) {
+            long word = other.bits.get(i);
+            if (word != 0) {
+                bits.getAndAccumulate(i, word, (current, update) -> current | update);
+            }
+        }
+        insertions.add(other.insertions.sum());
+    }
+
+    /**
+     * نسبة الإيجابيات الخاطئة المتوقعة حسب نسبة البتات المفعلة حالياً
+     */
+    public double expectedFalsePositiveProbability() {
+        long set = 0;
+        for (int i = 0; i < bits.length(); i++) {
+            set += Long.bitCount(bits.get(i));
+        }
+        return Math.pow((double) set / bitCount, hashCount);
+    }
+
+    public long getInsertions() {
+        return insertions.sum();
+    }
+
+    public long getSizeBytes() {
+        return bitCount / 8;
+    }
+
+    public int getHashCount() {
+        return hashCount;
+    }
+
+    private void setBit(long index) {
+        int word = (int) (index >>> 6);
+        long mask = 1L << index;
+        long current = bits.get(word);
+        if ((current & mask) == 0) {
+            bits.getAndAccumulate(word, mask, (value, bit) -> value | bit);
+        }
+    }
+
+    private boolean getBit(long index) {
+        return (bits.get((int) (index >>> 6)) & (1L << index)) != 0;
+    }
+
+    // FNV-1a على بايتات UTF-8 ثم خلط splitmix64 لتوزيع البتات العليا
+    private static long hash(String value) {
+        long hash = 0xCBF29CE484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
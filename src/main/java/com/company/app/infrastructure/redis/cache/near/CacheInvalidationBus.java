@@ -0,0 +1,128 @@
+package com.company.app.infrastructure.redis.cache.near;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * قناة إبطال التخزين المحلي بين العقد عبر Redis pub/sub
+ * الرسالة بالشكل: nodeId|op|cacheName|key حيث op = E (إزالة مفتاح) أو C (تفريغ المنطقة)
+ */
+@Slf4j
+public class CacheInvalidationBus implements MessageListener {
+
+    public static final String CHANNEL = "cache:invalidation";
+
+    private static final String SEPARATOR = "|";
+    private static final String OP_EVICT = "E";
+    private static final String OP_CLEAR = "C";
+
+    private final StringRedisTemplate redisTemplate;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, LocalInvalidationListener> listeners = new ConcurrentHashMap<>();
+
+    public CacheInvalidationBus(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * تسجيل منطقة محلية لاستقبال إشعارات الإبطال
+     */
+    public void register(NearCache cache) {
+        register(cache.getName(), cache);
+    }
+
+    /**
+     * تسجيل مستقبل محلي باسم محدد لاستقبال إشعارات الإبطال
+     */
+    public void register(String name, LocalInvalidationListener listener) {
+        listeners.put(name, listener);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * بث إزالة مفتاح إلى باقي العقد
+     */
+    public void publishEvict(String cacheName, Object key) {
+        publish(OP_EVICT, cacheName, String.valueOf(key));
+    }
+
+    /**
+     * بث تفريغ منطقة كاملة إلى باقي العقد
+     */
+    public void publishClear(String cacheName) {
+        publish(OP_CLEAR, cacheName, "");
+    }
+
+    /**
+     * نص رسالة إزالة مفتاح (لإرسالها من سكربت Lua مع باقي أوامر الإبطال)
+     */
+    public String evictMessage(String cacheName, Object key) {
+        return message(OP_EVICT, cacheName, String.valueOf(key));
+    }
+
+    /**
+     * إزالة مفتاح من النسخة المحلية على هذه العقدة (الرسائل الصادرة منها تُتجاهل عند استقبالها)
+     */
+    public void evictLocally(String cacheName, Object key) {
+        LocalInvalidationListener listener = listeners.get(cacheName);
+        if (listener != null) {
+            listener.evictLocal(String.valueOf(key));
+        }
+    }
+
+    /**
+     * تفريغ جميع النسخ المحلية على هذه العقدة (بعد انقطاع Redis فاتت خلاله رسائل الإبطال)
+     */
+    public void clearAllLocally() {
+        listeners.values().forEach(LocalInvalidationListener::clearLocal);
+    }
+
+    private String message(String op, String cacheName, String key) {
+        return nodeId + SEPARATOR + op + SEPARATOR + cacheName + SEPARATOR + key;
+    }
+
+    private void publish(String op, String cacheName, String key) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, message(op, cacheName, key));
+        } catch (Exception e) {
+            // L1 entries still expire by TTL, so a lost broadcast only delays convergence
+            log.warn("Failed to publish cache invalidation for {}:{}", cacheName, key, e);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        String[] parts = body.split("\\" + SEPARATOR, 4);
+        if (parts.length < 4) {
+            log.warn("Ignoring malformed cache invalidation message: {}", body);
+            return;
+        }
+        if (nodeId.equals(parts[0])) {
+            return;
+        }
+
+        LocalInvalidationListener listener = listeners.get(parts[2]);
+        if (listener == null) {
+            return;
+        }
+        if (OP_CLEAR.equals(parts[1])) {
+            log.debug("Clearing local cache {} on remote request", parts[2]);
+            listener.clearLocal();
+        } else {
+            log.debug("Evicting local cache entry {}:{} on remote request", parts[2], parts[3]);
+            listener.evictLocal(parts[3]);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.company.app.infrastructure.redis.cache.near;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * مخزن محلي محدود الحجم داخل العملية (L1)
+ * مقسم إلى أجزاء لتقليل التنافس، كل جزء يطبق LRU مع حد لعدد العناصر وللحجم التقديري بالبايت
+ */
+public class LocalCacheStore implements NearCacheStore {
+
+    private static final int SEGMENTS = 16;
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private final long ttlNanos;
+    private final LongAdder evictions = new LongAdder();
+
+    public LocalCacheStore(long maxEntries, long maxWeightBytes, Duration ttl) {
+        long entriesPerSegment = Math.max(1, maxEntries / SEGMENTS);
+        long weightPerSegment = Math.max(1, maxWeightBytes / SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(entriesPerSegment, weightPerSegment);
+        }
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * استرجاع قيمة، أو null إذا لم تكن موجودة أو انتهت صلاحيتها
+     */
+    @Override
+    public Object get(Object key) {
+        return segmentFor(key).get(key, System.nanoTime());
+    }
+
+    /**
+     * تخزين قيمة مع حساب وزنها التقديري
+     */
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            remove(key);
+            return;
+        }
+        long weight = ObjectSizeEstimator.estimate(key) + ObjectSizeEstimator.estimate(value);
+        segmentFor(key).put(key, value, weight, System.nanoTime() + ttlNanos);
+    }
+
+    @Override
+    public void remove(Object key) {
+        segmentFor(key).remove(key);
+    }
+
+    @Override
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    @Override
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    @Override
+    public long weightedSize() {
+        long weight = 0;
+        for (Segment segment : segments) {
+            weight += segment.weight();
+        }
+        return weight;
+    }
+
+    @Override
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    private Segment segmentFor(Object key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return segments[h & (SEGMENTS - 1)];
+    }
+
+    private record Entry(Object value, long weight, long expiresAtNanos) {
+    }
+
+    private final class Segment {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<Object, Entry> map = new LinkedHashMap<>(16, 0.75f, true);
+        private final long maxEntries;
+        private final long maxWeight;
+        private long weight;
+
+        Segment(long maxEntries, long maxWeight) {
+            this.maxEntries = maxEntries;
+            this.maxWeight = maxWeight;
+        }
+
+        Object get(Object key, long now) {
+            lock.lock();
+            try {
+                Entry entry = map.get(key);
+                if (entry == null) {
+                    return null;
+                }
+                if (now - entry.expiresAtNanos() >= 0) {
+                    map.remove(key);
+                    weight -= entry.weight();
+                    return null;
+                }
+                return entry.value();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void put(Object key, Object value, long entryWeight, long expiresAtNanos) {
+            if (entryWeight > maxWeight) {
+                // larger than the whole segment budget; never admit
+                remove(key);
+                return;
+            }
+            lock.lock();
+            try {
+                Entry previous = map.put(key, new Entry(value, entryWeight, expiresAtNanos));
+                if (previous != null) {
+                    weight -= previous.weight();
+                }
+                weight += entryWeight;
+                evictIfNeeded();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void remove(Object key) {
+            lock.lock();
+            try {
+                Entry previous = map.remove(key);
+                if (previous != null) {
+                    weight -= previous.weight();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void clear() {
+            lock.lock();
+            try {
+                map.clear();
+                weight = 0;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        long size() {
+            lock.lock();
+            try {
+                return map.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        long weight() {
+            lock.lock();
+            try {
+                return weight;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void evictIfNeeded() {
+            Iterator<Map.Entry<Object, Entry>> it = map.entrySet().iterator();
+            while ((map.size() > maxEntries || weight > maxWeight) && it.hasNext()) {
+                Entry eldest = it.next().getValue();
+                it.remove();
+                weight -= eldest.weight();
+                evictions.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.company.app.infrastructure.redis.cache.near;
+
+/**
+ * مستقبل لإشعارات الإبطال القادمة من عقد أخرى
+ * يطبق الإبطال على النسخة المحلية فقط دون المرور بـ Redis
+ */
+public interface LocalInvalidationListener {
+
+    /**
+     * إزالة مفتاح من النسخة المحلية
+     */
+    void evictLocal(Object key);
+
+    /**
+     * تفريغ النسخة المحلية بالكامل
+     */
+    void clearLocal();
+}
@@ -0,0 +1,231 @@
+package com.company.app.infrastructure.redis.cache.near;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import com.company.app.infrastructure.redis.cache.DelegatingCache;
+
+/**
+ * تخزين مؤقت ثنائي المستوى: مخزن محلي (L1) أمام منطقة Redis (L2)
+ * كل كتابة أو إزالة تُبث إلى باقي العقد حتى لا تقدم نسخها المحلية قيمة قديمة.
+ *
+ * الإبطال يسجل علامة بتسلسل متزايد لكل مفتاح، والقيمة المقروءة من L2 قبل العلامة لا تُخزن محلياً
+ * (إبطال يصل بين قراءة L2 وتخزينها في L1 لا يضيع)
+ */
+public class NearCache extends DelegatingCache implements LocalInvalidationListener {
+
+    // العلامة تعيش أطول من أي قراءة L2 جارية (مهلة أوامر Redis)
+    private static final Duration MARKER_TTL = Duration.ofMinutes(1);
+    private static final long MAX_MARKERS = 100_000;
+
+    private final NearCacheStore local;
+    private final CacheInvalidationBus invalidationBus;
+    private final LocalCacheStore invalidations = new LocalCacheStore(MAX_MARKERS, MAX_MARKERS * 128, MARKER_TTL);
+    private final AtomicLong sequence = new AtomicLong();
+    private volatile long clearedAt;
+
+    private final LongAdder l1Hits = new LongAdder();
+    private final LongAdder l1Misses = new LongAdder();
+    private final LongAdder l2Hits = new LongAdder();
+    private final LongAdder l2Misses = new LongAdder();
+
+    public NearCache(Cache delegate, NearCacheStore local, CacheInvalidationBus invalidationBus) {
+        super(delegate);
+        this.local = local;
+        this.invalidationBus = invalidationBus;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        Object localKey = localKey(key);
+        Object value = local.get(localKey);
+        if (value != null) {
+            l1Hits.increment();
+            return new SimpleValueWrapper(value);
+        }
+        l1Misses.increment();
+
+        long loadSequence = sequence.get();
+        ValueWrapper wrapper = delegate.get(key);
+        if (wrapper != null && wrapper.get() != null) {
+            l2Hits.increment();
+            if (loadSequence >= invalidationMarker(localKey)) {
+                local.put(localKey, wrapper.get());
+            }
+        } else {
+            l2Misses.increment();
+        }
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        if (value != null) {
+            put(key, value);
+        }
+        return value;
+    }
+
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        Object value = local.get(localKey(key));
+        if (value != null) {
+            l1Hits.increment();
+            return CompletableFuture.completedFuture(new SimpleValueWrapper(value));
+        }
+        l1Misses.increment();
+        return delegate.retrieve(key);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        Object value = local.get(localKey(key));
+        if (value != null) {
+            l1Hits.increment();
+            return CompletableFuture.completedFuture((T) value);
+        }
+        l1Misses.increment();
+        return delegate.retrieve(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+        markInvalidated(localKey(key));
+        local.put(localKey(key), value);
+        invalidationBus.publishEvict(getName(), localKey(key));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, value);
+        evictLocal(key);
+        if (existing == null) {
+            invalidationBus.publishEvict(getName(), localKey(key));
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+        evictLocal(key);
+        invalidationBus.publishEvict(getName(), localKey(key));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = delegate.evictIfPresent(key);
+        evictLocal(key);
+        invalidationBus.publishEvict(getName(), localKey(key));
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        clearLocal();
+        invalidationBus.publishClear(getName());
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = delegate.invalidate();
+        clearLocal();
+        invalidationBus.publishClear(getName());
+        return invalidated;
+    }
+
+    @Override
+    public void evictLocal(Object key) {
+        markInvalidated(localKey(key));
+        local.remove(localKey(key));
+    }
+
+    @Override
+    public void clearLocal() {
+        clearedAt = sequence.incrementAndGet();
+        local.clear();
+    }
+
+    /**
+     * الحصول على إحصائيات المستويين
+     */
+    public NearCacheStats getStats() {
+        long hitsL1 = l1Hits.sum();
+        long missesL1 = l1Misses.sum();
+        long hitsL2 = l2Hits.sum();
+        long missesL2 = l2Misses.sum();
+        long requests = hitsL1 + missesL1;
+
+        return NearCacheStats.builder()
+                .l1Hits(hitsL1)
+                .l1Misses(missesL1)
+                .l2Hits(hitsL2)
+                .l2Misses(missesL2)
+                .l1HitRatio(ratio(hitsL1, requests))
+                .l2HitRatio(ratio(hitsL2, hitsL2 + missesL2))
+                .overallHitRatio(ratio(hitsL1 + hitsL2, requests))
+                .l1Size(local.size())
+                .l1WeightBytes(local.weightedSize())
+                .l1Evictions(local.evictionCount())
+                .l1OffHeapBytes(local.offHeapBytes())
+                .build();
+    }
+
+    // العلامة قبل الإزالة من L1: قراءة L2 جارية إما تراها فلا تُخزن، أو تُخزن قبل الإزالة فتُحذف
+    private void markInvalidated(Object localKey) {
+        invalidations.put(localKey, sequence.incrementAndGet());
+    }
+
+    private long invalidationMarker(Object localKey) {
+        long marker = invalidations.get(localKey) instanceof Long value ? value : 0L;
+        return Math.max(marker, clearedAt);
+    }
+
+    private static double ratio(long part, long total) {
+        return total > 0 ? (double) part / total : 0.0;
+    }
+
+    private static Object localKey(Object key) {
+        return key instanceof String ? key : String.valueOf(key);
+    }
+
+    /**
+     * فئة لحفظ إحصائيات التخزين ثنائي المستوى
+     */
+    @lombok.Builder
+    @lombok.Data
+    public static class NearCacheStats {
+        private long l1Hits;
+        private long l1Misses;
+        private long l2Hits;
+        private long l2Misses;
+        private double l1HitRatio;
+        private double l2HitRatio;
+        private double overallHitRatio;
+        private long l1Size;
+        private long l1WeightBytes;
+        private long l1Evictions;
+        private long l1OffHeapBytes;
+    }
+}
@@ -0,0 +1,81 @@
+package com.company.app.infrastructure.redis.cache.near;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.cache.Cache;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import com.company.app.infrastructure.redis.cache.CacheDecorator;
+import com.company.app.infrastructure.redis.cache.near.NearCache.NearCacheStats;
+import com.company.app.infrastructure.redis.cache.tracking.TrackingNearCache;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * يضيف مخزناً محلياً (L1) أمام كل منطقة Redis
+ * الإعدادات قابلة للتخصيص لكل منطقة عبر app.cache.near.{region}.*
+ * المخزن داخل الـ heap افتراضياً، أو خارجه (store=off-heap) للمناطق ذات القيم الكبيرة مثل قوائم المهام
+ * المناطق التي لها نسخة محلية متتبعة من Redis (TrackingNearCache) لا تحتاج مخزناً ثانياً
+ */
+@Slf4j
+public class NearCacheDecorator implements CacheDecorator {
+
+    private static final String PREFIX = "app.cache.near.";
+
+    private final Environment environment;
+    private final CacheInvalidationBus invalidationBus;
+    private final RedisSerializer<Object> valueSerializer;
+    private final Map<String, NearCache> caches = new ConcurrentHashMap<>();
+
+    public NearCacheDecorator(Environment environment, CacheInvalidationBus invalidationBus,
+            RedisSerializer<Object> valueSerializer) {
+        this.environment = environment;
+        this.invalidationBus = invalidationBus;
+        this.valueSerializer = valueSerializer;
+    }
+
+    @Override
+    public Cache decorate(Cache cache) {
+        String region = cache.getName();
+        if (cache instanceof TrackingNearCache || !setting(region, "enabled", Boolean.class, true)) {
+            return cache;
+        }
+
+        long maxEntries = setting(region, "max-entries", Long.class, 10_000L);
+        long maxWeightBytes = setting(region, "max-weight-mb", Long.class, 32L) * 1024 * 1024;
+        Duration ttl = setting(region, "ttl", Duration.class, Duration.ofSeconds(60));
+
+        boolean offHeap = "off-heap".equalsIgnoreCase(setting(region, "store", String.class, "heap"));
+
+        log.info("Enabling near cache for region {} (store={}, maxEntries={}, maxWeightBytes={}, ttl={})",
+                region, offHeap ? "off-heap" : "heap", maxEntries, maxWeightBytes, ttl);
+
+        NearCacheStore store = offHeap
+                ? new OffHeapSlabStore(valueSerializer, maxWeightBytes,
+                        setting(region, "slab-size-mb", Integer.class, 4) * 1024 * 1024,
+                        setting(region, "chunk-bytes", Integer.class, 4096), maxEntries, ttl)
+                : new LocalCacheStore(maxEntries, maxWeightBytes, ttl);
+        NearCache nearCache = new NearCache(cache, store, invalidationBus);
+        invalidationBus.register(nearCache);
+        caches.put(region, nearCache);
+        return nearCache;
+    }
+
+    /**
+     * إحصائيات L1/L2 لكل منطقة
+     */
+    public Map<String, NearCacheStats> getStats() {
+        Map<String, NearCacheStats> stats = new TreeMap<>();
+        caches.forEach((name, cache) -> stats.put(name, cache.getStats()));
+        return stats;
+    }
+
+    private <T> T setting(String region, String name, Class<T> type, T defaultValue) {
+        T global = environment.getProperty(PREFIX + name, type, defaultValue);
+        return environment.getProperty(PREFIX + region + "." + name, type, global);
+    }
+}
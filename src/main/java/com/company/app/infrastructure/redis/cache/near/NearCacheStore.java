@@ -0,0 +1,35 @@
+package com.company.app.infrastructure.redis.cache.near;
+
+/**
+ * مخزن النسخة المحلية (L1) خلف NearCache
+ * التنفيذ الافتراضي داخل الـ heap (LocalCacheStore)، أو خارجه في شرائح ثابتة الحجم (OffHeapSlabStore)
+ */
+public interface NearCacheStore {
+
+    /**
+     * استرجاع قيمة، أو null إذا لم تكن موجودة أو انتهت صلاحيتها
+     */
+    Object get(Object key);
+
+    void put(Object key, Object value);
+
+    void remove(Object key);
+
+    void clear();
+
+    long size();
+
+    /**
+     * الحجم التقديري للقيم المخزنة بالبايت
+     */
+    long weightedSize();
+
+    long evictionCount();
+
+    /**
+     * الذاكرة المحجوزة خارج الـ heap بالبايت
+     */
+    default long offHeapBytes() {
+        return 0;
+    }
+}
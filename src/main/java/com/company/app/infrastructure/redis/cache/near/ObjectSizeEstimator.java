@@ -0,0 +1,96 @@
+package com.company.app.infrastructure.redis.cache.near;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * تقدير تقريبي لحجم الكائنات في الذاكرة
+ * يستخدم لتحديد وزن العناصر في التخزين المحلي وليس لقياس دقيق
+ */
+final class ObjectSizeEstimator {
+
+    private static final int OBJECT_HEADER = 16;
+    private static final int REFERENCE = 8;
+    private static final int MAX_DEPTH = 4;
+
+    private static final ClassValue<List<Field>> FIELDS = new ClassValue<>() {
+        @Override
+        protected List<Field> computeValue(Class<?> type) {
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers())) {
+                        continue;
+                    }
+                    if (field.trySetAccessible()) {
+                        fields.add(field);
+                    }
+                }
+            }
+            return List.copyOf(fields);
+        }
+    };
+
+    private ObjectSizeEstimator() {
+    }
+
+    static long estimate(Object value) {
+        return estimate(value, 0);
+    }
+
+    private static long estimate(Object value, int depth) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof String s) {
+            return OBJECT_HEADER + 24 + s.length();
+        }
+        if (value instanceof Number || value instanceof Boolean || value instanceof Character) {
+            return OBJECT_HEADER + 8;
+        }
+        if (value instanceof Enum<?>) {
+            return 0; // shared singleton
+        }
+        if (value instanceof Temporal) {
+            return OBJECT_HEADER + 32;
+        }
+        if (value instanceof byte[] bytes) {
+            return OBJECT_HEADER + bytes.length;
+        }
+        if (depth >= MAX_DEPTH) {
+            return OBJECT_HEADER + REFERENCE;
+        }
+        if (value instanceof Collection<?> collection) {
+            long size = OBJECT_HEADER + 16 + (long) collection.size() * REFERENCE;
+            for (Object element : collection) {
+                size += estimate(element, depth + 1);
+            }
+            return size;
+        }
+        if (value instanceof Map<?, ?> map) {
+            long size = OBJECT_HEADER + 32 + (long) map.size() * (OBJECT_HEADER + 3 * REFERENCE);
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                size += estimate(entry.getKey(), depth + 1) + estimate(entry.getValue(), depth + 1);
+            }
+            return size;
+        }
+
+        long size = OBJECT_HEADER;
+        for (Field field : FIELDS.get(value.getClass())) {
+            size += field.getType().isPrimitive() ? 8 : REFERENCE;
+            if (!field.getType().isPrimitive()) {
+                try {
+                    size += estimate(field.get(value), depth + 1);
+                } catch (IllegalAccessException e) {
+                    // field became inaccessible; count the reference only
+                }
+            }
+        }
+        return size;
+    }
+}
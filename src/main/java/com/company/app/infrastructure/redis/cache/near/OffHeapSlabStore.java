@@ -0,0 +1,311 @@
+package com.company.app.infrastructure.redis.cache.near;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * مخزن محلي (L1) خارج الـ heap للقيم الكبيرة مثل قوائم المهام
+ * القيم تُخزن مرمّزة في شرائح (slabs) من ByteBuffer مباشرة بحجم ثابت، مقسمة إلى أجزاء (chunks) ثابتة الحجم؛
+ * القيمة تشغل عدة أجزاء غير متجاورة بالضرورة، فلا يحدث تجزؤ. الشرائح تُحجز عند الحاجة حتى الحد الأقصى،
+ * وعند الامتلاء تُزال القيم بخوارزمية CLOCK (القيمة المقروءة منذ آخر مرور تحصل على فرصة ثانية).
+ *
+ * داخل الـ heap يبقى الفهرس فقط (المفتاح وأرقام الأجزاء)، والقيمة تُفك عند كل قراءة إلى كائنات قصيرة العمر
+ * بدلاً من رسم كائنات كبير يعيش في الجيل القديم
+ */
+@Slf4j
+public class OffHeapSlabStore implements NearCacheStore {
+
+    private final RedisSerializer<Object> serializer;
+    private final int chunkSize;
+    private final int chunksPerSlab;
+    private final int maxSlabs;
+    private final long maxEntries;
+    private final long ttlNanos;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // محمية بالقفل: الكتابة تحت قفل الكتابة، والقراءة (نسخ البايتات) تحت قفل القراءة
+    private final List<ByteBuffer> slabs = new ArrayList<>();
+    private final Map<Object, Entry> index = new HashMap<>();
+    private final ArrayDeque<Entry> clock = new ArrayDeque<>();
+    private int[] freeChunks = new int[0];
+    private int freeCount;
+    private long usedChunks;
+
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public OffHeapSlabStore(RedisSerializer<Object> serializer, long maxBytes, int slabBytes, int chunkBytes,
+            long maxEntries, Duration ttl) {
+        if (chunkBytes <= 0 || slabBytes < chunkBytes) {
+            throw new IllegalArgumentException("Slab size must be at least one chunk: slab=" + slabBytes
+                    + ", chunk=" + chunkBytes);
+        }
+        this.serializer = serializer;
+        this.chunkSize = chunkBytes;
+        this.chunksPerSlab = slabBytes / chunkBytes;
+        this.maxSlabs = (int) Math.max(1, Math.min(Integer.MAX_VALUE / chunksPerSlab, maxBytes / slabBytes));
+        this.maxEntries = Math.max(1, maxEntries);
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    @Override
+    public Object get(Object key) {
+        Entry entry;
+        byte[] bytes = null;
+        lock.readLock().lock();
+        try {
+            entry = index.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (System.nanoTime() - entry.expiresAtNanos < 0) {
+                entry.referenced = true;
+                bytes = read(entry);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        if (bytes == null) {
+            removeEntry(entry);
+            return null;
+        }
+        try {
+            return serializer.deserialize(bytes);
+        } catch (SerializationException e) {
+            log.warn("Dropping unreadable off-heap entry {}: {}", key, e.getMessage());
+            removeEntry(entry);
+            return null;
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            remove(key);
+            return;
+        }
+        byte[] bytes;
+        try {
+            bytes = serializer.serialize(value);
+        } catch (SerializationException e) {
+            rejected.increment();
+            remove(key);
+            return;
+        }
+        int needed = Math.max(1, (bytes.length + chunkSize - 1) / chunkSize);
+        if (bytes.length == 0 || needed > (long) maxSlabs * chunksPerSlab) {
+            // larger than the whole store; never admit
+            rejected.increment();
+            remove(key);
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            release(index.remove(key));
+            while (index.size() >= maxEntries) {
+                evictOne();
+            }
+            while (freeCount < needed) {
+                if (slabs.size() < maxSlabs) {
+                    allocateSlab();
+                } else {
+                    evictOne();
+                }
+            }
+            int[] chunks = new int[needed];
+            for (int i = 0; i < needed; i++) {
+                chunks[i] = freeChunks[--freeCount];
+            }
+            write(chunks, bytes);
+            usedChunks += needed;
+
+            Entry entry = new Entry(key, chunks, bytes.length, System.nanoTime() + ttlNanos);
+            index.put(key, entry);
+            clock.addLast(entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Object key) {
+        lock.writeLock().lock();
+        try {
+            release(index.remove(key));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            for (Entry entry : index.values()) {
+                release(entry);
+            }
+            index.clear();
+            clock.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public long size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long weightedSize() {
+        lock.readLock().lock();
+        try {
+            return usedChunks * chunkSize;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    @Override
+    public long offHeapBytes() {
+        lock.readLock().lock();
+        try {
+            return (long) slabs.size() * chunksPerSlab * chunkSize;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * عدد القيم التي لم تُقبل (أكبر من المخزن أو غير قابلة للترميز)
+     */
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * إزالة قيمة محددة فقط (وليس قيمة أحدث كُتبت لنفس المفتاح بعد قراءتها)
+     */
+    private void removeEntry(Entry entry) {
+        lock.writeLock().lock();
+        try {
+            if (index.remove(entry.key, entry)) {
+                release(entry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private byte[] read(Entry entry) {
+        byte[] bytes = new byte[entry.length];
+        int position = 0;
+        for (int chunk : entry.chunks) {
+            int length = Math.min(chunkSize, entry.length - position);
+            // absolute bulk get: concurrent readers never touch the buffer position
+            slabs.get(chunk / chunksPerSlab).get((chunk % chunksPerSlab) * chunkSize, bytes, position, length);
+            position += length;
+        }
+        return bytes;
+    }
+
+    private void write(int[] chunks, byte[] bytes) {
+        int position = 0;
+        for (int chunk : chunks) {
+            int length = Math.min(chunkSize, bytes.length - position);
+            slabs.get(chunk / chunksPerSlab).put((chunk % chunksPerSlab) * chunkSize, bytes, position, length);
+            position += length;
+        }
+    }
+
+    private void allocateSlab() {
+        int slab = slabs.size();
+        slabs.add(ByteBuffer.allocateDirect(chunksPerSlab * chunkSize));
+        if (freeChunks.length < freeCount + chunksPerSlab) {
+            int[] grown = new int[Math.max(freeChunks.length * 2, freeCount + chunksPerSlab)];
+            System.arraycopy(freeChunks, 0, grown, 0, freeCount);
+            freeChunks = grown;
+        }
+        // push in reverse so chunks are handed out in address order
+        for (int i = chunksPerSlab - 1; i >= 0; i--) {
+            freeChunks[freeCount++] = slab * chunksPerSlab + i;
+        }
+    }
+
+    /**
+     * مرور CLOCK: القيمة المقروءة تحصل على فرصة ثانية، والقيمة المنتهية أو غير المقروءة تُزال
+     */
+    private void evictOne() {
+        while (!clock.isEmpty()) {
+            Entry entry = clock.pollFirst();
+            if (entry.released) {
+                continue;
+            }
+            if (entry.referenced && System.nanoTime() - entry.expiresAtNanos < 0) {
+                entry.referenced = false;
+                clock.addLast(entry);
+                continue;
+            }
+            index.remove(entry.key);
+            release(entry);
+            evictions.increment();
+            return;
+        }
+        throw new IllegalStateException("Off-heap store has no entry left to evict");
+    }
+
+    private void release(Entry entry) {
+        if (entry == null || entry.released) {
+            return;
+        }
+        entry.released = true;
+        for (int chunk : entry.chunks) {
+            freeChunks[freeCount++] = chunk;
+        }
+        usedChunks -= entry.chunks.length;
+        // removed entries stay in the clock until the hand passes; compact when they dominate
+        if (clock.size() > 2 * index.size() + 64) {
+            clock.removeIf(candidate -> candidate.released);
+        }
+    }
+
+    private static final class Entry {
+        private final Object key;
+        private final int[] chunks;
+        private final int length;
+        private final long expiresAtNanos;
+        private volatile boolean referenced;
+        private boolean released;
+
+        Entry(Object key, int[] chunks, int length, long expiresAtNanos) {
+            this.key = key;
+            this.chunks = chunks;
+            this.length = length;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+}
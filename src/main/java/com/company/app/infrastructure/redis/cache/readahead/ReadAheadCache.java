@@ -0,0 +1,128 @@
+package com.company.app.infrastructure.redis.cache.readahead;
+
+import java.util.Collection;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.cache.Cache;
+
+import com.company.app.infrastructure.redis.cache.DelegatingCache;
+import com.company.app.infrastructure.redis.cache.near.LocalCacheStore;
+
+/**
+ * تتبع المفاتيح المكتوبة مسبقاً (read-ahead) في منطقة وقياس عدد القراءات التي أصابتها لاحقاً
+ * أول إصابة لمفتاح مكتوب مسبقاً تُحسب مرة واحدة ثم يُزال من التتبع؛ الكتابة أو الحذف تزيله أيضاً
+ * لأن القيمة لم تعد هي المكتوبة مسبقاً
+ */
+public class ReadAheadCache extends DelegatingCache {
+
+    private final LocalCacheStore seededKeys;
+
+    private final LongAdder seeded = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder missedAfterSeed = new LongAdder();
+
+    public ReadAheadCache(Cache delegate, LocalCacheStore seededKeys) {
+        super(delegate);
+        this.seededKeys = seededKeys;
+    }
+
+    /**
+     * تسجيل مفاتيح كُتبت مسبقاً في Redis بعد تحميل قائمة
+     */
+    public void recordSeeded(Collection<?> keys) {
+        for (Object key : keys) {
+            seededKeys.put(key, Boolean.TRUE);
+        }
+        seeded.add(keys.size());
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper wrapper = delegate.get(key);
+        recordRead(key, wrapper != null);
+        return wrapper;
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        boolean[] loaded = new boolean[1];
+        T value = delegate.get(key, () -> {
+            loaded[0] = true;
+            return valueLoader.call();
+        });
+        recordRead(key, !loaded[0]);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        seededKeys.remove(key);
+        delegate.put(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        seededKeys.remove(key);
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        seededKeys.remove(key);
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        seededKeys.clear();
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        seededKeys.clear();
+        return delegate.invalidate();
+    }
+
+    private void recordRead(Object key, boolean hit) {
+        if (seededKeys.get(key) == null) {
+            return;
+        }
+        seededKeys.remove(key);
+        if (hit) {
+            hits.increment();
+        } else {
+            // expired or evicted in Redis before anyone read it
+            missedAfterSeed.increment();
+        }
+    }
+
+    /**
+     * الحصول على إحصائيات الكتابة المسبقة
+     */
+    public ReadAheadStats getStats() {
+        long seededKeyCount = seeded.sum();
+        long hitCount = hits.sum();
+        return ReadAheadStats.builder()
+                .seededKeys(seededKeyCount)
+                .hits(hitCount)
+                .missedAfterSeed(missedAfterSeed.sum())
+                .hitRatio(seededKeyCount > 0 ? (double) hitCount / seededKeyCount : 0.0)
+                .trackedKeys(seededKeys.size())
+                .build();
+    }
+
+    /**
+     * فئة لحفظ إحصائيات الكتابة المسبقة
+     */
+    @lombok.Builder
+    @lombok.Data
+    public static class ReadAheadStats {
+        private long seededKeys;
+        private long hits;
+        private long missedAfterSeed;
+        private double hitRatio;
+        private long trackedKeys;
+    }
+}
@@ -0,0 +1,80 @@
+package com.company.app.infrastructure.redis.cache.readahead;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.springframework.cache.Cache;
+import org.springframework.core.env.Environment;
+
+import com.company.app.infrastructure.redis.cache.CacheDecorator;
+import com.company.app.infrastructure.redis.cache.near.LocalCacheStore;
+import com.company.app.infrastructure.redis.cache.readahead.ReadAheadCache.ReadAheadStats;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * يتتبع الكتابة المسبقة (read-ahead) في المناطق المحددة عبر app.cache.read-ahead.regions
+ * يجب أن يكون الغلاف الخارجي حتى تُحسب كل قراءة، سواء قُدمت من النسخة المحلية أو من Redis
+ */
+@Slf4j
+public class ReadAheadCacheDecorator implements CacheDecorator {
+
+    private static final String PREFIX = "app.cache.read-ahead.";
+
+    private final boolean enabled;
+    private final Set<String> regions;
+    private final long trackedKeys;
+    private final Duration trackingTtl;
+    private final Map<String, ReadAheadCache> caches = new ConcurrentHashMap<>();
+
+    public ReadAheadCacheDecorator(Environment environment) {
+        this.enabled = environment.getProperty(PREFIX + "enabled", Boolean.class, true);
+        this.regions = Arrays.stream(environment.getProperty(PREFIX + "regions", "tasks").split(","))
+                .map(String::trim)
+                .filter(region -> !region.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        this.trackedKeys = environment.getProperty(PREFIX + "tracked-keys", Long.class, 100_000L);
+        this.trackingTtl = environment.getProperty(PREFIX + "ttl", Duration.class, Duration.ofMinutes(5));
+    }
+
+    @Override
+    public Cache decorate(Cache cache) {
+        String region = cache.getName();
+        if (!enabled || !regions.contains(region)) {
+            return cache;
+        }
+
+        log.info("Tracking read-ahead hits for region {} (trackedKeys={}, ttl={})", region, trackedKeys, trackingTtl);
+
+        // التتبع يعيش بقدر المفتاح المكتوب مسبقاً؛ ما لم يُقرأ خلالها لا يُحسب إصابة
+        ReadAheadCache readAheadCache = new ReadAheadCache(cache,
+                new LocalCacheStore(trackedKeys, trackedKeys * 128, trackingTtl));
+        caches.put(region, readAheadCache);
+        return readAheadCache;
+    }
+
+    /**
+     * تسجيل مفاتيح كُتبت مسبقاً في منطقة (تُتجاهل المناطق غير المتتبعة)
+     */
+    public void recordSeeded(String region, Collection<?> keys) {
+        ReadAheadCache cache = caches.get(region);
+        if (cache != null && !keys.isEmpty()) {
+            cache.recordSeeded(keys);
+        }
+    }
+
+    /**
+     * إحصائيات الكتابة المسبقة لكل منطقة
+     */
+    public Map<String, ReadAheadStats> getStats() {
+        Map<String, ReadAheadStats> stats = new TreeMap<>();
+        caches.forEach((name, cache) -> stats.put(name, cache.getStats()));
+        return stats;
+    }
+}
@@ -0,0 +1,18 @@
+package com.company.app.infrastructure.redis.cache.refresh;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * غلاف القيمة المخزنة في مناطق التحديث المسبق
+ * يحمل وقت الانتهاء المرن (بعده تُقدَّم القيمة قديمة مع تحديث في الخلفية) ومدة حساب القيمة
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheEnvelope {
+    private Object value;
+    private long softExpiresAt;
+    private long computeMillis;
+}
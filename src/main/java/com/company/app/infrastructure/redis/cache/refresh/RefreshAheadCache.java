@@ -0,0 +1,208 @@
+package com.company.app.infrastructure.redis.cache.refresh;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import com.company.app.infrastructure.redis.cache.DelegatingCache;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * تحديث مسبق للقيم (stale-while-revalidate) مع تحديث احتمالي قبل الانتهاء (XFetch)
+ * القيم تُخزن داخل CacheEnvelope بوقت انتهاء مرن أقصر من TTL المنطقة في Redis.
+ * بعد الانتهاء المرن تُقدَّم القيمة القديمة فوراً ويُعاد تحميلها في الخلفية، وقبله قد يبدأ
+ * التحديث باحتمال يزداد مع اقتراب الانتهاء ومع زيادة تكلفة الحساب
+ */
+@Slf4j
+public class RefreshAheadCache extends DelegatingCache {
+
+    // المفتاح الذي يعيد هذا الخيط تحميله؛ القراءات الداخلية له يجب ألا تعيد القيمة القديمة نفسها
+    private static final ThreadLocal<Object> REFRESHING_KEY = new ThreadLocal<>();
+
+    private final Duration softTtl;
+    private final double beta;
+    private final Executor refreshExecutor;
+    private final Set<Object> refreshing = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder freshHits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder earlyRefreshes = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder refreshFailures = new LongAdder();
+    private final LongAdder rejectedRefreshes = new LongAdder();
+
+    public RefreshAheadCache(Cache delegate, Duration softTtl, double beta, Executor refreshExecutor) {
+        super(delegate);
+        this.softTtl = softTtl;
+        this.beta = beta;
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        if (Objects.equals(REFRESHING_KEY.get(), key)) {
+            return null;
+        }
+        ValueWrapper wrapper = delegate.get(key);
+        if (wrapper == null) {
+            misses.increment();
+            return null;
+        }
+        if (wrapper.get() instanceof CacheEnvelope envelope) {
+            if (System.currentTimeMillis() >= envelope.getSoftExpiresAt()) {
+                staleHits.increment();
+            } else {
+                freshHits.increment();
+            }
+            return new SimpleValueWrapper(envelope.getValue());
+        }
+        // value written before refresh-ahead was enabled for this region
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        // a single read through the inner layers: the loader only runs (and marks a miss) when the key is absent
+        boolean[] loaded = new boolean[1];
+        Object value = delegate.get(key, () -> {
+            loaded[0] = true;
+            return load(valueLoader);
+        });
+        if (loaded[0]) {
+            misses.increment();
+        } else if (value instanceof CacheEnvelope envelope) {
+            long now = System.currentTimeMillis();
+            if (now >= envelope.getSoftExpiresAt()) {
+                staleHits.increment();
+                scheduleRefresh(key, valueLoader);
+            } else {
+                freshHits.increment();
+                if (shouldRefreshEarly(envelope, now)) {
+                    earlyRefreshes.increment();
+                    scheduleRefresh(key, valueLoader);
+                }
+            }
+        }
+        // values written before refresh-ahead was enabled for this region are returned as stored
+        return value instanceof CacheEnvelope envelope ? (T) envelope.getValue() : (T) value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, wrap(value, 0));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, wrap(value, 0));
+        if (existing != null && existing.get() instanceof CacheEnvelope envelope) {
+            return new SimpleValueWrapper(envelope.getValue());
+        }
+        return existing;
+    }
+
+    /**
+     * XFetch: التحديث قبل الانتهاء باحتمال -delta * beta * ln(rand)
+     */
+    private boolean shouldRefreshEarly(CacheEnvelope envelope, long now) {
+        if (beta <= 0 || envelope.getComputeMillis() <= 0) {
+            return false;
+        }
+        double gap = -envelope.getComputeMillis() * beta * Math.log(ThreadLocalRandom.current().nextDouble());
+        return now + gap >= envelope.getSoftExpiresAt();
+    }
+
+    private void scheduleRefresh(Object key, Callable<?> valueLoader) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> refresh(key, valueLoader));
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(key);
+            rejectedRefreshes.increment();
+        }
+    }
+
+    private void refresh(Object key, Callable<?> valueLoader) {
+        REFRESHING_KEY.set(key);
+        try {
+            CacheEnvelope envelope = load(valueLoader);
+            if (envelope != null) {
+                delegate.put(key, envelope);
+            }
+            refreshes.increment();
+        } catch (Exception e) {
+            refreshFailures.increment();
+            log.warn("Background refresh failed for {}::{}", getName(), key, e);
+        } finally {
+            REFRESHING_KEY.remove();
+            refreshing.remove(key);
+        }
+    }
+
+    private CacheEnvelope load(Callable<?> valueLoader) throws Exception {
+        long start = System.nanoTime();
+        Object value = valueLoader.call();
+        long computeMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+        return value != null ? wrap(value, computeMillis) : null;
+    }
+
+    private CacheEnvelope wrap(Object value, long computeMillis) {
+        if (value instanceof CacheEnvelope envelope) {
+            return envelope;
+        }
+        return new CacheEnvelope(value, System.currentTimeMillis() + softTtl.toMillis(), computeMillis);
+    }
+
+    /**
+     * الحصول على إحصائيات التحديث المسبق
+     */
+    public RefreshStats getStats() {
+        long fresh = freshHits.sum();
+        long stale = staleHits.sum();
+        long missed = misses.sum();
+        long requests = fresh + stale + missed;
+
+        return RefreshStats.builder()
+                .softTtlSeconds(softTtl.toSeconds())
+                .freshHits(fresh)
+                .staleHits(stale)
+                .misses(missed)
+                .staleServeRatio(requests > 0 ? (double) stale / requests : 0.0)
+                .earlyRefreshes(earlyRefreshes.sum())
+                .refreshes(refreshes.sum())
+                .refreshFailures(refreshFailures.sum())
+                .rejectedRefreshes(rejectedRefreshes.sum())
+                .build();
+    }
+
+    /**
+     * فئة لحفظ إحصائيات التحديث المسبق
+     */
+    @lombok.Builder
+    @lombok.Data
+    public static class RefreshStats {
+        private long softTtlSeconds;
+        private long freshHits;
+        private long staleHits;
+        private long misses;
+        private double staleServeRatio;
+        private long earlyRefreshes;
+        private long refreshes;
+        private long refreshFailures;
+        private long rejectedRefreshes;
+    }
+}
@@ -0,0 +1,84 @@
+package com.company.app.infrastructure.redis.cache.refresh;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.Cache;
+import org.springframework.core.env.Environment;
+
+import com.company.app.infrastructure.redis.cache.CacheDecorator;
+import com.company.app.infrastructure.redis.cache.refresh.RefreshAheadCache.RefreshStats;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * يضيف التحديث المسبق (stale-while-revalidate / XFetch) للمناطق المفعلة
+ * الإعدادات قابلة للتخصيص لكل منطقة عبر app.cache.refresh.{region}.*؛
+ * يجب أن يكون soft-ttl أقصر من TTL المنطقة في Redis حتى توجد فترة لتقديم القيم القديمة؛
+ * AdaptiveTtlPolicy لا يقصّر TTL هذه القيم إلى ما دون soft-ttl مضافاً إليه app.cache.ttl.stale-window
+ */
+@Slf4j
+public class RefreshAheadCacheDecorator implements CacheDecorator, DisposableBean {
+
+    private static final String PREFIX = "app.cache.refresh.";
+
+    private final Environment environment;
+    private final ThreadPoolExecutor refreshExecutor;
+    private final Map<String, RefreshAheadCache> caches = new ConcurrentHashMap<>();
+
+    public RefreshAheadCacheDecorator(Environment environment) {
+        this.environment = environment;
+        int threads = environment.getProperty(PREFIX + "threads", Integer.class, 2);
+        int queueSize = environment.getProperty(PREFIX + "queue-size", Integer.class, 256);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.refreshExecutor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize), runnable -> {
+                    Thread thread = new Thread(runnable, "cache-refresh-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @Override
+    public Cache decorate(Cache cache) {
+        String region = cache.getName();
+        if (!setting(region, "enabled", Boolean.class, false)) {
+            return cache;
+        }
+
+        Duration softTtl = setting(region, "soft-ttl", Duration.class, Duration.ofMinutes(10));
+        double beta = setting(region, "beta", Double.class, 1.0);
+
+        log.info("Enabling refresh-ahead for region {} (softTtl={}, beta={})", region, softTtl, beta);
+
+        RefreshAheadCache refreshAheadCache = new RefreshAheadCache(cache, softTtl, beta, refreshExecutor);
+        caches.put(region, refreshAheadCache);
+        return refreshAheadCache;
+    }
+
+    /**
+     * إحصائيات التحديث المسبق لكل منطقة
+     */
+    public Map<String, RefreshStats> getStats() {
+        Map<String, RefreshStats> stats = new TreeMap<>();
+        caches.forEach((name, cache) -> stats.put(name, cache.getStats()));
+        return stats;
+    }
+
+    @Override
+    public void destroy() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private <T> T setting(String region, String name, Class<T> type, T defaultValue) {
+        T global = environment.getProperty(PREFIX + name, type, defaultValue);
+        return environment.getProperty(PREFIX + region + "." + name, type, global);
+    }
+}
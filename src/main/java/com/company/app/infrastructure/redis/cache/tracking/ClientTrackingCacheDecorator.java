@@ -0,0 +1,298 @@
+package com.company.app.infrastructure.redis.cache.tracking;
+
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.Cache;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+
+import com.company.app.infrastructure.redis.cache.CacheDecorator;
+import com.company.app.infrastructure.redis.cache.breaker.CircuitBreakingRedisConnectionFactory;
+import com.company.app.infrastructure.redis.cache.near.CacheInvalidationBus;
+import com.company.app.infrastructure.redis.cache.near.LocalCacheStore;
+import com.company.app.infrastructure.redis.cache.tracking.TrackingNearCache.TrackingStats;
+
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.RedisChannelHandler;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisConnectionStateListener;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.TrackingArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.push.PushListener;
+import io.lettuce.core.api.push.PushMessage;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.protocol.ProtocolVersion;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * تخزين محلي بمساعدة الخادم (Redis 6+ CLIENT TRACKING عبر RESP3) للمناطق المحددة
+ * اتصال Lettuce مخصص يفعّل التتبع بوضع BCAST على بادئات المناطق ({region}::)، فيرسل Redis إشعار invalidate
+ * عند تعديل أي مفتاح فيها من أي عقدة أو سكربت، وتُزال النسخة المحلية دون بروتوكول إبطال خاص.
+ * إذا لم يدعم الخادم RESP3 أو التتبع (أو لم يكن الاتصال standalone) تُترك المنطقة للتخزين المحلي العادي (NearCache).
+ * عند انقطاع اتصال التتبع تُفرغ النسخ المحلية وتمر القراءات إلى Redis حتى يُعاد تفعيل التتبع
+ */
+@Slf4j
+public class ClientTrackingCacheDecorator implements CacheDecorator, PushListener, DisposableBean {
+
+    private static final String PREFIX = "app.cache.client-tracking.";
+    private static final String KEY_SEPARATOR = "::";
+
+    private final Environment environment;
+    private final RedisConnectionFactory connectionFactory;
+    private final CacheInvalidationBus invalidationBus;
+    private final boolean enabled;
+    private final Set<String> regions;
+    private final Map<String, TrackingNearCache> caches = new ConcurrentHashMap<>();
+
+    private volatile boolean active;
+    private boolean attempted;
+    private volatile String fallbackReason;
+    private RedisClient client;
+    private StatefulRedisConnection<String, String> connection;
+
+    private final LongAdder invalidationMessages = new LongAdder();
+    private final LongAdder invalidatedKeys = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder disconnects = new LongAdder();
+
+    public ClientTrackingCacheDecorator(Environment environment, RedisConnectionFactory connectionFactory,
+            CacheInvalidationBus invalidationBus) {
+        this.environment = environment;
+        this.connectionFactory = connectionFactory;
+        this.invalidationBus = invalidationBus;
+        this.enabled = environment.getProperty(PREFIX + "enabled", Boolean.class, false);
+        this.regions = Arrays.stream(environment.getProperty(PREFIX + "regions", "tasks").split(","))
+                .map(String::trim)
+                .filter(region -> !region.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    @Override
+    public Cache decorate(Cache cache) {
+        String region = cache.getName();
+        if (!enabled || !regions.contains(region) || !startTracking()) {
+            return cache;
+        }
+
+        long maxEntries = setting(region, "max-entries", Long.class, 10_000L);
+        long maxWeightBytes = setting(region, "max-weight-mb", Long.class, 32L) * 1024 * 1024;
+        Duration ttl = setting(region, "ttl", Duration.class, Duration.ofMinutes(10));
+
+        log.info("Enabling server-assisted client-side caching for region {} (maxEntries={}, maxWeightBytes={}, ttl={})",
+                region, maxEntries, maxWeightBytes, ttl);
+
+        // العلامة تعيش بقدر النسخة على الأقل حتى لا تعود نسخة قديمة بعد انتهاء العلامة
+        TrackingNearCache trackingCache = new TrackingNearCache(cache,
+                new LocalCacheStore(maxEntries, maxWeightBytes, ttl),
+                new LocalCacheStore(maxEntries * 4, maxEntries * 4 * 128, ttl.multipliedBy(2)),
+                invalidationBus, () -> active);
+        invalidationBus.register(region, trackingCache);
+        caches.put(region, trackingCache);
+        return trackingCache;
+    }
+
+    /**
+     * إشعارات RESP3 من Redis: invalidate مع قائمة المفاتيح، أو null عند FLUSHALL/FLUSHDB
+     */
+    @Override
+    public void onPushMessage(PushMessage message) {
+        if (!"invalidate".equals(message.getType())) {
+            return;
+        }
+        invalidationMessages.increment();
+        List<Object> content = message.getContent(StringCodec.UTF8::decodeKey);
+        if (content.size() < 2 || !(content.get(1) instanceof List<?> keys)) {
+            flushes.increment();
+            clearAll();
+            return;
+        }
+        for (Object key : keys) {
+            invalidate(key instanceof ByteBuffer buffer ? StringCodec.UTF8.decodeKey(buffer) : String.valueOf(key));
+        }
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    @Override
+    public synchronized void destroy() {
+        active = false;
+        if (connection != null) {
+            connection.close();
+            connection = null;
+        }
+        if (client != null) {
+            client.shutdown();
+            client = null;
+        }
+    }
+
+    /**
+     * حالة التتبع وإحصائيات النسخ المحلية لكل منطقة
+     */
+    public ClientTrackingStats getStats() {
+        Map<String, TrackingStats> regionStats = new TreeMap<>();
+        caches.forEach((name, cache) -> regionStats.put(name, cache.getStats()));
+        return ClientTrackingStats.builder()
+                .enabled(enabled)
+                .active(active)
+                .prefixes(prefixes())
+                .fallbackReason(fallbackReason)
+                .invalidationMessages(invalidationMessages.sum())
+                .invalidatedKeys(invalidatedKeys.sum())
+                .flushes(flushes.sum())
+                .disconnects(disconnects.sum())
+                .regions(regionStats)
+                .build();
+    }
+
+    /**
+     * فتح اتصال التتبع مرة واحدة عند تغليف أول منطقة متتبعة؛ الفشل يعني الرجوع إلى NearCache
+     */
+    private synchronized boolean startTracking() {
+        if (attempted) {
+            return connection != null;
+        }
+        attempted = true;
+        try {
+            client = RedisClient.create(redisUri(connectionFactory));
+            // RESP3 is required for push messages on the same connection; HELLO 3 fails on Redis < 6
+            client.setOptions(ClientOptions.builder().protocolVersion(ProtocolVersion.RESP3).build());
+            connection = client.connect(StringCodec.UTF8);
+            connection.addListener((PushListener) this);
+            connection.sync().clientTracking(trackingArgs());
+            connection.addListener(new TrackingConnectionListener());
+            active = true;
+            log.info("Redis client tracking enabled for prefixes {}", prefixes());
+            return true;
+        } catch (RuntimeException e) {
+            fallbackReason = e.getClass().getSimpleName() + ": " + e.getMessage();
+            log.warn("Redis client tracking is not available, regions {} fall back to the near cache: {}",
+                    regions, fallbackReason);
+            destroy();
+            return false;
+        }
+    }
+
+    private TrackingArgs trackingArgs() {
+        return TrackingArgs.Builder.enabled().bcast().prefixes(prefixes().toArray(String[]::new));
+    }
+
+    private List<String> prefixes() {
+        return regions.stream().sorted().map(region -> region + KEY_SEPARATOR).toList();
+    }
+
+    private void invalidate(String redisKey) {
+        int separator = redisKey.indexOf(KEY_SEPARATOR);
+        if (separator < 0) {
+            return;
+        }
+        TrackingNearCache cache = caches.get(redisKey.substring(0, separator));
+        if (cache != null) {
+            cache.evictLocal(redisKey.substring(separator + KEY_SEPARATOR.length()));
+            invalidatedKeys.increment();
+        }
+    }
+
+    private void clearAll() {
+        caches.values().forEach(TrackingNearCache::clearLocal);
+    }
+
+    private static RedisURI redisUri(RedisConnectionFactory connectionFactory) {
+        RedisConnectionFactory target = connectionFactory instanceof CircuitBreakingRedisConnectionFactory breaking
+                ? breaking.getDelegate()
+                : connectionFactory;
+        if (!(target instanceof LettuceConnectionFactory lettuce) || lettuce.isClusterAware()
+                || lettuce.isRedisSentinelAware()) {
+            throw new IllegalStateException("Client tracking requires a standalone Lettuce connection, found "
+                    + target.getClass().getSimpleName());
+        }
+
+        RedisStandaloneConfiguration standalone = lettuce.getStandaloneConfiguration();
+        LettuceClientConfiguration clientConfiguration = lettuce.getClientConfiguration();
+        RedisURI.Builder uri = RedisURI.builder()
+                .withHost(standalone.getHostName())
+                .withPort(standalone.getPort())
+                .withDatabase(standalone.getDatabase())
+                .withSsl(clientConfiguration.isUseSsl())
+                .withTimeout(clientConfiguration.getCommandTimeout());
+        if (standalone.getPassword().isPresent()) {
+            if (standalone.getUsername() != null) {
+                uri.withAuthentication(standalone.getUsername(), standalone.getPassword().get());
+            } else {
+                uri.withPassword(standalone.getPassword().get());
+            }
+        }
+        return uri.build();
+    }
+
+    private <T> T setting(String region, String name, Class<T> type, T defaultValue) {
+        T global = environment.getProperty(PREFIX + name, type, defaultValue);
+        return environment.getProperty(PREFIX + region + "." + name, type, global);
+    }
+
+    /**
+     * يوقف الخدمة المحلية عند انقطاع اتصال التتبع (قد تضيع إشعارات) ويعيد تفعيل التتبع بعد إعادة الاتصال
+     */
+    private final class TrackingConnectionListener implements RedisConnectionStateListener {
+
+        @Override
+        public void onRedisDisconnected(RedisChannelHandler<?, ?> channel) {
+            active = false;
+            disconnects.increment();
+            clearAll();
+            log.warn("Redis client tracking connection lost, serving tracked regions from Redis");
+        }
+
+        @Override
+        public void onRedisConnected(RedisChannelHandler<?, ?> channel, SocketAddress address) {
+            StatefulRedisConnection<String, String> current = connection;
+            if (current == null) {
+                return;
+            }
+            // a new server-side connection starts untracked
+            current.async().clientTracking(trackingArgs()).whenComplete((reply, error) -> {
+                if (error != null) {
+                    log.warn("Could not re-enable Redis client tracking: {}", error.getMessage());
+                    return;
+                }
+                clearAll();
+                active = true;
+                log.info("Redis client tracking re-enabled after reconnect");
+            });
+        }
+    }
+
+    /**
+     * فئة لحفظ حالة التتبع وإحصائياته
+     */
+    @lombok.Builder
+    @lombok.Data
+    public static class ClientTrackingStats {
+        private boolean enabled;
+        private boolean active;
+        private List<String> prefixes;
+        private String fallbackReason;
+        private long invalidationMessages;
+        private long invalidatedKeys;
+        private long flushes;
+        private long disconnects;
+        private Map<String, TrackingStats> regions;
+    }
+}
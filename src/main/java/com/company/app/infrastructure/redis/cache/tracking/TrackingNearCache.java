@@ -0,0 +1,204 @@
+package com.company.app.infrastructure.redis.cache.tracking;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import com.company.app.infrastructure.redis.cache.DelegatingCache;
+import com.company.app.infrastructure.redis.cache.near.CacheInvalidationBus;
+import com.company.app.infrastructure.redis.cache.near.LocalCacheStore;
+import com.company.app.infrastructure.redis.cache.near.LocalInvalidationListener;
+
+/**
+ * نسخة محلية لمنطقة Redis تُبطل بإشعارات Redis نفسه (CLIENT TRACKING) عند تعديل أي مفتاح فيها من أي عقدة
+ * القيم تُخدم محلياً فقط ما دام اتصال التتبع نشطاً؛ عند انقطاعه تمر القراءات إلى Redis مباشرة.
+ *
+ * الإبطال يسجل علامة بتسلسل متزايد لكل مفتاح، والقيمة المقروءة من Redis قبل العلامة لا تُخدم
+ * (الإشعار قد يصل أثناء القراءة من اتصال آخر)
+ */
+public class TrackingNearCache extends DelegatingCache implements LocalInvalidationListener {
+
+    private static final String ALL = "*";
+
+    private final LocalCacheStore local;
+    private final LocalCacheStore invalidations;
+    private final CacheInvalidationBus invalidationBus;
+    private final BooleanSupplier trackingActive;
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final LongAdder localHits = new LongAdder();
+    private final LongAdder localMisses = new LongAdder();
+    private final LongAdder bypassedReads = new LongAdder();
+    private final LongAdder discardedLoads = new LongAdder();
+    private final LongAdder invalidationCount = new LongAdder();
+
+    public TrackingNearCache(Cache delegate, LocalCacheStore local, LocalCacheStore invalidations,
+            CacheInvalidationBus invalidationBus, BooleanSupplier trackingActive) {
+        super(delegate);
+        this.local = local;
+        this.invalidations = invalidations;
+        this.invalidationBus = invalidationBus;
+        this.trackingActive = trackingActive;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        if (!trackingActive.getAsBoolean()) {
+            bypassedReads.increment();
+            return delegate.get(key);
+        }
+
+        String localKey = localKey(key);
+        if (local.get(localKey) instanceof Tracked tracked && tracked.loadSequence() >= invalidationMarker(localKey)) {
+            localHits.increment();
+            return new SimpleValueWrapper(tracked.value());
+        }
+        localMisses.increment();
+
+        long loadSequence = sequence.get();
+        ValueWrapper wrapper = delegate.get(key);
+        if (wrapper != null && wrapper.get() != null) {
+            if (loadSequence >= invalidationMarker(localKey)) {
+                local.put(localKey, new Tracked(loadSequence, wrapper.get()));
+            } else {
+                discardedLoads.increment();
+            }
+        }
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        if (value != null) {
+            // the write is pushed back to us as an invalidation, so the next read fills the local copy
+            put(key, value);
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+        invalidate(key);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, value);
+        invalidate(key);
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+        invalidate(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = delegate.evictIfPresent(key);
+        invalidate(key);
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        clearLocal();
+        invalidationBus.publishClear(getName());
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = delegate.invalidate();
+        clearLocal();
+        invalidationBus.publishClear(getName());
+        return invalidated;
+    }
+
+    @Override
+    public void evictLocal(Object key) {
+        String localKey = localKey(key);
+        invalidations.put(localKey, sequence.incrementAndGet());
+        local.remove(localKey);
+        invalidationCount.increment();
+    }
+
+    @Override
+    public void clearLocal() {
+        invalidations.put(ALL, sequence.incrementAndGet());
+        local.clear();
+        invalidationCount.increment();
+    }
+
+    /**
+     * الحصول على إحصائيات النسخة المحلية المتتبعة
+     */
+    public TrackingStats getStats() {
+        long hits = localHits.sum();
+        long misses = localMisses.sum();
+        return TrackingStats.builder()
+                .localHits(hits)
+                .localMisses(misses)
+                .localHitRatio(hits + misses > 0 ? (double) hits / (hits + misses) : 0.0)
+                .bypassedReads(bypassedReads.sum())
+                .discardedLoads(discardedLoads.sum())
+                .invalidations(invalidationCount.sum())
+                .localSize(local.size())
+                .localWeightBytes(local.weightedSize())
+                .localEvictions(local.evictionCount())
+                .build();
+    }
+
+    private void invalidate(Object key) {
+        evictLocal(key);
+        // nodes that fell back to the near cache still rely on the pub/sub bus
+        invalidationBus.publishEvict(getName(), localKey(key));
+    }
+
+    private long invalidationMarker(String localKey) {
+        long marker = invalidations.get(localKey) instanceof Long value ? value : 0L;
+        long all = invalidations.get(ALL) instanceof Long value ? value : 0L;
+        return Math.max(marker, all);
+    }
+
+    private static String localKey(Object key) {
+        return key instanceof String string ? string : String.valueOf(key);
+    }
+
+    private record Tracked(long loadSequence, Object value) {
+    }
+
+    /**
+     * فئة لحفظ إحصائيات النسخة المحلية المتتبعة لمنطقة
+     */
+    @lombok.Builder
+    @lombok.Data
+    public static class TrackingStats {
+        private long localHits;
+        private long localMisses;
+        private double localHitRatio;
+        private long bypassedReads;
+        private long discardedLoads;
+        private long invalidations;
+        private long localSize;
+        private long localWeightBytes;
+        private long localEvictions;
+    }
+}
@@ -0,0 +1,199 @@
+package com.company.app.infrastructure.redis.cache.ttl;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.cache.RedisCacheWriter.TtlFunction;
+
+import com.company.app.infrastructure.redis.cache.hotkey.CountMinSketch;
+import com.company.app.infrastructure.redis.cache.refresh.CacheEnvelope;
+
+/**
+ * مدة صلاحية تكيفية لكل مفتاح حسب معدل القراءة والكتابة الأخير لنطاقه (لوحة أو مستخدم)
+ * النطاق الذي يُقرأ كثيراً ويُعدل نادراً يحصل على مدة أطول، والنطاق كثير التعديل على مدة أقصر
+ * لأن قيمه ستُبطل قريباً على أي حال. المعامل = (قراءات / كتابات) / pivot محصوراً بين min-factor و max-factor.
+ * تُضاف نسبة عشوائية (jitter) حتى لا تنتهي المفاتيح المنشأة معاً في نفس اللحظة.
+ * قيم التحديث المسبق (CacheEnvelope) لا تنتهي قبل وقتها المرن مضافاً إليه stale-window، وإلا حذفها Redis
+ * قبل أن تُقدَّم قديمة ولم يبدأ التحديث المسبق أبداً للنطاقات كثيرة التعديل.
+ * الإعدادات: app.cache.ttl.* مع إمكانية تخصيصها لكل منطقة عبر app.cache.ttl.{region}.*
+ */
+public class AdaptiveTtlPolicy {
+
+    private static final String PREFIX = "app.cache.ttl.";
+
+    private final Environment environment;
+    private final CountMinSketch reads;
+    private final CountMinSketch writes;
+    private final Map<String, TtlDistribution> distributions = new ConcurrentHashMap<>();
+    // إعدادات كل منطقة تُقرأ من Environment مرة واحدة بدلاً من كل كتابة
+    private final Map<String, RegionSettings> regionSettings = new ConcurrentHashMap<>();
+
+    public AdaptiveTtlPolicy(Environment environment) {
+        this.environment = environment;
+        int width = environment.getProperty(PREFIX + "sketch-width", Integer.class, 8192);
+        long window = environment.getProperty(PREFIX + "window", Long.class, 200_000L);
+        this.reads = new CountMinSketch(width, window);
+        this.writes = new CountMinSketch(width, window);
+    }
+
+    public void recordRead(String scope) {
+        reads.increment(scope);
+    }
+
+    public void recordWrite(String scope) {
+        writes.increment(scope);
+    }
+
+    /**
+     * دالة المدة لمنطقة Redis: النطاق يُستخرج من المفتاح والقيمة (null = بدون تكيف، مع jitter فقط)
+     */
+    public TtlFunction ttlFunction(String region, Duration baseTtl, BiFunction<Object, Object, String> scopeResolver) {
+        return (key, value) -> {
+            Duration minTtl = Duration.ZERO;
+            if (value instanceof CacheEnvelope envelope) {
+                minTtl = Duration.ofMillis(Math.max(0, envelope.getSoftExpiresAt() - System.currentTimeMillis()))
+                        .plus(settings(region).staleWindow());
+            }
+            return ttl(region, scopeResolver.apply(key, value), baseTtl, minTtl);
+        };
+    }
+
+    /**
+     * المدة الفعلية لمفتاح في نطاق معين
+     */
+    public Duration ttl(String region, String scope, Duration baseTtl) {
+        return ttl(region, scope, baseTtl, Duration.ZERO);
+    }
+
+    /**
+     * المدة الفعلية لمفتاح في نطاق معين، بحد أدنى minTtl
+     */
+    public Duration ttl(String region, String scope, Duration baseTtl, Duration minTtl) {
+        RegionSettings settings = settings(region);
+        double factor = 1.0;
+        if (scope != null && settings.enabled()) {
+            long readCount = reads.estimate(scope);
+            long writeCount = writes.estimate(scope);
+            if (readCount > 0 || writeCount > 0) {
+                factor = ((readCount + 1.0) / (writeCount + 1.0)) / settings.pivot();
+                factor = Math.max(settings.minFactor(), Math.min(settings.maxFactor(), factor));
+            }
+        }
+
+        double jittered = factor * (1.0 + settings.jitter() * (2 * ThreadLocalRandom.current().nextDouble() - 1));
+        Duration ttl = Duration.ofMillis(Math.max(1_000L, (long) (baseTtl.toMillis() * jittered)));
+        boolean raised = ttl.compareTo(minTtl) < 0;
+        if (raised) {
+            ttl = minTtl;
+        }
+        distributions.computeIfAbsent(region, name -> new TtlDistribution(baseTtl)).record(ttl, factor, raised);
+        return ttl;
+    }
+
+    /**
+     * توزيع المدد الفعلية لكل منطقة
+     */
+    public Map<String, TtlStats> getStats() {
+        Map<String, TtlStats> stats = new TreeMap<>();
+        distributions.forEach((region, distribution) -> stats.put(region, distribution.snapshot()));
+        return stats;
+    }
+
+    private RegionSettings settings(String region) {
+        return regionSettings.computeIfAbsent(region, name -> new RegionSettings(
+                setting(name, "enabled", Boolean.class, true),
+                setting(name, "reads-per-write-pivot", Double.class, 10.0),
+                setting(name, "min-factor", Double.class, 0.25),
+                setting(name, "max-factor", Double.class, 4.0),
+                setting(name, "jitter", Double.class, 0.1),
+                setting(name, "stale-window", Duration.class, Duration.ofMinutes(1))));
+    }
+
+    private <T> T setting(String region, String name, Class<T> type, T defaultValue) {
+        T global = environment.getProperty(PREFIX + name, type, defaultValue);
+        return environment.getProperty(PREFIX + region + "." + name, type, global);
+    }
+
+    /**
+     * إعدادات منطقة واحدة بعد دمج القيم العامة مع قيم المنطقة
+     */
+    private record RegionSettings(boolean enabled, double pivot, double minFactor, double maxFactor,
+            double jitter, Duration staleWindow) {
+    }
+
+    /**
+     * عدادات توزيع المدد لمنطقة واحدة (حسب المعامل قبل إضافة jitter)
+     */
+    private static final class TtlDistribution {
+        private final Duration baseTtl;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalSeconds = new LongAdder();
+        private final AtomicLong minSeconds = new AtomicLong(Long.MAX_VALUE);
+        private final AtomicLong maxSeconds = new AtomicLong();
+        private final LongAdder shortened = new LongAdder();
+        private final LongAdder unchanged = new LongAdder();
+        private final LongAdder lengthened = new LongAdder();
+        private final LongAdder raisedToMin = new LongAdder();
+
+        TtlDistribution(Duration baseTtl) {
+            this.baseTtl = baseTtl;
+        }
+
+        void record(Duration ttl, double factor, boolean raised) {
+            long seconds = ttl.toSeconds();
+            if (raised) {
+                raisedToMin.increment();
+            }
+            count.increment();
+            totalSeconds.add(seconds);
+            minSeconds.accumulateAndGet(seconds, Math::min);
+            maxSeconds.accumulateAndGet(seconds, Math::max);
+            if (factor < 0.9) {
+                shortened.increment();
+            } else if (factor > 1.1) {
+                lengthened.increment();
+            } else {
+                unchanged.increment();
+            }
+        }
+
+        TtlStats snapshot() {
+            long entries = count.sum();
+            return TtlStats.builder()
+                    .baseTtlSeconds(baseTtl.toSeconds())
+                    .entries(entries)
+                    .minTtlSeconds(entries > 0 ? minSeconds.get() : 0)
+                    .averageTtlSeconds(entries > 0 ? (double) totalSeconds.sum() / entries : 0.0)
+                    .maxTtlSeconds(maxSeconds.get())
+                    .shortened(shortened.sum())
+                    .unchanged(unchanged.sum())
+                    .lengthened(lengthened.sum())
+                    .raisedToMin(raisedToMin.sum())
+                    .build();
+        }
+    }
+
+    /**
+     * فئة لحفظ توزيع المدد الفعلية لمنطقة
+     */
+    @lombok.Builder
+    @lombok.Data
+    public static class TtlStats {
+        private long baseTtlSeconds;
+        private long entries;
+        private long minTtlSeconds;
+        private double averageTtlSeconds;
+        private long maxTtlSeconds;
+        private long shortened;
+        private long unchanged;
+        private long lengthened;
+        private long raisedToMin;
+    }
+}
@@ -1,18 +1,59 @@
 package com.company.app.infrastructure.redis.config;
 
 import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.cache.BatchStrategies;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import com.company.app.infrastructure.redis.cache.CacheKeyIndex;
+import com.company.app.infrastructure.redis.cache.DecoratingCacheManager;
+import com.company.app.infrastructure.redis.cache.KeyIndexingCacheWriter;
+import com.company.app.infrastructure.redis.cache.breaker.CircuitBreakerCacheDecorator;
+import com.company.app.infrastructure.redis.cache.breaker.RedisCircuitBreaker;
+import com.company.app.infrastructure.redis.cache.breaker.RedisCircuitBreakerPostProcessor;
+import com.company.app.infrastructure.redis.cache.coalescing.CacheLoadLease;
+import com.company.app.infrastructure.redis.cache.compression.CacheCompressionMetrics;
+import com.company.app.infrastructure.redis.cache.compression.CompressingRedisSerializer;
+import com.company.app.infrastructure.redis.cache.coalescing.CoalescingCacheDecorator;
+import com.company.app.infrastructure.redis.cache.near.CacheInvalidationBus;
+import com.company.app.infrastructure.redis.cache.near.NearCacheDecorator;
+import com.company.app.infrastructure.redis.cache.readahead.ReadAheadCacheDecorator;
+import com.company.app.infrastructure.redis.cache.refresh.RefreshAheadCacheDecorator;
+import com.company.app.infrastructure.redis.cache.tracking.ClientTrackingCacheDecorator;
+import com.company.app.infrastructure.redis.cache.ttl.AdaptiveTtlPolicy;
+import com.company.app.infrastructure.redis.monitoring.CacheMetricsService;
+import com.company.app.infrastructure.redis.monitoring.InstrumentedCacheDecorator;
+import com.company.app.infrastructure.redis.sharding.ShardedRedisConnectionFactory;
+import com.company.app.modules.taskCore.infrastructure.cache.TaskCacheBinarySerializer;
+import com.company.app.modules.taskCore.infrastructure.cache.TaskCacheService;
+
 /**
  * تكوين التخزين المؤقت باستخدام Redis
  * يوفر إعدادات مختلفة لأنواع مختلفة من البيانات المخزنة مؤقتاً
@@ -21,6 +62,52 @@ import org.springframework.data.redis.serializer.StringRedisSerializer;
 @EnableCaching
 public class CacheConfig {
 
+    /**
+     * قاطع الدائرة أمام Redis (يُفتح عند بطء Redis أو أخطائه ويُفحص في الخلفية حتى يعود)
+     */
+    @Bean
+    public static RedisCircuitBreaker redisCircuitBreaker(Environment environment) {
+        return new RedisCircuitBreaker(environment);
+    }
+
+    /**
+     * تمرير جميع اتصالات Redis عبر قاطع الدائرة
+     */
+    @Bean
+    public static RedisCircuitBreakerPostProcessor redisCircuitBreakerPostProcessor(
+            RedisCircuitBreaker redisCircuitBreaker) {
+        return new RedisCircuitBreakerPostProcessor(redisCircuitBreaker);
+    }
+
+    /**
+     * توزيع المفاتيح على عدة عقد Redis مستقلة بالتجزئة المتسقة (بدلاً من الاتصال الواحد المُنشأ تلقائياً)
+     * اسم العقدة (host:port) يحدد نقاطها على الحلقة، لذا يجب ألا يتغير ترتيب العقد أو أسماؤها بين التشغيلات
+     */
+    @Bean(name = "redisConnectionFactory")
+    @ConditionalOnProperty(name = "app.redis.sharding.enabled", havingValue = "true")
+    public ShardedRedisConnectionFactory shardedRedisConnectionFactory(Environment environment) {
+        LettuceClientConfiguration clientConfiguration = LettuceClientConfiguration.builder()
+                .commandTimeout(environment.getProperty("spring.data.redis.timeout", Duration.class,
+                        Duration.ofSeconds(2)))
+                .build();
+        Map<String, RedisConnectionFactory> nodes = new LinkedHashMap<>();
+        for (String node : environment.getRequiredProperty("app.redis.sharding.nodes").split(",")) {
+            String address = node.trim();
+            int separator = address.lastIndexOf(':');
+            RedisStandaloneConfiguration configuration = new RedisStandaloneConfiguration(
+                    address.substring(0, separator), Integer.parseInt(address.substring(separator + 1)));
+            String password = environment.getProperty("spring.data.redis.password");
+            if (password != null && !password.isEmpty()) {
+                configuration.setPassword(password);
+            }
+            LettuceConnectionFactory factory = new LettuceConnectionFactory(configuration, clientConfiguration);
+            factory.afterPropertiesSet();
+            nodes.put(address, factory);
+        }
+        return new ShardedRedisConnectionFactory(nodes,
+                environment.getProperty("app.redis.sharding.virtual-nodes", Integer.class, 160));
+    }
+
     /**
      * تكوين Redis Template للاستخدام العام
      */
@@ -31,90 +118,267 @@ public class CacheConfig {
 
         // تكوين التسلسل
         template.setKeySerializer(new StringRedisSerializer());
-        template.setValueSerializer(new GenericJackson2JsonRedisSerializer());
+        template.setValueSerializer(jsonSerializer());
         template.setHashKeySerializer(new StringRedisSerializer());
-        template.setHashValueSerializer(new GenericJackson2JsonRedisSerializer());
+        template.setHashValueSerializer(jsonSerializer());
 
         template.afterPropertiesSet();
         return template;
     }
 
+    /**
+     * قناة إبطال التخزين المحلي بين العقد
+     */
+    @Bean
+    public CacheInvalidationBus cacheInvalidationBus(StringRedisTemplate stringRedisTemplate) {
+        return new CacheInvalidationBus(stringRedisTemplate);
+    }
+
+    /**
+     * حاوية مستمعي Redis pub/sub لاستقبال إشعارات الإبطال
+     */
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+            CacheInvalidationBus cacheInvalidationBus) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheInvalidationBus, new ChannelTopic(CacheInvalidationBus.CHANNEL));
+        return container;
+    }
+
+    /**
+     * الوضع المتدهور لكل منطقة Redis: تجاوز Redis أثناء انقطاعه وتأجيل الحذف حتى عودته
+     */
+    @Bean
+    public CircuitBreakerCacheDecorator circuitBreakerCacheDecorator(RedisCircuitBreaker redisCircuitBreaker,
+            @Value("${app.cache.circuit-breaker.max-pending-invalidations:100000}") int maxPendingEvictions) {
+        return new CircuitBreakerCacheDecorator(redisCircuitBreaker, maxPendingEvictions);
+    }
+
+    /**
+     * تخزين محلي يُبطل بإشعارات Redis (CLIENT TRACKING) للمناطق المحددة، مع الرجوع إلى NearCache عند عدم الدعم
+     */
+    @Bean
+    public ClientTrackingCacheDecorator clientTrackingCacheDecorator(Environment environment,
+            RedisConnectionFactory connectionFactory, CacheInvalidationBus cacheInvalidationBus) {
+        return new ClientTrackingCacheDecorator(environment, connectionFactory, cacheInvalidationBus);
+    }
+
+    /**
+     * التخزين المحلي (L1) أمام كل منطقة Redis
+     */
+    @Bean
+    public NearCacheDecorator nearCacheDecorator(Environment environment,
+            CacheInvalidationBus cacheInvalidationBus, RedisSerializer<Object> valueSerializer) {
+        return new NearCacheDecorator(environment, cacheInvalidationBus, valueSerializer);
+    }
+
+    /**
+     * دمج التحميل المتزامن لنفس المفتاح، مع عقد Redis اختياري على مستوى العنقود
+     */
+    @Bean
+    public CoalescingCacheDecorator coalescingCacheDecorator(Environment environment,
+            StringRedisTemplate stringRedisTemplate) {
+        return new CoalescingCacheDecorator(environment, new CacheLoadLease(stringRedisTemplate));
+    }
+
+    /**
+     * التحديث المسبق للقيم قبل انتهائها وتقديم القيم القديمة أثناء التحديث
+     */
+    @Bean
+    public RefreshAheadCacheDecorator refreshAheadCacheDecorator(Environment environment) {
+        return new RefreshAheadCacheDecorator(environment);
+    }
+
+    /**
+     * تتبع المفاتيح المكتوبة مسبقاً بعد تحميل القوائم وعدد القراءات التي أصابتها
+     */
+    @Bean
+    public ReadAheadCacheDecorator readAheadCacheDecorator(Environment environment) {
+        return new ReadAheadCacheDecorator(environment);
+    }
+
+    /**
+     * تسجيل الإصابات والإخفاقات والكتابات وتوزيع زمن العمليات لكل منطقة في خدمة المراقبة
+     */
+    @Bean
+    public InstrumentedCacheDecorator instrumentedCacheDecorator(CacheMetricsService cacheMetricsService,
+            @Value("${app.cache.metrics.enabled:true}") boolean enabled) {
+        return new InstrumentedCacheDecorator(cacheMetricsService, enabled);
+    }
+
+    /**
+     * فهرس المفاتيح لكل منطقة (للإحصائيات والتفريغ دون KEYS)
+     */
+    @Bean
+    public CacheKeyIndex cacheKeyIndex(RedisConnectionFactory connectionFactory,
+            @Value("${app.cache.scan-batch-size:500}") int batchSize) {
+        return new CacheKeyIndex(connectionFactory, batchSize);
+    }
+
+    /**
+     * إحصائيات ضغط القيم الكبيرة لكل منطقة
+     */
+    @Bean
+    public CacheCompressionMetrics cacheCompressionMetrics() {
+        return new CacheCompressionMetrics();
+    }
+
+    /**
+     * مدة صلاحية تكيفية لكل مفتاح حسب معدل القراءة والكتابة لنطاقه، مع jitter
+     */
+    @Bean
+    public AdaptiveTtlPolicy adaptiveTtlPolicy(Environment environment) {
+        return new AdaptiveTtlPolicy(environment);
+    }
+
     /**
      * تكوين Cache Manager مع إعدادات مختلفة لكل نوع من البيانات
+     * مناطق Redis (L2) مغلفة بالوضع المتدهور ثم بمخزن محلي (L1: متتبع من Redis أو NearCache)
+     * ثم بدمج التحميل المتزامن ثم بالتحديث المسبق، ثم بتتبع الكتابة المسبقة، وأخيراً بتسجيل المراقبة
+     * (الطبقتان الأخيرتان خارجيتان لترى كل قراءة)
      */
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
-        return RedisCacheManager.builder(connectionFactory)
-                .cacheDefaults(defaultCacheConfiguration())
-                .withCacheConfiguration("tasks", taskCacheConfiguration())
-                .withCacheConfiguration("taskLists", taskListCacheConfiguration())
-                .withCacheConfiguration("taskCounts", taskCountCacheConfiguration())
-                .withCacheConfiguration("userTasks", userTaskCacheConfiguration())
+    public CacheManager cacheManager(RedisConnectionFactory connectionFactory,
+            CircuitBreakerCacheDecorator circuitBreakerCacheDecorator,
+            ClientTrackingCacheDecorator clientTrackingCacheDecorator, NearCacheDecorator nearCacheDecorator,
+            CoalescingCacheDecorator coalescingCacheDecorator,
+            RefreshAheadCacheDecorator refreshAheadCacheDecorator,
+            ReadAheadCacheDecorator readAheadCacheDecorator, InstrumentedCacheDecorator instrumentedCacheDecorator,
+            CacheKeyIndex cacheKeyIndex,
+            RedisSerializer<Object> valueSerializer, CacheCompressionMetrics compressionMetrics,
+            AdaptiveTtlPolicy ttlPolicy, Environment environment, @Value("${app.cache.scan-batch-size:500}") int batchSize) {
+        RedisCacheWriter cacheWriter = new KeyIndexingCacheWriter(
+                RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory, BatchStrategies.scan(batchSize)),
+                connectionFactory, cacheKeyIndex);
+        Function<String, RedisSerializer<Object>> serializers =
+                region -> regionSerializer(region, valueSerializer, compressionMetrics, environment);
+
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(cacheWriter)
+                .cacheDefaults(defaultCacheConfiguration(serializers.apply("default"), ttlPolicy))
+                .withCacheConfiguration("tasks", taskCacheConfiguration(serializers.apply("tasks"), ttlPolicy))
+                .withCacheConfiguration("taskLists",
+                        taskListCacheConfiguration(serializers.apply("taskLists"), ttlPolicy))
+                .withCacheConfiguration("taskCounts",
+                        taskCountCacheConfiguration(serializers.apply("taskCounts"), ttlPolicy))
+                .withCacheConfiguration("userTasks",
+                        userTaskCacheConfiguration(serializers.apply("userTasks"), ttlPolicy))
                 .build();
+        redisCacheManager.afterPropertiesSet();
+
+        return new DecoratingCacheManager(redisCacheManager, List.of(circuitBreakerCacheDecorator,
+                clientTrackingCacheDecorator, nearCacheDecorator, coalescingCacheDecorator, refreshAheadCacheDecorator,
+                readAheadCacheDecorator, instrumentedCacheDecorator));
+    }
+
+    /**
+     * ترميز قيم التخزين المؤقت: binary (مضغوط للمهام وقوائمها) أو json
+     * الترميز الثنائي يقرأ القيم المكتوبة سابقاً بـ JSON، لذا يمكن التبديل دون تفريغ Redis.
+     * يُستخدم أيضاً لقراءة مفاتيح المهام مباشرة عبر MGET
+     */
+    @Bean
+    public RedisSerializer<Object> cacheValueSerializer(@Value("${app.cache.codec:binary}") String codec) {
+        if ("json".equalsIgnoreCase(codec)) {
+            return jsonSerializer();
+        }
+        return new TaskCacheBinarySerializer(jsonSerializer());
+    }
+
+    /**
+     * ترميز قيم منطقة مع ضغط LZ4 للقيم التي تتجاوز الحد
+     * الإعدادات: app.cache.compression.enabled و threshold-bytes، مع إمكانية تخصيصها لكل منطقة
+     * عبر app.cache.compression.{region}.*
+     */
+    private static RedisSerializer<Object> regionSerializer(String region, RedisSerializer<Object> valueSerializer,
+            CacheCompressionMetrics compressionMetrics, Environment environment) {
+        String prefix = "app.cache.compression.";
+        boolean enabled = environment.getProperty(prefix + region + ".enabled", Boolean.class,
+                environment.getProperty(prefix + "enabled", Boolean.class, true));
+        int thresholdBytes = environment.getProperty(prefix + region + ".threshold-bytes", Integer.class,
+                environment.getProperty(prefix + "threshold-bytes", Integer.class, 4096));
+        if (!enabled) {
+            // values compressed before the switch must stay readable
+            thresholdBytes = Integer.MAX_VALUE;
+        }
+        return new CompressingRedisSerializer(valueSerializer, thresholdBytes, compressionMetrics.region(region));
+    }
+
+    /**
+     * مسلسل JSON مع دعم أنواع التاريخ والوقت (LocalDateTime)
+     */
+    public static GenericJackson2JsonRedisSerializer jsonSerializer() {
+        return new GenericJackson2JsonRedisSerializer().configure(mapper -> mapper
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS));
     }
 
     /**
      * التكوين الافتراضي للتخزين المؤقت
      */
-    private RedisCacheConfiguration defaultCacheConfiguration() {
+    private RedisCacheConfiguration defaultCacheConfiguration(RedisSerializer<Object> valueSerializer,
+            AdaptiveTtlPolicy ttlPolicy) {
         return RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofMinutes(30))
+                .entryTtl(ttlPolicy.ttlFunction("default", Duration.ofMinutes(30), TaskCacheService::ttlScope))
                 .serializeKeysWith(org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair
                         .fromSerializer(new StringRedisSerializer()))
                 .serializeValuesWith(
                         org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair
-                                .fromSerializer(new GenericJackson2JsonRedisSerializer()));
+                                .fromSerializer(valueSerializer));
     }
 
     /**
-     * تكوين تخزين المهام الفردية (TTL: 1 ساعة)
+     * تكوين تخزين المهام الفردية (TTL الأساسي: 1 ساعة، يتكيف حسب معدل تعديل النطاق)
      */
-    private RedisCacheConfiguration taskCacheConfiguration() {
+    private RedisCacheConfiguration taskCacheConfiguration(RedisSerializer<Object> valueSerializer,
+            AdaptiveTtlPolicy ttlPolicy) {
         return RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofHours(1))
+                .entryTtl(ttlPolicy.ttlFunction("tasks", Duration.ofHours(1), TaskCacheService::ttlScope))
                 .serializeKeysWith(org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair
                         .fromSerializer(new StringRedisSerializer()))
                 .serializeValuesWith(
                         org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair
-                                .fromSerializer(new GenericJackson2JsonRedisSerializer()));
+                                .fromSerializer(valueSerializer));
     }
 
     /**
-     * تكوين تخزين قوائم المهام (TTL: 30 دقيقة)
+     * تكوين تخزين قوائم المهام (TTL الأساسي: 30 دقيقة، يتكيف حسب معدل تعديل النطاق)
      */
-    private RedisCacheConfiguration taskListCacheConfiguration() {
+    private RedisCacheConfiguration taskListCacheConfiguration(RedisSerializer<Object> valueSerializer,
+            AdaptiveTtlPolicy ttlPolicy) {
         return RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofMinutes(30))
+                .entryTtl(ttlPolicy.ttlFunction("taskLists", Duration.ofMinutes(30), TaskCacheService::ttlScope))
                 .serializeKeysWith(org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair
                         .fromSerializer(new StringRedisSerializer()))
                 .serializeValuesWith(
                         org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair
-                                .fromSerializer(new GenericJackson2JsonRedisSerializer()));
+                                .fromSerializer(valueSerializer));
     }
 
     /**
-     * تكوين تخزين عداد المهام (TTL: 15 دقيقة)
+     * تكوين تخزين عداد المهام (TTL الأساسي: 15 دقيقة، يتكيف حسب معدل تعديل النطاق)
      */
-    private RedisCacheConfiguration taskCountCacheConfiguration() {
+    private RedisCacheConfiguration taskCountCacheConfiguration(RedisSerializer<Object> valueSerializer,
+            AdaptiveTtlPolicy ttlPolicy) {
         return RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofMinutes(15))
+                .entryTtl(ttlPolicy.ttlFunction("taskCounts", Duration.ofMinutes(15), TaskCacheService::ttlScope))
                 .serializeKeysWith(org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair
                         .fromSerializer(new StringRedisSerializer()))
                 .serializeValuesWith(
                         org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair
-                                .fromSerializer(new GenericJackson2JsonRedisSerializer()));
+                                .fromSerializer(valueSerializer));
     }
 
     /**
-     * تكوين تخزين مهام المستخدم (TTL: 45 دقيقة)
+     * تكوين تخزين مهام المستخدم (TTL الأساسي: 45 دقيقة، يتكيف حسب معدل تعديل النطاق)
      */
-    private RedisCacheConfiguration userTaskCacheConfiguration() {
+    private RedisCacheConfiguration userTaskCacheConfiguration(RedisSerializer<Object> valueSerializer,
+            AdaptiveTtlPolicy ttlPolicy) {
         return RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofMinutes(45))
+                .entryTtl(ttlPolicy.ttlFunction("userTasks", Duration.ofMinutes(45), TaskCacheService::ttlScope))
                 .serializeKeysWith(org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair
                         .fromSerializer(new StringRedisSerializer()))
                 .serializeValuesWith(
                         org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair
-                                .fromSerializer(new GenericJackson2JsonRedisSerializer()));
+                                .fromSerializer(valueSerializer));
     }
 }
@@ -2,40 +2,47 @@ package com.company.app.infrastructure.redis.monitoring;
 
 import java.time.LocalDateTime;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.springframework.stereotype.Service;
 
+import com.company.app.infrastructure.redis.monitoring.LatencyHistogram.LatencySnapshot;
+
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * خدمة مراقبة أداء التخزين المؤقت
- * تجمع إحصائيات مفصلة حول استخدام التخزين المؤقت
+ * تجمع إحصائيات مفصلة حول استخدام التخزين المؤقت لكل منطقة: الإصابات والإخفاقات والكتابات والحذف
+ * وتوزيع زمن كل عملية. العدادات مجزأة (LongAdder) حتى لا تتنافس الطلبات عليها
  */
 @Service
 @Slf4j
 public class CacheMetricsService {
 
-    // إحصائيات العدادات
-    private final AtomicLong cacheHits = new AtomicLong(0);
-    private final AtomicLong cacheMisses = new AtomicLong(0);
-    private final AtomicLong cacheEvictions = new AtomicLong(0);
-    private final AtomicLong cachePuts = new AtomicLong(0);
+    public static final String GET = "get";
+    public static final String PUT = "put";
+    public static final String EVICT = "evict";
+    public static final String LOAD = "load";
 
-    // إحصائيات زمنية
-    private final Map<String, AtomicLong> operationCounts = new ConcurrentHashMap<>();
-    private final Map<String, AtomicLong> operationTimes = new ConcurrentHashMap<>();
+    private final Map<String, RegionMetrics> regions = new ConcurrentHashMap<>();
 
     // إحصائيات بدء التشغيل
     private final LocalDateTime startTime = LocalDateTime.now();
 
+    /**
+     * عدادات منطقة (أو عملية) معينة؛ يُحتفظ بها مرة واحدة لدى المستدعي بدلاً من البحث عنها في كل طلب
+     */
+    public RegionMetrics region(String name) {
+        return regions.computeIfAbsent(name, RegionMetrics::new);
+    }
+
     /**
      * تسجيل ضربة ناجحة في التخزين المؤقت
      */
     public void recordCacheHit(String operation) {
-        cacheHits.incrementAndGet();
-        operationCounts.computeIfAbsent(operation + "_hit", k -> new AtomicLong(0)).incrementAndGet();
+        region(operation).recordHit();
         log.debug("Cache hit for operation: {}", operation);
     }
 
@@ -43,8 +50,7 @@ public class CacheMetricsService {
      * تسجيل فشل في التخزين المؤقت
      */
     public void recordCacheMiss(String operation) {
-        cacheMisses.incrementAndGet();
-        operationCounts.computeIfAbsent(operation + "_miss", k -> new AtomicLong(0)).incrementAndGet();
+        region(operation).recordMiss();
         log.debug("Cache miss for operation: {}", operation);
     }
 
@@ -52,9 +58,7 @@ public class CacheMetricsService {
      * تسجيل إضافة عنصر للتخزين المؤقت
      */
     public void recordCachePut(String operation, long executionTimeMs) {
-        cachePuts.incrementAndGet();
-        operationCounts.computeIfAbsent(operation + "_put", k -> new AtomicLong(0)).incrementAndGet();
-        operationTimes.computeIfAbsent(operation + "_put_time", k -> new AtomicLong(0)).addAndGet(executionTimeMs);
+        region(operation).recordPut(executionTimeMs * 1_000_000);
         log.debug("Cache put for operation: {}, time: {}ms", operation, executionTimeMs);
     }
 
@@ -62,8 +66,7 @@ public class CacheMetricsService {
      * تسجيل إزالة عنصر من التخزين المؤقت
      */
     public void recordCacheEviction(String operation) {
-        cacheEvictions.incrementAndGet();
-        operationCounts.computeIfAbsent(operation + "_evict", k -> new AtomicLong(0)).incrementAndGet();
+        region(operation).recordEviction(0);
         log.debug("Cache eviction for operation: {}", operation);
     }
 
@@ -71,61 +74,75 @@ public class CacheMetricsService {
      * تسجيل وقت تنفيذ عملية
      */
     public void recordOperationTime(String operation, long executionTimeMs) {
-        operationTimes.computeIfAbsent(operation + "_time", k -> new AtomicLong(0)).addAndGet(executionTimeMs);
-        operationCounts.computeIfAbsent(operation + "_count", k -> new AtomicLong(0)).incrementAndGet();
+        region(operation).recordLatency(GET, executionTimeMs * 1_000_000);
     }
 
     /**
      * الحصول على إحصائيات التخزين المؤقت
      */
     public CacheMetrics getCacheMetrics() {
-        long totalRequests = cacheHits.get() + cacheMisses.get();
-        double hitRatio = totalRequests > 0 ? (double) cacheHits.get() / totalRequests : 0.0;
+        long hits = 0;
+        long misses = 0;
+        long puts = 0;
+        long evictions = 0;
+        Map<String, Long> operationCounts = new TreeMap<>();
+        Map<String, Long> operationTimes = new TreeMap<>();
+        Map<String, RegionSnapshot> regionSnapshots = new TreeMap<>();
+
+        for (RegionMetrics region : regions.values()) {
+            RegionSnapshot snapshot = region.snapshot();
+            regionSnapshots.put(region.name, snapshot);
+            hits += snapshot.getHits();
+            misses += snapshot.getMisses();
+            puts += snapshot.getPuts();
+            evictions += snapshot.getEvictions();
+            operationCounts.put(region.name + "_hit", snapshot.getHits());
+            operationCounts.put(region.name + "_miss", snapshot.getMisses());
+            operationCounts.put(region.name + "_put", snapshot.getPuts());
+            operationCounts.put(region.name + "_evict", snapshot.getEvictions());
+            region.latencies.forEach((operation, histogram) -> operationTimes.put(
+                    region.name + "_" + operation + "_time", histogram.getTotalNanos() / 1_000_000));
+        }
+
+        long totalRequests = hits + misses;
+        double hitRatio = totalRequests > 0 ? (double) hits / totalRequests : 0.0;
 
         return CacheMetrics.builder()
-                .totalHits(cacheHits.get())
-                .totalMisses(cacheMisses.get())
-                .totalPuts(cachePuts.get())
-                .totalEvictions(cacheEvictions.get())
+                .totalHits(hits)
+                .totalMisses(misses)
+                .totalPuts(puts)
+                .totalEvictions(evictions)
                 .hitRatio(hitRatio)
                 .missRatio(1.0 - hitRatio)
                 .totalRequests(totalRequests)
                 .uptimeHours(getUptimeHours())
-                .operationCounts(Map.copyOf(operationCounts))
-                .operationTimes(Map.copyOf(operationTimes))
+                .operationCounts(operationCounts)
+                .operationTimes(operationTimes)
+                .regions(regionSnapshots)
                 .build();
     }
 
     /**
-     * حساب متوسط أوقات التنفيذ
+     * حساب متوسط أوقات التنفيذ (بالملي ثانية) لكل منطقة وعملية
      */
     public Map<String, Double> getAverageOperationTimes() {
-        Map<String, Double> averages = new ConcurrentHashMap<>();
-
-        operationTimes.forEach((operation, totalTime) -> {
-            String countKey = operation.replace("_time", "_count");
-            AtomicLong count = operationCounts.get(countKey);
-
-            if (count != null && count.get() > 0) {
-                double average = (double) totalTime.get() / count.get();
-                averages.put(operation.replace("_time", ""), average);
+        Map<String, Double> averages = new TreeMap<>();
+        regions.values().forEach(region -> region.latencies.forEach((operation, histogram) -> {
+            long count = histogram.getCount();
+            if (count > 0) {
+                averages.put(region.name + "_" + operation, histogram.getTotalNanos() / 1_000_000.0 / count);
             }
-        });
-
+        }));
         return averages;
     }
 
     /**
      * إعادة تعيين الإحصائيات
+     * العدادات تُصفر في مكانها لأن أغلفة التخزين تحتفظ بها
      */
     public void resetMetrics() {
         log.warn("Resetting cache metrics");
-        cacheHits.set(0);
-        cacheMisses.set(0);
-        cacheEvictions.set(0);
-        cachePuts.set(0);
-        operationCounts.clear();
-        operationTimes.clear();
+        regions.values().forEach(RegionMetrics::reset);
     }
 
     /**
@@ -135,6 +152,89 @@ public class CacheMetricsService {
         return java.time.Duration.between(startTime, LocalDateTime.now()).toMinutes() / 60.0;
     }
 
+    /**
+     * عدادات منطقة واحدة وتوزيع زمن كل عملية فيها
+     */
+    public static class RegionMetrics {
+        private final String name;
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder puts = new LongAdder();
+        private final LongAdder evictions = new LongAdder();
+        private final Map<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+
+        private RegionMetrics(String name) {
+            this.name = name;
+            for (String operation : new String[] { GET, PUT, EVICT, LOAD }) {
+                latencies.put(operation, new LatencyHistogram());
+            }
+        }
+
+        public void recordHit() {
+            hits.increment();
+        }
+
+        public void recordMiss() {
+            misses.increment();
+        }
+
+        public void recordPut(long nanos) {
+            puts.increment();
+            recordLatency(PUT, nanos);
+        }
+
+        public void recordEviction(long nanos) {
+            evictions.increment();
+            recordLatency(EVICT, nanos);
+        }
+
+        public void recordLatency(String operation, long nanos) {
+            latencies.computeIfAbsent(operation, key -> new LatencyHistogram()).record(nanos);
+        }
+
+        private void reset() {
+            hits.reset();
+            misses.reset();
+            puts.reset();
+            evictions.reset();
+            latencies.values().forEach(LatencyHistogram::reset);
+        }
+
+        private RegionSnapshot snapshot() {
+            long hitCount = hits.sum();
+            long missCount = misses.sum();
+            long requests = hitCount + missCount;
+            Map<String, LatencySnapshot> latencySnapshots = new TreeMap<>();
+            latencies.forEach((operation, histogram) -> {
+                if (histogram.getCount() > 0) {
+                    latencySnapshots.put(operation, histogram.snapshot());
+                }
+            });
+            return RegionSnapshot.builder()
+                    .hits(hitCount)
+                    .misses(missCount)
+                    .puts(puts.sum())
+                    .evictions(evictions.sum())
+                    .hitRatio(requests > 0 ? (double) hitCount / requests : 0.0)
+                    .latencies(latencySnapshots)
+                    .build();
+        }
+    }
+
+    /**
+     * فئة لحفظ إحصائيات منطقة واحدة
+     */
+    @lombok.Builder
+    @lombok.Data
+    public static class RegionSnapshot {
+        private long hits;
+        private long misses;
+        private long puts;
+        private long evictions;
+        private double hitRatio;
+        private Map<String, LatencySnapshot> latencies;
+    }
+
     /**
      * فئة لحفظ إحصائيات التخزين المؤقت
      */
@@ -149,7 +249,8 @@ public class CacheMetricsService {
         private double missRatio;
         private long totalRequests;
         private double uptimeHours;
-        private Map<String, AtomicLong> operationCounts;
-        private Map<String, AtomicLong> operationTimes;
+        private Map<String, Long> operationCounts;
+        private Map<String, Long> operationTimes;
+        private Map<String, RegionSnapshot> regions;
     }
 }
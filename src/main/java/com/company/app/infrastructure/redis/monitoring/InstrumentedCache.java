@@ -0,0 +1,89 @@
+package com.company.app.infrastructure.redis.monitoring;
+
+import java.util.concurrent.Callable;
+
+import org.springframework.cache.Cache;
+
+import com.company.app.infrastructure.redis.cache.DelegatingCache;
+import com.company.app.infrastructure.redis.monitoring.CacheMetricsService.RegionMetrics;
+
+/**
+ * غلاف يسجل كل عملية على المنطقة في خدمة المراقبة: الإصابة والإخفاق والكتابة والحذف وزمن كل منها
+ * زمن القراءة لا يشمل وقت التحميل من قاعدة البيانات عند الإخفاق، فهو يُسجل منفصلاً كعملية load
+ */
+public class InstrumentedCache extends DelegatingCache {
+
+    private final RegionMetrics metrics;
+
+    public InstrumentedCache(Cache delegate, RegionMetrics metrics) {
+        super(delegate);
+        this.metrics = metrics;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        long start = System.nanoTime();
+        ValueWrapper wrapper = delegate.get(key);
+        metrics.recordLatency(CacheMetricsService.GET, System.nanoTime() - start);
+        if (wrapper != null) {
+            metrics.recordHit();
+        } else {
+            metrics.recordMiss();
+        }
+        return wrapper;
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        long[] loadNanos = { -1 };
+        long start = System.nanoTime();
+        T value = delegate.get(key, () -> {
+            long loadStart = System.nanoTime();
+            try {
+                return valueLoader.call();
+            } finally {
+                loadNanos[0] = System.nanoTime() - loadStart;
+            }
+        });
+        long elapsed = System.nanoTime() - start;
+        if (loadNanos[0] >= 0) {
+            metrics.recordMiss();
+            metrics.recordLatency(CacheMetricsService.LOAD, loadNanos[0]);
+            metrics.recordLatency(CacheMetricsService.GET, elapsed - loadNanos[0]);
+        } else {
+            metrics.recordHit();
+            metrics.recordLatency(CacheMetricsService.GET, elapsed);
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        long start = System.nanoTime();
+        delegate.put(key, value);
+        metrics.recordPut(System.nanoTime() - start);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        long start = System.nanoTime();
+        ValueWrapper existing = delegate.putIfAbsent(key, value);
+        metrics.recordPut(System.nanoTime() - start);
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        long start = System.nanoTime();
+        delegate.evict(key);
+        metrics.recordEviction(System.nanoTime() - start);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        long start = System.nanoTime();
+        boolean evicted = delegate.evictIfPresent(key);
+        metrics.recordEviction(System.nanoTime() - start);
+        return evicted;
+    }
+}
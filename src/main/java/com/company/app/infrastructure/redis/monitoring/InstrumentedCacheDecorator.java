@@ -0,0 +1,28 @@
+package com.company.app.infrastructure.redis.monitoring;
+
+import org.springframework.cache.Cache;
+
+import com.company.app.infrastructure.redis.cache.CacheDecorator;
+
+/**
+ * يغلف كل منطقة بتسجيل عملياتها في CacheMetricsService
+ * يوضع كغلاف خارجي حتى تعكس الإحصائيات ما يراه المستدعي (بما فيه الإصابات من النسخة المحلية)
+ */
+public class InstrumentedCacheDecorator implements CacheDecorator {
+
+    private final CacheMetricsService metricsService;
+    private final boolean enabled;
+
+    public InstrumentedCacheDecorator(CacheMetricsService metricsService, boolean enabled) {
+        this.metricsService = metricsService;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public Cache decorate(Cache cache) {
+        if (!enabled) {
+            return cache;
+        }
+        return new InstrumentedCache(cache, metricsService.region(cache.getName()));
+    }
+}
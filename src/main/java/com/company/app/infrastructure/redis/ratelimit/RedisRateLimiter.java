@@ -0,0 +1,266 @@
+package com.company.app.infrastructure.redis.ratelimit;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import com.company.app.infrastructure.redis.cache.RedisScripts;
+import com.company.app.infrastructure.redis.cache.breaker.RedisCircuitBreaker;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * محدد معدل الطلبات في Redis بخوارزمية GCRA (دلو رموز بقيمة واحدة لكل مفتاح: وقت الوصول النظري TAT)
+ * كل فحص سكربت واحد (رحلة واحدة) يفحص جميع دلاء الطلب معاً ويحجزها ذرياً، بوقت Redis (TIME) لا بساعة العقدة.
+ * مفاتيح الطالب الواحد تحمل وسم {subject} فتبقى على نفس العقدة عند توزيع المفاتيح.
+ * الفحص المحلي المسبق: إذا كان الطالب بعيداً عن حده يحجز السكربت عدة رموز دفعة واحدة (prefetch)
+ * تُستهلك محلياً دون Redis حتى local-ttl؛ الرموز غير المستهلكة تبقى محسوبة في Redis (تقدير محافظ، دون تجاوز للحد)
+ */
+@Service
+@Slf4j
+public class RedisRateLimiter {
+
+    private static final String PREFIX = "app.rate-limit.";
+    private static final String KEY_PREFIX = "rate_limit:";
+    private static final String USER_BUCKET = "";
+    private static final int MAX_LOCAL_ENTRIES = 10_000;
+
+    // ARGV: prefetch, then (emission interval ms, period ms) per key; returns {granted, remaining, retry after ms}
+    private static final RedisScript<List<Object>> ACQUIRE_SCRIPT = RedisScripts.listScript("""
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local prefetch = tonumber(ARGV[1])
+            local tats = {}
+            local available = math.huge
+            local retryAfter = 0
+            for i = 1, #KEYS do
+                local emission = tonumber(ARGV[2 * i])
+                local period = tonumber(ARGV[2 * i + 1])
+                local tat = math.max(tonumber(redis.call('GET', KEYS[i]) or now), now)
+                local left = (now + period - tat) / emission
+                if left < 1 then
+                    retryAfter = math.max(retryAfter, tat + emission - period - now)
+                end
+                tats[i] = tat
+                available = math.min(available, left)
+            end
+            if retryAfter > 0 then
+                return {0, 0, math.ceil(retryAfter)}
+            end
+            local cost = 1
+            if prefetch > 1 and available >= 2 * prefetch then
+                cost = prefetch
+            end
+            for i = 1, #KEYS do
+                local tat = tats[i] + cost * tonumber(ARGV[2 * i])
+                redis.call('SET', KEYS[i], string.format('%.3f', tat), 'PX', math.ceil(tat - now))
+            end
+            return {cost, math.floor(available - cost), 0}
+            """);
+
+    private final StringRedisTemplate redisTemplate;
+    private final Environment environment;
+    private final boolean enabled;
+    private final boolean failOpen;
+    private final RateLimitPolicy userPolicy;
+    private final int prefetch;
+    private final long localTtlNanos;
+
+    private final Map<String, Optional<RateLimitPolicy>> endpointPolicies = new ConcurrentHashMap<>();
+    private final Map<String, LocalPermits> localPermits = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> rejectedByEndpoint = new ConcurrentHashMap<>();
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder allowedLocally = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder redisChecks = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    public RedisRateLimiter(StringRedisTemplate redisTemplate, Environment environment) {
+        this.redisTemplate = redisTemplate;
+        this.environment = environment;
+        this.enabled = environment.getProperty(PREFIX + "enabled", Boolean.class, true);
+        this.failOpen = environment.getProperty(PREFIX + "fail-open", Boolean.class, true);
+        this.userPolicy = policy(PREFIX + "user.", 300, Duration.ofMinutes(1));
+        this.prefetch = Math.max(1, environment.getProperty(PREFIX + "local.prefetch", Integer.class, 10));
+        this.localTtlNanos = environment.getProperty(PREFIX + "local.ttl", Duration.class, Duration.ofSeconds(1))
+                .toNanos();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * فحص طلب لطالب على واجهة معينة: حد الطالب على جميع الواجهات وحد الواجهة إن وُجد
+     * (app.rate-limit.endpoints.{endpoint}.*) في سكربت واحد
+     */
+    public RateLimitDecision tryAcquire(String subject, String endpoint) {
+        Map<String, RateLimitPolicy> buckets = new LinkedHashMap<>();
+        if (userPolicy != null) {
+            buckets.put(USER_BUCKET, userPolicy);
+        }
+        RateLimitPolicy endpointPolicy = endpoint != null ? endpointPolicy(endpoint) : null;
+        if (endpointPolicy != null) {
+            buckets.put(endpoint, endpointPolicy);
+        }
+        RateLimitDecision decision = tryAcquire(subject, buckets);
+        if (!decision.isAllowed() && endpoint != null) {
+            rejectedByEndpoint.computeIfAbsent(endpoint, name -> new LongAdder()).increment();
+        }
+        return decision;
+    }
+
+    /**
+     * فحص طلب واحد مقابل دلاء محددة (اسم الدلو ← سياسته)؛ يُقبل الطلب فقط إذا اتسعت له جميع الدلاء
+     */
+    public RateLimitDecision tryAcquire(String subject, Map<String, RateLimitPolicy> buckets) {
+        if (!enabled || buckets.isEmpty()) {
+            return RateLimitDecision.unlimited();
+        }
+        long limit = buckets.values().stream().mapToLong(RateLimitPolicy::limit).min().orElse(0);
+        String localKey = subject + "|" + String.join("|", buckets.keySet());
+        long now = System.nanoTime();
+        LocalPermits permits = localPermits.get(localKey);
+        if (permits != null) {
+            long remaining = now < permits.expiresAtNanos() ? permits.remaining().decrementAndGet() : -1;
+            if (remaining >= 0) {
+                allowed.increment();
+                allowedLocally.increment();
+                return RateLimitDecision.builder().allowed(true).limit(limit).remaining(remaining).local(true).build();
+            }
+            localPermits.remove(localKey, permits);
+        }
+
+        List<String> keys = new ArrayList<>();
+        List<String> args = new ArrayList<>();
+        args.add(String.valueOf(prefetch));
+        buckets.forEach((name, policy) -> {
+            keys.add(KEY_PREFIX + "{" + subject + "}" + (name.isEmpty() ? "" : ":" + name));
+            args.add(String.valueOf(policy.emissionMillis()));
+            args.add(String.valueOf(policy.period().toMillis()));
+        });
+
+        List<?> reply;
+        try {
+            redisChecks.increment();
+            reply = redisTemplate.execute(ACQUIRE_SCRIPT, keys, args.toArray());
+        } catch (RuntimeException e) {
+            failures.increment();
+            if (!failOpen || !RedisCircuitBreaker.isRedisUnavailable(e)) {
+                throw e;
+            }
+            log.debug("Rate limit check for {} skipped, Redis is unavailable", subject);
+            allowed.increment();
+            return RateLimitDecision.unlimited();
+        }
+
+        long granted = number(reply, 0);
+        if (granted <= 0) {
+            rejected.increment();
+            return RateLimitDecision.builder().allowed(false).limit(limit).retryAfterMillis(number(reply, 2)).build();
+        }
+        if (granted > 1 && localPermits.size() < MAX_LOCAL_ENTRIES) {
+            localPermits.put(localKey, new LocalPermits(new AtomicLong(granted - 1), now + localTtlNanos));
+        }
+        allowed.increment();
+        return RateLimitDecision.builder().allowed(true).limit(limit).remaining(number(reply, 1) + granted - 1)
+                .build();
+    }
+
+    /**
+     * الحصول على إحصائيات محدد المعدل
+     */
+    public RateLimiterStats getStats() {
+        localPermits.entrySet().removeIf(entry -> System.nanoTime() >= entry.getValue().expiresAtNanos());
+        Map<String, Long> rejectedEndpoints = new LinkedHashMap<>();
+        rejectedByEndpoint.forEach((endpoint, count) -> rejectedEndpoints.put(endpoint, count.sum()));
+        return RateLimiterStats.builder()
+                .enabled(enabled)
+                .allowed(allowed.sum())
+                .allowedLocally(allowedLocally.sum())
+                .rejected(rejected.sum())
+                .redisChecks(redisChecks.sum())
+                .failures(failures.sum())
+                .localEntries(localPermits.size())
+                .rejectedByEndpoint(rejectedEndpoints)
+                .build();
+    }
+
+    private RateLimitPolicy endpointPolicy(String endpoint) {
+        return endpointPolicies.computeIfAbsent(endpoint, name ->
+                Optional.ofNullable(policy(PREFIX + "endpoints." + name + ".", 0, Duration.ofMinutes(1))))
+                .orElse(null);
+    }
+
+    private RateLimitPolicy policy(String prefix, long defaultLimit, Duration defaultPeriod) {
+        long limit = environment.getProperty(prefix + "limit", Long.class, defaultLimit);
+        Duration period = environment.getProperty(prefix + "period", Duration.class, defaultPeriod);
+        return limit > 0 && !period.isZero() ? new RateLimitPolicy(limit, period) : null;
+    }
+
+    private static long number(List<?> reply, int index) {
+        return reply != null && index < reply.size() && reply.get(index) instanceof Number number
+                ? number.longValue()
+                : 0L;
+    }
+
+    /**
+     * حد الطلبات: limit طلب في كل period (مع السماح بها دفعة واحدة)
+     */
+    public record RateLimitPolicy(long limit, Duration period) {
+
+        /**
+         * الفاصل النظري بين طلبين متتاليين بالمللي ثانية
+         */
+        public double emissionMillis() {
+            return (double) period.toMillis() / limit;
+        }
+    }
+
+    private record LocalPermits(AtomicLong remaining, long expiresAtNanos) {
+    }
+
+    /**
+     * نتيجة فحص طلب
+     */
+    @lombok.Builder
+    @lombok.Data
+    public static class RateLimitDecision {
+        private boolean allowed;
+        private long limit;
+        private long remaining;
+        private long retryAfterMillis;
+        private boolean local;
+
+        static RateLimitDecision unlimited() {
+            return builder().allowed(true).limit(-1).remaining(-1).build();
+        }
+    }
+
+    /**
+     * فئة لحفظ إحصائيات محدد المعدل
+     */
+    @lombok.Builder
+    @lombok.Data
+    public static class RateLimiterStats {
+        private boolean enabled;
+        private long allowed;
+        private long allowedLocally;
+        private long rejected;
+        private long redisChecks;
+        private long failures;
+        private int localEntries;
+        private Map<String, Long> rejectedByEndpoint;
+    }
+}
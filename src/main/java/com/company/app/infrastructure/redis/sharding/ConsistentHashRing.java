@@ -0,0 +1,155 @@
+package com.company.app.infrastructure.redis.sharding;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * حلقة تجزئة متسقة مع عقد افتراضية
+ * كل عقدة تأخذ virtualNodes نقطة على الحلقة (MurmurHash3 لاسمها ورقم النقطة)، والمفتاح يذهب إلى أول نقطة
+ * بعد تجزئته؛ إضافة عقدة تنقل فقط المفاتيح التي وقعت قبل نقاطها الجديدة (حوالي 1/N منها).
+ * مثل Redis Cluster، إذا احتوى المفتاح على وسم {...} غير فارغ تُجزأ محتويات الوسم فقط،
+ * فتبقى مفاتيح اللوحة الواحدة على نفس العقدة. الحلقة غير قابلة للتعديل وآمنة للاستخدام من عدة خيوط
+ */
+public final class ConsistentHashRing {
+
+    private final List<String> nodes;
+    private final int virtualNodes;
+    private final int[] points;
+    private final String[] owners;
+
+    public ConsistentHashRing(List<String> nodes, int virtualNodes) {
+        if (nodes.isEmpty() || virtualNodes < 1) {
+            throw new IllegalArgumentException("A hash ring needs at least one node and one virtual node per node");
+        }
+        this.nodes = List.copyOf(nodes);
+        this.virtualNodes = virtualNodes;
+
+        long[] entries = new long[nodes.size() * virtualNodes];
+        int count = 0;
+        for (int node = 0; node < nodes.size(); node++) {
+            for (int replica = 0; replica < virtualNodes; replica++) {
+                int point = hash((nodes.get(node) + "#" + replica).getBytes(StandardCharsets.UTF_8));
+                // point in the high bits, node index in the low bits: sorting orders by point, ties by node
+                entries[count++] = ((long) point << 32) | node;
+            }
+        }
+        Arrays.sort(entries);
+        this.points = new int[entries.length];
+        this.owners = new String[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            points[i] = (int) (entries[i] >> 32);
+            owners[i] = nodes.get((int) entries[i]);
+        }
+    }
+
+    /**
+     * حلقة جديدة بعد إضافة عقدة (النقاط الحالية لا تتغير)
+     */
+    public ConsistentHashRing withNode(String node) {
+        List<String> extended = new ArrayList<>(nodes);
+        extended.add(node);
+        return new ConsistentHashRing(extended, virtualNodes);
+    }
+
+    public List<String> getNodes() {
+        return nodes;
+    }
+
+    /**
+     * العقدة المسؤولة عن مفتاح
+     */
+    public String nodeFor(byte[] key) {
+        int hash = hash(hashTag(key));
+        int index = Arrays.binarySearch(points, hash);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return owners[index == points.length ? 0 : index];
+    }
+
+    public String nodeFor(String key) {
+        return nodeFor(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * نسبة الحلقة (وبالتالي المفاتيح المتوقعة) التي تملكها كل عقدة
+     */
+    public Map<String, Double> ownership() {
+        Map<String, Double> ownership = new LinkedHashMap<>();
+        nodes.forEach(node -> ownership.put(node, 0.0));
+        double ring = 1L << 32;
+        for (int i = 0; i < points.length; i++) {
+            long previous = i == 0 ? (long) points[points.length - 1] - (1L << 32) : points[i - 1];
+            ownership.merge(owners[i], (points[i] - previous) / ring, Double::sum);
+        }
+        return ownership;
+    }
+
+    /**
+     * الجزء الذي يُجزأ من المفتاح: محتوى أول وسم {...} غير فارغ، أو المفتاح كاملاً
+     */
+    static byte[] hashTag(byte[] key) {
+        int open = indexOf(key, (byte) '{', 0);
+        if (open >= 0) {
+            int close = indexOf(key, (byte) '}', open + 1);
+            if (close > open + 1) {
+                return Arrays.copyOfRange(key, open + 1, close);
+            }
+        }
+        return key;
+    }
+
+    private static int indexOf(byte[] bytes, byte value, int from) {
+        for (int i = from; i < bytes.length; i++) {
+            if (bytes[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * MurmurHash3 (x86, 32 بت، بذرة 0)
+     */
+    static int hash(byte[] data) {
+        final int c1 = 0xcc9e2d51;
+        final int c2 = 0x1b873593;
+        int h = 0;
+        int blocks = data.length / 4;
+        for (int i = 0; i < blocks; i++) {
+            int offset = i * 4;
+            int k = (data[offset] & 0xff) | (data[offset + 1] & 0xff) << 8 | (data[offset + 2] & 0xff) << 16
+                    | (data[offset + 3] & 0xff) << 24;
+            k *= c1;
+            k = Integer.rotateLeft(k, 15);
+            k *= c2;
+            h ^= k;
+            h = Integer.rotateLeft(h, 13);
+            h = h * 5 + 0xe6546b64;
+        }
+        int tail = blocks * 4;
+        int remaining = data.length & 3;
+        if (remaining > 0) {
+            // the last 1-3 bytes, little-endian
+            int k = 0;
+            for (int i = remaining - 1; i >= 0; i--) {
+                k ^= (data[tail + i] & 0xff) << (8 * i);
+            }
+            k *= c1;
+            k = Integer.rotateLeft(k, 15);
+            k *= c2;
+            h ^= k;
+        }
+        h ^= data.length;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
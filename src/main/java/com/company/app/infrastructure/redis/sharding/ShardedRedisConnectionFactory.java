@@ -0,0 +1,677 @@
+package com.company.app.infrastructure.redis.sharding;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisSentinelConnection;
+import org.springframework.data.redis.connection.Subscription;
+import org.springframework.data.redis.core.Cursor;
+
+import com.company.app.infrastructure.redis.cache.breaker.CircuitBreakingRedisConnectionFactory;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * مصنع اتصالات يوزع المفاتيح على عدة عقد Redis مستقلة (standalone) بالتجزئة المتسقة
+ * كل أمر يُوجَّه إلى عقدة مفتاحه الأول؛ الأوامر متعددة المفاتيح (DEL, UNLINK, EXISTS, TOUCH, MGET, MSET)
+ * تُقسم حسب العقد وتُدمج نتائجها، والسكربتات يجب أن تكون مفاتيحها على عقدة واحدة (وسم {...} مشترك).
+ * pipeline يُفتح على كل عقدة يصلها أمر وتُعاد النتائج بترتيب الأوامر الأصلي، SCAN و KEYS و DBSIZE تمر على
+ * جميع العقد، والاشتراك في pub/sub يتم على جميع العقد حتى تصل رسالة تُنشر على أي عقدة (ولو من سكربت).
+ * المعاملات (MULTI/EXEC) غير مدعومة، والأوامر العامة (execute) تذهب إلى العقدة الأولى
+ */
+@Slf4j
+public class ShardedRedisConnectionFactory implements RedisConnectionFactory, SmartLifecycle, DisposableBean {
+
+    private static final Set<String> SPLIT_SUM = Set.of("del", "unlink", "exists", "touch");
+    private static final Set<String> BROADCAST = Set.of("ping", "flushDb", "flushAll", "scriptFlush", "scriptKill",
+            "scriptLoad");
+    private static final Set<String> TRANSACTIONS = Set.of("multi", "exec", "discard", "watch", "unwatch");
+    private static final int MAX_TAG_SEARCH = 1_000_000;
+
+    private final Map<String, RedisConnectionFactory> nodes;
+    private final ConsistentHashRing ring;
+    private final String defaultNode;
+    private final Map<String, String> colocationTags = new LinkedHashMap<>();
+
+    private final Map<String, LongAdder> routedCommands = new LinkedHashMap<>();
+    private final LongAdder splitCommands = new LongAdder();
+    private final LongAdder broadcastCommands = new LongAdder();
+    private final LongAdder crossNodeRejections = new LongAdder();
+
+    /**
+     * @param nodes        اتصالات العقد حسب اسمها (host:port)؛ الاسم يحدد نقاط العقدة على الحلقة
+     * @param virtualNodes عدد النقاط لكل عقدة
+     */
+    public ShardedRedisConnectionFactory(Map<String, RedisConnectionFactory> nodes, int virtualNodes) {
+        this.nodes = Collections.unmodifiableMap(new LinkedHashMap<>(nodes));
+        this.ring = new ConsistentHashRing(List.copyOf(nodes.keySet()), virtualNodes);
+        this.defaultNode = ring.getNodes().get(0);
+        nodes.keySet().forEach(node -> routedCommands.put(node, new LongAdder()));
+        for (int i = 0; colocationTags.size() < nodes.size() && i < MAX_TAG_SEARCH; i++) {
+            colocationTags.putIfAbsent(ring.nodeFor(String.valueOf(i)), String.valueOf(i));
+        }
+        log.info("Sharding Redis keys across {} nodes with {} virtual nodes each: {}", nodes.size(), virtualNodes,
+                ring.ownership());
+    }
+
+    /**
+     * مصنع التوزيع خلف مصنع اتصالات (مع تجاوز غلاف قاطع الدائرة)، أو null إذا لم يكن التوزيع مفعلاً
+     */
+    public static ShardedRedisConnectionFactory unwrap(RedisConnectionFactory connectionFactory) {
+        RedisConnectionFactory target = connectionFactory instanceof CircuitBreakingRedisConnectionFactory breaking
+                ? breaking.getDelegate()
+                : connectionFactory;
+        return target instanceof ShardedRedisConnectionFactory sharded ? sharded : null;
+    }
+
+    public ConsistentHashRing getRing() {
+        return ring;
+    }
+
+    public String nodeFor(String key) {
+        return ring.nodeFor(key);
+    }
+
+    /**
+     * وسم {...} يقع على نفس عقدة المفتاح، لمفاتيح مساعدة (مثل فهارس المفاتيح) يجب أن ترافق بياناتها
+     */
+    public String colocationTag(String key) {
+        return colocationTag(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String colocationTag(byte[] key) {
+        return "{" + colocationTags.get(ring.nodeFor(key)) + "}";
+    }
+
+    /**
+     * وسوم جميع العقد (مفتاح مساعد واحد لكل عقدة)
+     */
+    public Collection<String> colocationTags() {
+        return colocationTags.values().stream().map(tag -> "{" + tag + "}").toList();
+    }
+
+    @Override
+    public RedisConnection getConnection() {
+        return (RedisConnection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { RedisConnection.class }, new ShardedConnection());
+    }
+
+    @Override
+    public RedisClusterConnection getClusterConnection() {
+        throw new InvalidDataAccessApiUsageException("Client-side sharding does not provide cluster connections");
+    }
+
+    @Override
+    public boolean getConvertPipelineAndTxResults() {
+        return nodes.get(defaultNode).getConvertPipelineAndTxResults();
+    }
+
+    @Override
+    public RedisSentinelConnection getSentinelConnection() {
+        throw new InvalidDataAccessApiUsageException("Client-side sharding does not provide sentinel connections");
+    }
+
+    @Override
+    public DataAccessException translateExceptionIfPossible(RuntimeException ex) {
+        return nodes.get(defaultNode).translateExceptionIfPossible(ex);
+    }
+
+    @Override
+    public void start() {
+        nodes.values().forEach(node -> {
+            if (node instanceof SmartLifecycle lifecycle) {
+                lifecycle.start();
+            }
+        });
+    }
+
+    @Override
+    public void stop() {
+        nodes.values().forEach(node -> {
+            if (node instanceof SmartLifecycle lifecycle) {
+                lifecycle.stop();
+            }
+        });
+    }
+
+    @Override
+    public boolean isRunning() {
+        return nodes.values().stream()
+                .allMatch(node -> !(node instanceof SmartLifecycle lifecycle) || lifecycle.isRunning());
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        for (RedisConnectionFactory node : nodes.values()) {
+            if (node instanceof DisposableBean disposable) {
+                disposable.destroy();
+            }
+        }
+    }
+
+    /**
+     * الحصول على إحصائيات التوزيع: حصة كل عقدة من الحلقة وعدد الأوامر الموجهة إليها
+     */
+    public ShardingStats getStats() {
+        Map<String, Double> ownership = ring.ownership();
+        Map<String, NodeStats> nodeStats = new LinkedHashMap<>();
+        routedCommands.forEach((node, commands) -> nodeStats.put(node, NodeStats.builder()
+                .ringShare(ownership.get(node))
+                .routedCommands(commands.sum())
+                .build()));
+        return ShardingStats.builder()
+                .nodes(nodeStats)
+                .splitCommands(splitCommands.sum())
+                .broadcastCommands(broadcastCommands.sum())
+                .crossNodeRejections(crossNodeRejections.sum())
+                .build();
+    }
+
+    /**
+     * اتصال منطقي واحد فوق اتصالات العقد (تُفتح عند أول أمر يصل إلى كل عقدة)
+     */
+    private final class ShardedConnection implements InvocationHandler {
+
+        private final Map<String, RedisConnection> connections = new LinkedHashMap<>();
+        private final List<PendingReply> pendingReplies = new ArrayList<>();
+        private boolean pipelined;
+        private boolean closed;
+        private CompositeSubscription subscription;
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> "ShardedRedisConnection" + connections.keySet();
+                };
+            }
+            if (isCommandsAccessor(method)) {
+                return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { method.getReturnType() },
+                        (commandsProxy, command, commandArgs) -> command.getDeclaringClass() == Object.class
+                                ? invoke(commandsProxy, command, commandArgs)
+                                : dispatch(method, command, commandArgs));
+            }
+            return switch (method.getName()) {
+                case "close" -> {
+                    close();
+                    yield null;
+                }
+                case "isClosed" -> closed;
+                case "isPipelined" -> pipelined;
+                case "isQueueing" -> false;
+                case "openPipeline" -> {
+                    openPipeline();
+                    yield null;
+                }
+                case "closePipeline" -> closePipeline();
+                case "getNativeConnection" -> Collections.unmodifiableMap(connections);
+                case "getSentinelConnection" -> getSentinelConnection();
+                default -> dispatch(null, method, args);
+            };
+        }
+
+        @SuppressWarnings("unchecked")
+        private Object dispatch(Method accessor, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (TRANSACTIONS.contains(name)) {
+                throw new InvalidDataAccessApiUsageException("Transactions are not supported with client-side sharding");
+            }
+            switch (name) {
+                case "eval", "evalSha" -> {
+                    byte[][] keysAndArgs = (byte[][]) args[3];
+                    byte[][] keys = Arrays.copyOf(keysAndArgs, (Integer) args[2]);
+                    return single(accessor, method, args, keys.length > 0 ? sameNode(name, keys) : defaultNode);
+                }
+                case "scan" -> {
+                    if (pipelined) {
+                        throw new InvalidDataAccessApiUsageException("SCAN cannot be pipelined");
+                    }
+                    broadcastCommands.increment();
+                    return new FanOutCursor(ring.getNodes(), node -> {
+                        try {
+                            return (Cursor<?>) call(node, accessor, method, args);
+                        } catch (Throwable e) {
+                            throw e instanceof RuntimeException runtime ? runtime : new IllegalStateException(e);
+                        }
+                    });
+                }
+                case "keys" -> {
+                    return broadcast(accessor, method, args, results -> {
+                        Set<Object> keys = new LinkedHashSet<>();
+                        results.forEach(result -> keys.addAll((Collection<?>) result));
+                        return keys;
+                    });
+                }
+                case "dbSize" -> {
+                    return broadcast(accessor, method, args, ShardedRedisConnectionFactory::sum);
+                }
+                case "scriptExists" -> {
+                    return broadcast(accessor, method, args, results -> {
+                        List<Boolean> exists = new ArrayList<>((List<Boolean>) results.get(0));
+                        results.forEach(result -> {
+                            List<?> flags = (List<?>) result;
+                            for (int i = 0; i < exists.size(); i++) {
+                                exists.set(i, exists.get(i) && Boolean.TRUE.equals(flags.get(i)));
+                            }
+                        });
+                        return exists;
+                    });
+                }
+                case "subscribe", "pSubscribe" -> {
+                    subscribe(accessor, method, args);
+                    return null;
+                }
+                case "isSubscribed" -> {
+                    return subscription != null && subscription.isAlive();
+                }
+                case "getSubscription" -> {
+                    return subscription;
+                }
+                case "mGet" -> {
+                    if (args[0] instanceof byte[][] keys && keys.length > 1) {
+                        return split(accessor, method, keys, parts -> parts, (positions, results) -> {
+                            List<Object> values = new ArrayList<>(Collections.nCopies(keys.length, null));
+                            for (int part = 0; part < results.size(); part++) {
+                                List<?> partValues = (List<?>) results.get(part);
+                                for (int i = 0; i < positions.get(part).size(); i++) {
+                                    values.set(positions.get(part).get(i), partValues.get(i));
+                                }
+                            }
+                            return values;
+                        });
+                    }
+                }
+                case "mSet" -> {
+                    Map<byte[], byte[]> values = (Map<byte[], byte[]>) args[0];
+                    byte[][] keys = values.keySet().toArray(new byte[0][]);
+                    return split(accessor, method, keys, part -> {
+                        Map<byte[], byte[]> partValues = new LinkedHashMap<>();
+                        for (byte[] key : part) {
+                            partValues.put(key, values.get(key));
+                        }
+                        return partValues;
+                    }, (positions, results) -> results.stream().allMatch(Boolean.TRUE::equals));
+                }
+                case "mSetNX" -> {
+                    Map<byte[], byte[]> values = (Map<byte[], byte[]>) args[0];
+                    return single(accessor, method, args, sameNode(name, values.keySet().toArray(new byte[0][])));
+                }
+                default -> {
+                    if (BROADCAST.contains(name)) {
+                        return broadcast(accessor, method, args, results -> results.get(0));
+                    }
+                    if (SPLIT_SUM.contains(name) && args[0] instanceof byte[][] keys && keys.length > 1) {
+                        return split(accessor, method, keys, parts -> parts,
+                                (positions, results) -> sum(results));
+                    }
+                }
+            }
+            if (args != null && args.length > 0) {
+                if (args[0] instanceof byte[] key) {
+                    return single(accessor, method, args, ring.nodeFor(key));
+                }
+                if (args[0] instanceof byte[][] keys && keys.length > 0) {
+                    return single(accessor, method, args, sameNode(name, keys));
+                }
+            }
+            return single(accessor, method, args, defaultNode);
+        }
+
+        private Object single(Method accessor, Method method, Object[] args, String node) throws Throwable {
+            Object result = call(node, accessor, method, args);
+            if (pipelined && method.getReturnType() != void.class) {
+                pendingReplies.add(new PendingReply(List.of(node), results -> results.get(0)));
+            }
+            return result;
+        }
+
+        /**
+         * أمر متعدد المفاتيح: جزء لكل عقدة بمفاتيحها، ثم دمج النتائج (فوراً أو عند إغلاق pipeline)
+         */
+        private Object split(Method accessor, Method method, byte[][] keys, Function<byte[][], Object> argument,
+                PartMerger merger) throws Throwable {
+            Map<String, List<Integer>> positionsByNode = new LinkedHashMap<>();
+            for (int i = 0; i < keys.length; i++) {
+                positionsByNode.computeIfAbsent(ring.nodeFor(keys[i]), node -> new ArrayList<>()).add(i);
+            }
+            if (positionsByNode.size() > 1) {
+                splitCommands.increment();
+            }
+            List<String> partNodes = new ArrayList<>(positionsByNode.keySet());
+            List<List<Integer>> positions = new ArrayList<>(positionsByNode.values());
+            List<Object> results = new ArrayList<>();
+            for (int part = 0; part < partNodes.size(); part++) {
+                byte[][] partKeys = positions.get(part).stream().map(i -> keys[i]).toArray(byte[][]::new);
+                results.add(call(partNodes.get(part), accessor, method, new Object[] { argument.apply(partKeys) }));
+            }
+            if (pipelined) {
+                pendingReplies.add(new PendingReply(partNodes, partResults -> merger.merge(positions, partResults)));
+                return null;
+            }
+            return merger.merge(positions, results);
+        }
+
+        private Object broadcast(Method accessor, Method method, Object[] args, Function<List<Object>, Object> merger)
+                throws Throwable {
+            broadcastCommands.increment();
+            List<Object> results = new ArrayList<>();
+            for (String node : ring.getNodes()) {
+                results.add(call(node, accessor, method, args));
+            }
+            if (pipelined) {
+                pendingReplies.add(new PendingReply(ring.getNodes(), merger));
+                return null;
+            }
+            return merger.apply(results);
+        }
+
+        private Object call(String node, Method accessor, Method method, Object[] args) throws Throwable {
+            routedCommands.get(node).increment();
+            RedisConnection connection = connection(node);
+            try {
+                Object target = accessor != null ? accessor.invoke(connection) : connection;
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+
+        private String sameNode(String command, byte[][] keys) {
+            String node = ring.nodeFor(keys[0]);
+            for (int i = 1; i < keys.length; i++) {
+                if (!node.equals(ring.nodeFor(keys[i]))) {
+                    crossNodeRejections.increment();
+                    throw new InvalidDataAccessApiUsageException("Keys of " + command
+                            + " map to different Redis nodes; give them a common {hash tag}");
+                }
+            }
+            return node;
+        }
+
+        private RedisConnection connection(String node) {
+            if (closed) {
+                throw new InvalidDataAccessApiUsageException("Connection is closed");
+            }
+            RedisConnection connection = connections.get(node);
+            if (connection == null) {
+                connection = nodes.get(node).getConnection();
+                connections.put(node, connection);
+            }
+            if (pipelined && !connection.isPipelined()) {
+                connection.openPipeline();
+            }
+            return connection;
+        }
+
+        private void openPipeline() {
+            if (!pipelined) {
+                pipelined = true;
+                pendingReplies.clear();
+                connections.values().forEach(RedisConnection::openPipeline);
+            }
+        }
+
+        /**
+         * إغلاق pipeline كل عقدة وإعادة الردود بترتيب الأوامر الأصلي (الأوامر دون رد مثل HMSET لا تُحسب)
+         */
+        private List<Object> closePipeline() {
+            if (!pipelined) {
+                return List.of();
+            }
+            pipelined = false;
+            Map<String, Iterator<Object>> repliesByNode = new HashMap<>();
+            RuntimeException failure = null;
+            for (Map.Entry<String, RedisConnection> entry : connections.entrySet()) {
+                if (!entry.getValue().isPipelined()) {
+                    continue;
+                }
+                try {
+                    repliesByNode.put(entry.getKey(), entry.getValue().closePipeline().iterator());
+                } catch (RuntimeException e) {
+                    failure = failure == null ? e : failure;
+                }
+            }
+            if (failure != null) {
+                pendingReplies.clear();
+                throw failure;
+            }
+            List<Object> results = new ArrayList<>(pendingReplies.size());
+            for (PendingReply reply : pendingReplies) {
+                List<Object> parts = new ArrayList<>(reply.nodes().size());
+                reply.nodes().forEach(node -> parts.add(repliesByNode.get(node).next()));
+                results.add(reply.merger().apply(parts));
+            }
+            pendingReplies.clear();
+            return results;
+        }
+
+        private void subscribe(Method accessor, Method method, Object[] args) throws Throwable {
+            List<Subscription> subscriptions = new ArrayList<>();
+            for (String node : ring.getNodes()) {
+                call(node, accessor, method, args);
+                subscriptions.add(connections.get(node).getSubscription());
+            }
+            subscription = new CompositeSubscription(subscriptions, (MessageListener) args[0]);
+        }
+
+        private void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            RuntimeException failure = null;
+            for (RedisConnection connection : connections.values()) {
+                try {
+                    connection.close();
+                } catch (RuntimeException e) {
+                    failure = failure == null ? e : failure;
+                }
+            }
+            connections.clear();
+            if (failure != null) {
+                throw failure;
+            }
+        }
+
+        private static boolean isCommandsAccessor(Method method) {
+            return method.getParameterCount() == 0 && method.getReturnType().isInterface()
+                    && method.getName().toLowerCase().endsWith("commands");
+        }
+    }
+
+    private static long sum(List<Object> results) {
+        return results.stream().mapToLong(result -> result instanceof Number number ? number.longValue() : 0L).sum();
+    }
+
+    @FunctionalInterface
+    private interface PartMerger {
+        Object merge(List<List<Integer>> positions, List<Object> results);
+    }
+
+    private record PendingReply(List<String> nodes, Function<List<Object>, Object> merger) {
+    }
+
+    /**
+     * مؤشر SCAN يمر على العقد واحدة تلو الأخرى (يُفتح مؤشر العقدة التالية عند انتهاء السابقة)
+     */
+    private static final class FanOutCursor implements Cursor<Object> {
+
+        private final Iterator<String> remainingNodes;
+        private final Function<String, Cursor<?>> opener;
+        private final List<Cursor<?>> opened = new ArrayList<>();
+        private Cursor<?> current;
+        private long position;
+        private boolean closed;
+
+        FanOutCursor(List<String> nodes, Function<String, Cursor<?>> opener) {
+            this.remainingNodes = nodes.iterator();
+            this.opener = opener;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!closed && (current == null || !current.hasNext())) {
+                if (!remainingNodes.hasNext()) {
+                    return false;
+                }
+                current = opener.apply(remainingNodes.next());
+                opened.add(current);
+            }
+            return !closed;
+        }
+
+        @Override
+        public Object next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            position++;
+            return current.next();
+        }
+
+        @Override
+        public CursorId getId() {
+            return current != null ? current.getId() : CursorId.initial();
+        }
+
+        @Override
+        @Deprecated
+        public long getCursorId() {
+            return current != null ? Long.parseLong(current.getId().getCursorId()) : 0L;
+        }
+
+        @Override
+        public boolean isClosed() {
+            return closed;
+        }
+
+        @Override
+        public long getPosition() {
+            return position;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            opened.forEach(Cursor::close);
+        }
+    }
+
+    /**
+     * اشتراك واحد فوق اشتراكات جميع العقد
+     */
+    private static final class CompositeSubscription implements Subscription {
+
+        private final List<Subscription> subscriptions;
+        private final MessageListener listener;
+
+        CompositeSubscription(List<Subscription> subscriptions, MessageListener listener) {
+            this.subscriptions = subscriptions;
+            this.listener = listener;
+        }
+
+        @Override
+        public void subscribe(byte[]... channels) {
+            subscriptions.forEach(subscription -> subscription.subscribe(channels));
+        }
+
+        @Override
+        public void pSubscribe(byte[]... patterns) {
+            subscriptions.forEach(subscription -> subscription.pSubscribe(patterns));
+        }
+
+        @Override
+        public void unsubscribe() {
+            subscriptions.forEach(Subscription::unsubscribe);
+        }
+
+        @Override
+        public void unsubscribe(byte[]... channels) {
+            subscriptions.forEach(subscription -> subscription.unsubscribe(channels));
+        }
+
+        @Override
+        public void pUnsubscribe() {
+            subscriptions.forEach(Subscription::pUnsubscribe);
+        }
+
+        @Override
+        public void pUnsubscribe(byte[]... patterns) {
+            subscriptions.forEach(subscription -> subscription.pUnsubscribe(patterns));
+        }
+
+        @Override
+        public Collection<byte[]> getChannels() {
+            return subscriptions.get(0).getChannels();
+        }
+
+        @Override
+        public Collection<byte[]> getPatterns() {
+            return subscriptions.get(0).getPatterns();
+        }
+
+        @Override
+        public MessageListener getListener() {
+            return listener;
+        }
+
+        @Override
+        public boolean isAlive() {
+            return subscriptions.stream().anyMatch(Subscription::isAlive);
+        }
+
+        @Override
+        public void close() {
+            subscriptions.forEach(Subscription::close);
+        }
+    }
+
+    /**
+     * فئة لحفظ إحصائيات التوزيع
+     */
+    @lombok.Builder
+    @lombok.Data
+    public static class ShardingStats {
+        private Map<String, NodeStats> nodes;
+        private long splitCommands;
+        private long broadcastCommands;
+        private long crossNodeRejections;
+    }
+
+    /**
+     * فئة لحفظ إحصائيات عقدة واحدة
+     */
+    @lombok.Builder
+    @lombok.Data
+    public static class NodeStats {
+        private double ringShare;
+        private long routedCommands;
+    }
+}
@@ -2,12 +2,16 @@ package com.company.app.modules.taskCore.application.dto;
 
 import com.company.app.modules.taskCore.domain.valueobject.TaskStatus;
 import com.company.app.modules.taskCore.domain.valueobject.Priority;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class TaskResponse {
     private String id;
     private String title;
@@ -20,4 +24,3 @@ public class TaskResponse {
     private String boardId;
     private boolean overdue;
 }
-
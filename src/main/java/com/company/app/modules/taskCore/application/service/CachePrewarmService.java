@@ -0,0 +1,167 @@
+package com.company.app.modules.taskCore.application.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import com.company.app.modules.taskCore.infrastructure.cache.CacheHotSetRecorder;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Warms the board views and user task lists of the recorded hot set after startup
+ * Loads run in parallel with bounded concurrency; until they finish (or the time budget runs out)
+ * this indicator reports OUT_OF_SERVICE, which keeps the readiness probe down when it is part
+ * of the readiness health group. Every load is counted exactly once: completed, failed, or abandoned when
+ * it was still queued or running at the end of the time budget (its interruption is not a failure)
+ */
+@Component("cachePrewarm")
+@Slf4j
+public class CachePrewarmService implements HealthIndicator {
+
+    private static final String PREFIX = "app.cache.prewarm.";
+
+    public enum State {
+        PENDING, RUNNING, COMPLETED, TIMED_OUT, DISABLED
+    }
+
+    private final TaskApplicationService taskApplicationService;
+    private final CacheHotSetRecorder hotSetRecorder;
+    private final boolean enabled;
+    private final int concurrency;
+    private final Duration maxDuration;
+
+    private volatile State state = State.PENDING;
+    private volatile long startedAtNanos;
+    private volatile long durationMillis;
+    private final AtomicInteger total = new AtomicInteger();
+    private final AtomicInteger completed = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicInteger abandoned = new AtomicInteger();
+
+    public CachePrewarmService(TaskApplicationService taskApplicationService, CacheHotSetRecorder hotSetRecorder,
+            Environment environment) {
+        this.taskApplicationService = taskApplicationService;
+        this.hotSetRecorder = hotSetRecorder;
+        this.enabled = environment.getProperty(PREFIX + "enabled", Boolean.class, true);
+        this.concurrency = Math.max(1, environment.getProperty(PREFIX + "concurrency", Integer.class, 4));
+        this.maxDuration = environment.getProperty(PREFIX + "max-duration", Duration.class, Duration.ofMinutes(2));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startPrewarm() {
+        if (!enabled) {
+            state = State.DISABLED;
+            return;
+        }
+        Thread thread = new Thread(this::prewarm, "cache-prewarm");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Load the saved hot boards and users (blocks until done or the time budget runs out)
+     */
+    public void prewarm() {
+        startedAtNanos = System.nanoTime();
+        state = State.RUNNING;
+
+        List<Runnable> loads = new ArrayList<>();
+        try {
+            for (String boardId : hotSetRecorder.savedBoards()) {
+                loads.add(() -> taskApplicationService.getTasksByBoard(boardId));
+            }
+            for (String userId : hotSetRecorder.savedUsers()) {
+                loads.add(() -> taskApplicationService.getTasksByAssignee(userId));
+            }
+        } catch (Exception e) {
+            log.warn("Failed to read the saved hot set, starting with a cold cache", e);
+        }
+        total.set(loads.size());
+        log.info("Prewarming cache for {} hot boards and users with concurrency {}", loads.size(), concurrency);
+
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "cache-prewarm-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<AtomicBoolean> settled = new ArrayList<>();
+        for (Runnable load : loads) {
+            AtomicBoolean loadSettled = new AtomicBoolean();
+            settled.add(loadSettled);
+            executor.execute(() -> run(load, loadSettled));
+        }
+        executor.shutdown();
+
+        boolean finished;
+        try {
+            finished = executor.awaitTermination(maxDuration.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            finished = false;
+        }
+        if (!finished) {
+            // settle the unfinished loads before interrupting them, so their interruption is not counted as a failure
+            settled.stream().filter(loadSettled -> loadSettled.compareAndSet(false, true))
+                    .forEach(loadSettled -> abandoned.incrementAndGet());
+            executor.shutdownNow();
+        }
+
+        durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAtNanos);
+        state = finished ? State.COMPLETED : State.TIMED_OUT;
+        log.info("Cache prewarm {} in {} ms: {}/{} loaded, {} failed, {} abandoned", state, durationMillis,
+                completed.get(), total.get(), failed.get(), abandoned.get());
+    }
+
+    @Override
+    public Health health() {
+        State current = state;
+        Health.Builder builder = current == State.PENDING || current == State.RUNNING
+                ? Health.outOfService()
+                : Health.up();
+        long elapsed = current == State.RUNNING
+                ? TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAtNanos)
+                : durationMillis;
+        return builder
+                .withDetail("state", current)
+                .withDetail("total", total.get())
+                .withDetail("completed", completed.get())
+                .withDetail("failed", failed.get())
+                .withDetail("abandoned", abandoned.get())
+                .withDetail("progress", total.get() > 0
+                        ? (double) (completed.get() + failed.get() + abandoned.get()) / total.get()
+                        : 1.0)
+                .withDetail("durationMillis", elapsed)
+                .build();
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    private void run(Runnable load, AtomicBoolean settled) {
+        try {
+            load.run();
+            if (settled.compareAndSet(false, true)) {
+                completed.incrementAndGet();
+            }
+        } catch (Exception e) {
+            if (settled.compareAndSet(false, true)) {
+                failed.incrementAndGet();
+                log.debug("Cache prewarm load failed", e);
+            }
+        }
+    }
+}
@@ -1,13 +1,16 @@
 package com.company.app.modules.taskCore.application.service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
@@ -25,7 +28,18 @@ import com.company.app.modules.taskCore.domain.event.TaskUpdatedEvent;
 import com.company.app.modules.taskCore.domain.repository.TaskRepository;
 import com.company.app.modules.taskCore.domain.valueobject.Priority;
 import com.company.app.modules.taskCore.domain.valueobject.TaskStatus;
+import com.company.app.modules.taskCore.infrastructure.cache.BoardResponseCache;
+import com.company.app.modules.taskCore.infrastructure.cache.BoardResponseCache.RenderedResponse;
+import com.company.app.modules.taskCore.infrastructure.cache.BoardTaskViewCache;
+import com.company.app.modules.taskCore.infrastructure.cache.CacheHotSetRecorder;
 import com.company.app.modules.taskCore.infrastructure.cache.TaskCacheService;
+import com.company.app.modules.taskCore.infrastructure.cache.TaskCacheService.TaskCacheInvalidation;
+import com.company.app.modules.taskCore.infrastructure.cache.TaskCacheWriteBuffer;
+import com.company.app.modules.taskCore.infrastructure.cache.TaskCacheWriteBuffer.TaskCacheWrites;
+import com.company.app.modules.taskCore.infrastructure.cache.TaskExistenceFilter;
+import com.company.app.modules.taskCore.infrastructure.cache.TaskIdListCache;
+import com.company.app.modules.taskCore.infrastructure.cache.TaskReadAhead;
+import com.company.app.modules.taskCore.infrastructure.cache.TaskReadAhead.ListType;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -38,10 +52,16 @@ public class TaskApplicationService {
 
     private final TaskRepository taskRepository;
     private final TaskCacheService taskCacheService;
+    private final TaskCacheWriteBuffer cacheWriteBuffer;
+    private final BoardTaskViewCache boardTaskViewCache;
+    private final BoardResponseCache boardResponseCache;
+    private final TaskIdListCache taskIdListCache;
+    private final TaskReadAhead taskReadAhead;
+    private final TaskExistenceFilter taskExistenceFilter;
+    private final CacheHotSetRecorder hotSetRecorder;
     private final KafkaService kafkaService;
 
     @Transactional
-    @CacheEvict(value = { "taskLists", "taskCounts" }, allEntries = true)
     public TaskResponse createTask(TaskCreateRequest request) {
         log.info("Creating task: {}", request.getTitle());
 
@@ -70,15 +90,20 @@ public class TaskApplicationService {
 
         TaskResponse response = mapToResponse(savedTask);
 
-        // Cache the new task
-        taskCacheService.cacheTask(savedTask.getId().toString(), response);
-
-        // Evict related caches
+        // Cache the new task and patch the board view in place; invalidate only the assignee and overdue
+        // lists, in one round trip. All of it is applied once, after the transaction commits
+        TaskCacheWrites cacheWrites = cacheWriteBuffer.current()
+                .createTask(savedTask.getId().toString())
+                .cacheTask(savedTask.getId().toString(), response)
+                .upsertBoardView(response);
+        TaskCacheInvalidation invalidation = cacheWrites.invalidation();
         if (request.getAssignedTo() != null) {
-            taskCacheService.evictUserTasks(request.getAssignedTo());
+            invalidation.user(request.getAssignedTo());
+        }
+        if (savedTask.getDueDate() != null) {
+            invalidation.overdue();
         }
-        taskCacheService.evictBoardCache(request.getBoardId());
-        taskCacheService.evictOverdueTasks();
+        cacheWrites.submit();
 
         // Publish task created event
         publishTaskCreatedEvent(savedTask, request);
@@ -87,7 +112,6 @@ public class TaskApplicationService {
     }
 
     @Transactional
-    @CacheEvict(value = { "taskLists", "taskCounts" }, allEntries = true)
     public TaskResponse updateTaskStatus(String taskId, TaskStatus newStatus) {
         if (taskId == null || taskId.isBlank()) {
             throw new IllegalArgumentException("Task id must not be empty");
@@ -107,15 +131,19 @@ public class TaskApplicationService {
 
         log.info("Task {} status updated from {} to {}", taskId, oldStatus, newStatus);
 
-        // Update cache with new task data
-        taskCacheService.cacheTask(taskId, response);
-
-        // Evict related caches
-        taskCacheService.evictBoardCache(task.getBoardId());
+        // Update cache with new task data and patch the board view in place (after commit); list membership
+        // only changes for the per-status user lists and, when the task enters or leaves DONE, for the overdue list
+        TaskCacheWrites cacheWrites = cacheWriteBuffer.current()
+                .cacheTask(taskId, response)
+                .upsertBoardView(response);
+        TaskCacheInvalidation invalidation = cacheWrites.invalidation();
         if (task.getAssignedTo() != null) {
-            taskCacheService.evictUserTasks(task.getAssignedTo());
+            invalidation.userStatus(task.getAssignedTo());
         }
-        taskCacheService.evictOverdueTasks();
+        if (task.getDueDate() != null && (oldStatus == TaskStatus.DONE || newStatus == TaskStatus.DONE)) {
+            invalidation.overdue();
+        }
+        cacheWrites.submit();
 
         // Publish task status changed event
         publishTaskStatusChangedEvent(task, oldStatus, newStatus);
@@ -124,7 +152,6 @@ public class TaskApplicationService {
     }
 
     @Transactional
-    @CacheEvict(value = { "taskLists", "taskCounts" }, allEntries = true)
     public TaskResponse updateTask(String taskId, TaskCreateRequest request) {
         if (taskId == null || taskId.isBlank()) {
             throw new IllegalArgumentException("Task id must not be empty");
@@ -134,6 +161,7 @@ public class TaskApplicationService {
 
         String oldAssignee = task.getAssignedTo();
         String oldBoardId = task.getBoardId();
+        LocalDateTime oldDueDate = task.getDueDate();
 
         // Update fields
         task.setTitle(request.getTitle());
@@ -154,22 +182,28 @@ public class TaskApplicationService {
 
         log.info("Task {} updated", taskId);
 
-        // Update cache with new task data
-        taskCacheService.cacheTask(taskId, response);
-
-        // Evict related caches
-        taskCacheService.evictBoardCache(oldBoardId);
-        if (request.getBoardId() != null && !request.getBoardId().equals(oldBoardId)) {
-            taskCacheService.evictBoardCache(request.getBoardId());
+        // Update cache with new task data and patch the board view in place (after commit)
+        TaskCacheWrites cacheWrites = cacheWriteBuffer.current().cacheTask(taskId, response);
+        if (oldBoardId != null && !oldBoardId.equals(response.getBoardId())) {
+            cacheWrites.removeFromBoardView(oldBoardId, taskId);
         }
-
-        if (oldAssignee != null) {
-            taskCacheService.evictUserTasks(oldAssignee);
+        cacheWrites.upsertBoardView(response);
+
+        // User and overdue lists hold task ids, so they only change when membership changes;
+        // edits to the task itself are served from the tasks entry refreshed above
+        TaskCacheInvalidation invalidation = cacheWrites.invalidation();
+        if (!Objects.equals(oldAssignee, updatedTask.getAssignedTo())) {
+            if (oldAssignee != null) {
+                invalidation.user(oldAssignee);
+            }
+            if (updatedTask.getAssignedTo() != null) {
+                invalidation.user(updatedTask.getAssignedTo());
+            }
         }
-        if (request.getAssignedTo() != null && !request.getAssignedTo().equals(oldAssignee)) {
-            taskCacheService.evictUserTasks(request.getAssignedTo());
+        if (!Objects.equals(oldDueDate, updatedTask.getDueDate())) {
+            invalidation.overdue();
         }
-        taskCacheService.evictOverdueTasks();
+        cacheWrites.submit();
 
         // Publish task updated event
         publishTaskUpdatedEvent(updatedTask, request, oldAssignee, oldBoardId);
@@ -178,7 +212,6 @@ public class TaskApplicationService {
     }
 
     @Transactional
-    @CacheEvict(value = { "tasks", "taskLists", "taskCounts" }, allEntries = true)
     public void deleteTask(String taskId) {
         if (taskId == null || taskId.isBlank()) {
             throw new IllegalArgumentException("Task id must not be empty");
@@ -194,207 +227,194 @@ public class TaskApplicationService {
         taskRepository.deleteById(UUID.fromString(taskId));
         log.info("Task {} deleted", taskId);
 
-        // Evict task from cache
-        taskCacheService.evictTask(taskId);
-
-        // Evict related caches
-        taskCacheService.evictBoardCache(boardId);
+        // Remove the task from the board view; unlink the task entry and invalidate only the assignee
+        // and overdue lists, all in one round trip after commit
+        TaskCacheWrites cacheWrites = cacheWriteBuffer.current()
+                .removeFromBoardView(boardId, taskId)
+                .deleteTask(taskId);
+        TaskCacheInvalidation invalidation = cacheWrites.invalidation();
         if (assignee != null) {
-            taskCacheService.evictUserTasks(assignee);
+            invalidation.user(assignee);
         }
-        taskCacheService.evictOverdueTasks();
+        if (task.getDueDate() != null) {
+            invalidation.overdue();
+        }
+        cacheWrites.submit();
 
         // Publish task deleted event
         publishTaskDeletedEvent(task);
     }
 
+    /**
+     * One cache access per read: a single lookup in the tasks region and, on a miss, one write-back
+     * (sync also coalesces concurrent misses for the same task into one database load).
+     * Ids the Bloom filter rules out skip the cache lookup and are checked against the database once;
+     * only ids confirmed missing (the negative cache) are rejected without a query
+     */
     @Transactional(readOnly = true)
-    @Cacheable(value = "tasks", key = "#taskId", unless = "#result == null")
+    @Cacheable(value = "tasks", key = "#taskId", sync = true, condition = "@taskExistenceFilter.mightExist(#taskId)")
     public TaskResponse getTask(String taskId) {
         if (taskId == null || taskId.isBlank()) {
             throw new IllegalArgumentException("Task id must not be empty");
         }
-
-        // Try to get from cache first
-        TaskResponse cachedTask = taskCacheService.getCachedTask(taskId);
-        if (cachedTask != null) {
-            log.debug("Task {} found in cache", taskId);
-            return cachedTask;
+        if (taskExistenceFilter.rejects(taskId)) {
+            throw new ResourceNotFoundException("Task not found: " + taskId);
         }
 
-        Task task = taskRepository.findById(UUID.fromString(taskId))
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found: " + taskId));
-
-        TaskResponse response = mapToResponse(task);
-
-        // Cache the task for future requests
-        taskCacheService.cacheTask(taskId, response);
+        Task task = taskRepository.findById(UUID.fromString(taskId)).orElse(null);
+        if (task == null) {
+            taskExistenceFilter.recordMissing(taskId);
+            throw new ResourceNotFoundException("Task not found: " + taskId);
+        }
+        taskExistenceFilter.recordFound(taskId);
 
-        return response;
+        return mapToResponse(task);
     }
 
     @Transactional(readOnly = true)
-    @Cacheable(value = "taskLists", key = "#boardId", unless = "#result == null")
     public List<TaskResponse> getTasksByBoard(String boardId) {
-        String cacheKey = taskCacheService.generateBoardTasksKey(boardId);
+        hotSetRecorder.recordBoard(boardId);
+        return boardTasks(boardId);
+    }
 
-        // Try to get from cache first
-        List<TaskResponse> cachedTasks = taskCacheService.getCachedTaskList(cacheKey);
+    /**
+     * Board tasks as ready-to-write response bytes. The rendered JSON (gzipped when the client accepts it)
+     * is cached against the board view version, so a hit is served without decoding or re-serializing tasks
+     */
+    @Transactional(readOnly = true)
+    public RenderedResponse getRenderedTasksByBoard(String boardId, boolean acceptsGzip) {
+        hotSetRecorder.recordBoard(boardId);
+        return boardResponseCache.get(boardId, acceptsGzip, () -> boardTasks(boardId));
+    }
+
+    private List<TaskResponse> boardTasks(String boardId) {
+        List<TaskResponse> cachedTasks = boardTaskViewCache.getTasks(boardId);
         if (cachedTasks != null) {
             log.debug("Tasks for board {} found in cache", boardId);
             return cachedTasks;
         }
 
-        List<TaskResponse> tasks = taskRepository.findByBoardId(boardId)
-                .stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
-
-        // Cache the task list
-        taskCacheService.cacheTaskList(cacheKey, tasks);
-
-        return tasks;
+        return loadBoardView(boardId);
     }
 
     @Transactional(readOnly = true)
-    @Cacheable(value = "userTasks", key = "#userId", unless = "#result == null")
     public List<TaskResponse> getTasksByAssignee(String userId) {
-        // Try to get from cache first
-        List<TaskResponse> cachedTasks = taskCacheService.getCachedUserTasks(userId);
-        if (cachedTasks != null) {
-            log.debug("Tasks for user {} found in cache", userId);
-            return cachedTasks;
-        }
-
-        List<TaskResponse> tasks = taskRepository.findByAssignedTo(userId)
-                .stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
-
-        // Cache the user tasks
-        taskCacheService.cacheUserTasks(userId, tasks);
-
-        return tasks;
+        hotSetRecorder.recordUser(userId);
+        return taskIdListCache.get("userTasks", taskCacheService.versionedUserTasksKey(userId),
+                () -> {
+                    List<TaskResponse> tasks = taskRepository.findByAssignedTo(userId)
+                            .stream()
+                            .map(this::mapToResponse)
+                            .collect(Collectors.toList());
+                    taskReadAhead.recordSeeded(ListType.USER, tasks);
+                    return tasks;
+                },
+                this::findTasksByIds);
     }
 
     @Transactional(readOnly = true)
     public List<TaskResponse> getTasksByStatus(TaskStatus status) {
-        return taskRepository.findByStatus(status)
+        long seedMark = taskReadAhead.mark();
+        List<TaskResponse> tasks = taskRepository.findByStatus(status)
                 .stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
+        taskReadAhead.seed(ListType.STATUS, tasks, seedMark);
+        return tasks;
     }
 
     @Transactional(readOnly = true)
-    @Cacheable(value = "taskLists", key = "'overdue'", unless = "#result == null")
     public List<TaskResponse> getOverdueTasks() {
-        String cacheKey = taskCacheService.generateOverdueTasksKey();
-
-        // Try to get from cache first
-        List<TaskResponse> cachedTasks = taskCacheService.getCachedTaskList(cacheKey);
-        if (cachedTasks != null) {
-            log.debug("Overdue tasks found in cache");
-            return cachedTasks;
-        }
-
-        List<TaskResponse> tasks = taskRepository.findOverdueTasks(LocalDateTime.now())
-                .stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
-
-        // Cache the overdue tasks
-        taskCacheService.cacheTaskList(cacheKey, tasks);
-
-        return tasks;
+        return taskIdListCache.get("taskLists", taskCacheService.versionedOverdueTasksKey(),
+                () -> taskRepository.findOverdueTasks(LocalDateTime.now())
+                        .stream()
+                        .map(this::mapToResponse)
+                        .collect(Collectors.toList()),
+                this::findTasksByIds);
     }
 
     @Transactional(readOnly = true)
-    @Cacheable(value = "taskCounts", key = "#boardId + ':' + #status", unless = "#result == null")
     public long getTaskCount(String boardId, TaskStatus status) {
-        String cacheKey = taskCacheService.generateTaskCountKey(boardId, status);
-
-        // Try to get from cache first
-        Long cachedCount = taskCacheService.getCachedTaskCount(cacheKey);
+        hotSetRecorder.recordBoard(boardId);
+        Long cachedCount = boardTaskViewCache.countByStatus(boardId, status);
         if (cachedCount != null) {
             log.debug("Task count for board {} and status {} found in cache: {}", boardId, status, cachedCount);
             return cachedCount;
         }
 
-        long count = taskRepository.countByBoardIdAndStatus(boardId, status);
-
-        // Cache the count
-        taskCacheService.cacheTaskCount(cacheKey, count);
-
-        return count;
+        return loadBoardView(boardId).stream()
+                .filter(task -> task.getStatus() == status)
+                .count();
     }
 
     @Transactional(readOnly = true)
-    @Cacheable(value = "taskLists", key = "#boardId + ':' + #status", unless = "#result == null")
     public List<TaskResponse> getTasksByBoardAndStatus(String boardId, TaskStatus status) {
-        String cacheKey = taskCacheService.generateBoardStatusTasksKey(boardId, status);
-
-        // Try to get from cache first
-        List<TaskResponse> cachedTasks = taskCacheService.getCachedTaskList(cacheKey);
+        hotSetRecorder.recordBoard(boardId);
+        List<TaskResponse> cachedTasks = boardTaskViewCache.getTasksByStatus(boardId, status);
         if (cachedTasks != null) {
             log.debug("Tasks for board {} and status {} found in cache", boardId, status);
             return cachedTasks;
         }
 
-        List<TaskResponse> tasks = taskRepository.findByBoardIdAndStatus(boardId, status)
-                .stream()
-                .map(this::mapToResponse)
+        return loadBoardView(boardId).stream()
+                .filter(task -> task.getStatus() == status)
                 .collect(Collectors.toList());
-
-        // Cache the task list
-        taskCacheService.cacheTaskList(cacheKey, tasks);
-
-        return tasks;
     }
 
     @Transactional(readOnly = true)
-    @Cacheable(value = "taskLists", key = "#boardId + ':ordered'", unless = "#result == null")
     public List<TaskResponse> getTasksByBoardOrderByCreatedDate(String boardId) {
-        String cacheKey = "task_list:board:" + boardId + ":ordered";
-
-        // Try to get from cache first
-        List<TaskResponse> cachedTasks = taskCacheService.getCachedTaskList(cacheKey);
+        hotSetRecorder.recordBoard(boardId);
+        List<TaskResponse> cachedTasks = boardTaskViewCache.getTasksNewestFirst(boardId);
         if (cachedTasks != null) {
             log.debug("Ordered tasks for board {} found in cache", boardId);
             return cachedTasks;
         }
 
-        List<TaskResponse> tasks = taskRepository.findByBoardIdOrderByCreatedAtDesc(boardId)
-                .stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
-
-        // Cache the task list
-        taskCacheService.cacheTaskList(cacheKey, tasks);
-
+        List<TaskResponse> tasks = new ArrayList<>(loadBoardView(boardId));
+        Collections.reverse(tasks);
         return tasks;
     }
 
+    /**
+     * Load a board from the database and rebuild its cached view (one load per board at a time)
+     * Returned tasks are ordered by creation date, oldest first; they are also read ahead into the tasks region
+     * in the background, since opening a task usually follows a board load
+     */
+    private List<TaskResponse> loadBoardView(String boardId) {
+        return boardTaskViewCache.load(boardId, () -> {
+            // read before the query, so a delete committed after it is seen by the read-ahead
+            long seedMark = taskReadAhead.mark();
+            List<TaskResponse> tasks = taskRepository.findByBoardId(boardId)
+                    .stream()
+                    .map(this::mapToResponse)
+                    .collect(Collectors.toList());
+            taskReadAhead.seed(ListType.BOARD, tasks, seedMark);
+            return tasks;
+        });
+    }
+
     @Transactional(readOnly = true)
-    @Cacheable(value = "userTasks", key = "#userId + ':' + #status", unless = "#result == null")
     public List<TaskResponse> getTasksByAssigneeAndStatus(String userId, TaskStatus status) {
-        String cacheKey = "user_task:" + userId + ":" + status;
-
-        // Try to get from cache first
-        List<TaskResponse> cachedTasks = taskCacheService.getCachedTaskList(cacheKey);
-        if (cachedTasks != null) {
-            log.debug("Tasks for user {} and status {} found in cache", userId, status);
-            return cachedTasks;
-        }
+        return taskIdListCache.get("userTasks", taskCacheService.versionedUserStatusTasksKey(userId, status),
+                () -> {
+                    List<TaskResponse> tasks = taskRepository.findByAssignedToAndStatus(userId, status)
+                            .stream()
+                            .map(this::mapToResponse)
+                            .collect(Collectors.toList());
+                    taskReadAhead.recordSeeded(ListType.USER, tasks);
+                    return tasks;
+                },
+                this::findTasksByIds);
+    }
 
-        List<TaskResponse> tasks = taskRepository.findByAssignedToAndStatus(userId, status)
+    /**
+     * Load only the given tasks (cached id lists whose entries are missing from the tasks cache)
+     */
+    private List<TaskResponse> findTasksByIds(Collection<String> taskIds) {
+        return taskRepository.findAllById(taskIds.stream().map(UUID::fromString).collect(Collectors.toList()))
                 .stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
-
-        // Cache the task list
-        taskCacheService.cacheTaskList(cacheKey, tasks);
-
-        return tasks;
     }
 
     private TaskResponse mapToResponse(Task task) {
@@ -405,6 +425,7 @@ public class TaskApplicationService {
                 .status(task.getStatus())
                 .priority(task.getPriority())
                 .assignedTo(task.getAssignedTo())
+                .createdAt(task.getCreatedAt())
                 .dueDate(task.getDueDate())
                 .boardId(task.getBoardId())
                 .overdue(task.isOverdue())
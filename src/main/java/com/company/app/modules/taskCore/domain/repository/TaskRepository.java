@@ -58,6 +58,10 @@ public interface TaskRepository extends JpaRepository<Task, UUID> {
     // Find tasks with pagination support
     Page<Task> findByBoardId(String boardId, Pageable pageable);
 
+    // Task ids in id order, one page after the given id (keyset paging for full scans)
+    @Query("SELECT t.id FROM Task t WHERE t.id > :after ORDER BY t.id")
+    List<UUID> findIdsAfter(@Param("after") UUID after, Pageable pageable);
+
     // Find tasks by multiple statuses
     @Query("SELECT t FROM Task t WHERE t.boardId = :boardId AND t.status IN :statuses")
     List<Task> findByBoardIdAndStatusIn(
@@ -0,0 +1,206 @@
+package com.company.app.modules.taskCore.infrastructure.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Service;
+
+import com.company.app.infrastructure.redis.cache.RedisScripts;
+import com.company.app.infrastructure.redis.cache.ttl.AdaptiveTtlPolicy;
+import com.company.app.modules.taskCore.application.dto.TaskResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * تخزين استجابة HTTP النهائية لمهام اللوحة كبايتات جاهزة (JSON، ومضغوطة بـ gzip اختيارياً)
+ * البايتات تُكتب مباشرة إلى الاستجابة دون فك ترميز المهام ثم إعادة ترميزها بـ Jackson.
+ * الاستجابة مرتبطة بإصدار عرض اللوحة: أي تعديل على اللوحة يزيد الإصدار فتصبح الاستجابة المخزنة قديمة،
+ * والاستجابة المصيّرة لا تُكتب إذا تغير الإصدار أثناء تحميلها
+ */
+@Service
+@Slf4j
+public class BoardResponseCache {
+
+    public static final String ENCODING_GZIP = "gzip";
+    public static final String ENCODING_IDENTITY = "identity";
+
+    private static final String PREFIX = "app.cache.rendered-responses.";
+    private static final String REGION = "boardResponses";
+
+    // KEYS: version, response | ARGV: encoding
+    private static final RedisScript<List<Object>> READ_SCRIPT = RedisScripts.listScript("""
+            local version = redis.call('get', KEYS[1]) or '0'
+            local stored = redis.call('hmget', KEYS[2], 'version', ARGV[1])
+            if stored[1] == version and stored[2] then return {version, stored[2]} end
+            return {version}
+            """);
+
+    // KEYS: version, response | ARGV: version, encoding, body, ttl
+    private static final RedisScript<Long> STORE_SCRIPT = new DefaultRedisScript<>("""
+            if (redis.call('get', KEYS[1]) or '0') ~= ARGV[1] then return 0 end
+            if redis.call('hget', KEYS[2], 'version') ~= ARGV[1] then redis.call('del', KEYS[2]) end
+            redis.call('hset', KEYS[2], 'version', ARGV[1], ARGV[2], ARGV[3])
+            redis.call('expire', KEYS[2], ARGV[4])
+            return 1
+            """, Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final AdaptiveTtlPolicy ttlPolicy;
+    private final boolean enabled;
+    private final boolean gzipEnabled;
+    private final Duration ttl;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder discardedStores = new LongAdder();
+    private final LongAdder renderNanos = new LongAdder();
+    private final LongAdder bytesServed = new LongAdder();
+
+    public BoardResponseCache(RedisTemplate<String, Object> redisTemplate, ObjectMapper objectMapper,
+            AdaptiveTtlPolicy ttlPolicy, Environment environment) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.ttlPolicy = ttlPolicy;
+        this.enabled = environment.getProperty(PREFIX + "enabled", Boolean.class, true);
+        this.gzipEnabled = environment.getProperty(PREFIX + "gzip", Boolean.class, true);
+        this.ttl = environment.getProperty("app.cache.board-view.ttl", Duration.class, Duration.ofMinutes(30));
+    }
+
+    /**
+     * الاستجابة المصيّرة لمهام اللوحة، من التخزين إن وُجدت لنفس الإصدار، وإلا تُحمّل وتُصيّر وتُخزن
+     *
+     * @param acceptsGzip هل يقبل العميل ترميز gzip
+     * @param loader      تحميل المهام (من عرض اللوحة أو قاعدة البيانات)
+     */
+    public RenderedResponse get(String boardId, boolean acceptsGzip, Supplier<List<TaskResponse>> loader) {
+        boolean gzip = acceptsGzip && gzipEnabled;
+        String encoding = gzip ? ENCODING_GZIP : ENCODING_IDENTITY;
+        if (!enabled) {
+            return render(loader.get(), gzip);
+        }
+
+        List<String> keys = List.of(BoardTaskViewCache.versionKey(boardId), BoardTaskViewCache.responseKey(boardId));
+        byte[] version = null;
+        try {
+            List<?> stored = run(READ_SCRIPT, keys, bytes(encoding));
+            if (stored != null && !stored.isEmpty()) {
+                version = (byte[]) stored.get(0);
+                if (stored.size() > 1) {
+                    hits.increment();
+                    byte[] body = (byte[]) stored.get(1);
+                    bytesServed.add(body.length);
+                    return new RenderedResponse(body, gzip);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Failed to read rendered response for board {}", boardId, e);
+        }
+
+        misses.increment();
+        RenderedResponse rendered = render(loader.get(), gzip);
+        if (version != null) {
+            store(boardId, keys, version, encoding, rendered.body());
+        }
+        bytesServed.add(rendered.body().length);
+        return rendered;
+    }
+
+    /**
+     * الحصول على إحصائيات الاستجابات المصيّرة
+     */
+    public RenderedResponseStats getStats() {
+        long hit = hits.sum();
+        long miss = misses.sum();
+        return RenderedResponseStats.builder()
+                .enabled(enabled)
+                .hits(hit)
+                .misses(miss)
+                .hitRatio(hit + miss > 0 ? (double) hit / (hit + miss) : 0.0)
+                .discardedStores(discardedStores.sum())
+                .averageRenderMicros(miss > 0 ? renderNanos.sum() / 1_000.0 / miss : 0.0)
+                .bytesServed(bytesServed.sum())
+                .build();
+    }
+
+    private void store(String boardId, List<String> keys, byte[] version, String encoding, byte[] body) {
+        long ttlSeconds = ttlPolicy.ttl(REGION, TaskCacheService.boardScope(boardId), ttl).toSeconds();
+        try {
+            Long stored = run(STORE_SCRIPT, keys, version, bytes(encoding), body, bytes(Long.toString(ttlSeconds)));
+            if (stored == null || stored == 0) {
+                // the board changed while rendering; the next read renders the new version
+                discardedStores.increment();
+            }
+        } catch (Exception e) {
+            log.warn("Failed to store rendered response for board {}", boardId, e);
+        }
+    }
+
+    private RenderedResponse render(List<TaskResponse> tasks, boolean gzip) {
+        long start = System.nanoTime();
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(tasks);
+            byte[] body = gzip ? gzip(json) : json;
+            return new RenderedResponse(body, gzip);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to render board tasks", e);
+        } finally {
+            renderNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private <T> T run(RedisScript<T> script, List<String> keys, Object... args) {
+        return (T) redisTemplate.execute((RedisScript) script, RedisSerializer.byteArray(),
+                (RedisSerializer) RedisSerializer.byteArray(), keys, args);
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out, 8192)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * استجابة مصيّرة: البايتات وما إذا كانت مضغوطة بـ gzip
+     */
+    public record RenderedResponse(byte[] body, boolean gzipped) {
+    }
+
+    /**
+     * فئة لحفظ إحصائيات الاستجابات المصيّرة
+     */
+    @lombok.Builder
+    @lombok.Data
+    public static class RenderedResponseStats {
+        private boolean enabled;
+        private long hits;
+        private long misses;
+        private double hitRatio;
+        private long discardedStores;
+        private double averageRenderMicros;
+        private long bytesServed;
+    }
+}
@@ -0,0 +1,523 @@
+package com.company.app.modules.taskCore.infrastructure.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Service;
+
+import com.company.app.infrastructure.redis.cache.RedisScripts;
+import com.company.app.infrastructure.redis.cache.hotkey.HotKeyDetector;
+import com.company.app.infrastructure.redis.cache.hotkey.HotKeyReplica;
+import com.company.app.infrastructure.redis.cache.hotkey.HotKeyReplica.HotKeyStats;
+import com.company.app.infrastructure.redis.cache.near.CacheInvalidationBus;
+import com.company.app.infrastructure.redis.cache.near.LocalInvalidationListener;
+import com.company.app.infrastructure.redis.cache.breaker.RedisCircuitBreaker;
+import com.company.app.infrastructure.redis.cache.ttl.AdaptiveTtlPolicy;
+import com.company.app.modules.taskCore.application.dto.TaskResponse;
+import com.company.app.modules.taskCore.domain.valueobject.TaskStatus;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * عرض اللوحة في Redis قابل للتعديل التدريجي
+ * لكل لوحة: Hash من معرف المهمة إلى المهمة، ومجموعة مرتبة لكل المهام وأخرى لكل حالة (الترتيب بتاريخ الإنشاء).
+ * الإنشاء والتعديل والحذف تطبق تغييراً بحجم O(1) على العرض بدلاً من حذفه وإعادة تحميل اللوحة كاملة.
+ *
+ * جميع مفاتيح اللوحة تشترك في نفس hash tag {boardId} لتبقى في نفس الـ slot في Redis Cluster.
+ * عداد الإصدار يزداد مع كل تغيير، والتحميل من قاعدة البيانات لا يُكتب إذا تغير الإصدار أثناءه.
+ *
+ * اللوحات الساخنة (حسب مخطط Count-Min للقراءات) تُقرأ من نسخة محلية قصيرة المدة على كل عقدة
+ * حتى لا تتركز قراءاتها على shard واحد؛ كل تغيير على اللوحة يُبث لإبطال نسخها على جميع العقد
+ */
+@Service
+@Slf4j
+public class BoardTaskViewCache implements LocalInvalidationListener {
+
+    public static final String LISTENER_NAME = "boardViews";
+
+    private static final String KEY_PREFIX = "board_view:{";
+    private static final String HOT_KEYS_PREFIX = "app.cache.hot-keys.";
+    private static final String VIEW_REGION = "boardViews";
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    // أطول من TTL العرض حتى لا يعود الإصدار إلى قيمة قديمة أثناء تحميل جارٍ
+    private static final long VERSION_TTL_SECONDS = Duration.ofDays(1).toSeconds();
+    // عدد الحقول في كل استدعاء HMGET داخل السكربت (حد عدد وسائط unpack في Lua)
+    private static final int HMGET_CHUNK = 500;
+
+    // KEYS: meta, hash, zset | ARGV: reverse
+    private static final RedisScript<List<Object>> READ_SCRIPT = RedisScripts.listScript("""
+            if redis.call('exists', KEYS[1]) == 0 then return false end
+            local ids
+            if ARGV[1] == '1' then
+              ids = redis.call('zrevrange', KEYS[3], 0, -1)
+            else
+              ids = redis.call('zrange', KEYS[3], 0, -1)
+            end
+            local result = {}
+            for i = 1, #ids, %d do
+              local chunk = redis.call('hmget', KEYS[2], unpack(ids, i, math.min(i + %d, #ids)))
+              for _, value in ipairs(chunk) do result[#result + 1] = value end
+            end
+            return result
+            """.formatted(HMGET_CHUNK, HMGET_CHUNK - 1));
+
+    // KEYS: meta, zset
+    private static final RedisScript<Long> COUNT_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('exists', KEYS[1]) == 0 then return -1 end
+            return redis.call('zcard', KEYS[2])
+            """, Long.class);
+
+    // KEYS: meta, version, hash, all, status... | ARGV: versionTtl, id, task, score, statusIndex, channel, message
+    private static final RedisScript<Long> UPSERT_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('incr', KEYS[2])
+            redis.call('expire', KEYS[2], ARGV[1])
+            redis.call('publish', ARGV[6], ARGV[7])
+            if redis.call('exists', KEYS[1]) == 0 then return 0 end
+            redis.call('hset', KEYS[3], ARGV[2], ARGV[3])
+            redis.call('zadd', KEYS[4], ARGV[4], ARGV[2])
+            for i = 5, #KEYS do
+              if i - 4 == tonumber(ARGV[5]) then
+                redis.call('zadd', KEYS[i], ARGV[4], ARGV[2])
+              else
+                redis.call('zrem', KEYS[i], ARGV[2])
+              end
+            end
+            -- a status set that was empty at load time is created here: give it the view's remaining TTL
+            local ttl = redis.call('pttl', KEYS[1])
+            if ttl > 0 then
+              for i = 3, #KEYS do redis.call('pexpire', KEYS[i], ttl) end
+            end
+            return 1
+            """, Long.class);
+
+    // KEYS: meta, version, hash, all, status... | ARGV: versionTtl, id, channel, message
+    private static final RedisScript<Long> REMOVE_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('incr', KEYS[2])
+            redis.call('expire', KEYS[2], ARGV[1])
+            redis.call('publish', ARGV[3], ARGV[4])
+            if redis.call('exists', KEYS[1]) == 0 then return 0 end
+            redis.call('hdel', KEYS[3], ARGV[2])
+            for i = 4, #KEYS do redis.call('zrem', KEYS[i], ARGV[2]) end
+            return 1
+            """, Long.class);
+
+    // KEYS: meta, version, hash, all, status... | ARGV: expectedVersion, ttl, (id, task, score, statusIndex)...
+    private static final RedisScript<Long> LOAD_SCRIPT = new DefaultRedisScript<>("""
+            if (redis.call('get', KEYS[2]) or '0') ~= ARGV[1] then return 0 end
+            for i = 3, #KEYS do redis.call('del', KEYS[i]) end
+            for i = 3, #ARGV, 4 do
+              redis.call('hset', KEYS[3], ARGV[i], ARGV[i + 1])
+              redis.call('zadd', KEYS[4], ARGV[i + 2], ARGV[i])
+              local status = tonumber(ARGV[i + 3])
+              if status > 0 then redis.call('zadd', KEYS[4 + status], ARGV[i + 2], ARGV[i]) end
+            end
+            for i = 3, #KEYS do redis.call('expire', KEYS[i], ARGV[2]) end
+            redis.call('set', KEYS[1], '1', 'EX', ARGV[2])
+            return 1
+            """, Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    // ترميز app.cache.codec نفسه المستخدم في مناطق التخزين
+    private final RedisSerializer<Object> codec;
+    private final CacheInvalidationBus invalidationBus;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final HotKeyReplica hotBoards;
+    private final AdaptiveTtlPolicy ttlPolicy;
+    private final Duration ttl;
+    private final Map<String, CompletableFuture<List<TaskResponse>>> inFlightLoads = new ConcurrentHashMap<>();
+    // لوحات فشل حذف عرضها أثناء انقطاع Redis؛ يُعاد حذفها عند عودته حتى لا يُقدم عرض قديم
+    private final Set<String> pendingEvictions = ConcurrentHashMap.newKeySet();
+    private final int maxPendingEvictions;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder discardedLoads = new LongAdder();
+    private final LongAdder deltas = new LongAdder();
+
+    public BoardTaskViewCache(RedisTemplate<String, Object> redisTemplate, RedisSerializer<Object> cacheValueSerializer,
+            CacheInvalidationBus invalidationBus, AdaptiveTtlPolicy ttlPolicy, RedisCircuitBreaker circuitBreaker,
+            Environment environment) {
+        this.redisTemplate = redisTemplate;
+        this.codec = cacheValueSerializer;
+        this.invalidationBus = invalidationBus;
+        this.circuitBreaker = circuitBreaker;
+        this.ttlPolicy = ttlPolicy;
+        this.ttl = environment.getProperty("app.cache.board-view.ttl", Duration.class, Duration.ofMinutes(30));
+        this.maxPendingEvictions = environment.getProperty("app.cache.circuit-breaker.max-pending-invalidations",
+                Integer.class, 100_000);
+
+        int maxHotKeys = environment.getProperty(HOT_KEYS_PREFIX + "max-keys", Integer.class, 32);
+        HotKeyDetector detector = new HotKeyDetector(
+                environment.getProperty(HOT_KEYS_PREFIX + "sketch-width", Integer.class, 4096),
+                environment.getProperty(HOT_KEYS_PREFIX + "window", Long.class, 100_000L),
+                environment.getProperty(HOT_KEYS_PREFIX + "threshold", Integer.class, 1_000),
+                maxHotKeys);
+        this.hotBoards = new HotKeyReplica(
+                environment.getProperty(HOT_KEYS_PREFIX + "enabled", Boolean.class, true),
+                detector,
+                // كل لوحة لها عدة عروض (الكل، الأحدث، كل حالة وعددها)
+                (long) maxHotKeys * (3 + STATUSES.length * 2),
+                environment.getProperty(HOT_KEYS_PREFIX + "replica-ttl", Duration.class, Duration.ofSeconds(2)));
+    }
+
+    /**
+     * التسجيل في قناة الإبطال وفي قاطع الدائرة بعد اكتمال البناء
+     */
+    @PostConstruct
+    public void register() {
+        invalidationBus.register(LISTENER_NAME, this);
+        circuitBreaker.onRecovery(this::replayEvictions);
+    }
+
+    // ===== READS =====
+
+    /**
+     * جميع مهام اللوحة مرتبة تصاعدياً بتاريخ الإنشاء، أو null إذا لم يكن العرض محملاً
+     */
+    public List<TaskResponse> getTasks(String boardId) {
+        return replicated(boardId, "all", () -> read(boardId, allKey(boardId), false));
+    }
+
+    /**
+     * مهام اللوحة بحالة معينة، أو null إذا لم يكن العرض محملاً
+     */
+    public List<TaskResponse> getTasksByStatus(String boardId, TaskStatus status) {
+        return replicated(boardId, "status:" + status, () -> read(boardId, statusKey(boardId, status), false));
+    }
+
+    /**
+     * مهام اللوحة من الأحدث إلى الأقدم، أو null إذا لم يكن العرض محملاً
+     */
+    public List<TaskResponse> getTasksNewestFirst(String boardId) {
+        return replicated(boardId, "newest", () -> read(boardId, allKey(boardId), true));
+    }
+
+    /**
+     * عدد مهام اللوحة بحالة معينة (ZCARD)، أو null إذا لم يكن العرض محملاً
+     */
+    public Long countByStatus(String boardId, TaskStatus status) {
+        return hotBoards.get(boardId, "count:" + status, () -> count(boardId, status));
+    }
+
+    private Long count(String boardId, TaskStatus status) {
+        try {
+            Long count = run(COUNT_SCRIPT, List.of(metaKey(boardId), statusKey(boardId, status)));
+            if (count == null || count < 0) {
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return count;
+        } catch (Exception e) {
+            log.warn("Failed to count board view for board {}", boardId, e);
+            return null;
+        }
+    }
+
+    // ===== LOADING =====
+
+    /**
+     * تحميل اللوحة من قاعدة البيانات وبناء العرض
+     * تحميل واحد فقط لكل لوحة في نفس الوقت على هذه العقدة؛ يعيد المهام مرتبة تصاعدياً بتاريخ الإنشاء
+     */
+    public List<TaskResponse> load(String boardId, Supplier<List<TaskResponse>> loader) {
+        CompletableFuture<List<TaskResponse>> own = new CompletableFuture<>();
+        CompletableFuture<List<TaskResponse>> running = inFlightLoads.putIfAbsent(boardId, own);
+        if (running != null) {
+            return running.join();
+        }
+
+        try {
+            List<TaskResponse> tasks = loadAndStore(boardId, loader);
+            own.complete(tasks);
+            return tasks;
+        } catch (RuntimeException e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightLoads.remove(boardId, own);
+        }
+    }
+
+    private List<TaskResponse> loadAndStore(String boardId, Supplier<List<TaskResponse>> loader) {
+        String version = currentVersion(boardId);
+        List<TaskResponse> tasks = new ArrayList<>(loader.get());
+        tasks.sort(Comparator.comparingLong(BoardTaskViewCache::score));
+        loads.increment();
+        if (version == null) {
+            return tasks;
+        }
+
+        List<Object> args = new ArrayList<>(2 + tasks.size() * 4);
+        args.add(bytes(version));
+        long ttlSeconds = ttlPolicy.ttl(VIEW_REGION, TaskCacheService.boardScope(boardId), ttl).toSeconds();
+        args.add(bytes(Long.toString(ttlSeconds)));
+        for (TaskResponse task : tasks) {
+            args.add(bytes(task.getId()));
+            args.add(codec.serialize(task));
+            args.add(bytes(Long.toString(score(task))));
+            args.add(bytes(Integer.toString(statusIndex(task.getStatus()))));
+        }
+
+        try {
+            Long stored = run(LOAD_SCRIPT, allKeys(boardId), args.toArray());
+            if (stored == null || stored == 0) {
+                // a write landed while loading; the next read rebuilds from fresh data
+                discardedLoads.increment();
+            }
+        } catch (Exception e) {
+            log.warn("Failed to store board view for board {}", boardId, e);
+        }
+        return tasks;
+    }
+
+    // ===== INCREMENTAL UPDATES =====
+
+    /**
+     * إضافة مهمة أو تحديثها في عرض لوحتها
+     */
+    public void upsert(TaskResponse task) {
+        if (task == null || task.getId() == null || task.getBoardId() == null) {
+            return;
+        }
+        try {
+            run(UPSERT_SCRIPT, allKeys(task.getBoardId()),
+                    bytes(Long.toString(VERSION_TTL_SECONDS)),
+                    bytes(task.getId()),
+                    codec.serialize(task),
+                    bytes(Long.toString(score(task))),
+                    bytes(Integer.toString(statusIndex(task.getStatus()))),
+                    bytes(CacheInvalidationBus.CHANNEL),
+                    bytes(invalidationBus.evictMessage(LISTENER_NAME, task.getBoardId())));
+            hotBoards.invalidate(task.getBoardId());
+            deltas.increment();
+        } catch (Exception e) {
+            log.warn("Failed to apply delta for task {} on board {}, evicting view", task.getId(),
+                    task.getBoardId(), e);
+            evict(task.getBoardId());
+        }
+    }
+
+    /**
+     * إزالة مهمة من عرض لوحة
+     */
+    public void remove(String boardId, String taskId) {
+        if (boardId == null || taskId == null) {
+            return;
+        }
+        try {
+            run(REMOVE_SCRIPT, allKeys(boardId), bytes(Long.toString(VERSION_TTL_SECONDS)), bytes(taskId),
+                    bytes(CacheInvalidationBus.CHANNEL), bytes(invalidationBus.evictMessage(LISTENER_NAME, boardId)));
+            hotBoards.invalidate(boardId);
+            deltas.increment();
+        } catch (Exception e) {
+            log.warn("Failed to remove task {} from board view {}, evicting view", taskId, boardId, e);
+            evict(boardId);
+        }
+    }
+
+    /**
+     * حذف عرض اللوحة بالكامل (يُعاد بناؤه عند القراءة التالية)
+     */
+    public void evict(String boardId) {
+        hotBoards.invalidate(boardId);
+        invalidationBus.publishEvict(LISTENER_NAME, boardId);
+        try {
+            redisTemplate.opsForValue().increment(versionKey(boardId));
+            redisTemplate.expire(versionKey(boardId), Duration.ofSeconds(VERSION_TTL_SECONDS));
+            List<String> keys = new ArrayList<>(allKeys(boardId));
+            keys.remove(versionKey(boardId));
+            redisTemplate.unlink(keys);
+        } catch (Exception e) {
+            log.warn("Failed to evict board view for board {}", boardId, e);
+            if (RedisCircuitBreaker.isRedisUnavailable(e)) {
+                deferEviction(boardId);
+            }
+        }
+    }
+
+    /**
+     * إعادة حذف عروض اللوحات التي تعدلت أثناء انقطاع Redis
+     */
+    public void replayEvictions() {
+        for (String boardId : pendingEvictions) {
+            pendingEvictions.remove(boardId);
+            evict(boardId);
+        }
+    }
+
+    private void deferEviction(String boardId) {
+        if (pendingEvictions.size() < maxPendingEvictions) {
+            pendingEvictions.add(boardId);
+        } else {
+            log.error("Dropping deferred eviction of board view {}: {} evictions already pending", boardId,
+                    pendingEvictions.size());
+        }
+    }
+
+    /**
+     * الحصول على إحصائيات عرض اللوحات
+     */
+    public BoardViewStats getStats() {
+        long hit = hits.sum();
+        long miss = misses.sum();
+        return BoardViewStats.builder()
+                .hits(hit)
+                .misses(miss)
+                .hitRatio(hit + miss > 0 ? (double) hit / (hit + miss) : 0.0)
+                .loads(loads.sum())
+                .discardedLoads(discardedLoads.sum())
+                .deltas(deltas.sum())
+                .pendingEvictions(pendingEvictions.size())
+                .build();
+    }
+
+    /**
+     * اللوحات الساخنة حالياً وإحصائيات نسخها المحلية
+     */
+    public HotKeyStats getHotKeyStats() {
+        return hotBoards.getStats();
+    }
+
+    @Override
+    public void evictLocal(Object key) {
+        hotBoards.invalidate(String.valueOf(key));
+    }
+
+    @Override
+    public void clearLocal() {
+        hotBoards.clear();
+    }
+
+    // ===== HELPERS =====
+
+    private List<TaskResponse> replicated(String boardId, String view, Supplier<List<TaskResponse>> reader) {
+        List<TaskResponse> tasks = hotBoards.get(boardId, view, reader);
+        // the replica is shared between requests, so callers get their own list
+        return tasks != null ? new ArrayList<>(tasks) : null;
+    }
+
+    private List<TaskResponse> read(String boardId, String setKey, boolean newestFirst) {
+        try {
+            List<?> values = run(READ_SCRIPT, List.of(metaKey(boardId), hashKey(boardId), setKey),
+                    bytes(newestFirst ? "1" : "0"));
+            if (values == null) {
+                misses.increment();
+                return null;
+            }
+            List<TaskResponse> tasks = new ArrayList<>(values.size());
+            for (Object value : values) {
+                if (!(value instanceof TaskResponse task)) {
+                    // set and hash disagree (partial expiry); treat as a miss so the view is rebuilt
+                    misses.increment();
+                    return null;
+                }
+                tasks.add(task);
+            }
+            hits.increment();
+            return tasks;
+        } catch (Exception e) {
+            log.warn("Failed to read board view for board {}", boardId, e);
+            return null;
+        }
+    }
+
+    private String currentVersion(String boardId) {
+        try {
+            byte[] version = redisTemplate.execute((RedisCallback<byte[]>)
+                    connection -> connection.stringCommands().get(bytes(versionKey(boardId))));
+            return version != null ? new String(version, StandardCharsets.UTF_8) : "0";
+        } catch (Exception e) {
+            log.warn("Failed to read board view version for board {}", boardId, e);
+            return null;
+        }
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private <T> T run(RedisScript<T> script, List<String> keys, Object... args) {
+        return (T) redisTemplate.execute((RedisScript) script, RedisSerializer.byteArray(),
+                (RedisSerializer) codec, keys, args);
+    }
+
+    private static long score(TaskResponse task) {
+        return task.getCreatedAt() != null ? task.getCreatedAt().toInstant(ZoneOffset.UTC).toEpochMilli() : 0L;
+    }
+
+    private static int statusIndex(TaskStatus status) {
+        return status != null ? status.ordinal() + 1 : 0;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> allKeys(String boardId) {
+        List<String> keys = new ArrayList<>(4 + STATUSES.length);
+        keys.add(metaKey(boardId));
+        keys.add(versionKey(boardId));
+        keys.add(hashKey(boardId));
+        keys.add(allKey(boardId));
+        for (TaskStatus status : STATUSES) {
+            keys.add(statusKey(boardId, status));
+        }
+        return keys;
+    }
+
+    private static String metaKey(String boardId) {
+        return KEY_PREFIX + boardId + "}:meta";
+    }
+
+    static String versionKey(String boardId) {
+        return KEY_PREFIX + boardId + "}:version";
+    }
+
+    // الاستجابة المصيّرة للوحة (يديرها BoardResponseCache، وتبقى صالحة طالما لم يتغير الإصدار)
+    static String responseKey(String boardId) {
+        return KEY_PREFIX + boardId + "}:response";
+    }
+
+    private static String hashKey(String boardId) {
+        return KEY_PREFIX + boardId + "}:tasks";
+    }
+
+    private static String allKey(String boardId) {
+        return KEY_PREFIX + boardId + "}:all";
+    }
+
+    private static String statusKey(String boardId, TaskStatus status) {
+        return KEY_PREFIX + boardId + "}:status:" + status;
+    }
+
+    /**
+     * فئة لحفظ إحصائيات عرض اللوحات
+     */
+    @lombok.Builder
+    @lombok.Data
+    public static class BoardViewStats {
+        private long hits;
+        private long misses;
+        private double hitRatio;
+        private long loads;
+        private long discardedLoads;
+        private long deltas;
+        private long pendingEvictions;
+    }
+}
@@ -0,0 +1,153 @@
+package com.company.app.modules.taskCore.infrastructure.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.stereotype.Service;
+
+import com.company.app.infrastructure.redis.cache.hotkey.HotKeyDetector;
+import com.company.app.infrastructure.redis.cache.hotkey.HotKeyDetector.HotKey;
+import com.company.app.infrastructure.redis.cache.ttl.AdaptiveTtlPolicy;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * تسجيل قراءات اللوحات والمستخدمين
+ * كل قراءة تُغذي معدل القراءة في سياسة المدة التكيفية، وأكثر اللوحات والمستخدمين قراءةً يُحفظون دورياً
+ * في Redis لتسخين التخزين المؤقت بعد إعادة التشغيل أو فقدان Redis.
+ * كل عقدة تضيف تقديراتها إلى نفس المجموعة المرتبة، ثم تُقص المجموعة إلى أعلى N
+ */
+@Service
+@Slf4j
+public class CacheHotSetRecorder implements DisposableBean {
+
+    static final String BOARDS_KEY = "cache_prewarm:boards";
+    static final String USERS_KEY = "cache_prewarm:users";
+
+    private static final String PREFIX = "app.cache.prewarm.";
+    private static final Duration HOT_SET_TTL = Duration.ofDays(7);
+
+    private final StringRedisTemplate redisTemplate;
+    private final AdaptiveTtlPolicy ttlPolicy;
+    private final boolean enabled;
+    private final int topN;
+    private final Duration persistInterval;
+    private final HotKeyDetector boards;
+    private final HotKeyDetector users;
+    private final ScheduledExecutorService persistExecutor;
+
+    public CacheHotSetRecorder(StringRedisTemplate redisTemplate, AdaptiveTtlPolicy ttlPolicy,
+            Environment environment) {
+        this.redisTemplate = redisTemplate;
+        this.ttlPolicy = ttlPolicy;
+        this.enabled = environment.getProperty(PREFIX + "enabled", Boolean.class, true);
+        this.topN = environment.getProperty(PREFIX + "top-n", Integer.class, 200);
+        this.persistInterval = environment.getProperty(PREFIX + "persist-interval", Duration.class,
+                Duration.ofMinutes(1));
+        long window = environment.getProperty(PREFIX + "window", Long.class, 200_000L);
+        // حد منخفض: المطلوب أعلى N وليس المفاتيح الساخنة فقط، والمفتاح الأقل تكراراً يُستبدل عند الامتلاء
+        this.boards = new HotKeyDetector(8192, window, 2, topN);
+        this.users = new HotKeyDetector(8192, window, 2, topN);
+        this.persistExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cache-hot-set-persist");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void schedulePersist() {
+        if (!enabled) {
+            return;
+        }
+        persistExecutor.scheduleWithFixedDelay(this::persistSafely, persistInterval.toMillis(),
+                persistInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public void recordBoard(String boardId) {
+        if (boardId == null) {
+            return;
+        }
+        ttlPolicy.recordRead(TaskCacheService.boardScope(boardId));
+        if (enabled) {
+            boards.record(boardId);
+        }
+    }
+
+    public void recordUser(String userId) {
+        if (userId == null) {
+            return;
+        }
+        ttlPolicy.recordRead(TaskCacheService.userScope(userId));
+        if (enabled) {
+            users.record(userId);
+        }
+    }
+
+    /**
+     * حفظ القائمة الحالية في Redis
+     */
+    public void persist() {
+        persist(BOARDS_KEY, boards.getHotKeys());
+        persist(USERS_KEY, users.getHotKeys());
+    }
+
+    /**
+     * أعلى N لوحة محفوظة (من الأكثر قراءةً)
+     */
+    public List<String> savedBoards() {
+        return saved(BOARDS_KEY);
+    }
+
+    /**
+     * أعلى N مستخدم محفوظ (من الأكثر قراءةً)
+     */
+    public List<String> savedUsers() {
+        return saved(USERS_KEY);
+    }
+
+    @Override
+    public void destroy() {
+        persistExecutor.shutdownNow();
+        if (enabled) {
+            // keep the latest picture for the next start
+            persistSafely();
+        }
+    }
+
+    private void persist(String key, List<HotKey> hotKeys) {
+        if (hotKeys.isEmpty()) {
+            return;
+        }
+        Set<TypedTuple<String>> entries = new HashSet<>();
+        hotKeys.forEach(hotKey -> entries.add(TypedTuple.of(hotKey.key(), (double) hotKey.estimatedFrequency())));
+        redisTemplate.opsForZSet().add(key, entries);
+        redisTemplate.opsForZSet().removeRange(key, 0, -(topN + 1));
+        redisTemplate.expire(key, HOT_SET_TTL);
+    }
+
+    private List<String> saved(String key) {
+        Set<String> members = redisTemplate.opsForZSet().reverseRange(key, 0, topN - 1);
+        return members != null ? new ArrayList<>(members) : List.of();
+    }
+
+    private void persistSafely() {
+        try {
+            persist();
+        } catch (Exception e) {
+            log.warn("Failed to persist the cache hot set", e);
+        }
+    }
+}
@@ -0,0 +1,505 @@
+package com.company.app.modules.taskCore.infrastructure.cache;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import com.company.app.infrastructure.redis.cache.RedisScripts;
+import com.company.app.infrastructure.redis.sharding.ShardedRedisConnectionFactory;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * تحليل استهلاك الذاكرة في مساحة مفاتيح التخزين المؤقت دون حجب Redis
+ * يمر على المفاتيح تدريجياً بـ SCAN، ولكل دفعة يقرأ MEMORY USAGE و PTTL في سكربت قصير واحد،
+ * مع حد لعدد المفاتيح في الثانية ولعدد المفاتيح ومدة التحليل في كل تشغيل.
+ * التقرير (مجموع البايتات لكل منطقة، أكبر المفاتيح، أكثر اللوحات والمستخدمين استهلاكاً، توزيع الأحجام ومدد الصلاحية)
+ * يُحفظ بين التشغيلات ويُعاد حسابه في الخلفية عند انتهاء صلاحيته
+ */
+@Service
+@Slf4j
+public class CacheMemoryAnalyzer implements DisposableBean {
+
+    private static final String PREFIX = "app.cache.memory-analyzer.";
+    private static final String NO_EXPIRY = "no-expiry";
+    private static final String OTHER_GROUP = "other";
+
+    // KEYS: keys of one scan batch | ARGV: samples
+    private static final RedisScript<List<Object>> USAGE_SCRIPT = RedisScripts.listScript("""
+            local result = {}
+            for i, key in ipairs(KEYS) do
+              result[2 * i - 1] = redis.call('memory', 'usage', key, 'samples', ARGV[1]) or -1
+              result[2 * i] = redis.call('pttl', key)
+            end
+            return result
+            """);
+
+    // board and user owners of list keys, generation scopes and board views
+    private static final Pattern BOARD_OWNER = Pattern.compile("(?:board:\\{?|board_view:\\{)([^:}]+)");
+    private static final Pattern USER_OWNER =
+            Pattern.compile("(?:user_task:|cache_gen:user:|cache_gen:user-status:)([^:]+)");
+
+    private static final long[] SIZE_BOUNDS = { 64, 256, 1024, 4096, 16384, 65536, 262144, 1048576 };
+    private static final Duration[] TTL_BOUNDS = { Duration.ofMinutes(1), Duration.ofMinutes(5),
+            Duration.ofMinutes(30), Duration.ofHours(1), Duration.ofHours(6), Duration.ofDays(1) };
+
+    private final StringRedisTemplate redisTemplate;
+    private final ShardedRedisConnectionFactory sharding;
+    private final String match;
+    private final int scanCount;
+    private final int samples;
+    private final int maxKeysPerSecond;
+    private final long maxKeys;
+    private final Duration maxDuration;
+    private final int topN;
+    private final Duration reportTtl;
+    private final ThreadPoolExecutor analysisExecutor;
+
+    private final AtomicReference<MemoryReport> lastReport = new AtomicReference<>();
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final LongAdder runs = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    public CacheMemoryAnalyzer(StringRedisTemplate redisTemplate, Environment environment) {
+        this.redisTemplate = redisTemplate;
+        this.sharding = ShardedRedisConnectionFactory.unwrap(redisTemplate.getConnectionFactory());
+        this.match = environment.getProperty(PREFIX + "match", "*");
+        this.scanCount = Math.max(1, environment.getProperty(PREFIX + "scan-count", Integer.class, 200));
+        this.samples = environment.getProperty(PREFIX + "samples", Integer.class, 5);
+        this.maxKeysPerSecond = environment.getProperty(PREFIX + "max-keys-per-second", Integer.class, 2000);
+        this.maxKeys = environment.getProperty(PREFIX + "max-keys", Long.class, 200_000L);
+        this.maxDuration = environment.getProperty(PREFIX + "max-duration", Duration.class, Duration.ofMinutes(5));
+        this.topN = environment.getProperty(PREFIX + "top-n", Integer.class, 20);
+        this.reportTtl = environment.getProperty(PREFIX + "report-ttl", Duration.class, Duration.ofMinutes(15));
+        this.analysisExecutor = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(1),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "cache-memory-analyzer");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * آخر تقرير محفوظ وحالة التحليل؛ يبدأ تحليلاً في الخلفية إذا لم يوجد تقرير أو انتهت صلاحيته
+     */
+    public AnalyzerStatus getStatus() {
+        MemoryReport report = lastReport.get();
+        if (report == null || report.getCompletedAt().plus(reportTtl).isBefore(Instant.now())) {
+            analyzeAsync();
+        }
+        // the report read above: a run started by this call is returned by the next one
+        return status(report);
+    }
+
+    /**
+     * بدء تحليل جديد في الخلفية (بغض النظر عن عمر التقرير المحفوظ)
+     *
+     * @return false إذا كان هناك تحليل جارٍ بالفعل
+     */
+    public boolean analyzeAsync() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            analysisExecutor.execute(() -> {
+                try {
+                    analyze();
+                } finally {
+                    running.set(false);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            running.set(false);
+            return false;
+        }
+    }
+
+    /**
+     * تحليل مساحة المفاتيح الآن في الخيط الحالي وحفظ التقرير
+     * يتوقف عند نهاية SCAN أو عند بلوغ max-keys أو max-duration؛ التقرير الناقص يقدّر الإجمالي من حجم قاعدة البيانات
+     */
+    public MemoryReport analyze() {
+        runs.increment();
+        Instant startedAt = Instant.now();
+        long startNanos = System.nanoTime();
+        long deadline = startNanos + maxDuration.toNanos();
+        Accumulator accumulator = new Accumulator();
+        boolean complete = false;
+        long scanned = 0;
+
+        ScanOptions options = ScanOptions.scanOptions().match(match).count(scanCount).build();
+        List<String> batch = new ArrayList<>(scanCount);
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            while (true) {
+                boolean more = cursor.hasNext();
+                if (more) {
+                    batch.add(cursor.next());
+                    scanned++;
+                }
+                boolean limited = scanned >= maxKeys || System.nanoTime() > deadline;
+                if (batch.size() >= scanCount || ((!more || limited) && !batch.isEmpty())) {
+                    measure(batch, accumulator);
+                    batch.clear();
+                    throttle(scanned, startNanos);
+                }
+                if (!more || limited) {
+                    complete = !more;
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.info("Cache memory analysis interrupted after {} keys", accumulator.scannedKeys);
+        } catch (RuntimeException e) {
+            failures.increment();
+            log.warn("Cache memory analysis failed after {} keys", accumulator.scannedKeys, e);
+            throw e;
+        }
+
+        MemoryReport report = accumulator.report(startedAt, complete, complete ? null : databaseSize());
+        lastReport.set(report);
+        log.info("Cache memory analysis sampled {} keys ({} bytes) in {} ms, complete: {}",
+                report.getScannedKeys(), report.getSampledBytes(), report.getDurationMillis(), complete);
+        return report;
+    }
+
+    @Override
+    public void destroy() {
+        analysisExecutor.shutdownNow();
+    }
+
+    private AnalyzerStatus status(MemoryReport report) {
+        return AnalyzerStatus.builder()
+                .running(running.get())
+                .runs(runs.sum())
+                .failures(failures.sum())
+                .reportTtlSeconds(reportTtl.toSeconds())
+                .report(report)
+                .build();
+    }
+
+    private void measure(List<String> keys, Accumulator accumulator) {
+        if (sharding != null) {
+            // a script only touches keys of one node: one script per node of the batch
+            Map<String, List<String>> keysByNode = new LinkedHashMap<>();
+            keys.forEach(key ->
+                    keysByNode.computeIfAbsent(sharding.nodeFor(key), node -> new ArrayList<>()).add(key));
+            keysByNode.values().forEach(nodeKeys -> measureOnNode(nodeKeys, accumulator));
+            return;
+        }
+        measureOnNode(keys, accumulator);
+    }
+
+    private void measureOnNode(List<String> keys, Accumulator accumulator) {
+        List<?> replies = redisTemplate.execute(USAGE_SCRIPT, keys, String.valueOf(samples));
+        for (int i = 0; i < keys.size(); i++) {
+            long bytes = number(replies, 2 * i);
+            long pttl = number(replies, 2 * i + 1);
+            // -1 usage or -2 ttl: the key expired or was removed between SCAN and the script
+            if (bytes >= 0 && pttl != -2) {
+                accumulator.add(keys.get(i), bytes, pttl);
+            }
+        }
+    }
+
+    // keeps the average rate at or below max-keys-per-second since the start of the run
+    private void throttle(long scannedKeys, long startNanos) throws InterruptedException {
+        if (maxKeysPerSecond <= 0) {
+            return;
+        }
+        long dueNanos = scannedKeys * TimeUnit.SECONDS.toNanos(1) / maxKeysPerSecond;
+        long aheadNanos = dueNanos - (System.nanoTime() - startNanos);
+        if (aheadNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(aheadNanos);
+        }
+    }
+
+    private Long databaseSize() {
+        try {
+            return redisTemplate.execute((RedisCallback<Long>) connection -> connection.serverCommands().dbSize());
+        } catch (RuntimeException e) {
+            log.debug("Failed to read the Redis database size", e);
+            return null;
+        }
+    }
+
+    private static long number(List<?> replies, int index) {
+        return replies != null && index < replies.size() && replies.get(index) instanceof Number value
+                ? value.longValue()
+                : -2L;
+    }
+
+    /**
+     * المجموعة التي ينتمي إليها المفتاح: منطقة التخزين قبل "::" أو البادئة قبل ":" للمفاتيح الأخرى
+     */
+    static String group(String key) {
+        int region = key.indexOf("::");
+        if (region > 0) {
+            return key.substring(0, region);
+        }
+        int prefix = key.indexOf(':');
+        return prefix > 0 ? key.substring(0, prefix) : OTHER_GROUP;
+    }
+
+    static String sizeBucket(long bytes) {
+        for (long bound : SIZE_BOUNDS) {
+            if (bytes <= bound) {
+                return "<=" + formatBytes(bound);
+            }
+        }
+        return ">" + formatBytes(SIZE_BOUNDS[SIZE_BOUNDS.length - 1]);
+    }
+
+    static String ttlBucket(long pttl) {
+        if (pttl < 0) {
+            return NO_EXPIRY;
+        }
+        for (Duration bound : TTL_BOUNDS) {
+            if (pttl < bound.toMillis()) {
+                return "<" + formatDuration(bound);
+            }
+        }
+        return ">=" + formatDuration(TTL_BOUNDS[TTL_BOUNDS.length - 1]);
+    }
+
+    private static String formatBytes(long bytes) {
+        if (bytes >= 1048576) {
+            return bytes / 1048576 + "MB";
+        }
+        return bytes >= 1024 ? bytes / 1024 + "KB" : bytes + "B";
+    }
+
+    private static String formatDuration(Duration duration) {
+        if (duration.toDays() > 0) {
+            return duration.toDays() + "d";
+        }
+        return duration.toHours() > 0 ? duration.toHours() + "h" : duration.toMinutes() + "m";
+    }
+
+    private static Map<String, Long> emptySizeHistogram() {
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        for (long bound : SIZE_BOUNDS) {
+            histogram.put("<=" + formatBytes(bound), 0L);
+        }
+        histogram.put(">" + formatBytes(SIZE_BOUNDS[SIZE_BOUNDS.length - 1]), 0L);
+        return histogram;
+    }
+
+    private static Map<String, Long> emptyTtlDistribution() {
+        Map<String, Long> distribution = new LinkedHashMap<>();
+        distribution.put(NO_EXPIRY, 0L);
+        for (Duration bound : TTL_BOUNDS) {
+            distribution.put("<" + formatDuration(bound), 0L);
+        }
+        distribution.put(">=" + formatDuration(TTL_BOUNDS[TTL_BOUNDS.length - 1]), 0L);
+        return distribution;
+    }
+
+    /**
+     * تجميع نتائج تشغيل واحد (يستخدمه خيط التحليل فقط)
+     */
+    private final class Accumulator {
+
+        private long scannedKeys;
+        private long sampledBytes;
+        private final Map<String, GroupAccumulator> groups = new TreeMap<>();
+        private final Map<String, Long> boardBytes = new HashMap<>();
+        private final Map<String, Long> userBytes = new HashMap<>();
+        private final Map<String, Long> sizeHistogram = emptySizeHistogram();
+        private final Map<String, Long> ttlDistribution = emptyTtlDistribution();
+        private final PriorityQueue<KeyUsage> largestKeys =
+                new PriorityQueue<>(Comparator.comparingLong(KeyUsage::getBytes));
+
+        void add(String key, long bytes, long pttl) {
+            scannedKeys++;
+            sampledBytes += bytes;
+            String group = group(key);
+            groups.computeIfAbsent(group, name -> new GroupAccumulator()).add(bytes, pttl);
+            sizeHistogram.merge(sizeBucket(bytes), 1L, Long::sum);
+            ttlDistribution.merge(ttlBucket(pttl), 1L, Long::sum);
+            owner(BOARD_OWNER, key).ifPresent(board -> boardBytes.merge(board, bytes, Long::sum));
+            owner(USER_OWNER, key).ifPresent(user -> userBytes.merge(user, bytes, Long::sum));
+
+            if (largestKeys.size() < topN) {
+                largestKeys.add(new KeyUsage(key, group, bytes, pttl));
+            } else if (topN > 0 && largestKeys.peek().getBytes() < bytes) {
+                largestKeys.poll();
+                largestKeys.add(new KeyUsage(key, group, bytes, pttl));
+            }
+        }
+
+        MemoryReport report(Instant startedAt, boolean complete, Long databaseKeys) {
+            Instant completedAt = Instant.now();
+            Map<String, GroupUsage> groupUsage = new LinkedHashMap<>();
+            groups.forEach((name, group) -> groupUsage.put(name, group.usage()));
+            long estimatedTotal = complete || databaseKeys == null || scannedKeys == 0
+                    ? sampledBytes
+                    : Math.round((double) sampledBytes * databaseKeys / scannedKeys);
+            return MemoryReport.builder()
+                    .startedAt(startedAt)
+                    .completedAt(completedAt)
+                    .durationMillis(Duration.between(startedAt, completedAt).toMillis())
+                    .match(match)
+                    .complete(complete)
+                    .scannedKeys(scannedKeys)
+                    .databaseKeys(databaseKeys)
+                    .sampledBytes(sampledBytes)
+                    .estimatedTotalBytes(estimatedTotal)
+                    .groups(groupUsage)
+                    .largestKeys(largestKeys.stream()
+                            .sorted(Comparator.comparingLong(KeyUsage::getBytes).reversed())
+                            .toList())
+                    .topBoards(top(boardBytes))
+                    .topUsers(top(userBytes))
+                    .sizeHistogram(sizeHistogram)
+                    .ttlDistribution(ttlDistribution)
+                    .build();
+        }
+
+        private List<OwnerUsage> top(Map<String, Long> bytesByOwner) {
+            return bytesByOwner.entrySet().stream()
+                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                    .limit(topN)
+                    .map(entry -> new OwnerUsage(entry.getKey(), entry.getValue()))
+                    .toList();
+        }
+
+        private static Optional<String> owner(Pattern pattern, String key) {
+            Matcher matcher = pattern.matcher(key);
+            return matcher.find() ? Optional.of(matcher.group(1)) : Optional.empty();
+        }
+    }
+
+    private static final class GroupAccumulator {
+
+        private long keys;
+        private long bytes;
+        private long maxBytes;
+        private long noExpiryKeys;
+        private final Map<String, Long> sizeHistogram = emptySizeHistogram();
+        private final Map<String, Long> ttlDistribution = emptyTtlDistribution();
+
+        void add(long keyBytes, long pttl) {
+            keys++;
+            bytes += keyBytes;
+            maxBytes = Math.max(maxBytes, keyBytes);
+            if (pttl < 0) {
+                noExpiryKeys++;
+            }
+            sizeHistogram.merge(sizeBucket(keyBytes), 1L, Long::sum);
+            ttlDistribution.merge(ttlBucket(pttl), 1L, Long::sum);
+        }
+
+        GroupUsage usage() {
+            return GroupUsage.builder()
+                    .keys(keys)
+                    .bytes(bytes)
+                    .averageBytes(keys > 0 ? bytes / keys : 0)
+                    .maxBytes(maxBytes)
+                    .noExpiryKeys(noExpiryKeys)
+                    .sizeHistogram(sizeHistogram)
+                    .ttlDistribution(ttlDistribution)
+                    .build();
+        }
+    }
+
+    /**
+     * فئة لحفظ حالة المحلل وآخر تقرير
+     */
+    @lombok.Builder
+    @lombok.Data
+    public static class AnalyzerStatus {
+        private boolean running;
+        private long runs;
+        private long failures;
+        private long reportTtlSeconds;
+        private MemoryReport report;
+    }
+
+    /**
+     * فئة لحفظ تقرير استهلاك الذاكرة
+     */
+    @lombok.Builder
+    @lombok.Data
+    public static class MemoryReport {
+        private Instant startedAt;
+        private Instant completedAt;
+        private long durationMillis;
+        private String match;
+        private boolean complete;
+        private long scannedKeys;
+        private Long databaseKeys;
+        private long sampledBytes;
+        private long estimatedTotalBytes;
+        private Map<String, GroupUsage> groups;
+        private List<KeyUsage> largestKeys;
+        private List<OwnerUsage> topBoards;
+        private List<OwnerUsage> topUsers;
+        private Map<String, Long> sizeHistogram;
+        private Map<String, Long> ttlDistribution;
+    }
+
+    /**
+     * فئة لحفظ استهلاك منطقة أو مجموعة مفاتيح
+     */
+    @lombok.Builder
+    @lombok.Data
+    public static class GroupUsage {
+        private long keys;
+        private long bytes;
+        private long averageBytes;
+        private long maxBytes;
+        private long noExpiryKeys;
+        private Map<String, Long> sizeHistogram;
+        private Map<String, Long> ttlDistribution;
+    }
+
+    /**
+     * فئة لحفظ حجم مفتاح ومدة صلاحيته المتبقية (-1 بدون انتهاء)
+     */
+    @lombok.AllArgsConstructor
+    @lombok.Data
+    public static class KeyUsage {
+        private String key;
+        private String group;
+        private long bytes;
+        private long ttlMillis;
+    }
+
+    /**
+     * فئة لحفظ مجموع البايتات للوحة أو مستخدم
+     */
+    @lombok.AllArgsConstructor
+    @lombok.Data
+    public static class OwnerUsage {
+        private String id;
+        private long bytes;
+    }
+}
@@ -0,0 +1,365 @@
+package com.company.app.modules.taskCore.infrastructure.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import com.company.app.infrastructure.redis.cache.refresh.CacheEnvelope;
+import com.company.app.modules.taskCore.application.dto.TaskResponse;
+import com.company.app.modules.taskCore.domain.valueobject.Priority;
+import com.company.app.modules.taskCore.domain.valueobject.TaskStatus;
+
+/**
+ * ترميز ثنائي مضغوط لقيم التخزين المؤقت للمهام
+ * بايت لإصدار المخطط، بايت لنوع القيمة، ثم الحقول: الأعداد بترميز varint، التعدادات برقمها الترتيبي،
+ * والتواريخ كثوانٍ منذ epoch، وقوائم المعرفات بصيغة UUID في 16 بايت.
+ * غلاف التحديث المسبق يُرمَّز حول القيمة، وأي نوع آخر يُرمَّز بـ JSON مع علامة خاصة
+ *
+ * ملاحظة: تغيير ترتيب قيم TaskStatus أو Priority يتطلب رفع SCHEMA_VERSION
+ */
+public class TaskCacheBinarySerializer implements RedisSerializer<Object> {
+
+    static final byte SCHEMA_VERSION = 1;
+
+    static final byte TYPE_TASK = 0x01;
+    static final byte TYPE_TASK_LIST = 0x02;
+    static final byte TYPE_LONG = 0x03;
+    static final byte TYPE_ENVELOPE = 0x04;
+    static final byte TYPE_ID_LIST = 0x05;
+    static final byte TYPE_UUID_LIST = 0x06;
+    static final byte TYPE_JSON = 0x7F;
+
+    // presence bits for nullable TaskResponse fields
+    private static final int HAS_ID = 1;
+    private static final int HAS_TITLE = 1 << 1;
+    private static final int HAS_DESCRIPTION = 1 << 2;
+    private static final int HAS_STATUS = 1 << 3;
+    private static final int HAS_PRIORITY = 1 << 4;
+    private static final int HAS_ASSIGNED_TO = 1 << 5;
+    private static final int HAS_CREATED_AT = 1 << 6;
+    private static final int HAS_DUE_DATE = 1 << 7;
+    private static final int HAS_BOARD_ID = 1 << 8;
+    private static final int OVERDUE = 1 << 9;
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private final RedisSerializer<Object> fallback;
+
+    public TaskCacheBinarySerializer(RedisSerializer<Object> fallback) {
+        this.fallback = fallback;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+
+        Writer out = new Writer();
+        out.write(SCHEMA_VERSION);
+        writeValue(out, value);
+        return out.toByteArray();
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != SCHEMA_VERSION) {
+            // values written by the JSON serializer (or an unknown schema) are decoded as JSON
+            return fallback.deserialize(bytes);
+        }
+
+        return readValue(new Reader(bytes, 1));
+    }
+
+    private void writeValue(Writer out, Object value) {
+        if (value instanceof TaskResponse task) {
+            out.write(TYPE_TASK);
+            writeTask(out, task);
+        } else if (isTaskList(value)) {
+            List<?> tasks = (List<?>) value;
+            out.write(TYPE_TASK_LIST);
+            out.writeVarint(tasks.size());
+            for (Object task : tasks) {
+                writeTask(out, (TaskResponse) task);
+            }
+        } else if (value instanceof Long number) {
+            out.write(TYPE_LONG);
+            out.writeVarLong(zigZag(number));
+        } else if (isStringList(value)) {
+            List<?> ids = (List<?>) value;
+            boolean uuids = ids.stream().allMatch(id -> asUuid((String) id) != null);
+            out.write(uuids ? TYPE_UUID_LIST : TYPE_ID_LIST);
+            out.writeVarint(ids.size());
+            for (Object id : ids) {
+                if (uuids) {
+                    UUID uuid = asUuid((String) id);
+                    out.writeLong(uuid.getMostSignificantBits());
+                    out.writeLong(uuid.getLeastSignificantBits());
+                } else {
+                    out.writeString((String) id);
+                }
+            }
+        } else if (value instanceof CacheEnvelope envelope && envelope.getValue() != null) {
+            // the wrapped value is written last, so a JSON-encoded value can still take the remaining bytes
+            out.write(TYPE_ENVELOPE);
+            out.writeVarLong(zigZag(envelope.getSoftExpiresAt()));
+            out.writeVarLong(zigZag(envelope.getComputeMillis()));
+            writeValue(out, envelope.getValue());
+        } else {
+            out.write(TYPE_JSON);
+            out.writeBytes(fallback.serialize(value));
+        }
+    }
+
+    private Object readValue(Reader in) {
+        byte type = in.readByte();
+        switch (type) {
+            case TYPE_TASK:
+                return readTask(in);
+            case TYPE_TASK_LIST: {
+                int size = in.readVarint();
+                List<TaskResponse> tasks = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    tasks.add(readTask(in));
+                }
+                return tasks;
+            }
+            case TYPE_LONG:
+                return unZigZag(in.readVarLong());
+            case TYPE_ID_LIST: {
+                int size = in.readVarint();
+                List<String> ids = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    ids.add(in.readString());
+                }
+                return ids;
+            }
+            case TYPE_UUID_LIST: {
+                int size = in.readVarint();
+                List<String> ids = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    ids.add(new UUID(in.readLong(), in.readLong()).toString());
+                }
+                return ids;
+            }
+            case TYPE_ENVELOPE: {
+                long softExpiresAt = unZigZag(in.readVarLong());
+                long computeMillis = unZigZag(in.readVarLong());
+                return new CacheEnvelope(readValue(in), softExpiresAt, computeMillis);
+            }
+            case TYPE_JSON:
+                return fallback.deserialize(in.remaining());
+            default:
+                throw new SerializationException("Unknown cache value type: " + type);
+        }
+    }
+
+    private static boolean isTaskList(Object value) {
+        if (!(value instanceof List<?> list)) {
+            return false;
+        }
+        for (Object element : list) {
+            if (!(element instanceof TaskResponse)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isStringList(Object value) {
+        if (!(value instanceof List<?> list)) {
+            return false;
+        }
+        for (Object element : list) {
+            if (!(element instanceof String)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // only ids that survive a UUID round trip unchanged are packed into 16 bytes
+    private static UUID asUuid(String id) {
+        if (id.length() != 36) {
+            return null;
+        }
+        try {
+            UUID uuid = UUID.fromString(id);
+            return uuid.toString().equals(id) ? uuid : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static void writeTask(Writer out, TaskResponse task) {
+        int flags = (task.getId() != null ? HAS_ID : 0)
+                | (task.getTitle() != null ? HAS_TITLE : 0)
+                | (task.getDescription() != null ? HAS_DESCRIPTION : 0)
+                | (task.getStatus() != null ? HAS_STATUS : 0)
+                | (task.getPriority() != null ? HAS_PRIORITY : 0)
+                | (task.getAssignedTo() != null ? HAS_ASSIGNED_TO : 0)
+                | (task.getCreatedAt() != null ? HAS_CREATED_AT : 0)
+                | (task.getDueDate() != null ? HAS_DUE_DATE : 0)
+                | (task.getBoardId() != null ? HAS_BOARD_ID : 0)
+                | (task.isOverdue() ? OVERDUE : 0);
+        out.writeVarint(flags);
+
+        if (task.getId() != null) out.writeString(task.getId());
+        if (task.getTitle() != null) out.writeString(task.getTitle());
+        if (task.getDescription() != null) out.writeString(task.getDescription());
+        if (task.getStatus() != null) out.writeVarint(task.getStatus().ordinal());
+        if (task.getPriority() != null) out.writeVarint(task.getPriority().ordinal());
+        if (task.getAssignedTo() != null) out.writeString(task.getAssignedTo());
+        if (task.getCreatedAt() != null) out.writeDateTime(task.getCreatedAt());
+        if (task.getDueDate() != null) out.writeDateTime(task.getDueDate());
+        if (task.getBoardId() != null) out.writeString(task.getBoardId());
+    }
+
+    private static TaskResponse readTask(Reader in) {
+        int flags = in.readVarint();
+        TaskResponse.TaskResponseBuilder builder = TaskResponse.builder();
+
+        if ((flags & HAS_ID) != 0) builder.id(in.readString());
+        if ((flags & HAS_TITLE) != 0) builder.title(in.readString());
+        if ((flags & HAS_DESCRIPTION) != 0) builder.description(in.readString());
+        if ((flags & HAS_STATUS) != 0) builder.status(STATUSES[in.readVarint()]);
+        if ((flags & HAS_PRIORITY) != 0) builder.priority(PRIORITIES[in.readVarint()]);
+        if ((flags & HAS_ASSIGNED_TO) != 0) builder.assignedTo(in.readString());
+        if ((flags & HAS_CREATED_AT) != 0) builder.createdAt(in.readDateTime());
+        if ((flags & HAS_DUE_DATE) != 0) builder.dueDate(in.readDateTime());
+        if ((flags & HAS_BOARD_ID) != 0) builder.boardId(in.readString());
+        builder.overdue((flags & OVERDUE) != 0);
+
+        return builder.build();
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * كاتب بايتات بسيط مع دعم varint
+     */
+    private static final class Writer extends ByteArrayOutputStream {
+
+        Writer() {
+            super(256);
+        }
+
+        void writeVarint(int value) {
+            writeVarLong(value & 0xFFFFFFFFL);
+        }
+
+        void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        void writeLong(long value) {
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                write((int) (value >>> shift));
+            }
+        }
+
+        void writeString(String value) {
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint(utf8.length);
+            writeBytes(utf8);
+        }
+
+        void writeDateTime(LocalDateTime value) {
+            writeVarLong(zigZag(value.toEpochSecond(ZoneOffset.UTC)));
+            writeVarint(value.getNano());
+        }
+    }
+
+    /**
+     * قارئ بايتات بسيط مع دعم varint
+     */
+    private static final class Reader {
+        private final byte[] bytes;
+        private int position;
+
+        Reader(byte[] bytes, int position) {
+            this.bytes = bytes;
+            this.position = position;
+        }
+
+        byte readByte() {
+            if (position >= bytes.length) {
+                throw new SerializationException("Truncated cache value");
+            }
+            return bytes[position++];
+        }
+
+        int readVarint() {
+            return (int) readVarLong();
+        }
+
+        long readVarLong() {
+            long result = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                if (position >= bytes.length) {
+                    throw new SerializationException("Truncated varint in cache value");
+                }
+                byte b = bytes[position++];
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new SerializationException("Malformed varint in cache value");
+        }
+
+        long readLong() {
+            if (position + 8 > bytes.length) {
+                throw new SerializationException("Truncated long in cache value");
+            }
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (bytes[position++] & 0xFF);
+            }
+            return value;
+        }
+
+        String readString() {
+            int length = readVarint();
+            if (length < 0 || position + length > bytes.length) {
+                throw new SerializationException("Truncated string in cache value");
+            }
+            String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        LocalDateTime readDateTime() {
+            long seconds = unZigZag(readVarLong());
+            int nanos = readVarint();
+            return LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+        }
+
+        byte[] remaining() {
+            byte[] rest = new byte[bytes.length - position];
+            System.arraycopy(bytes, position, rest, 0, rest.length);
+            return rest;
+        }
+    }
+}
@@ -1,14 +1,19 @@
 package com.company.app.modules.taskCore.infrastructure.cache;
 
 import java.util.List;
-import java.util.Set;
 
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 
+import com.company.app.infrastructure.redis.cache.CacheGenerationService;
+import com.company.app.infrastructure.redis.cache.CacheInvalidationBatch;
+import com.company.app.infrastructure.redis.cache.CacheKeyIndex;
+import com.company.app.infrastructure.redis.cache.refresh.CacheEnvelope;
 import com.company.app.modules.taskCore.application.dto.TaskResponse;
 import com.company.app.modules.taskCore.domain.valueobject.TaskStatus;
 
@@ -25,14 +30,32 @@ import lombok.extern.slf4j.Slf4j;
 public class TaskCacheService {
 
     private final RedisTemplate<String, Object> redisTemplate;
+    private final CacheGenerationService generationService;
+    private final CacheManager cacheManager;
+    private final CacheKeyIndex cacheKeyIndex;
+
+    // ===== CACHE REGIONS =====
+    private static final String TASKS_REGION = "tasks";
+    private static final String TASK_LISTS_REGION = "taskLists";
+    private static final String TASK_COUNTS_REGION = "taskCounts";
+    private static final String USER_TASKS_REGION = "userTasks";
+    private static final List<String> CACHE_REGIONS = List.of(
+            TASKS_REGION, TASK_LISTS_REGION, TASK_COUNTS_REGION, USER_TASKS_REGION);
 
     // ===== CACHE KEYS PATTERNS =====
-    private static final String TASK_KEY_PREFIX = "task:";
     private static final String TASK_LIST_KEY_PREFIX = "task_list:";
     private static final String TASK_COUNT_KEY_PREFIX = "task_count:";
     private static final String USER_TASK_KEY_PREFIX = "user_task:";
     private static final String OVERDUE_TASK_KEY = "overdue_tasks";
 
+    // ===== INVALIDATION SCOPES =====
+    private static final String BOARD_SCOPE_PREFIX = "board:";
+    private static final String USER_SCOPE_PREFIX = "user:";
+    private static final String USER_STATUS_SCOPE_PREFIX = "user-status:";
+    private static final String OVERDUE_SCOPE = "overdue";
+    // يزداد مع كل حذف قبل حذف مفتاح المهمة؛ الكتابة المسبقة تتحقق منه حتى لا تعيد مهمة محذوفة
+    static final String DELETED_TASKS_SCOPE = "deleted_tasks";
+
     // ===== INDIVIDUAL TASK CACHING =====
 
     /**
@@ -143,21 +166,28 @@ public class TaskCacheService {
      * توليد مفتاح التخزين المؤقت للمهام حسب اللوحة
      */
     public String generateBoardTasksKey(String boardId) {
-        return TASK_LIST_KEY_PREFIX + "board:" + boardId;
+        return TASK_LIST_KEY_PREFIX + boardScope(boardId);
     }
 
     /**
      * توليد مفتاح التخزين المؤقت للمهام حسب اللوحة والحالة
      */
     public String generateBoardStatusTasksKey(String boardId, TaskStatus status) {
-        return TASK_LIST_KEY_PREFIX + "board:" + boardId + ":status:" + status;
+        return TASK_LIST_KEY_PREFIX + boardScope(boardId) + ":status:" + status;
+    }
+
+    /**
+     * توليد مفتاح التخزين المؤقت للمهام حسب اللوحة مرتبة بتاريخ الإنشاء
+     */
+    public String generateBoardOrderedTasksKey(String boardId) {
+        return TASK_LIST_KEY_PREFIX + boardScope(boardId) + ":ordered";
     }
 
     /**
      * توليد مفتاح التخزين المؤقت لعدد المهام
      */
     public String generateTaskCountKey(String boardId, TaskStatus status) {
-        return TASK_COUNT_KEY_PREFIX + "board:" + boardId + ":status:" + status;
+        return TASK_COUNT_KEY_PREFIX + boardScope(boardId) + ":status:" + status;
     }
 
     /**
@@ -167,22 +197,109 @@ public class TaskCacheService {
         return OVERDUE_TASK_KEY;
     }
 
-    // ===== ADVANCED CACHE OPERATIONS =====
+    /**
+     * توليد مفتاح التخزين المؤقت لمهام المستخدم
+     */
+    public String generateUserTasksKey(String userId) {
+        return USER_TASK_KEY_PREFIX + userId;
+    }
 
     /**
-     * إزالة جميع المفاتيح المتعلقة بلوحة معينة
+     * توليد مفتاح التخزين المؤقت لمهام المستخدم حسب الحالة
      */
-    public void evictBoardCache(String boardId) {
-        log.info("Evicting all cache for board: {}", boardId);
+    public String generateUserStatusTasksKey(String userId, TaskStatus status) {
+        return USER_TASK_KEY_PREFIX + userId + ":" + status;
+    }
+
+    // ===== VERSIONED CACHE KEYS =====
+    // المفاتيح تتضمن جيل النطاق (لوحة/مستخدم/متأخرة)؛ أي كتابة تزيد الجيل بدلاً من حذف المفاتيح
+
+    public String versionedBoardTasksKey(String boardId) {
+        return versioned(generateBoardTasksKey(boardId), boardScope(boardId));
+    }
+
+    public String versionedBoardStatusTasksKey(String boardId, TaskStatus status) {
+        return versioned(generateBoardStatusTasksKey(boardId, status), boardScope(boardId));
+    }
 
-        // إزالة قوائم المهام
-        evictTaskList(generateBoardTasksKey(boardId));
+    public String versionedBoardOrderedTasksKey(String boardId) {
+        return versioned(generateBoardOrderedTasksKey(boardId), boardScope(boardId));
+    }
+
+    public String versionedTaskCountKey(String boardId, TaskStatus status) {
+        return versioned(generateTaskCountKey(boardId, status), boardScope(boardId));
+    }
+
+    public String versionedUserTasksKey(String userId) {
+        return versioned(generateUserTasksKey(userId), USER_SCOPE_PREFIX + userId);
+    }
 
-        // إزالة المهام حسب الحالة
-        for (TaskStatus status : TaskStatus.values()) {
-            evictTaskList(generateBoardStatusTasksKey(boardId, status));
-            evictTaskCount(generateTaskCountKey(boardId, status));
+    public String versionedUserStatusTasksKey(String userId, TaskStatus status) {
+        return versioned(generateUserStatusTasksKey(userId, status), USER_STATUS_SCOPE_PREFIX + userId);
+    }
+
+    public String versionedOverdueTasksKey() {
+        return versioned(generateOverdueTasksKey(), OVERDUE_SCOPE);
+    }
+
+    private String versioned(String baseKey, String scope) {
+        return baseKey + ":v" + generationService.currentGeneration(scope);
+    }
+
+    // ===== TTL SCOPES =====
+
+    /**
+     * نطاق اللوحة، وهو أيضاً جزء مفاتيح قوائمها وعداداتها؛ معرف اللوحة داخل وسم {...}
+     * فتقع مفاتيح اللوحة وجيلها على نفس العقدة عند توزيع التخزين على عدة عقد Redis
+     */
+    public static String boardScope(String boardId) {
+        return BOARD_SCOPE_PREFIX + "{" + boardId + "}";
+    }
+
+    public static String userScope(String userId) {
+        return USER_SCOPE_PREFIX + userId;
+    }
+
+    /**
+     * نطاق مفتاح التخزين (لوحة أو مستخدم) لحساب مدة صلاحيته التكيفية، أو null إذا لم يُعرف
+     * القوائم والعدادات تُعرف من المفتاح، والمهمة الفردية من لوحتها
+     */
+    public static String ttlScope(Object key, Object value) {
+        String cacheKey = String.valueOf(key);
+        for (String prefix : List.of(TASK_LIST_KEY_PREFIX + BOARD_SCOPE_PREFIX,
+                TASK_COUNT_KEY_PREFIX + BOARD_SCOPE_PREFIX)) {
+            if (cacheKey.startsWith(prefix)) {
+                return boardScope(untagged(segment(cacheKey, prefix.length())));
+            }
+        }
+        if (cacheKey.startsWith(USER_TASK_KEY_PREFIX)) {
+            return userScope(segment(cacheKey, USER_TASK_KEY_PREFIX.length()));
         }
+
+        Object unwrapped = value instanceof CacheEnvelope envelope ? envelope.getValue() : value;
+        if (unwrapped instanceof TaskResponse task && task.getBoardId() != null) {
+            return boardScope(task.getBoardId());
+        }
+        return null;
+    }
+
+    private static String segment(String key, int from) {
+        int end = key.indexOf(':', from);
+        return end < 0 ? key.substring(from) : key.substring(from, end);
+    }
+
+    private static String untagged(String segment) {
+        return segment.startsWith("{") && segment.endsWith("}") ? segment.substring(1, segment.length() - 1) : segment;
+    }
+
+    // ===== ADVANCED CACHE OPERATIONS =====
+
+    /**
+     * إبطال جميع القوائم والعدادات المتعلقة بلوحة معينة (زيادة جيل اللوحة)
+     */
+    public void evictBoardCache(String boardId) {
+        log.info("Evicting all cache for board: {}", boardId);
+        generationService.bumpGeneration(boardScope(boardId));
     }
 
     /**
@@ -194,71 +311,132 @@ public class TaskCacheService {
     }
 
     /**
-     * إزالة جميع المفاتيح المتعلقة بمستخدم معين
+     * إبطال جميع القوائم المتعلقة بمستخدم معين (زيادة جيل المستخدم)
      */
     public void evictUserCache(String userId) {
         log.info("Evicting all cache for user: {}", userId);
-        evictUserTasks(userId);
+        invalidation().user(userId).execute();
     }
 
     /**
-     * إزالة المهام المتأخرة من التخزين المؤقت
+     * إبطال قوائم المستخدم حسب الحالة فقط (تغيير حالة مهمة لا يغير قائمة مهامه الكاملة)
+     */
+    public void evictUserStatusCache(String userId) {
+        log.debug("Evicting per-status task lists for user: {}", userId);
+        invalidation().userStatus(userId).execute();
+    }
+
+    /**
+     * إبطال قائمة المهام المتأخرة (زيادة جيل المهام المتأخرة)
      */
-    @CacheEvict(value = "taskLists", key = "#root.target.generateOverdueTasksKey()")
     public void evictOverdueTasks() {
         log.debug("Evicting overdue tasks from cache");
+        invalidation().overdue().execute();
+    }
+
+    /**
+     * بدء مجموعة إبطالات لعملية كتابة واحدة؛ تُرسل كلها إلى Redis في رحلة واحدة عند execute()
+     */
+    public TaskCacheInvalidation invalidation() {
+        return new TaskCacheInvalidation(generationService.newBatch());
     }
 
     // ===== CACHE STATISTICS =====
 
     /**
      * الحصول على إحصائيات التخزين المؤقت
+     * تعتمد على فهرس المفاتيح لكل منطقة (ZCARD) بدلاً من KEYS الذي يحجب Redis
      */
     public CacheStats getCacheStats() {
-        Set<String> taskKeys = redisTemplate.keys(TASK_KEY_PREFIX + "*");
-        Set<String> taskListKeys = redisTemplate.keys(TASK_LIST_KEY_PREFIX + "*");
-        Set<String> taskCountKeys = redisTemplate.keys(TASK_COUNT_KEY_PREFIX + "*");
-        Set<String> userTaskKeys = redisTemplate.keys(USER_TASK_KEY_PREFIX + "*");
+        int cachedTasks = (int) cacheKeyIndex.liveCount(TASKS_REGION);
+        int cachedTaskLists = (int) cacheKeyIndex.liveCount(TASK_LISTS_REGION);
+        int cachedTaskCounts = (int) cacheKeyIndex.liveCount(TASK_COUNTS_REGION);
+        int cachedUserTasks = (int) cacheKeyIndex.liveCount(USER_TASKS_REGION);
 
         return CacheStats.builder()
-                .cachedTasks(taskKeys != null ? taskKeys.size() : 0)
-                .cachedTaskLists(taskListKeys != null ? taskListKeys.size() : 0)
-                .cachedTaskCounts(taskCountKeys != null ? taskCountKeys.size() : 0)
-                .cachedUserTasks(userTaskKeys != null ? userTaskKeys.size() : 0)
-                .totalCachedItems(
-                        (taskKeys != null ? taskKeys.size() : 0) +
-                                (taskListKeys != null ? taskListKeys.size() : 0) +
-                                (taskCountKeys != null ? taskCountKeys.size() : 0) +
-                                (userTaskKeys != null ? userTaskKeys.size() : 0))
+                .cachedTasks(cachedTasks)
+                .cachedTaskLists(cachedTaskLists)
+                .cachedTaskCounts(cachedTaskCounts)
+                .cachedUserTasks(cachedUserTasks)
+                .totalCachedItems(cachedTasks + cachedTaskLists + cachedTaskCounts + cachedUserTasks)
                 .build();
     }
 
     /**
      * تنظيف التخزين المؤقت بالكامل
+     * يتم عبر مدير التخزين حتى تُفرغ النسخ المحلية في جميع العقد، والحذف في Redis يتم على دفعات
      */
     public void clearAllCache() {
         log.warn("Clearing all task cache");
 
-        Set<String> taskKeys = redisTemplate.keys(TASK_KEY_PREFIX + "*");
-        Set<String> taskListKeys = redisTemplate.keys(TASK_LIST_KEY_PREFIX + "*");
-        Set<String> taskCountKeys = redisTemplate.keys(TASK_COUNT_KEY_PREFIX + "*");
-        Set<String> userTaskKeys = redisTemplate.keys(USER_TASK_KEY_PREFIX + "*");
-        Set<String> overdueKeys = redisTemplate.keys(OVERDUE_TASK_KEY + "*");
-
-        if (taskKeys != null)
-            redisTemplate.delete(taskKeys);
-        if (taskListKeys != null)
-            redisTemplate.delete(taskListKeys);
-        if (taskCountKeys != null)
-            redisTemplate.delete(taskCountKeys);
-        if (userTaskKeys != null)
-            redisTemplate.delete(userTaskKeys);
-        if (overdueKeys != null)
-            redisTemplate.delete(overdueKeys);
+        for (String region : CACHE_REGIONS) {
+            Cache cache = cacheManager.getCache(region);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
     }
 
     // ===== INNER CLASSES =====
 
+    /**
+     * إبطالات عملية واحدة بمصطلحات المهام (مهمة، لوحة، مستخدم، المتأخرة)
+     */
+    public static class TaskCacheInvalidation {
+        private final CacheInvalidationBatch batch;
+
+        private TaskCacheInvalidation(CacheInvalidationBatch batch) {
+            this.batch = batch;
+        }
+
+        public TaskCacheInvalidation task(String taskId) {
+            batch.unlink(TASKS_REGION, taskId);
+            return this;
+        }
+
+        /**
+         * مهمة محذوفة: يُحذف مفتاحها ويزداد جيل المهام المحذوفة (قبل الحذف في نفس السكربت)
+         */
+        public TaskCacheInvalidation deleted(String taskId) {
+            batch.bumpScope(DELETED_TASKS_SCOPE);
+            batch.unlink(TASKS_REGION, taskId);
+            return this;
+        }
+
+        /**
+         * مهمة جديدة: تُضاف إلى مرشح المعرفات على جميع العقد
+         */
+        public TaskCacheInvalidation created(String taskId) {
+            batch.broadcast(TaskExistenceFilter.LISTENER_NAME, taskId);
+            return this;
+        }
+
+        public TaskCacheInvalidation board(String boardId) {
+            batch.bumpScope(boardScope(boardId));
+            return this;
+        }
+
+        public TaskCacheInvalidation user(String userId) {
+            batch.bumpScope(USER_SCOPE_PREFIX + userId);
+            batch.bumpScope(USER_STATUS_SCOPE_PREFIX + userId);
+            return this;
+        }
+
+        public TaskCacheInvalidation userStatus(String userId) {
+            batch.bumpScope(USER_STATUS_SCOPE_PREFIX + userId);
+            return this;
+        }
+
+        public TaskCacheInvalidation overdue() {
+            batch.bumpScope(OVERDUE_SCOPE);
+            return this;
+        }
+
+        public void execute() {
+            batch.execute();
+        }
+    }
+
     /**
      * فئة لحفظ إحصائيات التخزين المؤقت
      */
@@ -0,0 +1,225 @@
+package com.company.app.modules.taskCore.infrastructure.cache;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.company.app.modules.taskCore.application.dto.TaskResponse;
+import com.company.app.modules.taskCore.infrastructure.cache.TaskCacheService.TaskCacheInvalidation;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * تعديلات التخزين المؤقت لعمليات الكتابة تُجمع لكل معاملة وتُطبق مرة واحدة بعد نجاح commit
+ * التكرار داخل المعاملة يُحذف (آخر نسخة من المهمة أو من تعديل عرض اللوحة هي التي تُكتب)، والإبطالات كلها
+ * تُرسل في دفعة واحدة. المعاملة لا تنتظر Redis، والمعاملة الملغاة (rollback) لا تصل إلى التخزين أبداً.
+ * خارج المعاملات تُطبق التعديلات فوراً عند submit()
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TaskCacheWriteBuffer {
+
+    private final TaskCacheService taskCacheService;
+    private final BoardTaskViewCache boardTaskViewCache;
+    private final TaskExistenceFilter taskExistenceFilter;
+
+    private final LongAdder committed = new LongAdder();
+    private final LongAdder rolledBack = new LongAdder();
+    private final LongAdder immediate = new LongAdder();
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder deduplicated = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    /**
+     * تعديلات المعاملة الحالية (تُنشأ وتُربط بها عند أول استدعاء)، أو مجموعة مستقلة خارج المعاملات
+     */
+    public TaskCacheWrites current() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return new TaskCacheWrites(false);
+        }
+        TaskCacheWrites writes = (TaskCacheWrites) TransactionSynchronizationManager.getResource(this);
+        if (writes == null) {
+            writes = new TaskCacheWrites(true);
+            TransactionSynchronizationManager.bindResource(this, writes);
+            TransactionSynchronizationManager.registerSynchronization(writes);
+        }
+        return writes;
+    }
+
+    /**
+     * إحصائيات التطبيق بعد commit (المعاملات المطبقة والملغاة والعمليات المدمجة)
+     */
+    public WriteBufferStats getStats() {
+        return WriteBufferStats.builder()
+                .committedTransactions(committed.sum())
+                .rolledBackTransactions(rolledBack.sum())
+                .immediateWrites(immediate.sum())
+                .recordedOperations(recorded.sum())
+                .deduplicatedOperations(deduplicated.sum())
+                .failedOperations(failures.sum())
+                .build();
+    }
+
+    /**
+     * تعديلات التخزين لمعاملة واحدة: المهام المحدثة، تعديلات عروض اللوحات، الإبطالات، والمهام المنشأة والمحذوفة
+     */
+    public final class TaskCacheWrites implements TransactionSynchronization {
+
+        private final boolean deferred;
+        private final Map<String, TaskResponse> tasks = new LinkedHashMap<>();
+        private final Map<String, BoardViewChange> boardViews = new LinkedHashMap<>();
+        private final Set<String> createdTasks = new LinkedHashSet<>();
+        private final Set<String> deletedTasks = new LinkedHashSet<>();
+        private final TaskCacheInvalidation invalidation = taskCacheService.invalidation();
+
+        private TaskCacheWrites(boolean deferred) {
+            this.deferred = deferred;
+        }
+
+        public TaskCacheWrites cacheTask(String taskId, TaskResponse task) {
+            record(tasks.put(taskId, task) != null);
+            return this;
+        }
+
+        public TaskCacheWrites upsertBoardView(TaskResponse task) {
+            if (task.getId() != null && task.getBoardId() != null) {
+                record(boardViews.put(task.getBoardId() + "|" + task.getId(),
+                        new BoardViewChange(task.getBoardId(), task.getId(), task)) != null);
+            }
+            return this;
+        }
+
+        public TaskCacheWrites removeFromBoardView(String boardId, String taskId) {
+            if (boardId != null && taskId != null) {
+                record(boardViews.put(boardId + "|" + taskId, new BoardViewChange(boardId, taskId, null)) != null);
+            }
+            return this;
+        }
+
+        /**
+         * مهمة جديدة: تُضاف إلى مرشح المعرفات على هذه العقدة مباشرة بعد commit، وتُبث إلى العقد الأخرى مع الإبطالات
+         */
+        public TaskCacheWrites createTask(String taskId) {
+            createdTasks.add(taskId);
+            invalidation.created(taskId);
+            return this;
+        }
+
+        /**
+         * مهمة محذوفة: تُلغى كتابتها المعلقة، ويُحذف مفتاحها، وتُسجل في المخزن السلبي لمرشح المعرفات
+         */
+        public TaskCacheWrites deleteTask(String taskId) {
+            record(tasks.remove(taskId) != null);
+            invalidation.deleted(taskId);
+            deletedTasks.add(taskId);
+            return this;
+        }
+
+        /**
+         * إبطالات المعاملة؛ تُضاف إليها الأجيال والمفاتيح وتُنفذ دفعة واحدة مع بقية التعديلات
+         */
+        public TaskCacheInvalidation invalidation() {
+            return invalidation;
+        }
+
+        /**
+         * نهاية عملية الكتابة: داخل المعاملة لا شيء (التطبيق بعد commit)، وخارجها تُطبق التعديلات الآن
+         */
+        public void submit() {
+            if (!deferred) {
+                immediate.increment();
+                apply();
+            }
+        }
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(TaskCacheWriteBuffer.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(TaskCacheWriteBuffer.this, this);
+        }
+
+        @Override
+        public void afterCommit() {
+            committed.increment();
+            apply();
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(TaskCacheWriteBuffer.this);
+            if (status != STATUS_COMMITTED) {
+                rolledBack.increment();
+                log.debug("Discarding {} task and {} board view cache updates of a rolled back transaction",
+                        tasks.size(), boardViews.size());
+            }
+        }
+
+        private void record(boolean replaced) {
+            recorded.increment();
+            if (replaced) {
+                deduplicated.increment();
+            }
+        }
+
+        /**
+         * التطبيق بعد commit لا يرمي استثناءات: فشل أي تعديل يُسجل فقط، والمهمة التي لم تُكتب يُحذف مفتاحها
+         */
+        private void apply() {
+            // محلياً وقبل أي Redis: قراءة المهمة على هذه العقدة لا تعتمد على وصول البث
+            createdTasks.forEach(taskExistenceFilter::recordCreated);
+            tasks.forEach((taskId, task) -> {
+                try {
+                    taskCacheService.cacheTask(taskId, task);
+                } catch (RuntimeException e) {
+                    failures.increment();
+                    log.warn("Failed to cache task {} after commit, unlinking its entry", taskId, e);
+                    invalidation.task(taskId);
+                }
+            });
+            // upsert and remove fall back to evicting the board view on their own
+            boardViews.values().forEach(change -> {
+                if (change.task() != null) {
+                    boardTaskViewCache.upsert(change.task());
+                } else {
+                    boardTaskViewCache.remove(change.boardId(), change.taskId());
+                }
+            });
+            try {
+                invalidation.execute();
+            } catch (RuntimeException e) {
+                failures.increment();
+                log.warn("Failed to apply cache invalidations after commit", e);
+            }
+            deletedTasks.forEach(taskExistenceFilter::recordDeleted);
+        }
+    }
+
+    private record BoardViewChange(String boardId, String taskId, TaskResponse task) {
+    }
+
+    /**
+     * فئة لحفظ إحصائيات تعديلات التخزين المؤجلة
+     */
+    @lombok.Builder
+    @lombok.Data
+    public static class WriteBufferStats {
+        private long committedTransactions;
+        private long rolledBackTransactions;
+        private long immediateWrites;
+        private long recordedOperations;
+        private long deduplicatedOperations;
+        private long failedOperations;
+    }
+}
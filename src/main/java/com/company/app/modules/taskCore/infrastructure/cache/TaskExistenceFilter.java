@@ -0,0 +1,282 @@
+package com.company.app.modules.taskCore.infrastructure.cache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.company.app.infrastructure.redis.cache.near.BloomFilter;
+import com.company.app.infrastructure.redis.cache.near.CacheInvalidationBus;
+import com.company.app.infrastructure.redis.cache.near.LocalCacheStore;
+import com.company.app.infrastructure.redis.cache.near.LocalInvalidationListener;
+import com.company.app.modules.taskCore.domain.repository.TaskRepository;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * حماية قراءة المهام من المعرفات غير الموجودة
+ * مرشح Bloom داخل العملية لمعرفات المهام الموجودة (يُبنى عند بدء التشغيل ويُعاد بناؤه دورياً)،
+ * ومخزن سلبي قصير المدة للمعرفات التي تأكد عدم وجودها في قاعدة البيانات.
+ * المعرف الذي يستبعده المرشح لا يصل إلى Redis ويُفحص في قاعدة البيانات مرة واحدة فقط؛
+ * الرفض دون استعلام للمخزن السلبي وحده، فلا يتحول نقص في المرشح إلى 404.
+ * إنشاء مهمة يُضاف إلى مرشح العقدة نفسها بعد commit، ويُبث إلى العقد الأخرى عبر قناة الإبطال
+ */
+@Service
+@Slf4j
+public class TaskExistenceFilter implements LocalInvalidationListener, DisposableBean {
+
+    public static final String LISTENER_NAME = "taskExistence";
+
+    private static final String PREFIX = "app.cache.task-filter.";
+    private static final int REBUILD_PAGE_SIZE = 10_000;
+
+    private final TaskRepository taskRepository;
+    private final CacheInvalidationBus invalidationBus;
+    private final boolean enabled;
+    private final long expectedInsertions;
+    private final double falsePositiveProbability;
+    private final Duration rebuildInterval;
+    private final LocalCacheStore missing;
+    private final ScheduledExecutorService rebuildExecutor;
+
+    private volatile BloomFilter existing;
+    // المعرفات المضافة منذ بدء آخر إعادة بناء؛ تُدمج في المرشح الجديد حتى لا تضيع مهام لم تُلتزم بعد
+    private volatile BloomFilter recentlyAdded;
+    private volatile boolean ready;
+    private final Object swapLock = new Object();
+
+    private final LongAdder bloomRejections = new LongAdder();
+    private final LongAdder negativeHits = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+    private final LongAdder missedCreations = new LongAdder();
+    private final LongAdder rebuilds = new LongAdder();
+
+    public TaskExistenceFilter(TaskRepository taskRepository, Environment environment,
+            CacheInvalidationBus invalidationBus) {
+        this.taskRepository = taskRepository;
+        this.invalidationBus = invalidationBus;
+        this.enabled = environment.getProperty(PREFIX + "enabled", Boolean.class, true);
+        this.expectedInsertions = environment.getProperty(PREFIX + "expected-insertions", Long.class, 1_000_000L);
+        this.falsePositiveProbability = environment.getProperty(PREFIX + "false-positive-probability",
+                Double.class, 0.01);
+        Duration negativeTtl = environment.getProperty(PREFIX + "negative-ttl", Duration.class,
+                Duration.ofSeconds(60));
+        this.rebuildInterval = environment.getProperty(PREFIX + "rebuild-interval", Duration.class,
+                Duration.ofMinutes(15));
+        long negativeMaxEntries = environment.getProperty(PREFIX + "negative-max-entries", Long.class, 100_000L);
+
+        this.missing = new LocalCacheStore(negativeMaxEntries, negativeMaxEntries * 128, negativeTtl);
+        this.existing = newFilter();
+        this.recentlyAdded = newFilter();
+        this.rebuildExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-filter-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * التسجيل في قناة الإبطال بعد اكتمال البناء (إضافة المعرفات المنشأة على العقد الأخرى)
+     */
+    @PostConstruct
+    public void register() {
+        invalidationBus.register(LISTENER_NAME, this);
+    }
+
+    /**
+     * بناء المرشح بعد بدء التشغيل ثم إعادة بنائه دورياً لإسقاط المعرفات المحذوفة
+     * حتى يكتمل البناء الأول يُسمح بجميع المعرفات
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleRebuilds() {
+        if (!enabled) {
+            return;
+        }
+        rebuildExecutor.scheduleWithFixedDelay(this::rebuildSafely, 0, rebuildInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * هل يمكن أن توجد المهمة؟ (بدون تسجيل إحصائيات، للاستخدام في شرط التخزين المؤقت)
+     */
+    public boolean mightExist(String taskId) {
+        if (!enabled || taskId == null) {
+            return true;
+        }
+        if (missing.get(taskId) != null) {
+            return false;
+        }
+        return !ready || existing.mightContain(taskId);
+    }
+
+    /**
+     * هل يجب رفض المعرف دون قراءة Redis أو قاعدة البيانات؟ فقط إذا تأكد عدم وجوده (المخزن السلبي)
+     */
+    public boolean rejects(String taskId) {
+        if (!enabled || taskId == null) {
+            return false;
+        }
+        if (missing.get(taskId) != null) {
+            negativeHits.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * تسجيل معرف لم يوجد في قاعدة البيانات، فتُرفض طلباته التالية دون استعلام حتى انتهاء مدة المخزن السلبي
+     * (رفض من المرشح تأكد، أو خطأ إيجابي للمرشح)
+     */
+    public void recordMissing(String taskId) {
+        if (!enabled) {
+            return;
+        }
+        if (ready) {
+            if (existing.mightContain(taskId)) {
+                falsePositives.increment();
+            } else {
+                bloomRejections.increment();
+            }
+        }
+        missing.put(taskId, Boolean.TRUE);
+    }
+
+    /**
+     * تسجيل مهمة وُجدت في قاعدة البيانات؛ إذا كان المرشح قد استبعدها (بث إنشاء لم يصل) تُضاف إليه
+     */
+    public void recordFound(String taskId) {
+        if (enabled && ready && !existing.mightContain(taskId)) {
+            missedCreations.increment();
+            recordCreated(taskId);
+        }
+    }
+
+    /**
+     * تسجيل مهمة محذوفة (يبقى المعرف في المرشح حتى إعادة البناء، فيُحفظ في المخزن السلبي)
+     */
+    public void recordDeleted(String taskId) {
+        if (enabled) {
+            missing.put(taskId, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * إضافة مهمة جديدة إلى المرشح على هذه العقدة (تُستدعى أيضاً عند استقبال البث من العقد الأخرى)
+     */
+    public void recordCreated(String taskId) {
+        synchronized (swapLock) {
+            existing.put(taskId);
+            recentlyAdded.put(taskId);
+        }
+        missing.remove(taskId);
+    }
+
+    /**
+     * إعادة بناء المرشح من قاعدة البيانات على دفعات حسب المعرف
+     */
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        BloomFilter rebuilt = newFilter();
+        BloomFilter carried;
+        synchronized (swapLock) {
+            carried = recentlyAdded;
+            recentlyAdded = newFilter();
+        }
+
+        UUID after = new UUID(0L, 0L);
+        while (true) {
+            List<UUID> ids = taskRepository.findIdsAfter(after, PageRequest.of(0, REBUILD_PAGE_SIZE));
+            if (ids.isEmpty()) {
+                break;
+            }
+            ids.forEach(id -> rebuilt.put(id.toString()));
+            after = ids.get(ids.size() - 1);
+        }
+        rebuilt.merge(carried);
+        synchronized (swapLock) {
+            rebuilt.merge(recentlyAdded);
+            existing = rebuilt;
+            ready = true;
+        }
+        rebuilds.increment();
+        log.info("Rebuilt task id filter with {} ids in {} ms", rebuilt.getInsertions(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    @Override
+    public void evictLocal(Object key) {
+        recordCreated(String.valueOf(key));
+    }
+
+    @Override
+    public void clearLocal() {
+        missing.clear();
+    }
+
+    @Override
+    public void destroy() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    /**
+     * الحصول على إحصائيات المرشح والمخزن السلبي
+     */
+    public ExistenceFilterStats getStats() {
+        BloomFilter filter = existing;
+        return ExistenceFilterStats.builder()
+                .enabled(enabled)
+                .ready(ready)
+                .filterInsertions(filter.getInsertions())
+                .filterSizeBytes(filter.getSizeBytes())
+                .expectedFalsePositiveProbability(filter.expectedFalsePositiveProbability())
+                .bloomRejections(bloomRejections.sum())
+                .negativeHits(negativeHits.sum())
+                .negativeEntries(missing.size())
+                .falsePositives(falsePositives.sum())
+                .missedCreations(missedCreations.sum())
+                .rebuilds(rebuilds.sum())
+                .build();
+    }
+
+    private void rebuildSafely() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.warn("Failed to rebuild task id filter, keeping the previous one", e);
+        }
+    }
+
+    private BloomFilter newFilter() {
+        return new BloomFilter(expectedInsertions, falsePositiveProbability);
+    }
+
+    /**
+     * فئة لحفظ إحصائيات مرشح المعرفات
+     */
+    @lombok.Builder
+    @lombok.Data
+    public static class ExistenceFilterStats {
+        private boolean enabled;
+        private boolean ready;
+        private long filterInsertions;
+        private long filterSizeBytes;
+        private double expectedFalsePositiveProbability;
+        private long bloomRejections;
+        private long negativeHits;
+        private long negativeEntries;
+        private long falsePositives;
+        private long missedCreations;
+        private long rebuilds;
+    }
+}
@@ -0,0 +1,293 @@
+package com.company.app.modules.taskCore.infrastructure.cache;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.CacheKeyPrefix;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.util.ByteUtils;
+import org.springframework.stereotype.Service;
+
+import com.company.app.infrastructure.redis.cache.CacheKeyIndex;
+import com.company.app.infrastructure.redis.cache.DecoratingCacheManager;
+import com.company.app.infrastructure.redis.cache.refresh.CacheEnvelope;
+import com.company.app.modules.taskCore.application.dto.TaskResponse;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * تخزين القوائم كمصفوفات معرفات مرتبة بدلاً من نسخ كاملة من المهام
+ * كل مهمة مخزنة مرة واحدة في منطقة tasks، والقائمة تُكمَّل بـ MGET واحد (pipeline) لمفاتيح المهام.
+ * المهام غير الموجودة فقط تُجلب من قاعدة البيانات ثم تُكتب في منطقة tasks
+ */
+@Service
+@Slf4j
+public class TaskIdListCache {
+
+    private static final String TASKS_REGION = "tasks";
+    private static final String TASK_KEY_PREFIX = CacheKeyPrefix.simple().compute(TASKS_REGION);
+    private static final int MGET_BATCH_SIZE = 500;
+
+    private final CacheManager cacheManager;
+    private final RedisConnectionFactory connectionFactory;
+    private final CacheKeyIndex cacheKeyIndex;
+    private final RedisCacheConfiguration taskConfiguration;
+    // نفس ترميز منطقة tasks (بما فيه الضغط) حتى تبقى القيم متوافقة مع القراءة عبر التخزين المؤقت
+    private final SerializationPair<Object> valueSerialization;
+
+    private final LongAdder hydrations = new LongAdder();
+    private final LongAdder idsRequested = new LongAdder();
+    private final LongAdder idsFromDatabase = new LongAdder();
+
+    public TaskIdListCache(CacheManager cacheManager, RedisConnectionFactory connectionFactory,
+            RedisSerializer<Object> cacheValueSerializer, CacheKeyIndex cacheKeyIndex) {
+        this.cacheManager = cacheManager;
+        this.connectionFactory = connectionFactory;
+        this.cacheKeyIndex = cacheKeyIndex;
+        this.taskConfiguration = taskConfiguration(cacheManager, cacheValueSerializer);
+        this.valueSerialization = taskConfiguration.getValueSerializationPair();
+    }
+
+    /**
+     * الحصول على قائمة مهام مخزنة كمعرفات
+     *
+     * @param region    منطقة القوائم
+     * @param cacheKey  مفتاح القائمة
+     * @param loader    تحميل القائمة كاملة من قاعدة البيانات عند عدم وجودها
+     * @param findByIds تحميل المهام الناقصة فقط من قاعدة البيانات حسب معرفاتها
+     */
+    public List<TaskResponse> get(String region, String cacheKey, Supplier<List<TaskResponse>> loader,
+            Function<Collection<String>, List<TaskResponse>> findByIds) {
+        Cache cache = cacheManager.getCache(region);
+        if (cache == null) {
+            return loader.get();
+        }
+
+        // on a miss the loaded tasks are returned as-is instead of being hydrated again
+        AtomicReference<List<TaskResponse>> loaded = new AtomicReference<>();
+        List<String> ids = cache.get(cacheKey, () -> {
+            List<TaskResponse> tasks = loader.get();
+            seed(tasks);
+            loaded.set(tasks);
+            return tasks.stream().map(TaskResponse::getId).collect(Collectors.toList());
+        });
+
+        if (loaded.get() != null) {
+            return loaded.get();
+        }
+        return ids != null ? hydrate(ids, findByIds) : List.of();
+    }
+
+    /**
+     * تحويل قائمة معرفات إلى مهام بنفس الترتيب
+     * المهام المحذوفة (غير موجودة في التخزين ولا في قاعدة البيانات) تُسقط من النتيجة
+     */
+    public List<TaskResponse> hydrate(List<String> ids, Function<Collection<String>, List<TaskResponse>> findByIds) {
+        hydrations.increment();
+        idsRequested.add(ids.size());
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, TaskResponse> tasks = multiGet(ids);
+        List<String> missing = ids.stream()
+                .filter(id -> !tasks.containsKey(id))
+                .distinct()
+                .collect(Collectors.toList());
+
+        if (!missing.isEmpty()) {
+            idsFromDatabase.add(missing.size());
+            List<TaskResponse> fetched = findByIds.apply(missing);
+            seed(fetched);
+            fetched.forEach(task -> tasks.put(task.getId(), task));
+        }
+
+        return ids.stream()
+                .map(tasks::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * كتابة مهام في منطقة tasks في pipeline واحد (مع تحديث فهرس المفاتيح)
+     * SET NX: المهام محملة من قاعدة البيانات، فلا تستبدل نسخة أحدث كتبتها عملية كتابة في هذه الأثناء
+     */
+    public void seed(Collection<TaskResponse> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.openPipeline();
+            for (TaskResponse task : tasks) {
+                if (task.getId() == null) {
+                    continue;
+                }
+                byte[] key = taskKey(task.getId());
+                Duration ttl = taskConfiguration.getTtlFunction().getTimeToLive(task.getId(), task);
+                Expiration expiration = ttl != null && !ttl.isZero() && !ttl.isNegative()
+                        ? Expiration.from(ttl)
+                        : Expiration.persistent();
+                connection.stringCommands().set(key, serialize(task), expiration, SetOption.ifAbsent());
+                cacheKeyIndex.recordPut(connection, TASKS_REGION, key, ttl);
+            }
+            connection.closePipeline();
+        } catch (Exception e) {
+            log.warn("Failed to seed {} tasks into the tasks cache", tasks.size(), e);
+        }
+    }
+
+    /**
+     * كتابة مهام غير موجودة فقط (SET NX) في pipeline واحد، بمدة لا تتجاوز maxTtl
+     * لا تستبدل نسخة أحدث كتبتها عملية كتابة بعد تحميل القائمة
+     *
+     * @return معرفات المهام التي كُتبت فعلاً
+     */
+    public List<String> seedIfAbsent(List<TaskResponse> tasks, Duration maxTtl) {
+        List<TaskResponse> seedable = tasks.stream().filter(task -> task.getId() != null).toList();
+        if (seedable.isEmpty()) {
+            return List.of();
+        }
+        List<Duration> ttls = new ArrayList<>(seedable.size());
+        List<Object> results;
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.openPipeline();
+            for (TaskResponse task : seedable) {
+                Duration ttl = taskConfiguration.getTtlFunction().getTimeToLive(task.getId(), task);
+                if (ttl == null || ttl.isZero() || ttl.isNegative() || ttl.compareTo(maxTtl) > 0) {
+                    ttl = maxTtl;
+                }
+                ttls.add(ttl);
+                connection.stringCommands().set(taskKey(task.getId()), serialize(task), Expiration.from(ttl),
+                        SetOption.ifAbsent());
+            }
+            // index updates go after the SETs so the first replies line up with the tasks
+            for (int i = 0; i < seedable.size(); i++) {
+                cacheKeyIndex.recordPut(connection, TASKS_REGION, taskKey(seedable.get(i).getId()), ttls.get(i));
+            }
+            results = connection.closePipeline();
+        }
+
+        List<String> written = new ArrayList<>();
+        for (int i = 0; i < seedable.size() && i < results.size(); i++) {
+            if (Boolean.TRUE.equals(results.get(i))) {
+                written.add(seedable.get(i).getId());
+            }
+        }
+        return written;
+    }
+
+    /**
+     * الحصول على إحصائيات إكمال القوائم
+     */
+    public HydrationStats getStats() {
+        long requested = idsRequested.sum();
+        long fromDatabase = idsFromDatabase.sum();
+        return HydrationStats.builder()
+                .hydrations(hydrations.sum())
+                .idsRequested(requested)
+                .idsFromDatabase(fromDatabase)
+                .cacheHitRatio(requested > 0 ? (double) (requested - fromDatabase) / requested : 0.0)
+                .build();
+    }
+
+    private Map<String, TaskResponse> multiGet(List<String> ids) {
+        Map<String, TaskResponse> tasks = new HashMap<>();
+        List<Object> batches;
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.openPipeline();
+            for (int from = 0; from < ids.size(); from += MGET_BATCH_SIZE) {
+                List<String> batch = ids.subList(from, Math.min(from + MGET_BATCH_SIZE, ids.size()));
+                connection.stringCommands().mGet(batch.stream().map(TaskIdListCache::taskKey).toArray(byte[][]::new));
+            }
+            batches = connection.closePipeline();
+        } catch (Exception e) {
+            log.warn("Failed to read {} tasks from cache, falling back to the database", ids.size(), e);
+            return tasks;
+        }
+
+        int index = 0;
+        for (Object batch : batches) {
+            for (Object raw : (List<?>) batch) {
+                TaskResponse task = decode(raw);
+                if (task != null) {
+                    tasks.put(ids.get(index), task);
+                }
+                index++;
+            }
+        }
+        return tasks;
+    }
+
+    private TaskResponse decode(Object raw) {
+        if (!(raw instanceof byte[] bytes)) {
+            return null;
+        }
+        try {
+            Object value = valueSerialization.read(ByteBuffer.wrap(bytes));
+            if (value instanceof CacheEnvelope envelope) {
+                value = envelope.getValue();
+            }
+            return value instanceof TaskResponse task ? task : null;
+        } catch (Exception e) {
+            // unreadable entry: treat it as missing so it is reloaded and overwritten
+            return null;
+        }
+    }
+
+    private byte[] serialize(TaskResponse task) {
+        return ByteUtils.getBytes(valueSerialization.write(task));
+    }
+
+    private static byte[] taskKey(String taskId) {
+        return (TASK_KEY_PREFIX + taskId).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static RedisCacheConfiguration taskConfiguration(CacheManager cacheManager,
+            RedisSerializer<Object> cacheValueSerializer) {
+        CacheManager manager = cacheManager instanceof DecoratingCacheManager decorating
+                ? decorating.getDelegate()
+                : cacheManager;
+        if (manager instanceof RedisCacheManager redisCacheManager) {
+            RedisCacheConfiguration configuration = redisCacheManager.getCacheConfigurations().get(TASKS_REGION);
+            if (configuration != null) {
+                return configuration;
+            }
+        }
+        return RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(Duration.ofHours(1))
+                .serializeValuesWith(SerializationPair.fromSerializer(cacheValueSerializer));
+    }
+
+    /**
+     * فئة لحفظ إحصائيات إكمال القوائم
+     */
+    @lombok.Builder
+    @lombok.Data
+    public static class HydrationStats {
+        private long hydrations;
+        private long idsRequested;
+        private long idsFromDatabase;
+        private double cacheHitRatio;
+    }
+}
@@ -0,0 +1,235 @@
+package com.company.app.modules.taskCore.infrastructure.cache;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import com.company.app.infrastructure.redis.cache.CacheGenerationService;
+import com.company.app.infrastructure.redis.cache.CacheInvalidationBatch;
+import com.company.app.infrastructure.redis.cache.readahead.ReadAheadCache.ReadAheadStats;
+import com.company.app.infrastructure.redis.cache.readahead.ReadAheadCacheDecorator;
+import com.company.app.modules.taskCore.application.dto.TaskResponse;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * الكتابة المسبقة (read-ahead) لعناصر القوائم في منطقة tasks
+ * بعد تحميل قائمة من قاعدة البيانات تُكتب مهامها في الخلفية على دفعات محدودة الحجم (pipeline مع SET NX)،
+ * فيُقدَّم فتح المهمة بعدها (getTask) من التخزين بدل findById.
+ * أنواع القوائم التي تفعّلها قابلة للتحديد عبر app.cache.read-ahead.lists (board, status, user)؛
+ * قوائم المستخدمين تكتب عناصرها أصلاً عند تحميلها (قوائم معرفات)، فتُسجل فقط لقياس الإصابات.
+ * القائمة قد تُكتب بعد حذف إحدى مهامها (SET NX بعد UNLINK الحذف يعيدها)، لذلك يُقرأ جيل المهام المحذوفة
+ * قبل تحميل القائمة (mark)، ويُعاد فحصه في Redis قبل الكتابة وبعد كل دفعة: إذا تغير تُحذف المهام المكتوبة
+ * ولا يُكتب الباقي
+ */
+@Service
+@Slf4j
+public class TaskReadAhead implements DisposableBean {
+
+    private static final String PREFIX = "app.cache.read-ahead.";
+    private static final String TASKS_REGION = "tasks";
+
+    /**
+     * أنواع القوائم التي قد تفعّل الكتابة المسبقة
+     */
+    public enum ListType {
+        BOARD, STATUS, USER
+    }
+
+    private final TaskIdListCache taskIdListCache;
+    private final CacheGenerationService generationService;
+    private final ReadAheadCacheDecorator readAheadCacheDecorator;
+    private final boolean enabled;
+    private final Set<ListType> lists;
+    private final int batchSize;
+    private final int maxTasksPerList;
+    private final Duration ttl;
+    private final ThreadPoolExecutor seedExecutor;
+
+    private final Map<ListType, LongAdder> triggers = new EnumMap<>(ListType.class);
+    private final LongAdder seededTasks = new LongAdder();
+    private final LongAdder skippedExisting = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder staleLists = new LongAdder();
+    private final LongAdder unlinkedStale = new LongAdder();
+
+    public TaskReadAhead(TaskIdListCache taskIdListCache, CacheGenerationService generationService,
+            ReadAheadCacheDecorator readAheadCacheDecorator, Environment environment) {
+        this.taskIdListCache = taskIdListCache;
+        this.generationService = generationService;
+        this.readAheadCacheDecorator = readAheadCacheDecorator;
+        this.enabled = environment.getProperty(PREFIX + "enabled", Boolean.class, true);
+        this.lists = Arrays.stream(environment.getProperty(PREFIX + "lists", "board,status,user").split(","))
+                .map(String::trim)
+                .filter(list -> !list.isEmpty())
+                .map(list -> ListType.valueOf(list.toUpperCase(Locale.ROOT)))
+                .collect(Collectors.toUnmodifiableSet());
+        this.batchSize = Math.max(1, environment.getProperty(PREFIX + "batch-size", Integer.class, 200));
+        this.maxTasksPerList = environment.getProperty(PREFIX + "max-tasks-per-list", Integer.class, 1000);
+        this.ttl = environment.getProperty(PREFIX + "ttl", Duration.class, Duration.ofMinutes(5));
+        int threads = environment.getProperty(PREFIX + "threads", Integer.class, 1);
+        int queueSize = environment.getProperty(PREFIX + "queue-size", Integer.class, 64);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.seedExecutor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize), runnable -> {
+                    Thread thread = new Thread(runnable, "cache-read-ahead-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        for (ListType type : ListType.values()) {
+            triggers.put(type, new LongAdder());
+        }
+    }
+
+    /**
+     * جيل المهام المحذوفة قبل تحميل قائمة من قاعدة البيانات؛ يُمرر إلى seed مع القائمة المحملة
+     */
+    public long mark() {
+        return generationService.currentGeneration(TaskCacheService.DELETED_TASKS_SCOPE);
+    }
+
+    /**
+     * كتابة عناصر قائمة محملة من قاعدة البيانات في الخلفية (لا تنتظرها القراءة)
+     * القائمة المرفوضة لامتلاء الطابور تُتجاهل؛ الكتابة المسبقة تحسين وليست ضرورية
+     *
+     * @param mark قيمة mark() المقروءة قبل تحميل القائمة
+     */
+    public void seed(ListType type, List<TaskResponse> tasks, long mark) {
+        if (!enabledFor(type, tasks)) {
+            return;
+        }
+        List<TaskResponse> snapshot = List.copyOf(tasks.subList(0, Math.min(tasks.size(), maxTasksPerList)));
+        try {
+            seedExecutor.execute(() -> write(snapshot, mark));
+            triggers.get(type).increment();
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+        }
+    }
+
+    /**
+     * تسجيل عناصر قائمة كُتبت في منطقة tasks عند تحميلها (قوائم المعرفات) لقياس إصاباتها اللاحقة
+     */
+    public void recordSeeded(ListType type, List<TaskResponse> tasks) {
+        if (!enabledFor(type, tasks)) {
+            return;
+        }
+        triggers.get(type).increment();
+        List<String> ids = tasks.stream().map(TaskResponse::getId).filter(Objects::nonNull).toList();
+        seededTasks.add(ids.size());
+        readAheadCacheDecorator.recordSeeded(TASKS_REGION, ids);
+    }
+
+    /**
+     * الحصول على إحصائيات الكتابة المسبقة وإصاباتها في منطقة tasks
+     */
+    public ReadAheadPolicyStats getStats() {
+        Map<String, Long> triggeredLists = new TreeMap<>();
+        triggers.forEach((type, count) -> triggeredLists.put(type.name().toLowerCase(Locale.ROOT), count.sum()));
+        return ReadAheadPolicyStats.builder()
+                .enabled(enabled)
+                .lists(lists.stream().map(type -> type.name().toLowerCase(Locale.ROOT)).sorted().toList())
+                .triggeredLists(triggeredLists)
+                .seededTasks(seededTasks.sum())
+                .skippedExisting(skippedExisting.sum())
+                .batches(batches.sum())
+                .failures(failures.sum())
+                .rejectedLists(rejected.sum())
+                .staleLists(staleLists.sum())
+                .unlinkedStale(unlinkedStale.sum())
+                .tasksRegion(readAheadCacheDecorator.getStats().get(TASKS_REGION))
+                .build();
+    }
+
+    @Override
+    public void destroy() {
+        seedExecutor.shutdownNow();
+    }
+
+    private boolean enabledFor(ListType type, List<TaskResponse> tasks) {
+        return enabled && lists.contains(type) && tasks != null && !tasks.isEmpty();
+    }
+
+    private void write(List<TaskResponse> tasks, long mark) {
+        for (int from = 0; from < tasks.size(); from += batchSize) {
+            List<TaskResponse> batch = tasks.subList(from, Math.min(from + batchSize, tasks.size()));
+            try {
+                if (from == 0 && deletedSince(mark)) {
+                    staleLists.increment();
+                    return;
+                }
+                List<String> written = taskIdListCache.seedIfAbsent(batch, ttl);
+                batches.increment();
+                // a delete that ran before this SET NX bumped the generation before unlinking its task
+                if (deletedSince(mark)) {
+                    staleLists.increment();
+                    unlink(written);
+                    return;
+                }
+                seededTasks.add(written.size());
+                skippedExisting.add(batch.size() - written.size());
+                readAheadCacheDecorator.recordSeeded(TASKS_REGION, written);
+            } catch (Exception e) {
+                failures.increment();
+                log.warn("Read-ahead of {} tasks into the tasks cache failed, skipping the rest of the list",
+                        batch.size(), e);
+                return;
+            }
+        }
+    }
+
+    private boolean deletedSince(long mark) {
+        return generationService.storedGeneration(TaskCacheService.DELETED_TASKS_SCOPE) != mark;
+    }
+
+    /**
+     * حذف مهام كُتبت من قائمة قديمة، مع إبطال نسخها المحلية على جميع العقد
+     */
+    private void unlink(List<String> written) {
+        if (written.isEmpty()) {
+            return;
+        }
+        CacheInvalidationBatch invalidation = generationService.newBatch();
+        written.forEach(taskId -> invalidation.unlink(TASKS_REGION, taskId));
+        invalidation.execute();
+        unlinkedStale.add(written.size());
+    }
+
+    /**
+     * فئة لحفظ إحصائيات الكتابة المسبقة
+     */
+    @lombok.Builder
+    @lombok.Data
+    public static class ReadAheadPolicyStats {
+        private boolean enabled;
+        private List<String> lists;
+        private Map<String, Long> triggeredLists;
+        private long seededTasks;
+        private long skippedExisting;
+        private long batches;
+        private long failures;
+        private long rejectedLists;
+        private long staleLists;
+        private long unlinkedStale;
+        private ReadAheadStats tasksRegion;
+    }
+}
@@ -1,16 +1,23 @@
 package com.company.app.modules.taskCore.presentation.controller;
 
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.company.app.infrastructure.redis.cache.hotkey.HotKeyReplica.HotKeyStats;
+import com.company.app.modules.taskCore.infrastructure.cache.BoardTaskViewCache;
+import com.company.app.modules.taskCore.infrastructure.cache.CacheMemoryAnalyzer;
+import com.company.app.modules.taskCore.infrastructure.cache.CacheMemoryAnalyzer.AnalyzerStatus;
 import com.company.app.modules.taskCore.infrastructure.cache.TaskCacheService;
 import com.company.app.modules.taskCore.infrastructure.cache.TaskCacheService.CacheStats;
+import com.company.app.modules.taskCore.infrastructure.cache.TaskExistenceFilter;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -27,6 +34,9 @@ import lombok.extern.slf4j.Slf4j;
 public class CacheManagementController {
 
     private final TaskCacheService taskCacheService;
+    private final BoardTaskViewCache boardTaskViewCache;
+    private final TaskExistenceFilter taskExistenceFilter;
+    private final CacheMemoryAnalyzer cacheMemoryAnalyzer;
 
     /**
      * Get cache statistics
@@ -38,6 +48,36 @@ public class CacheManagementController {
         return ResponseEntity.ok(stats);
     }
 
+    /**
+     * Get the boards currently detected as hot and their local replica statistics
+     */
+    @GetMapping("/hot-keys")
+    public ResponseEntity<HotKeyStats> getHotKeys() {
+        return ResponseEntity.ok(boardTaskViewCache.getHotKeyStats());
+    }
+
+    /**
+     * Get the last Redis memory report (per-region bytes, largest keys, top boards and users, size and TTL
+     * distributions); a throttled background analysis starts when there is no report or it has expired
+     */
+    @GetMapping("/memory")
+    public ResponseEntity<AnalyzerStatus> getMemoryReport() {
+        log.info("Getting cache memory report");
+        return ResponseEntity.ok(cacheMemoryAnalyzer.getStatus());
+    }
+
+    /**
+     * Start a new background memory analysis of the cache keyspace
+     */
+    @PostMapping("/memory/analyze")
+    public ResponseEntity<String> analyzeMemory() {
+        log.info("Starting cache memory analysis by admin request");
+        if (!cacheMemoryAnalyzer.analyzeAsync()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Cache memory analysis already running");
+        }
+        return ResponseEntity.accepted().body("Cache memory analysis started");
+    }
+
     /**
      * Clear all cache entries
      */
@@ -48,6 +88,16 @@ public class CacheManagementController {
         return ResponseEntity.ok("All cache entries cleared successfully");
     }
 
+    /**
+     * Rebuild the task id existence filter from the database
+     */
+    @PostMapping("/task-filter/rebuild")
+    public ResponseEntity<String> rebuildTaskFilter() {
+        log.info("Rebuilding task id filter by admin request");
+        taskExistenceFilter.rebuild();
+        return ResponseEntity.ok("Task id filter rebuilt");
+    }
+
     /**
      * Evict specific task from cache
      */
@@ -65,6 +115,7 @@ public class CacheManagementController {
     public ResponseEntity<String> evictBoardCache(@PathVariable String boardId) {
         log.info("Evicting board cache: {}", boardId);
         taskCacheService.evictBoardCache(boardId);
+        boardTaskViewCache.evict(boardId);
         return ResponseEntity.ok("All board tasks evicted from cache: " + boardId);
     }
 
@@ -74,7 +125,7 @@ public class CacheManagementController {
     @DeleteMapping("/user/{userId}")
     public ResponseEntity<String> evictUserCache(@PathVariable String userId) {
         log.info("Evicting user cache: {}", userId);
-        taskCacheService.evictUserTasks(userId);
+        taskCacheService.evictUserCache(userId);
         return ResponseEntity.ok("All user tasks evicted from cache: " + userId);
     }
 
@@ -2,6 +2,7 @@ package com.company.app.modules.taskCore.presentation.controller;
 
 import java.util.Map;
 
+import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -9,8 +10,43 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.company.app.infrastructure.redis.cache.CacheGenerationService;
+import com.company.app.infrastructure.redis.cache.CacheGenerationService.InvalidationStats;
+import com.company.app.infrastructure.redis.cache.breaker.CircuitBreakerCache.DegradedStats;
+import com.company.app.infrastructure.redis.cache.breaker.CircuitBreakerCacheDecorator;
+import com.company.app.infrastructure.redis.cache.breaker.RedisCircuitBreaker;
+import com.company.app.infrastructure.redis.cache.breaker.RedisCircuitBreaker.CircuitBreakerStats;
+import com.company.app.infrastructure.redis.cache.coalescing.CoalescingCache.CoalescingStats;
+import com.company.app.infrastructure.redis.cache.coalescing.CoalescingCacheDecorator;
+import com.company.app.infrastructure.redis.cache.compression.CacheCompressionMetrics;
+import com.company.app.infrastructure.redis.cache.compression.CacheCompressionMetrics.CompressionStats;
+import com.company.app.infrastructure.redis.cache.near.NearCache.NearCacheStats;
+import com.company.app.infrastructure.redis.cache.near.NearCacheDecorator;
+import com.company.app.infrastructure.redis.cache.refresh.RefreshAheadCache.RefreshStats;
+import com.company.app.infrastructure.redis.cache.refresh.RefreshAheadCacheDecorator;
+import com.company.app.infrastructure.redis.cache.tracking.ClientTrackingCacheDecorator;
+import com.company.app.infrastructure.redis.cache.tracking.ClientTrackingCacheDecorator.ClientTrackingStats;
+import com.company.app.infrastructure.redis.cache.ttl.AdaptiveTtlPolicy;
+import com.company.app.infrastructure.redis.cache.ttl.AdaptiveTtlPolicy.TtlStats;
 import com.company.app.infrastructure.redis.monitoring.CacheMetricsService;
 import com.company.app.infrastructure.redis.monitoring.CacheMetricsService.CacheMetrics;
+import com.company.app.infrastructure.redis.monitoring.CacheMetricsService.RegionSnapshot;
+import com.company.app.infrastructure.redis.ratelimit.RedisRateLimiter;
+import com.company.app.infrastructure.redis.ratelimit.RedisRateLimiter.RateLimiterStats;
+import com.company.app.infrastructure.redis.sharding.ShardedRedisConnectionFactory;
+import com.company.app.infrastructure.redis.sharding.ShardedRedisConnectionFactory.ShardingStats;
+import com.company.app.modules.taskCore.infrastructure.cache.BoardResponseCache;
+import com.company.app.modules.taskCore.infrastructure.cache.BoardResponseCache.RenderedResponseStats;
+import com.company.app.modules.taskCore.infrastructure.cache.BoardTaskViewCache;
+import com.company.app.modules.taskCore.infrastructure.cache.BoardTaskViewCache.BoardViewStats;
+import com.company.app.modules.taskCore.infrastructure.cache.TaskCacheWriteBuffer;
+import com.company.app.modules.taskCore.infrastructure.cache.TaskCacheWriteBuffer.WriteBufferStats;
+import com.company.app.modules.taskCore.infrastructure.cache.TaskExistenceFilter;
+import com.company.app.modules.taskCore.infrastructure.cache.TaskExistenceFilter.ExistenceFilterStats;
+import com.company.app.modules.taskCore.infrastructure.cache.TaskIdListCache;
+import com.company.app.modules.taskCore.infrastructure.cache.TaskIdListCache.HydrationStats;
+import com.company.app.modules.taskCore.infrastructure.cache.TaskReadAhead;
+import com.company.app.modules.taskCore.infrastructure.cache.TaskReadAhead.ReadAheadPolicyStats;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -27,6 +63,23 @@ import lombok.extern.slf4j.Slf4j;
 public class CacheMetricsController {
 
     private final CacheMetricsService cacheMetricsService;
+    private final NearCacheDecorator nearCacheDecorator;
+    private final CoalescingCacheDecorator coalescingCacheDecorator;
+    private final RefreshAheadCacheDecorator refreshAheadCacheDecorator;
+    private final BoardTaskViewCache boardTaskViewCache;
+    private final BoardResponseCache boardResponseCache;
+    private final TaskIdListCache taskIdListCache;
+    private final CacheGenerationService cacheGenerationService;
+    private final TaskExistenceFilter taskExistenceFilter;
+    private final CacheCompressionMetrics cacheCompressionMetrics;
+    private final AdaptiveTtlPolicy adaptiveTtlPolicy;
+    private final RedisCircuitBreaker redisCircuitBreaker;
+    private final CircuitBreakerCacheDecorator circuitBreakerCacheDecorator;
+    private final ClientTrackingCacheDecorator clientTrackingCacheDecorator;
+    private final TaskCacheWriteBuffer taskCacheWriteBuffer;
+    private final TaskReadAhead taskReadAhead;
+    private final RedisConnectionFactory redisConnectionFactory;
+    private final RedisRateLimiter redisRateLimiter;
 
     /**
      * الحصول على إحصائيات التخزين المؤقت الشاملة
@@ -48,6 +101,170 @@ public class CacheMetricsController {
         return ResponseEntity.ok(averages);
     }
 
+    /**
+     * الحصول على إحصائيات كل منطقة مع توزيع زمن عملياتها (p50/p90/p99/p999 والأقصى)
+     */
+    @GetMapping("/cache/regions")
+    public ResponseEntity<Map<String, RegionSnapshot>> getRegionMetrics() {
+        log.info("Getting per-region cache metrics and latency distributions");
+        return ResponseEntity.ok(cacheMetricsService.getCacheMetrics().getRegions());
+    }
+
+    /**
+     * الحصول على نسب الإصابة لكل مستوى (L1 المحلي و L2 في Redis) لكل منطقة
+     */
+    @GetMapping("/cache/tiers")
+    public ResponseEntity<Map<String, NearCacheStats>> getTierStats() {
+        log.info("Getting near cache tier statistics");
+        return ResponseEntity.ok(nearCacheDecorator.getStats());
+    }
+
+    /**
+     * الحصول على عدد التحميلات المدمجة (التي انتظرت تحميلاً جارياً بدل الاستعلام من قاعدة البيانات) لكل منطقة
+     */
+    @GetMapping("/cache/coalescing")
+    public ResponseEntity<Map<String, CoalescingStats>> getCoalescingStats() {
+        log.info("Getting cache load coalescing statistics");
+        return ResponseEntity.ok(coalescingCacheDecorator.getStats());
+    }
+
+    /**
+     * الحصول على عدد القراءات التي قُدمت قديمة أثناء التحديث في الخلفية وعدد التحديثات المسبقة لكل منطقة
+     */
+    @GetMapping("/cache/refresh")
+    public ResponseEntity<Map<String, RefreshStats>> getRefreshStats() {
+        log.info("Getting cache refresh-ahead statistics");
+        return ResponseEntity.ok(refreshAheadCacheDecorator.getStats());
+    }
+
+    /**
+     * الحصول على إحصائيات عروض اللوحات (الإصابات، التحميلات، والتعديلات التدريجية المطبقة)
+     */
+    @GetMapping("/cache/board-views")
+    public ResponseEntity<BoardViewStats> getBoardViewStats() {
+        log.info("Getting board view cache statistics");
+        return ResponseEntity.ok(boardTaskViewCache.getStats());
+    }
+
+    /**
+     * الحصول على إحصائيات إكمال قوائم المعرفات (نسبة المهام المقروءة من التخزين مقابل قاعدة البيانات)
+     */
+    @GetMapping("/cache/hydration")
+    public ResponseEntity<HydrationStats> getHydrationStats() {
+        log.info("Getting task list hydration statistics");
+        return ResponseEntity.ok(taskIdListCache.getStats());
+    }
+
+    /**
+     * الحصول على إحصائيات الكتابة المسبقة لعناصر القوائم وعدد قراءات getTask التي أصابتها
+     */
+    @GetMapping("/cache/read-ahead")
+    public ResponseEntity<ReadAheadPolicyStats> getReadAheadStats() {
+        log.info("Getting task read-ahead statistics");
+        return ResponseEntity.ok(taskReadAhead.getStats());
+    }
+
+    /**
+     * الحصول على إحصائيات الإبطال (دفعة واحدة لكل عملية كتابة وزمنها)
+     */
+    @GetMapping("/cache/invalidation")
+    public ResponseEntity<InvalidationStats> getInvalidationStats() {
+        log.info("Getting cache invalidation statistics");
+        return ResponseEntity.ok(cacheGenerationService.getStats());
+    }
+
+    /**
+     * الحصول على إحصائيات تعديلات التخزين المطبقة بعد commit (المعاملات الملغاة والعمليات المدمجة)
+     */
+    @GetMapping("/cache/post-commit")
+    public ResponseEntity<WriteBufferStats> getPostCommitStats() {
+        log.info("Getting post-commit cache update statistics");
+        return ResponseEntity.ok(taskCacheWriteBuffer.getStats());
+    }
+
+    /**
+     * الحصول على إحصائيات مرشح معرفات المهام والمخزن السلبي
+     */
+    @GetMapping("/cache/task-filter")
+    public ResponseEntity<ExistenceFilterStats> getTaskFilterStats() {
+        log.info("Getting task id filter statistics");
+        return ResponseEntity.ok(taskExistenceFilter.getStats());
+    }
+
+    /**
+     * الحصول على نسبة ضغط القيم الكبيرة ووقت المعالج المستهلك في الضغط وفكه لكل منطقة
+     */
+    @GetMapping("/cache/compression")
+    public ResponseEntity<Map<String, CompressionStats>> getCompressionStats() {
+        log.info("Getting cache compression statistics");
+        return ResponseEntity.ok(cacheCompressionMetrics.getStats());
+    }
+
+    /**
+     * الحصول على توزيع مدد الصلاحية الفعلية لكل منطقة (عدد المفاتيح التي قُصرت أو أطيلت مدتها)
+     */
+    @GetMapping("/cache/ttl")
+    public ResponseEntity<Map<String, TtlStats>> getTtlStats() {
+        log.info("Getting adaptive cache TTL distribution");
+        return ResponseEntity.ok(adaptiveTtlPolicy.getStats());
+    }
+
+    /**
+     * الحصول على حالة قاطع دائرة Redis وعدد الانتقالات بين حالاته
+     */
+    @GetMapping("/cache/circuit-breaker")
+    public ResponseEntity<CircuitBreakerStats> getCircuitBreakerStats() {
+        log.info("Getting Redis circuit breaker state");
+        return ResponseEntity.ok(redisCircuitBreaker.getStats());
+    }
+
+    /**
+     * الحصول على إحصائيات الوضع المتدهور لكل منطقة (القراءات المتجاوزة والحذف المؤجل)
+     */
+    @GetMapping("/cache/circuit-breaker/regions")
+    public ResponseEntity<Map<String, DegradedStats>> getDegradedModeStats() {
+        log.info("Getting degraded mode statistics per cache region");
+        return ResponseEntity.ok(circuitBreakerCacheDecorator.getStats());
+    }
+
+    /**
+     * الحصول على حالة التخزين المحلي بمساعدة الخادم (CLIENT TRACKING) وإحصائياته لكل منطقة
+     */
+    @GetMapping("/cache/client-tracking")
+    public ResponseEntity<ClientTrackingStats> getClientTrackingStats() {
+        log.info("Getting Redis client tracking statistics");
+        return ResponseEntity.ok(clientTrackingCacheDecorator.getStats());
+    }
+
+    /**
+     * الحصول على إحصائيات استجابات اللوحات المصيّرة (الإصابات وزمن التصيير والبايتات المرسلة)
+     */
+    @GetMapping("/cache/rendered-responses")
+    public ResponseEntity<RenderedResponseStats> getRenderedResponseStats() {
+        log.info("Getting rendered board response statistics");
+        return ResponseEntity.ok(boardResponseCache.getStats());
+    }
+
+    /**
+     * الحصول على إحصائيات توزيع المفاتيح على عقد Redis (حصة كل عقدة والأوامر الموجهة إليها)
+     * 404 إذا لم يكن التوزيع مفعلاً
+     */
+    @GetMapping("/cache/shards")
+    public ResponseEntity<ShardingStats> getShardingStats() {
+        log.info("Getting Redis sharding statistics");
+        ShardedRedisConnectionFactory sharding = ShardedRedisConnectionFactory.unwrap(redisConnectionFactory);
+        return sharding != null ? ResponseEntity.ok(sharding.getStats()) : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * الحصول على إحصائيات محدد معدل الطلبات (المقبولة محلياً أو من Redis والمرفوضة لكل واجهة)
+     */
+    @GetMapping("/rate-limit")
+    public ResponseEntity<RateLimiterStats> getRateLimiterStats() {
+        log.info("Getting rate limiter statistics");
+        return ResponseEntity.ok(redisRateLimiter.getStats());
+    }
+
     /**
      * إعادة تعيين إحصائيات التخزين المؤقت
      */
@@ -1,8 +1,11 @@
 package com.company.app.modules.taskCore.presentation.controller;
 
+import java.io.IOException;
 import java.util.List;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -10,6 +13,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -18,7 +22,9 @@ import com.company.app.modules.taskCore.application.dto.TaskCreateRequest;
 import com.company.app.modules.taskCore.application.dto.TaskResponse;
 import com.company.app.modules.taskCore.application.service.TaskApplicationService;
 import com.company.app.modules.taskCore.domain.valueobject.TaskStatus;
+import com.company.app.modules.taskCore.infrastructure.cache.BoardResponseCache.RenderedResponse;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -39,11 +45,24 @@ public class TaskController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    /**
+     * Writes the cached rendered response straight to the output stream (pre-gzipped when accepted)
+     */
     @GetMapping("/board/{boardId}")
-    public ResponseEntity<List<TaskResponse>> getTasksByBoard(@PathVariable String boardId) {
+    public void getTasksByBoard(@PathVariable String boardId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletResponse response) throws IOException {
         log.info("Fetching tasks for board: {}", boardId);
-        List<TaskResponse> tasks = taskService.getTasksByBoard(boardId);
-        return ResponseEntity.ok(tasks);
+        RenderedResponse rendered = taskService.getRenderedTasksByBoard(boardId, acceptsGzip(acceptEncoding));
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (rendered.gzipped()) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setContentLength(rendered.body().length);
+        response.getOutputStream().write(rendered.body());
     }
 
     @PutMapping("/{taskId}/status")
@@ -73,4 +92,17 @@ public class TaskController {
     public ResponseEntity<String> health() {
         return ResponseEntity.ok("Task service is running!");
     }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].trim().replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
 }
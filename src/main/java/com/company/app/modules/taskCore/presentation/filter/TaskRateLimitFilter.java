@@ -0,0 +1,132 @@
+package com.company.app.modules.taskCore.presentation.filter;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import com.company.app.infrastructure.redis.ratelimit.RedisRateLimiter;
+import com.company.app.infrastructure.redis.ratelimit.RedisRateLimiter.RateLimitDecision;
+import com.company.app.modules.taskCore.presentation.dto.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Rate limits the task API per caller and per endpoint before requests reach the TaskController.
+ * The caller is the authenticated principal, else the client address. The user id header (app.rate-limit.user-header)
+ * is only trusted on requests from a configured proxy (app.rate-limit.trusted-proxies), since any client can set it.
+ * Rejected requests get 429 with Retry-After; every limited response carries the X-RateLimit-* headers.
+ */
+@Component
+@Slf4j
+public class TaskRateLimitFilter extends OncePerRequestFilter {
+
+    private static final String TASKS_PATH = "/api/tasks";
+
+    // first match wins, so /overdue is listed before /{taskId}
+    private static final List<Endpoint> ENDPOINTS = List.of(
+            new Endpoint("create", HttpMethod.POST, "/api/tasks"),
+            new Endpoint("board", HttpMethod.GET, "/api/tasks/board/{boardId}"),
+            new Endpoint("update-status", HttpMethod.PUT, "/api/tasks/{taskId}/status"),
+            new Endpoint("overdue", HttpMethod.GET, "/api/tasks/overdue"),
+            new Endpoint("get", HttpMethod.GET, "/api/tasks/{taskId}"));
+
+    private final RedisRateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+    private final String userHeader;
+    private final Set<String> trustedProxies;
+
+    public TaskRateLimitFilter(RedisRateLimiter rateLimiter, ObjectMapper objectMapper, Environment environment) {
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+        this.userHeader = environment.getProperty("app.rate-limit.user-header", "X-User-Id");
+        this.trustedProxies = Arrays.stream(environment.getProperty("app.rate-limit.trusted-proxies", "").split(","))
+                .map(String::trim)
+                .filter(address -> !address.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = path(request);
+        return !rateLimiter.isEnabled() || !(path.equals(TASKS_PATH) || path.startsWith(TASKS_PATH + "/"))
+                || path.equals(TASKS_PATH + "/health");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String endpoint = endpoint(request);
+        RateLimitDecision decision = rateLimiter.tryAcquire(subject(request), endpoint);
+        if (decision.getLimit() >= 0) {
+            response.setHeader("X-RateLimit-Limit", String.valueOf(decision.getLimit()));
+            response.setHeader("X-RateLimit-Remaining", String.valueOf(Math.max(0, decision.getRemaining())));
+        }
+        if (decision.isAllowed()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        long retryAfterSeconds = Math.max(1, TimeUnit.MILLISECONDS.toSeconds(decision.getRetryAfterMillis() + 999));
+        log.debug("Rate limited {} on {}, retry after {}s", subject(request), endpoint, retryAfterSeconds);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ErrorResponse.builder()
+                .error("TooManyRequests")
+                .message("Rate limit exceeded, retry after " + retryAfterSeconds + "s")
+                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                .path(request.getRequestURI())
+                .timestamp(LocalDateTime.now())
+                .build());
+    }
+
+    private String subject(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        if (principal != null) {
+            return "user:" + principal.getName();
+        }
+        String userId = trustedProxies.contains(request.getRemoteAddr()) ? request.getHeader(userHeader) : null;
+        return userId != null && !userId.isBlank() ? "user:" + userId.trim() : "ip:" + request.getRemoteAddr();
+    }
+
+    private static String endpoint(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(path(request));
+        for (Endpoint endpoint : ENDPOINTS) {
+            if (endpoint.method().matches(request.getMethod()) && endpoint.pattern().matches(path)) {
+                return endpoint.name();
+            }
+        }
+        return null;
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private record Endpoint(String name, HttpMethod method, PathPattern pattern) {
+
+        Endpoint(String name, HttpMethod method, String pattern) {
+            this(name, method, PathPatternParser.defaultInstance.parse(pattern));
+        }
+    }
+}
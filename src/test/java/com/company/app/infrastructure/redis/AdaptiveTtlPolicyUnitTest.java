@@ -0,0 +1,101 @@
+package com.company.app.infrastructure.redis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.cache.RedisCacheWriter.TtlFunction;
+import org.springframework.mock.env.MockEnvironment;
+
+import com.company.app.infrastructure.redis.cache.refresh.CacheEnvelope;
+import com.company.app.infrastructure.redis.cache.ttl.AdaptiveTtlPolicy;
+import com.company.app.infrastructure.redis.cache.ttl.AdaptiveTtlPolicy.TtlStats;
+import com.company.app.modules.taskCore.application.dto.TaskResponse;
+import com.company.app.modules.taskCore.infrastructure.cache.TaskCacheService;
+
+/**
+ * Unit tests for adaptive per-key TTLs driven by read/write rates, with jitter
+ */
+class AdaptiveTtlPolicyUnitTest {
+
+    private static final Duration BASE = Duration.ofMinutes(30);
+
+    @Test
+    void testReadMostlyScopesLiveLongerAndChurnyScopesShorter() {
+        AdaptiveTtlPolicy policy = new AdaptiveTtlPolicy(new MockEnvironment()
+                .withProperty("app.cache.ttl.jitter", "0"));
+        for (int i = 0; i < 1_000; i++) {
+            policy.recordRead("board:quiet");
+        }
+        for (int i = 0; i < 100; i++) {
+            policy.recordRead("board:busy");
+            policy.recordWrite("board:busy");
+        }
+
+        assertEquals(BASE.multipliedBy(4), policy.ttl("taskLists", "board:quiet", BASE));
+        assertEquals(BASE.dividedBy(4), policy.ttl("taskLists", "board:busy", BASE));
+        assertEquals(BASE, policy.ttl("taskLists", "board:unknown", BASE));
+        assertEquals(BASE, policy.ttl("taskLists", null, BASE));
+
+        TtlStats stats = policy.getStats().get("taskLists");
+        assertEquals(4, stats.getEntries());
+        assertEquals(1, stats.getLengthened());
+        assertEquals(1, stats.getShortened());
+        assertEquals(2, stats.getUnchanged());
+    }
+
+    @Test
+    void testShortenedTtlStillOutlivesTheRefreshAheadSoftTtl() {
+        AdaptiveTtlPolicy policy = new AdaptiveTtlPolicy(new MockEnvironment()
+                .withProperty("app.cache.ttl.jitter", "0"));
+        for (int i = 0; i < 100; i++) {
+            policy.recordWrite("board:{busy}");
+        }
+        TtlFunction ttlFunction = policy.ttlFunction("taskLists", BASE, TaskCacheService::ttlScope);
+        String key = "task_list:board:{busy}:v1";
+
+        // a plain value takes the full write-heavy reduction: 30m / 4
+        assertEquals(BASE.dividedBy(4), ttlFunction.getTimeToLive(key, List.of()));
+
+        // a refresh-ahead value with a 25m soft TTL keeps at least the default one minute stale window
+        long softExpiresAt = System.currentTimeMillis() + Duration.ofMinutes(25).toMillis();
+        Duration ttl = ttlFunction.getTimeToLive(key, new CacheEnvelope(List.of(), softExpiresAt, 5));
+        assertTrue(ttl.compareTo(Duration.ofMinutes(26).minusSeconds(1)) >= 0, "TTL below the soft TTL: " + ttl);
+        assertTrue(ttl.compareTo(Duration.ofMinutes(26)) <= 0, "TTL above the stale window: " + ttl);
+        assertEquals(1, policy.getStats().get("taskLists").getRaisedToMin());
+
+        // an envelope whose soft TTL is already short enough keeps the adaptive TTL
+        Duration shortSoftTtl = ttlFunction.getTimeToLive(key,
+                new CacheEnvelope(List.of(), System.currentTimeMillis() + Duration.ofMinutes(5).toMillis(), 5));
+        assertEquals(BASE.dividedBy(4), shortSoftTtl);
+    }
+
+    @Test
+    void testJitterSpreadsExpirationsWithinBounds() {
+        AdaptiveTtlPolicy policy = new AdaptiveTtlPolicy(new MockEnvironment()
+                .withProperty("app.cache.ttl.jitter", "0.1"));
+        Set<Duration> distinct = new HashSet<>();
+        for (int i = 0; i < 200; i++) {
+            Duration ttl = policy.ttl("tasks", null, BASE);
+            assertTrue(ttl.compareTo(BASE.multipliedBy(9).dividedBy(10)) >= 0, "TTL below -10%: " + ttl);
+            assertTrue(ttl.compareTo(BASE.multipliedBy(11).dividedBy(10)) <= 0, "TTL above +10%: " + ttl);
+            distinct.add(ttl);
+        }
+        assertTrue(distinct.size() > 100, "Keys created together should not share one expiry");
+    }
+
+    @Test
+    void testCacheKeysResolveToTheirBoardOrUser() {
+        assertEquals("board:{b1}", TaskCacheService.ttlScope("task_list:board:{b1}:status:TODO:v3", null));
+        assertEquals("board:{b1}", TaskCacheService.ttlScope("task_count:board:{b1}:status:DONE:v0", 4L));
+        assertEquals("user:u7", TaskCacheService.ttlScope("user_task:u7:v2", null));
+        assertEquals("board:{b2}", TaskCacheService.ttlScope("task-1", TaskResponse.builder().boardId("b2").build()));
+        assertNull(TaskCacheService.ttlScope("overdue_tasks:v1", null));
+    }
+}
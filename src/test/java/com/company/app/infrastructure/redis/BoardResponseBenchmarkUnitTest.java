@@ -0,0 +1,234 @@
+package com.company.app.infrastructure.redis;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.env.MockEnvironment;
+
+import com.company.app.infrastructure.redis.cache.ttl.AdaptiveTtlPolicy;
+import com.company.app.infrastructure.redis.config.CacheConfig;
+import com.company.app.modules.taskCore.application.dto.TaskResponse;
+import com.company.app.modules.taskCore.domain.valueobject.Priority;
+import com.company.app.modules.taskCore.domain.valueobject.TaskStatus;
+import com.company.app.modules.taskCore.infrastructure.cache.BoardResponseCache;
+import com.company.app.modules.taskCore.infrastructure.cache.BoardResponseCache.RenderedResponse;
+import com.company.app.modules.taskCore.infrastructure.cache.TaskCacheBinarySerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Allocation comparison for GET /api/tasks/board/{boardId}: decoding the cached tasks and serializing them
+ * with Jackson (plus server-side gzip) on every request, against streaming the cached rendered bytes,
+ * and the board version check of cached responses (without Redis dependency; the Redis reply is simulated
+ * by copying the stored bytes, and the version scripts by a mocked template)
+ */
+class BoardResponseBenchmarkUnitTest {
+
+    private static final int BOARD_SIZE = 500;
+    private static final int ITERATIONS = 300;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final RedisSerializer<Object> codec = new TaskCacheBinarySerializer(CacheConfig.jsonSerializer());
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRenderedResponseMatchesJacksonOutput() throws IOException {
+        List<TaskResponse> tasks = tasks(20);
+        BoardResponseCache cache = new BoardResponseCache(mock(RedisTemplate.class), objectMapper,
+                new AdaptiveTtlPolicy(new MockEnvironment()),
+                new MockEnvironment().withProperty("app.cache.rendered-responses.enabled", "false"));
+
+        RenderedResponse identity = cache.get("board-1", false, () -> tasks);
+        RenderedResponse gzipped = cache.get("board-1", true, () -> tasks);
+
+        assertFalse(identity.gzipped());
+        assertTrue(gzipped.gzipped());
+        assertArrayEquals(objectMapper.writeValueAsBytes(tasks), identity.body());
+        assertArrayEquals(identity.body(), gunzip(gzipped.body()));
+    }
+
+    @Test
+    void testStreamingRenderedBytesAllocatesLessThanReserializing() throws IOException {
+        List<TaskResponse> tasks = tasks(BOARD_SIZE);
+        byte[] storedTasks = codec.serialize(tasks);
+        byte[] storedResponse = gzip(objectMapper.writeValueAsBytes(tasks));
+        OutputStream sink = OutputStream.nullOutputStream();
+
+        // warm-up so both paths are measured after JIT compilation
+        runExistingPath(storedTasks, sink, ITERATIONS);
+        runRenderedPath(storedResponse, sink, ITERATIONS);
+        long existing = runExistingPath(storedTasks, sink, ITERATIONS);
+        long rendered = runRenderedPath(storedResponse, sink, ITERATIONS);
+
+        assertTrue(rendered * 10 < existing,
+                "Streaming cached bytes should allocate an order of magnitude less per request");
+    }
+
+    @Test
+    void testResponseRenderedForAnOlderVersionIsNotServed() {
+        List<TaskResponse> tasks = tasks(5);
+        byte[] current = "7".getBytes(StandardCharsets.UTF_8);
+        List<Object[]> stores = new ArrayList<>();
+        // the response hash still holds version 6: the read script only returns the current version
+        BoardResponseCache cache = cache(List.of(current), stores, 1L);
+
+        RenderedResponse response = cache.get("board-1", false, () -> tasks);
+
+        assertArrayEquals(renderedJson(tasks), response.body());
+        assertEquals(1, cache.getStats().getMisses());
+        assertEquals(1, stores.size());
+        assertArrayEquals(current, (byte[]) stores.get(0)[0]);
+        assertEquals(0, cache.getStats().getDiscardedStores());
+    }
+
+    @Test
+    void testResponseRenderedWhileTheBoardChangesIsDiscarded() {
+        List<Object[]> stores = new ArrayList<>();
+        // the store script sees a newer version than the one read before rendering
+        BoardResponseCache cache = cache(List.of("7".getBytes(StandardCharsets.UTF_8)), stores, 0L);
+
+        cache.get("board-1", false, () -> tasks(5));
+
+        assertEquals(1, stores.size());
+        assertEquals(1, cache.getStats().getDiscardedStores());
+    }
+
+    @Test
+    void testResponseForTheCurrentVersionIsServedWithoutLoading() {
+        byte[] body = "[]".getBytes(StandardCharsets.UTF_8);
+        List<Object[]> stores = new ArrayList<>();
+        BoardResponseCache cache = cache(List.of("7".getBytes(StandardCharsets.UTF_8), body), stores, 1L);
+
+        RenderedResponse response = cache.get("board-1", false, () -> {
+            throw new AssertionError("Cached response should be served without loading tasks");
+        });
+
+        assertArrayEquals(body, response.body());
+        assertEquals(1, cache.getStats().getHits());
+        assertTrue(stores.isEmpty());
+    }
+
+    @SuppressWarnings("unchecked")
+    private BoardResponseCache cache(List<byte[]> readReply, List<Object[]> stores, long storeReply) {
+        RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+        when(redisTemplate.execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                anyList(), any(Object[].class))).thenAnswer(invocation -> {
+                    RedisScript<?> script = invocation.getArgument(0);
+                    assertEquals(List.of("board_view:{board-1}:version", "board_view:{board-1}:response"),
+                            invocation.getArgument(3));
+                    if (List.class.equals(script.getResultType())) {
+                        return readReply;
+                    }
+                    // ARGV: version, encoding, body, ttl
+                    stores.add(Arrays.copyOfRange(invocation.getArguments(), 4, invocation.getArguments().length));
+                    return storeReply;
+                });
+        return new BoardResponseCache(redisTemplate, objectMapper, new AdaptiveTtlPolicy(new MockEnvironment()),
+                new MockEnvironment());
+    }
+
+    private byte[] renderedJson(List<TaskResponse> tasks) {
+        try {
+            return objectMapper.writeValueAsBytes(tasks);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private long runExistingPath(byte[] storedTasks, OutputStream sink, int iterations) throws IOException {
+        long allocated = allocatedBytes();
+        for (int i = 0; i < iterations; i++) {
+            Object tasks = codec.deserialize(Arrays.copyOf(storedTasks, storedTasks.length));
+            try (GZIPOutputStream gzip = new GZIPOutputStream(nonClosing(sink))) {
+                objectMapper.writeValue(gzip, tasks);
+            }
+        }
+        return allocatedBytes() - allocated;
+    }
+
+    private long runRenderedPath(byte[] storedResponse, OutputStream sink, int iterations) throws IOException {
+        long allocated = allocatedBytes();
+        for (int i = 0; i < iterations; i++) {
+            byte[] body = Arrays.copyOf(storedResponse, storedResponse.length);
+            sink.write(body);
+        }
+        return allocatedBytes() - allocated;
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().threadId());
+    }
+
+    private static OutputStream nonClosing(OutputStream out) {
+        return new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                out.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+        };
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] gunzip(byte[] bytes) throws IOException {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return gzip.readAllBytes();
+        }
+    }
+
+    private static List<TaskResponse> tasks(int count) {
+        List<TaskResponse> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 9, 30).plusMinutes(i);
+            tasks.add(TaskResponse.builder()
+                    .id("task-" + i)
+                    .title("Task " + i)
+                    .description(i % 3 == 0 ? null : "Description for task " + i)
+                    .status(TaskStatus.values()[i % TaskStatus.values().length])
+                    .priority(Priority.values()[i % Priority.values().length])
+                    .assignedTo("user-" + (i % 10))
+                    .createdAt(createdAt)
+                    .dueDate(i % 2 == 0 ? createdAt.plusDays(3) : null)
+                    .boardId("board-1")
+                    .overdue(i % 5 == 0)
+                    .build());
+        }
+        return tasks;
+    }
+}
@@ -0,0 +1,188 @@
+package com.company.app.infrastructure.redis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.env.MockEnvironment;
+
+import com.company.app.infrastructure.redis.cache.breaker.RedisCircuitBreaker;
+import com.company.app.infrastructure.redis.cache.near.CacheInvalidationBus;
+import com.company.app.infrastructure.redis.cache.ttl.AdaptiveTtlPolicy;
+import com.company.app.infrastructure.redis.config.CacheConfig;
+import com.company.app.modules.taskCore.application.dto.TaskResponse;
+import com.company.app.modules.taskCore.domain.valueobject.TaskStatus;
+import com.company.app.modules.taskCore.infrastructure.cache.BoardResponseCache;
+import com.company.app.modules.taskCore.infrastructure.cache.BoardTaskViewCache;
+import com.company.app.modules.taskCore.infrastructure.cache.TaskCacheBinarySerializer;
+
+/**
+ * Tests for the incrementally maintained board view, and the rendered responses tied to its version,
+ * against a local Redis (localhost:6379)
+ * Skipped when no Redis server is reachable
+ */
+class BoardTaskViewCacheRedisTest {
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static RedisTemplate<String, Object> redisTemplate;
+
+    private BoardTaskViewCache viewCache;
+    private String boardId;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory("localhost", 6379);
+        connectionFactory.afterPropertiesSet();
+        try {
+            connectionFactory.getConnection().ping();
+        } catch (Exception e) {
+            connectionFactory.destroy();
+            Assumptions.abort("Redis is not available on localhost:6379");
+        }
+        redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.setKeySerializer(new StringRedisSerializer());
+        redisTemplate.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void disconnect() {
+        if (connectionFactory != null) {
+            connectionFactory.destroy();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("app.cache.board-view.ttl", "5m")
+                .withProperty("app.cache.hot-keys.enabled", "false");
+        viewCache = new BoardTaskViewCache(redisTemplate, new TaskCacheBinarySerializer(CacheConfig.jsonSerializer()),
+                new CacheInvalidationBus(new StringRedisTemplate(connectionFactory)),
+                new AdaptiveTtlPolicy(environment), new RedisCircuitBreaker(environment), environment);
+        viewCache.register();
+        boardId = "test-board-" + UUID.randomUUID();
+    }
+
+    @Test
+    void testReadsMissUntilLoaded() {
+        assertNull(viewCache.getTasks(boardId));
+        assertNull(viewCache.countByStatus(boardId, TaskStatus.TODO));
+
+        viewCache.load(boardId, () -> List.of(task("b", 2, TaskStatus.DONE), task("a", 1, TaskStatus.TODO)));
+
+        assertEquals(List.of("a", "b"), ids(viewCache.getTasks(boardId)));
+        assertEquals(List.of("b", "a"), ids(viewCache.getTasksNewestFirst(boardId)));
+        assertEquals(List.of("a"), ids(viewCache.getTasksByStatus(boardId, TaskStatus.TODO)));
+        assertEquals(1L, viewCache.countByStatus(boardId, TaskStatus.DONE));
+    }
+
+    @Test
+    void testDeltasPatchTheLoadedView() {
+        viewCache.load(boardId, () -> List.of(task("a", 1, TaskStatus.TODO), task("b", 2, TaskStatus.TODO)));
+
+        viewCache.upsert(task("c", 3, TaskStatus.TODO));
+        viewCache.upsert(task("a", 1, TaskStatus.IN_PROGRESS));
+        viewCache.remove(boardId, "b");
+
+        assertEquals(List.of("a", "c"), ids(viewCache.getTasks(boardId)));
+        assertEquals(List.of("c"), ids(viewCache.getTasksByStatus(boardId, TaskStatus.TODO)));
+        assertEquals(List.of("a"), ids(viewCache.getTasksByStatus(boardId, TaskStatus.IN_PROGRESS)));
+        assertEquals(TaskStatus.IN_PROGRESS, viewCache.getTasks(boardId).get(0).getStatus());
+        assertEquals(1L, viewCache.getStats().getLoads());
+    }
+
+    @Test
+    void testKeysCreatedByDeltasExpireWithTheView() {
+        viewCache.load(boardId, () -> List.of(task("a", 1, TaskStatus.TODO)));
+
+        // no DONE set existed at load time
+        viewCache.upsert(task("b", 2, TaskStatus.DONE));
+
+        String metaKey = "board_view:{" + boardId + "}:meta";
+        long viewTtl = redisTemplate.getExpire(metaKey, TimeUnit.MILLISECONDS);
+        assertTrue(viewTtl > 0);
+        for (String key : redisTemplate.keys("board_view:{" + boardId + "}:*")) {
+            if (key.endsWith(":tasks") || key.endsWith(":all") || key.contains(":status:")) {
+                long keyTtl = redisTemplate.getExpire(key, TimeUnit.MILLISECONDS);
+                assertTrue(keyTtl > 0 && keyTtl <= viewTtl, key + " expires in " + keyTtl + " ms");
+            }
+        }
+    }
+
+    @Test
+    void testLoadIsDiscardedWhenAWriteRacesIt() {
+        List<TaskResponse> loaded = viewCache.load(boardId, () -> {
+            viewCache.upsert(task("late", 5, TaskStatus.TODO));
+            return List.of(task("a", 1, TaskStatus.TODO));
+        });
+
+        assertEquals(List.of("a"), ids(loaded));
+        assertNull(viewCache.getTasks(boardId));
+        assertEquals(1L, viewCache.getStats().getDiscardedLoads());
+    }
+
+    @Test
+    void testRenderedResponseOfAnOlderVersionIsReplaced() {
+        MockEnvironment environment = new MockEnvironment();
+        BoardResponseCache responses = new BoardResponseCache(redisTemplate, Jackson2ObjectMapperBuilder.json().build(),
+                new AdaptiveTtlPolicy(environment), environment);
+        viewCache.load(boardId, () -> List.of(task("a", 1, TaskStatus.TODO)));
+
+        responses.get(boardId, false, () -> viewCache.getTasks(boardId));
+        String cached = new String(responses.get(boardId, false, () -> List.of()).body(), StandardCharsets.UTF_8);
+        viewCache.upsert(task("b", 2, TaskStatus.TODO));
+        String afterUpdate = new String(responses.get(boardId, false, () -> viewCache.getTasks(boardId)).body(),
+                StandardCharsets.UTF_8);
+
+        assertTrue(cached.contains("\"a\"") && !cached.contains("\"b\""));
+        assertTrue(afterUpdate.contains("\"b\""));
+        assertEquals(1, responses.getStats().getHits());
+        assertEquals(2, responses.getStats().getMisses());
+
+        // rendered while the board changed: not stored, the next read renders again
+        responses.get(boardId, true, () -> {
+            viewCache.upsert(task("c", 3, TaskStatus.TODO));
+            return viewCache.getTasks(boardId);
+        });
+        assertEquals(1, responses.getStats().getDiscardedStores());
+    }
+
+    @Test
+    void testEvictDropsTheView() {
+        viewCache.load(boardId, () -> List.of(task("a", 1, TaskStatus.TODO)));
+        viewCache.evict(boardId);
+
+        assertNull(viewCache.getTasks(boardId));
+    }
+
+    private TaskResponse task(String id, int minute, TaskStatus status) {
+        return TaskResponse.builder()
+                .id(id)
+                .title("Task " + id)
+                .status(status)
+                .boardId(boardId)
+                .createdAt(LocalDateTime.of(2024, 1, 1, 10, minute))
+                .build();
+    }
+
+    private static List<String> ids(List<TaskResponse> tasks) {
+        return tasks.stream().map(TaskResponse::getId).toList();
+    }
+}
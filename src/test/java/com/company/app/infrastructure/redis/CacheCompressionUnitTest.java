@@ -0,0 +1,111 @@
+package com.company.app.infrastructure.redis;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import com.company.app.infrastructure.redis.cache.compression.CacheCompressionMetrics;
+import com.company.app.infrastructure.redis.cache.compression.CacheCompressionMetrics.CompressionStats;
+import com.company.app.infrastructure.redis.cache.compression.CompressingRedisSerializer;
+import com.company.app.infrastructure.redis.config.CacheConfig;
+import com.company.app.modules.taskCore.application.dto.TaskResponse;
+import com.company.app.modules.taskCore.domain.valueobject.Priority;
+import com.company.app.modules.taskCore.domain.valueobject.TaskStatus;
+import com.company.app.modules.taskCore.infrastructure.cache.TaskCacheBinarySerializer;
+
+/**
+ * Tests for threshold-based LZ4 compression of cached values and its per-region metrics
+ */
+class CacheCompressionUnitTest {
+
+    private static final int THRESHOLD = 1024;
+
+    private final RedisSerializer<Object> binary = new TaskCacheBinarySerializer(CacheConfig.jsonSerializer());
+    private final CacheCompressionMetrics metrics = new CacheCompressionMetrics();
+    private final RedisSerializer<Object> compressing = new CompressingRedisSerializer(binary, THRESHOLD,
+            metrics.region("taskLists"));
+
+    @Test
+    void testSmallValuesAreStoredUncompressed() {
+        TaskResponse task = task(1);
+        assertArrayEquals(binary.serialize(task), compressing.serialize(task));
+        assertEquals(1, metrics.getStats().get("taskLists").getUncompressedWrites());
+    }
+
+    @Test
+    void testLargeListsAreCompressedAndRoundTrip() {
+        List<TaskResponse> tasks = tasks(500);
+        byte[] raw = binary.serialize(tasks);
+        byte[] compressed = compressing.serialize(tasks);
+
+        assertEquals(tasks, compressing.deserialize(compressed));
+        assertTrue(compressed.length * 2 < raw.length, "Repeated task text should compress at least 2x");
+
+        CompressionStats stats = metrics.getStats().get("taskLists");
+        assertEquals(1, stats.getCompressedWrites());
+        assertEquals(1, stats.getDecompressions());
+        assertEquals((double) raw.length / compressed.length, stats.getCompressionRatio(), 0.001);
+    }
+
+    @Test
+    void testIncompressibleValuesAreStoredAsIs() {
+        byte[] noise = new byte[8 * 1024];
+        new Random(7).nextBytes(noise);
+        RedisSerializer<Object> raw = new CompressingRedisSerializer(bytesSerializer(), THRESHOLD,
+                metrics.region("noise"));
+
+        assertArrayEquals(noise, raw.serialize(noise));
+        assertEquals(1, metrics.getStats().get("noise").getIncompressibleWrites());
+    }
+
+    @Test
+    void testValuesWrittenBeforeCompressionStayReadable() {
+        List<TaskResponse> tasks = tasks(500);
+        assertEquals(tasks, compressing.deserialize(binary.serialize(tasks)));
+        assertEquals(tasks, compressing.deserialize(CacheConfig.jsonSerializer().serialize(tasks)));
+    }
+
+    private static RedisSerializer<Object> bytesSerializer() {
+        return new RedisSerializer<>() {
+            @Override
+            public byte[] serialize(Object value) {
+                return (byte[]) value;
+            }
+
+            @Override
+            public Object deserialize(byte[] bytes) {
+                return bytes;
+            }
+        };
+    }
+
+    private static List<TaskResponse> tasks(int count) {
+        List<TaskResponse> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tasks.add(task(i));
+        }
+        return tasks;
+    }
+
+    private static TaskResponse task(int i) {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 9, 30).plusMinutes(i);
+        return TaskResponse.builder()
+                .id("task-" + i)
+                .title("Task " + i)
+                .description("Follow up with the customer about the quarterly report for board " + (i % 4))
+                .status(TaskStatus.values()[i % TaskStatus.values().length])
+                .priority(Priority.values()[i % Priority.values().length])
+                .assignedTo("user-" + (i % 10))
+                .createdAt(createdAt)
+                .boardId("board-" + (i % 4))
+                .build();
+    }
+}
@@ -0,0 +1,108 @@
+package com.company.app.infrastructure.redis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.mock.env.MockEnvironment;
+
+import com.company.app.infrastructure.redis.cache.CacheGenerationService;
+import com.company.app.infrastructure.redis.cache.breaker.RedisCircuitBreaker;
+import com.company.app.infrastructure.redis.cache.near.CacheInvalidationBus;
+import com.company.app.infrastructure.redis.cache.ttl.AdaptiveTtlPolicy;
+
+/**
+ * Unit tests for generation counters: the arguments of the invalidation script and the local generation cache
+ * (Redis template mocked)
+ */
+class CacheGenerationServiceUnitTest {
+
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> values = mock(ValueOperations.class);
+    private final CacheInvalidationBus bus = new CacheInvalidationBus(redisTemplate);
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.opsForValue()).thenReturn(values);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testInvalidationScriptGetsGenerationsUnlinksAndMessages() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenReturn(List.of(8L, 3L));
+        CacheGenerationService generations = generations(Duration.ofSeconds(10));
+
+        generations.newBatch()
+                .bumpScope("board:{b1}")
+                .bumpScope("overdue")
+                .unlink("tasks", "task-1")
+                .broadcast("taskExistence", "task-2")
+                .execute();
+
+        ArgumentCaptor<List<String>> keys = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(redisTemplate).execute(any(RedisScript.class), keys.capture(), args.capture());
+        // generation keys first, then (cache key, region index) pairs
+        assertEquals(List.of("cache_gen:board:{b1}", "cache_gen:overdue", "tasks::task-1", "cache_index:tasks"),
+                keys.getValue());
+        // generation count, channel, then one message per scope, key and broadcast (generations never expire)
+        assertEquals(List.of("2", CacheInvalidationBus.CHANNEL,
+                bus.evictMessage(CacheGenerationService.LISTENER_NAME, "board:{b1}"),
+                bus.evictMessage(CacheGenerationService.LISTENER_NAME, "overdue"),
+                bus.evictMessage("tasks", "task-1"),
+                bus.evictMessage("taskExistence", "task-2")), List.of(args.getValue()));
+
+        // the generations returned by the script are used without reading them back
+        assertEquals(8L, generations.currentGeneration("board:{b1}"));
+        assertEquals(3L, generations.currentGeneration("overdue"));
+        verify(values, times(0)).get(any());
+    }
+
+    @Test
+    void testGenerationsAreReadFromRedisOncePerLocalTtl() {
+        when(values.get("cache_gen:board:{b1}")).thenReturn("4", "5");
+        CacheGenerationService generations = generations(Duration.ofSeconds(10));
+
+        assertEquals(4L, generations.currentGeneration("board:{b1}"));
+        assertEquals(4L, generations.currentGeneration("board:{b1}"));
+        verify(values, times(1)).get("cache_gen:board:{b1}");
+
+        // a bump on another node drops the local copy through the invalidation channel
+        generations.evictLocal("board:{b1}");
+        assertEquals(5L, generations.currentGeneration("board:{b1}"));
+        verify(values, times(2)).get("cache_gen:board:{b1}");
+    }
+
+    @Test
+    void testExpiredLocalGenerationIsReadAgain() {
+        when(values.get("cache_gen:overdue")).thenReturn(null, "1");
+        CacheGenerationService generations = generations(Duration.ZERO);
+
+        assertEquals(0L, generations.currentGeneration("overdue"));
+        assertEquals(1L, generations.currentGeneration("overdue"));
+        verify(values, times(2)).get("cache_gen:overdue");
+    }
+
+    private CacheGenerationService generations(Duration localTtl) {
+        CacheGenerationService generations = new CacheGenerationService(redisTemplate, bus,
+                new AdaptiveTtlPolicy(new MockEnvironment()), new RedisCircuitBreaker(new MockEnvironment()),
+                localTtl, 100_000);
+        generations.register();
+        return generations;
+    }
+}
@@ -153,13 +153,13 @@ class CacheIntegrationTest {
     void testCacheKeyGeneration() {
         // Test cache key generation
         String boardKey = taskCacheService.generateBoardTasksKey("board-1");
-        assertEquals("task_list:board:board-1", boardKey);
+        assertEquals("task_list:board:{board-1}", boardKey);
 
         String statusKey = taskCacheService.generateBoardStatusTasksKey("board-1", TaskStatus.TODO);
-        assertEquals("task_list:board:board-1:status:TODO", statusKey);
+        assertEquals("task_list:board:{board-1}:status:TODO", statusKey);
 
         String countKey = taskCacheService.generateTaskCountKey("board-1", TaskStatus.DONE);
-        assertEquals("task_count:board:board-1:status:DONE", countKey);
+        assertEquals("task_count:board:{board-1}:status:DONE", countKey);
 
         String overdueKey = taskCacheService.generateOverdueTasksKey();
         assertEquals("overdue_tasks", overdueKey);
@@ -0,0 +1,113 @@
+package com.company.app.infrastructure.redis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.mock.env.MockEnvironment;
+
+import com.company.app.infrastructure.redis.cache.CacheGenerationService;
+import com.company.app.infrastructure.redis.cache.breaker.RedisCircuitBreaker;
+import com.company.app.infrastructure.redis.cache.near.CacheInvalidationBus;
+import com.company.app.infrastructure.redis.cache.near.LocalInvalidationListener;
+import com.company.app.infrastructure.redis.cache.ttl.AdaptiveTtlPolicy;
+import com.company.app.modules.taskCore.infrastructure.cache.TaskCacheService;
+
+/**
+ * Unit tests for batched invalidation: one script call per write operation (Redis template mocked)
+ */
+class CacheInvalidationBatchUnitTest {
+
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    private final CacheInvalidationBus bus = new CacheInvalidationBus(redisTemplate);
+    private final CacheGenerationService generations = new CacheGenerationService(redisTemplate, bus,
+            new AdaptiveTtlPolicy(new MockEnvironment()), new RedisCircuitBreaker(new MockEnvironment()),
+            Duration.ofMinutes(1), 100_000);
+    private final TaskCacheService taskCacheService = new TaskCacheService(null, generations, null, null);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testOperationInvalidationsAreSentAsOneScript() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenReturn(List.of(4L, 5L, 2L, 3L, 7L));
+        LocalInvalidationListener localTasks = mock(LocalInvalidationListener.class);
+        bus.register("tasks", localTasks);
+
+        // reassign + due date change + delete of the old entry, with a duplicate user that must be folded
+        taskCacheService.invalidation()
+                .task("task-1")
+                .user("alice")
+                .user("bob")
+                .user("alice")
+                .overdue()
+                .execute();
+
+        ArgumentCaptor<List<String>> keys = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(redisTemplate, times(1)).execute(any(RedisScript.class), keys.capture(), args.capture());
+
+        assertEquals(List.of("cache_gen:user:alice", "cache_gen:user-status:alice", "cache_gen:user:bob",
+                "cache_gen:user-status:bob", "cache_gen:overdue", "tasks::task-1", "cache_index:tasks"),
+                keys.getValue());
+        assertEquals("5", args.getValue()[0]);
+        // generation count and channel, then one message per scope and key
+        assertEquals(2 + 5 + 1, Arrays.asList(args.getValue()).size());
+
+        // the new generations are used locally without another read, and the local task copy is dropped
+        assertEquals("user_task:bob:v2", taskCacheService.versionedUserTasksKey("bob"));
+        assertEquals("overdue_tasks:v7", taskCacheService.versionedOverdueTasksKey());
+        verify(localTasks).evictLocal("task-1");
+
+        CacheGenerationService.InvalidationStats stats = generations.getStats();
+        assertEquals(1, stats.getBatches());
+        assertEquals(5, stats.getScopesBumped());
+        assertEquals(1, stats.getKeysUnlinked());
+    }
+
+    @Test
+    void testEmptyInvalidationSkipsRedis() {
+        taskCacheService.invalidation().execute();
+
+        verifyNoInteractions(redisTemplate);
+        assertEquals(0, generations.getStats().getBatches());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testInvalidationsAreDeferredWhileRedisIsUnavailable() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenThrow(new RedisConnectionFailureException("Redis is down"))
+                .thenReturn(List.of(3L, 4L));
+        LocalInvalidationListener localTasks = mock(LocalInvalidationListener.class);
+        bus.register("tasks", localTasks);
+
+        // the write is not failed; this node stops using its cached generation and local copy right away
+        taskCacheService.invalidation().task("task-1").user("alice").execute();
+        assertEquals("user_task:alice:v1", taskCacheService.versionedUserTasksKey("alice"));
+        verify(localTasks).evictLocal("task-1");
+        assertEquals(1, generations.getStats().getDeferred());
+
+        generations.replayDeferred();
+
+        ArgumentCaptor<List<String>> keys = ArgumentCaptor.forClass(List.class);
+        verify(redisTemplate, times(2)).execute(any(RedisScript.class), keys.capture(), any(Object[].class));
+        assertEquals(List.of("cache_gen:user:alice", "cache_gen:user-status:alice", "tasks::task-1",
+                "cache_index:tasks"), keys.getValue());
+        // local generations and copies made during the outage are dropped; the next read asks Redis again
+        verify(localTasks).clearLocal();
+    }
+}
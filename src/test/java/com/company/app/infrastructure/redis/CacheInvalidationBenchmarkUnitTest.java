@@ -0,0 +1,124 @@
+package com.company.app.infrastructure.redis;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.mock.env.MockEnvironment;
+
+import com.company.app.infrastructure.redis.cache.CacheGenerationService;
+import com.company.app.infrastructure.redis.cache.breaker.RedisCircuitBreaker;
+import com.company.app.infrastructure.redis.cache.near.CacheInvalidationBus;
+import com.company.app.infrastructure.redis.cache.ttl.AdaptiveTtlPolicy;
+import com.company.app.modules.taskCore.domain.valueobject.TaskStatus;
+import com.company.app.modules.taskCore.infrastructure.cache.TaskCacheService;
+
+/**
+ * Hit-ratio benchmark for list/count invalidation under a mixed read/write workload
+ * Compares the old allEntries eviction against scoped generation keys (without Redis dependency)
+ */
+class CacheInvalidationBenchmarkUnitTest {
+
+    private static final int BOARDS = 200;
+    private static final int OPERATIONS = 200_000;
+    private static final double WRITE_RATIO = 0.10;
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    @Test
+    void testGenerationKeysKeepHitRatioUnderWriteLoad() {
+        double allEntries = runAllEntriesEviction();
+        double generations = runGenerationInvalidation();
+
+        assertTrue(generations > allEntries * 2,
+                "Scoped invalidation should keep a much higher hit ratio than allEntries eviction");
+    }
+
+    private double runAllEntriesEviction() {
+        TaskCacheService keys = new TaskCacheService(null, null, null, null);
+        Cache lists = new ConcurrentMapCache("taskLists");
+        Cache counts = new ConcurrentMapCache("taskCounts");
+        Random random = new Random(42);
+        long hits = 0;
+        long reads = 0;
+
+        for (int i = 0; i < OPERATIONS; i++) {
+            String boardId = pickBoard(random);
+            if (random.nextDouble() < WRITE_RATIO) {
+                lists.clear();
+                counts.clear();
+                continue;
+            }
+            TaskStatus status = STATUSES[random.nextInt(STATUSES.length)];
+            reads += 3;
+            hits += read(lists, keys.generateBoardTasksKey(boardId));
+            hits += read(lists, keys.generateBoardStatusTasksKey(boardId, status));
+            hits += read(counts, keys.generateTaskCountKey(boardId, status));
+        }
+        return (double) hits / reads;
+    }
+
+    private double runGenerationInvalidation() {
+        TaskCacheService keys = new TaskCacheService(null, new InMemoryGenerationService(), null, null);
+        Cache lists = new ConcurrentMapCache("taskLists");
+        Cache counts = new ConcurrentMapCache("taskCounts");
+        Random random = new Random(42);
+        long hits = 0;
+        long reads = 0;
+
+        for (int i = 0; i < OPERATIONS; i++) {
+            String boardId = pickBoard(random);
+            if (random.nextDouble() < WRITE_RATIO) {
+                keys.evictBoardCache(boardId);
+                continue;
+            }
+            TaskStatus status = STATUSES[random.nextInt(STATUSES.length)];
+            reads += 3;
+            hits += read(lists, keys.versionedBoardTasksKey(boardId));
+            hits += read(lists, keys.versionedBoardStatusTasksKey(boardId, status));
+            hits += read(counts, keys.versionedTaskCountKey(boardId, status));
+        }
+        return (double) hits / reads;
+    }
+
+    private static int read(Cache cache, String key) {
+        if (cache.get(key) != null) {
+            return 1;
+        }
+        cache.put(key, key);
+        return 0;
+    }
+
+    // skewed towards low board ids, like real traffic where a few boards are hot
+    private static String pickBoard(Random random) {
+        double u = random.nextDouble();
+        return "board-" + (int) (BOARDS * u * u * u);
+    }
+
+    /**
+     * Generation counters kept in memory instead of Redis
+     */
+    private static class InMemoryGenerationService extends CacheGenerationService {
+        private final Map<String, Long> generations = new ConcurrentHashMap<>();
+
+        InMemoryGenerationService() {
+            super(null, new CacheInvalidationBus(null), new AdaptiveTtlPolicy(new MockEnvironment()),
+                    new RedisCircuitBreaker(new MockEnvironment()), Duration.ZERO, 100_000);
+        }
+
+        @Override
+        public long currentGeneration(String scope) {
+            return generations.getOrDefault(scope, 0L);
+        }
+
+        @Override
+        public long bumpGeneration(String scope) {
+            return generations.merge(scope, 1L, Long::sum);
+        }
+    }
+}
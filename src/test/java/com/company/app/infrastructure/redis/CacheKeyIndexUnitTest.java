@@ -0,0 +1,174 @@
+package com.company.app.infrastructure.redis;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisKeyCommands;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.core.types.Expiration;
+
+import com.company.app.infrastructure.redis.cache.CacheKeyIndex;
+import com.company.app.infrastructure.redis.cache.KeyIndexingCacheWriter;
+
+/**
+ * Unit tests for the per-region key index and the cache writer maintaining it: index updates pipelined with
+ * writes and removals, live counts from the index, batched unlinking and pruning of expired members
+ * (Redis connection mocked)
+ */
+class CacheKeyIndexUnitTest {
+
+    private static final byte[] INDEX_KEY = bytes("cache_index:tasks");
+
+    private final RedisConnectionFactory connectionFactory = mock(RedisConnectionFactory.class);
+    private final RedisConnection connection = mock(RedisConnection.class);
+    private final RedisStringCommands stringCommands = mock(RedisStringCommands.class);
+    private final RedisKeyCommands keyCommands = mock(RedisKeyCommands.class);
+    private final RedisZSetCommands zSetCommands = mock(RedisZSetCommands.class);
+    private final RedisCacheWriter delegate = mock(RedisCacheWriter.class);
+
+    private final CacheKeyIndex keyIndex = new CacheKeyIndex(connectionFactory, 2);
+    private final KeyIndexingCacheWriter writer = new KeyIndexingCacheWriter(delegate, connectionFactory, keyIndex);
+
+    @BeforeEach
+    void setUp() {
+        when(connectionFactory.getConnection()).thenReturn(connection);
+        when(connection.stringCommands()).thenReturn(stringCommands);
+        when(connection.keyCommands()).thenReturn(keyCommands);
+        when(connection.zSetCommands()).thenReturn(zSetCommands);
+    }
+
+    @Test
+    void testPutIsIndexedWithItsExpiryInTheSamePipeline() {
+        byte[] key = bytes("tasks::task-1");
+        long before = System.currentTimeMillis();
+
+        writer.put("tasks", key, bytes("value"), Duration.ofMinutes(5));
+
+        InOrder order = inOrder(connection, stringCommands, zSetCommands);
+        order.verify(connection).openPipeline();
+        order.verify(stringCommands).set(eq(key), any(byte[].class), eq(Expiration.from(Duration.ofMinutes(5))),
+                eq(SetOption.upsert()));
+        ArgumentCaptor<Double> score = ArgumentCaptor.forClass(Double.class);
+        order.verify(zSetCommands).zAdd(eq(INDEX_KEY), score.capture(), eq(key));
+        order.verify(connection).closePipeline();
+        assertTrue(score.getValue() >= before + Duration.ofMinutes(5).toMillis()
+                && score.getValue() <= System.currentTimeMillis() + Duration.ofMinutes(5).toMillis());
+
+        // entries without a TTL never expire out of the index
+        writer.put("tasks", bytes("tasks::task-2"), bytes("value"), null);
+        verify(zSetCommands).zAdd(eq(INDEX_KEY), eq(Double.POSITIVE_INFINITY), eq(bytes("tasks::task-2")));
+    }
+
+    @Test
+    void testRemoveUnlinksTheKeyAndItsIndexEntry() {
+        byte[] key = bytes("tasks::task-1");
+
+        writer.remove("tasks", key);
+
+        InOrder order = inOrder(connection, keyCommands, zSetCommands);
+        order.verify(connection).openPipeline();
+        order.verify(keyCommands).unlink(key);
+        order.verify(zSetCommands).zRem(INDEX_KEY, key);
+        order.verify(connection).closePipeline();
+    }
+
+    @Test
+    void testOnlyKeysWrittenByPutIfAbsentAreIndexed() {
+        when(delegate.putIfAbsent(eq("tasks"), any(), any(), any())).thenReturn(null, bytes("existing"));
+
+        writer.putIfAbsent("tasks", bytes("tasks::new"), bytes("value"), Duration.ofMinutes(1));
+        writer.putIfAbsent("tasks", bytes("tasks::old"), bytes("value"), Duration.ofMinutes(1));
+
+        verify(zSetCommands).zAdd(eq(INDEX_KEY), anyDouble(), eq(bytes("tasks::new")));
+        verify(zSetCommands, never()).zAdd(any(byte[].class), anyDouble(), eq(bytes("tasks::old")));
+    }
+
+    @Test
+    void testLiveCountPrunesExpiredKeysThenCountsTheIndex() {
+        when(connection.closePipeline()).thenReturn(List.of(3L, 5L));
+        long before = System.currentTimeMillis();
+
+        assertEquals(5, keyIndex.liveCount("tasks"));
+
+        ArgumentCaptor<Double> upTo = ArgumentCaptor.forClass(Double.class);
+        InOrder order = inOrder(zSetCommands);
+        order.verify(zSetCommands).zRemRangeByScore(eq(INDEX_KEY), eq(Double.NEGATIVE_INFINITY), upTo.capture());
+        order.verify(zSetCommands).zCard(INDEX_KEY);
+        assertTrue(upTo.getValue() >= before && upTo.getValue() <= System.currentTimeMillis());
+    }
+
+    @Test
+    void testPutsPruneTheIndexNowAndThen() {
+        for (int i = 0; i < 4096; i++) {
+            keyIndex.recordPut(connection, "tasks", bytes("tasks::task-" + i), Duration.ofMinutes(1));
+        }
+
+        verify(zSetCommands, times(4096)).zAdd(eq(INDEX_KEY), anyDouble(), any(byte[].class));
+        verify(zSetCommands, atLeastOnce()).zRemRangeByScore(eq(INDEX_KEY), eq(Double.NEGATIVE_INFINITY),
+                anyDouble());
+    }
+
+    @Test
+    void testClearingTheRegionUnlinksIndexedKeysInBatches() {
+        byte[][] keys = { bytes("tasks::a"), bytes("tasks::b"), bytes("tasks::c") };
+        when(zSetCommands.zRange(eq(INDEX_KEY), eq(0L), anyLong()))
+                .thenReturn(set(keys[0], keys[1]))
+                .thenReturn(set(keys[2]))
+                .thenReturn(Set.of());
+
+        writer.clean("tasks", bytes("tasks::*"));
+
+        verify(zSetCommands, times(3)).zRange(INDEX_KEY, 0, 1);
+        ArgumentCaptor<byte[][]> unlinked = ArgumentCaptor.forClass(byte[][].class);
+        verify(keyCommands, times(2)).unlink(unlinked.capture());
+        assertArrayEquals(new byte[][] { keys[0], keys[1] }, unlinked.getAllValues().get(0));
+        assertArrayEquals(new byte[][] { keys[2] }, unlinked.getAllValues().get(1));
+        verify(zSetCommands).zRem(INDEX_KEY, keys[0], keys[1]);
+        verify(zSetCommands).zRem(INDEX_KEY, keys[2]);
+        // keys written before the index existed are still caught by the delegate's SCAN
+        verify(delegate).clean("tasks", bytes("tasks::*"));
+    }
+
+    @Test
+    void testPartialCleanLeavesTheIndexToTheDelegate() {
+        writer.clean("tasks", bytes("tasks::board-1*"));
+
+        verify(zSetCommands, never()).zRange(any(byte[].class), anyLong(), anyLong());
+        verify(delegate).clean("tasks", bytes("tasks::board-1*"));
+    }
+
+    private static Set<byte[]> set(byte[]... keys) {
+        return new LinkedHashSet<>(List.of(keys));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,162 @@
+package com.company.app.infrastructure.redis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.mock.env.MockEnvironment;
+
+import com.company.app.modules.taskCore.infrastructure.cache.CacheMemoryAnalyzer;
+import com.company.app.modules.taskCore.infrastructure.cache.CacheMemoryAnalyzer.KeyUsage;
+import com.company.app.modules.taskCore.infrastructure.cache.CacheMemoryAnalyzer.MemoryReport;
+import com.company.app.modules.taskCore.infrastructure.cache.CacheMemoryAnalyzer.OwnerUsage;
+
+/**
+ * Unit tests for the cache memory analyzer: grouping, largest keys, owners, histograms, limits and throttling
+ * (Redis template mocked: SCAN cursor over a fixed keyspace, usage script answered per batch)
+ */
+class CacheMemoryAnalyzerUnitTest {
+
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    // key -> {bytes, pttl}
+    private final Map<String, long[]> keyspace = new LinkedHashMap<>();
+    private final List<List<String>> batches = new ArrayList<>();
+
+    @Test
+    void testReportGroupsRegionsAndRanksLargestKeysAndOwners() {
+        keyspace.put("tasks::task-1", new long[] { 100, 30_000 });
+        keyspace.put("taskLists::task_list:board:{b1}:v2", new long[] { 5000, 1_200_000 });
+        keyspace.put("taskLists::task_list:board:{b2}:v1", new long[] { 300, 1_200_000 });
+        keyspace.put("board_view:{b1}:tasks", new long[] { 2000, -1 });
+        keyspace.put("userTasks::user_task:u1:v0", new long[] { 700, 7_200_000 });
+        keyspace.put("expired-between-scan-and-script", new long[] { -1, -2 });
+        CacheMemoryAnalyzer analyzer = analyzer(new MockEnvironment()
+                .withProperty("app.cache.memory-analyzer.scan-count", "2")
+                .withProperty("app.cache.memory-analyzer.top-n", "3"));
+
+        MemoryReport report = analyzer.analyze();
+
+        assertTrue(report.isComplete());
+        assertEquals(5, report.getScannedKeys());
+        assertEquals(8100, report.getSampledBytes());
+        assertEquals(List.of(2, 2, 2), batches.stream().map(List::size).toList());
+        assertEquals(List.of("board_view", "taskLists", "tasks", "userTasks"),
+                List.copyOf(report.getGroups().keySet()));
+        assertEquals(5300, report.getGroups().get("taskLists").getBytes());
+        assertEquals(5000, report.getGroups().get("taskLists").getMaxBytes());
+        assertEquals(1, report.getGroups().get("board_view").getNoExpiryKeys());
+        assertEquals(List.of("taskLists::task_list:board:{b1}:v2", "board_view:{b1}:tasks",
+                "userTasks::user_task:u1:v0"), report.getLargestKeys().stream().map(KeyUsage::getKey).toList());
+        assertEquals(List.of(new OwnerUsage("b1", 7000), new OwnerUsage("b2", 300)), report.getTopBoards());
+        assertEquals(List.of(new OwnerUsage("u1", 700)), report.getTopUsers());
+        assertEquals(1, report.getSizeHistogram().get("<=256B"));
+        assertEquals(2, report.getSizeHistogram().get("<=1KB"));
+        assertEquals(1, report.getSizeHistogram().get("<=4KB"));
+        assertEquals(1, report.getSizeHistogram().get("<=16KB"));
+        assertEquals(1, report.getTtlDistribution().get("no-expiry"));
+        assertEquals(1, report.getTtlDistribution().get("<1m"));
+        assertEquals(2, report.getTtlDistribution().get("<30m"));
+        assertEquals(1, report.getTtlDistribution().get("<6h"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRunStopsAtMaxKeysAndEstimatesTotalFromDatabaseSize() {
+        for (int i = 0; i < 10; i++) {
+            keyspace.put("tasks::task-" + i, new long[] { 100, 60_000 });
+        }
+        when(redisTemplate.execute(any(RedisCallback.class))).thenReturn(40L);
+        CacheMemoryAnalyzer analyzer = analyzer(new MockEnvironment()
+                .withProperty("app.cache.memory-analyzer.scan-count", "3")
+                .withProperty("app.cache.memory-analyzer.max-keys", "4"));
+
+        MemoryReport report = analyzer.analyze();
+
+        assertFalse(report.isComplete());
+        assertEquals(4, report.getScannedKeys());
+        assertEquals(List.of(3, 1), batches.stream().map(List::size).toList());
+        assertEquals(40L, report.getDatabaseKeys());
+        assertEquals(400, report.getSampledBytes());
+        assertEquals(4000, report.getEstimatedTotalBytes());
+    }
+
+    @Test
+    void testScanRateIsThrottled() {
+        for (int i = 0; i < 20; i++) {
+            keyspace.put("tasks::task-" + i, new long[] { 100, 60_000 });
+        }
+        CacheMemoryAnalyzer analyzer = analyzer(new MockEnvironment()
+                .withProperty("app.cache.memory-analyzer.scan-count", "10")
+                .withProperty("app.cache.memory-analyzer.max-keys-per-second", "100"));
+
+        long start = System.nanoTime();
+        MemoryReport report = analyzer.analyze();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // 20 keys at 100 keys per second
+        assertTrue(elapsedMillis >= 180, "Analysis should be throttled, took " + elapsedMillis + " ms");
+        assertEquals(20, report.getScannedKeys());
+    }
+
+    @Test
+    void testReportIsCachedBetweenRuns() throws InterruptedException {
+        keyspace.put("tasks::task-1", new long[] { 100, 60_000 });
+        CacheMemoryAnalyzer analyzer = analyzer(new MockEnvironment());
+
+        assertNull(analyzer.getStatus().getReport());
+        for (int i = 0; i < 100 && (analyzer.getStatus().isRunning() || analyzer.getStatus().getReport() == null);
+                i++) {
+            Thread.sleep(20);
+        }
+        assertNotNull(analyzer.getStatus().getReport());
+        analyzer.getStatus();
+
+        assertEquals(1, analyzer.getStatus().getRuns());
+        verify(redisTemplate, times(1)).scan(any(ScanOptions.class));
+        analyzer.destroy();
+    }
+
+    @SuppressWarnings("unchecked")
+    private CacheMemoryAnalyzer analyzer(MockEnvironment environment) {
+        when(redisTemplate.scan(any(ScanOptions.class))).thenAnswer(invocation -> cursor(keyspace.keySet().iterator()));
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenAnswer(invocation -> {
+            List<String> keys = List.copyOf((List<String>) invocation.getArgument(1));
+            batches.add(keys);
+            List<Long> replies = new ArrayList<>();
+            for (String key : keys) {
+                replies.add(keyspace.get(key)[0]);
+                replies.add(keyspace.get(key)[1]);
+            }
+            return replies;
+        });
+        return new CacheMemoryAnalyzer(redisTemplate, environment);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Cursor<String> cursor(Iterator<String> keys) {
+        Cursor<String> cursor = mock(Cursor.class);
+        when(cursor.hasNext()).thenAnswer(invocation -> keys.hasNext());
+        when(cursor.next()).thenAnswer(invocation -> keys.next());
+        return cursor;
+    }
+}
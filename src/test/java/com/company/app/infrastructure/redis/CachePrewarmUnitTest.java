@@ -0,0 +1,87 @@
+package com.company.app.infrastructure.redis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.mock.env.MockEnvironment;
+
+import com.company.app.modules.taskCore.application.service.CachePrewarmService;
+import com.company.app.modules.taskCore.application.service.CachePrewarmService.State;
+import com.company.app.modules.taskCore.application.service.TaskApplicationService;
+import com.company.app.modules.taskCore.infrastructure.cache.CacheHotSetRecorder;
+
+/**
+ * Unit tests for the startup cache prewarm and its readiness indicator (without Redis dependency)
+ */
+class CachePrewarmUnitTest {
+
+    private final TaskApplicationService taskApplicationService = mock(TaskApplicationService.class);
+    private final CacheHotSetRecorder hotSetRecorder = mock(CacheHotSetRecorder.class);
+
+    @Test
+    void testLoadsSavedHotSetWithBoundedConcurrency() {
+        when(hotSetRecorder.savedBoards()).thenReturn(List.of("b1", "b2", "b3", "b4", "b5", "b6"));
+        when(hotSetRecorder.savedUsers()).thenReturn(List.of("u1", "u2"));
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        when(taskApplicationService.getTasksByBoard(anyString())).thenAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            running.decrementAndGet();
+            return List.of();
+        });
+
+        CachePrewarmService prewarm = prewarm("2", "10s");
+        assertEquals(Status.OUT_OF_SERVICE, prewarm.health().getStatus());
+
+        prewarm.prewarm();
+
+        verify(taskApplicationService).getTasksByBoard("b6");
+        verify(taskApplicationService).getTasksByAssignee("u2");
+        assertTrue(maxRunning.get() <= 2, "At most 2 loads should run at once, saw " + maxRunning.get());
+        assertEquals(Status.UP, prewarm.health().getStatus());
+        assertEquals(8, prewarm.health().getDetails().get("completed"));
+        assertEquals(State.COMPLETED, prewarm.getState());
+    }
+
+    @Test
+    void testFailedLoadsAndTimeoutDoNotHoldReadiness() {
+        when(hotSetRecorder.savedBoards()).thenReturn(List.of("broken", "slow"));
+        when(hotSetRecorder.savedUsers()).thenReturn(List.of());
+        when(taskApplicationService.getTasksByBoard("broken")).thenThrow(new IllegalStateException("db down"));
+        when(taskApplicationService.getTasksByBoard("slow")).thenAnswer(invocation -> {
+            Thread.sleep(5_000);
+            return List.of();
+        });
+
+        CachePrewarmService prewarm = prewarm("2", "200ms");
+        prewarm.prewarm();
+
+        assertEquals(State.TIMED_OUT, prewarm.getState());
+        assertEquals(Status.UP, prewarm.health().getStatus());
+        // the slow load is abandoned at the end of the budget; its interruption is not a second failure
+        assertEquals(0, prewarm.health().getDetails().get("completed"));
+        assertEquals(1, prewarm.health().getDetails().get("failed"));
+        assertEquals(1, prewarm.health().getDetails().get("abandoned"));
+        assertEquals(1.0, prewarm.health().getDetails().get("progress"));
+    }
+
+    private CachePrewarmService prewarm(String concurrency, String maxDuration) {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("app.cache.prewarm.concurrency", concurrency)
+                .withProperty("app.cache.prewarm.max-duration", maxDuration);
+        // Boot's converters parse durations such as "200ms", as in the running application
+        environment.setConversionService(new ApplicationConversionService());
+        return new CachePrewarmService(taskApplicationService, hotSetRecorder, environment);
+    }
+}
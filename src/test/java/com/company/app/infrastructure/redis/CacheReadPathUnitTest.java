@@ -0,0 +1,323 @@
+package com.company.app.infrastructure.redis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.cache.CacheStatistics;
+import org.springframework.data.redis.cache.CacheStatisticsCollector;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.mock.env.MockEnvironment;
+
+import com.company.app.infrastructure.kafka.service.KafkaService;
+import com.company.app.infrastructure.redis.cache.CacheKeyIndex;
+import com.company.app.infrastructure.redis.cache.DecoratingCacheManager;
+import com.company.app.infrastructure.redis.cache.coalescing.CoalescingCacheDecorator;
+import com.company.app.infrastructure.redis.cache.near.CacheInvalidationBus;
+import com.company.app.infrastructure.redis.cache.near.NearCacheDecorator;
+import com.company.app.infrastructure.redis.cache.refresh.RefreshAheadCacheDecorator;
+import com.company.app.infrastructure.redis.config.CacheConfig;
+import com.company.app.modules.taskCore.application.service.ResourceNotFoundException;
+import com.company.app.modules.taskCore.application.service.TaskApplicationService;
+import com.company.app.modules.taskCore.domain.entity.Task;
+import com.company.app.modules.taskCore.domain.repository.TaskRepository;
+import com.company.app.modules.taskCore.domain.valueobject.Priority;
+import com.company.app.modules.taskCore.domain.valueobject.TaskStatus;
+import com.company.app.modules.taskCore.infrastructure.cache.BoardResponseCache;
+import com.company.app.modules.taskCore.infrastructure.cache.BoardTaskViewCache;
+import com.company.app.modules.taskCore.infrastructure.cache.CacheHotSetRecorder;
+import com.company.app.modules.taskCore.infrastructure.cache.TaskCacheBinarySerializer;
+import com.company.app.modules.taskCore.infrastructure.cache.TaskCacheService;
+import com.company.app.modules.taskCore.infrastructure.cache.TaskExistenceFilter;
+import com.company.app.modules.taskCore.infrastructure.cache.TaskCacheWriteBuffer;
+import com.company.app.modules.taskCore.infrastructure.cache.TaskIdListCache;
+import com.company.app.modules.taskCore.infrastructure.cache.TaskReadAhead;
+
+/**
+ * Counts Redis round trips per service read through the real caching proxy and decorator chain
+ * Redis is replaced by an in-memory cache writer and a fake pipelined connection (without Redis dependency)
+ */
+class CacheReadPathUnitTest {
+
+    private static final String USER_ID = "user-1";
+
+    private static final Map<String, byte[]> store = new ConcurrentHashMap<>();
+    private static final AtomicInteger gets = new AtomicInteger();
+    private static final AtomicInteger puts = new AtomicInteger();
+    private static final AtomicInteger pipelines = new AtomicInteger();
+
+    private static final TaskRepository taskRepository = mock(TaskRepository.class);
+
+    private AnnotationConfigApplicationContext context;
+    private TaskApplicationService service;
+
+    @BeforeEach
+    void setUp() {
+        store.clear();
+        context = new AnnotationConfigApplicationContext(ReadPathConfig.class);
+        service = context.getBean(TaskApplicationService.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+    }
+
+    @Test
+    void testGetTaskIsOneLookupAndOneWriteBack() {
+        Task task = task();
+        when(taskRepository.findById(task.getId())).thenReturn(Optional.of(task));
+
+        resetCounters();
+        service.getTask(task.getId().toString());
+        assertCommands("cold getTask", 1, 1, 0);
+
+        resetCounters();
+        service.getTask(task.getId().toString());
+        assertCommands("warm getTask", 1, 0, 0);
+    }
+
+    @Test
+    void testUnknownTaskIdSkipsRedisAndHitsTheDatabaseOnce() {
+        when(taskRepository.findIdsAfter(any(UUID.class), any(Pageable.class))).thenReturn(List.of());
+        context.getBean(TaskExistenceFilter.class).rebuild();
+        String unknownId = UUID.randomUUID().toString();
+
+        // ruled out by the Bloom filter: no Redis, one query to confirm it is missing
+        resetCounters();
+        assertThrows(ResourceNotFoundException.class, () -> service.getTask(unknownId));
+        assertCommands("unknown getTask", 0, 0, 0);
+        verify(taskRepository, times(1)).findById(UUID.fromString(unknownId));
+
+        // confirmed missing: the negative cache rejects it without a query
+        resetCounters();
+        assertThrows(ResourceNotFoundException.class, () -> service.getTask(unknownId));
+        assertCommands("repeated unknown getTask", 0, 0, 0);
+        verify(taskRepository, times(1)).findById(UUID.fromString(unknownId));
+    }
+
+    @Test
+    void testIdListReadIsOneLookupPlusOnePipelinedHydration() {
+        List<Task> tasks = List.of(task(), task(), task());
+        when(taskRepository.findByAssignedTo(USER_ID)).thenReturn(tasks);
+
+        // cold: list lookup, one pipeline seeding the tasks, one write-back of the id list
+        resetCounters();
+        assertEquals(3, service.getTasksByAssignee(USER_ID).size());
+        assertCommands("cold getTasksByAssignee", 1, 1, 1);
+
+        // warm: list lookup (refresh-ahead region, single read) and one pipelined MGET
+        resetCounters();
+        assertEquals(3, service.getTasksByAssignee(USER_ID).size());
+        assertCommands("warm getTasksByAssignee", 1, 0, 1);
+    }
+
+    private static void assertCommands(String request, int expectedGets, int expectedPuts, int expectedPipelines) {
+        assertEquals(expectedGets, gets.get(), request + " GETs");
+        assertEquals(expectedPuts, puts.get(), request + " SETs");
+        assertEquals(expectedPipelines, pipelines.get(), request + " pipelines");
+    }
+
+    private static void resetCounters() {
+        gets.set(0);
+        puts.set(0);
+        pipelines.set(0);
+    }
+
+    private static Task task() {
+        Task task = new Task();
+        task.setId(UUID.randomUUID());
+        task.setTitle("Task");
+        task.setStatus(TaskStatus.TODO);
+        task.setPriority(Priority.MEDIUM);
+        task.setBoardId("board-1");
+        task.setAssignedTo(USER_ID);
+        task.setCreatedAt(LocalDateTime.now());
+        return task;
+    }
+
+    /**
+     * Production decorator chain over the counting writer; near cache disabled so every read reaches Redis
+     */
+    @Configuration
+    @EnableCaching
+    static class ReadPathConfig {
+
+        private final MockEnvironment environment = new MockEnvironment()
+                .withProperty("app.cache.near.enabled", "false")
+                .withProperty("app.cache.refresh.userTasks.enabled", "true");
+        private final RedisSerializer<Object> serializer = new TaskCacheBinarySerializer(CacheConfig.jsonSerializer());
+        private final RedisConnectionFactory connectionFactory = fakeConnectionFactory();
+
+        @Bean
+        CacheManager cacheManager() {
+            RedisCacheManager redisCacheManager = RedisCacheManager.builder(new CountingCacheWriter())
+                    .cacheDefaults(RedisCacheConfiguration.defaultCacheConfig()
+                            .entryTtl(Duration.ofMinutes(30))
+                            .serializeValuesWith(SerializationPair.fromSerializer(serializer)))
+                    .build();
+            redisCacheManager.afterPropertiesSet();
+            return new DecoratingCacheManager(redisCacheManager, List.of(
+                    new NearCacheDecorator(environment, new CacheInvalidationBus(mock(StringRedisTemplate.class)),
+                            serializer),
+                    new CoalescingCacheDecorator(environment, null),
+                    new RefreshAheadCacheDecorator(environment)));
+        }
+
+        @Bean
+        TaskApplicationService taskApplicationService(CacheManager cacheManager) {
+            TaskCacheService taskCacheService = mock(TaskCacheService.class);
+            when(taskCacheService.versionedUserTasksKey(anyString()))
+                    .thenAnswer(invocation -> "user_tasks:" + invocation.getArgument(0) + ":v0");
+            TaskIdListCache taskIdListCache = new TaskIdListCache(cacheManager, connectionFactory, serializer,
+                    new CacheKeyIndex(connectionFactory, 100));
+            return new TaskApplicationService(taskRepository, taskCacheService, mock(TaskCacheWriteBuffer.class),
+                    mock(BoardTaskViewCache.class), mock(BoardResponseCache.class), taskIdListCache,
+                    mock(TaskReadAhead.class), taskExistenceFilter(), mock(CacheHotSetRecorder.class),
+                    mock(KafkaService.class));
+        }
+
+        @Bean
+        TaskExistenceFilter taskExistenceFilter() {
+            return new TaskExistenceFilter(taskRepository, environment,
+                    new CacheInvalidationBus(mock(StringRedisTemplate.class)));
+        }
+
+        /**
+         * Connection whose pipelined SET/MGET share the writer's store; each closePipeline is one round trip
+         */
+        private static RedisConnectionFactory fakeConnectionFactory() {
+            RedisConnectionFactory factory = mock(RedisConnectionFactory.class);
+            RedisConnection connection = mock(RedisConnection.class);
+            RedisStringCommands stringCommands = mock(RedisStringCommands.class);
+            List<Object> pipelined = new ArrayList<>();
+
+            when(factory.getConnection()).thenReturn(connection);
+            when(connection.stringCommands()).thenReturn(stringCommands);
+            when(connection.zSetCommands()).thenReturn(mock(RedisZSetCommands.class));
+            when(stringCommands.mGet(any(byte[][].class))).thenAnswer(invocation -> {
+                List<byte[]> values = new ArrayList<>();
+                for (Object key : invocation.getArguments()) {
+                    values.add(store.get(keyOf((byte[]) key)));
+                }
+                pipelined.add(values);
+                return null;
+            });
+            when(stringCommands.set(any(byte[].class), any(byte[].class), any(), any())).thenAnswer(invocation -> {
+                store.put(keyOf(invocation.getArgument(0)), invocation.getArgument(1));
+                pipelined.add(Boolean.TRUE);
+                return null;
+            });
+            when(connection.closePipeline()).thenAnswer(invocation -> {
+                pipelines.incrementAndGet();
+                List<Object> results = new ArrayList<>(pipelined);
+                pipelined.clear();
+                return results;
+            });
+            return factory;
+        }
+    }
+
+    private static String keyOf(byte[] key) {
+        return new String(key, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * In-memory cache writer counting one round trip per GET and per SET
+     */
+    private static class CountingCacheWriter implements RedisCacheWriter {
+
+        @Override
+        public byte[] get(String name, byte[] key) {
+            gets.incrementAndGet();
+            return store.get(keyOf(key));
+        }
+
+        @Override
+        public byte[] get(String name, byte[] key, Duration ttl) {
+            return get(name, key);
+        }
+
+        @Override
+        public CompletableFuture<byte[]> retrieve(String name, byte[] key, Duration ttl) {
+            return CompletableFuture.completedFuture(get(name, key));
+        }
+
+        @Override
+        public void put(String name, byte[] key, byte[] value, Duration ttl) {
+            puts.incrementAndGet();
+            store.put(keyOf(key), value);
+        }
+
+        @Override
+        public CompletableFuture<Void> store(String name, byte[] key, byte[] value, Duration ttl) {
+            put(name, key, value, ttl);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public byte[] putIfAbsent(String name, byte[] key, byte[] value, Duration ttl) {
+            puts.incrementAndGet();
+            return store.putIfAbsent(keyOf(key), value);
+        }
+
+        @Override
+        public void remove(String name, byte[] key) {
+            store.remove(keyOf(key));
+        }
+
+        @Override
+        public void clean(String name, byte[] pattern) {
+            store.clear();
+        }
+
+        @Override
+        public void clearStatistics(String name) {
+        }
+
+        @Override
+        public RedisCacheWriter withStatisticsCollector(CacheStatisticsCollector cacheStatisticsCollector) {
+            return this;
+        }
+
+        @Override
+        public CacheStatistics getCacheStatistics(String cacheName) {
+            return CacheStatisticsCollector.none().getCacheStatistics(cacheName);
+        }
+    }
+}
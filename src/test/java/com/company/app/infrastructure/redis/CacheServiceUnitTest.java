@@ -13,21 +13,21 @@ import com.company.app.modules.taskCore.infrastructure.cache.TaskCacheService;
  */
 class CacheServiceUnitTest {
 
-    private final TaskCacheService taskCacheService = new TaskCacheService(null);
+    private final TaskCacheService taskCacheService = new TaskCacheService(null, null, null, null);
 
     @Test
     void testCacheKeyGeneration() {
         // Test cache key generation methods
         String boardKey = taskCacheService.generateBoardTasksKey("board-123");
-        assertEquals("task_list:board:board-123", boardKey);
+        assertEquals("task_list:board:{board-123}", boardKey);
 
         String statusKey = taskCacheService.generateBoardStatusTasksKey("board-456",
                 com.company.app.modules.taskCore.domain.valueobject.TaskStatus.TODO);
-        assertEquals("task_list:board:board-456:status:TODO", statusKey);
+        assertEquals("task_list:board:{board-456}:status:TODO", statusKey);
 
         String countKey = taskCacheService.generateTaskCountKey("board-789",
                 com.company.app.modules.taskCore.domain.valueobject.TaskStatus.DONE);
-        assertEquals("task_count:board:board-789:status:DONE", countKey);
+        assertEquals("task_count:board:{board-789}:status:DONE", countKey);
 
         String overdueKey = taskCacheService.generateOverdueTasksKey();
         assertEquals("overdue_tasks", overdueKey);
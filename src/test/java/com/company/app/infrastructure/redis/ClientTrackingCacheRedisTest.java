@@ -0,0 +1,142 @@
+package com.company.app.infrastructure.redis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.mock.env.MockEnvironment;
+
+import com.company.app.infrastructure.redis.cache.near.CacheInvalidationBus;
+import com.company.app.infrastructure.redis.cache.tracking.ClientTrackingCacheDecorator;
+import com.company.app.infrastructure.redis.cache.tracking.TrackingNearCache;
+
+/**
+ * Tests for server-assisted client-side caching against a local Redis 6+ (localhost:6379)
+ * "This node" reads through the tracked region; "another node" writes through a plain Redis cache region.
+ * Skipped when no Redis server is reachable or when it does not support RESP3 client tracking
+ */
+class ClientTrackingCacheRedisTest {
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static RedisCacheManager cacheManager;
+
+    private ClientTrackingCacheDecorator decorator;
+    private TrackingNearCache trackedCache;
+    private Cache otherNode;
+    private String taskId;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory("localhost", 6379);
+        connectionFactory.afterPropertiesSet();
+        try {
+            connectionFactory.getConnection().ping();
+        } catch (Exception e) {
+            connectionFactory.destroy();
+            Assumptions.abort("Redis is not available on localhost:6379");
+        }
+        cacheManager = RedisCacheManager.builder(RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory))
+                .cacheDefaults(RedisCacheConfiguration.defaultCacheConfig()
+                        .entryTtl(Duration.ofMinutes(5))
+                        .serializeValuesWith(SerializationPair.fromSerializer(new StringRedisSerializer())))
+                .build();
+        cacheManager.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void disconnect() {
+        if (connectionFactory != null) {
+            connectionFactory.destroy();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        decorator = new ClientTrackingCacheDecorator(
+                new MockEnvironment().withProperty("app.cache.client-tracking.enabled", "true"),
+                connectionFactory, new CacheInvalidationBus(mock(StringRedisTemplate.class)));
+        otherNode = cacheManager.getCache("tasks");
+        Cache decorated = decorator.decorate(otherNode);
+        Assumptions.assumeTrue(decorator.isActive(),
+                "Redis client tracking is not supported: " + decorator.getStats().getFallbackReason());
+        trackedCache = assertInstanceOf(TrackingNearCache.class, decorated);
+        taskId = "tracking-test-" + UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (otherNode != null && taskId != null) {
+            otherNode.evict(taskId);
+        }
+        decorator.destroy();
+    }
+
+    @Test
+    void testWriteOnAnotherNodeInvalidatesTrackedCopy() {
+        write(taskId, "v1");
+
+        assertEquals("v1", trackedCache.get(taskId).get());
+        assertEquals("v1", trackedCache.get(taskId).get());
+        assertEquals(1, trackedCache.getStats().getLocalHits());
+
+        otherNode.put(taskId, "v2");
+        awaitUntil(() -> trackedCache.getStats().getLocalSize() == 0);
+
+        assertEquals("v2", trackedCache.get(taskId).get());
+        assertTrue(decorator.getStats().getInvalidatedKeys() >= 2);
+    }
+
+    @Test
+    void testEvictionOnAnotherNodeInvalidatesTrackedCopy() {
+        write(taskId, "v1");
+        assertEquals("v1", trackedCache.get(taskId).get());
+
+        otherNode.evict(taskId);
+        awaitUntil(() -> trackedCache.getStats().getLocalSize() == 0);
+
+        assertNull(trackedCache.get(taskId));
+    }
+
+    /**
+     * Write from the other node and wait for its own invalidation, so it cannot evict a copy loaded afterwards
+     */
+    private void write(String key, String value) {
+        long invalidated = decorator.getStats().getInvalidatedKeys();
+        otherNode.put(key, value);
+        awaitUntil(() -> decorator.getStats().getInvalidatedKeys() > invalidated);
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition not reached within 5s");
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.company.app.infrastructure.redis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.mock.env.MockEnvironment;
+
+import com.company.app.infrastructure.redis.cache.near.CacheInvalidationBus;
+import com.company.app.infrastructure.redis.cache.near.LocalCacheStore;
+import com.company.app.infrastructure.redis.cache.near.NearCache;
+import com.company.app.infrastructure.redis.cache.near.NearCacheDecorator;
+import com.company.app.infrastructure.redis.cache.tracking.ClientTrackingCacheDecorator;
+import com.company.app.infrastructure.redis.cache.tracking.TrackingNearCache;
+import com.company.app.infrastructure.redis.config.CacheConfig;
+
+/**
+ * Unit tests for the tracked local copy and the near cache fallback (without Redis dependency)
+ * Push invalidations are simulated through evictLocal, as the tracking decorator does for each invalidated key
+ */
+class ClientTrackingCacheUnitTest {
+
+    private final CacheInvalidationBus bus = new CacheInvalidationBus(mock(StringRedisTemplate.class));
+    private final AtomicBoolean trackingActive = new AtomicBoolean(true);
+
+    @Test
+    void testLocalCopyServesUntilInvalidated() {
+        ConcurrentMapCache redis = new ConcurrentMapCache("tasks");
+        TrackingNearCache cache = trackingCache(redis);
+        redis.put("task-1", "v1");
+
+        assertEquals("v1", cache.get("task-1").get());
+        redis.put("task-1", "v2"); // written by another node; the push has not arrived yet
+        assertEquals("v1", cache.get("task-1").get());
+
+        cache.evictLocal("task-1");
+        assertEquals("v2", cache.get("task-1").get());
+        assertEquals("v2", cache.get("task-1").get());
+
+        TrackingNearCache.TrackingStats stats = cache.getStats();
+        assertEquals(2, stats.getLocalHits());
+        assertEquals(2, stats.getLocalMisses());
+        assertEquals(1, stats.getLocalSize());
+    }
+
+    @Test
+    void testInvalidationDuringReadDiscardsTheLoadedValue() {
+        AtomicInteger reads = new AtomicInteger();
+        AtomicBoolean invalidateDuringRead = new AtomicBoolean(true);
+        TrackingNearCache[] holder = new TrackingNearCache[1];
+        ConcurrentMapCache redis = new ConcurrentMapCache("tasks") {
+            @Override
+            public ValueWrapper get(Object key) {
+                reads.incrementAndGet();
+                ValueWrapper value = super.get(key);
+                if (invalidateDuringRead.getAndSet(false)) {
+                    // the value was read before another node's write; its invalidation arrives mid-read
+                    holder[0].evictLocal(key);
+                }
+                return value;
+            }
+        };
+        holder[0] = trackingCache(redis);
+        redis.put("task-1", "stale");
+
+        assertEquals("stale", holder[0].get("task-1").get());
+        assertEquals("stale", holder[0].get("task-1").get());
+
+        assertEquals(2, reads.get());
+        assertEquals(1, holder[0].getStats().getDiscardedLoads());
+    }
+
+    @Test
+    void testReadsBypassLocalCopyWhileTrackingIsDown() {
+        ConcurrentMapCache redis = new ConcurrentMapCache("tasks");
+        TrackingNearCache cache = trackingCache(redis);
+        redis.put("task-1", "v1");
+        assertEquals("v1", cache.get("task-1").get());
+
+        trackingActive.set(false);
+        redis.put("task-1", "v2");
+
+        assertEquals("v2", cache.get("task-1").get());
+        assertEquals(1, cache.getStats().getBypassedReads());
+    }
+
+    @Test
+    void testLoaderResultIsWrittenThroughButNotServedLocally() {
+        ConcurrentMapCache redis = new ConcurrentMapCache("tasks");
+        TrackingNearCache cache = trackingCache(redis);
+
+        assertEquals("db", cache.get("task-1", () -> "db"));
+        assertEquals("db", redis.get("task-1").get());
+        assertEquals(0, cache.getStats().getLocalSize());
+    }
+
+    @Test
+    void testFallsBackToNearCacheWhenTrackingIsUnsupported() {
+        MockEnvironment environment = new MockEnvironment().withProperty("app.cache.client-tracking.enabled", "true");
+        ClientTrackingCacheDecorator tracking = new ClientTrackingCacheDecorator(environment,
+                mock(RedisConnectionFactory.class), bus);
+        NearCacheDecorator near = new NearCacheDecorator(environment, bus, CacheConfig.jsonSerializer());
+        Cache redis = new ConcurrentMapCache("tasks");
+
+        Cache decorated = near.decorate(tracking.decorate(redis));
+
+        assertInstanceOf(NearCache.class, decorated);
+        assertFalse(tracking.isActive());
+        assertNotNull(tracking.getStats().getFallbackReason());
+        assertSame(redis, tracking.decorate(redis));
+    }
+
+    private TrackingNearCache trackingCache(Cache redis) {
+        return new TrackingNearCache(redis,
+                new LocalCacheStore(100, 1024 * 1024, Duration.ofMinutes(1)),
+                new LocalCacheStore(400, 400 * 128, Duration.ofMinutes(2)),
+                bus, trackingActive::get);
+    }
+}
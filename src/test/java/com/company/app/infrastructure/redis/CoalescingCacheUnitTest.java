@@ -0,0 +1,120 @@
+package com.company.app.infrastructure.redis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import com.company.app.infrastructure.redis.cache.coalescing.CacheLoadLease;
+import com.company.app.infrastructure.redis.cache.coalescing.CoalescingCache;
+
+/**
+ * Unit tests for single-flight load coalescing (without Redis dependency)
+ */
+class CoalescingCacheUnitTest {
+
+    private static final int THREADS = 16;
+
+    private final ConcurrentMapCache backing = new ConcurrentMapCache("taskLists");
+
+    @Test
+    void testConcurrentMissesRunOneLoader() throws Exception {
+        CoalescingCache cache = new CoalescingCache(backing, null, null, null, null);
+        AtomicInteger loaderCalls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = runConcurrently(() -> cache.get("board-1", () -> {
+            loaderCalls.incrementAndGet();
+            release.await(5, TimeUnit.SECONDS);
+            return "tasks";
+        }), release);
+
+        for (Future<String> result : results) {
+            assertEquals("tasks", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loaderCalls.get());
+        assertEquals("tasks", backing.get("board-1").get());
+
+        CoalescingCache.CoalescingStats stats = cache.getStats();
+        assertEquals(1, stats.getLoads());
+        assertEquals(THREADS - 1, stats.getCoalescedLoads());
+        assertEquals(0, stats.getInFlight());
+    }
+
+    @Test
+    void testLoaderFailureIsSharedAndNotCached() {
+        CoalescingCache cache = new CoalescingCache(backing, null, null, null, null);
+
+        assertThrows(Cache.ValueRetrievalException.class, () -> cache.get("board-2", () -> {
+            throw new IllegalStateException("database down");
+        }));
+        assertEquals(null, backing.get("board-2"));
+        assertEquals("recovered", cache.get("board-2", () -> "recovered"));
+    }
+
+    @Test
+    void testWaitsForValueLoadedByLeaseHolder() {
+        CacheLoadLease lease = mock(CacheLoadLease.class);
+        when(lease.tryAcquire(anyString(), any(), any())).thenReturn(null);
+        CoalescingCache cache = new CoalescingCache(backing, lease, Duration.ofSeconds(5),
+                Duration.ofSeconds(2), Duration.ofMillis(10));
+
+        // another node finishes its load shortly after we start waiting
+        ScheduledExecutorService remoteNode = Executors.newSingleThreadScheduledExecutor();
+        remoteNode.schedule(() -> backing.put("board-3", "remote"), 50, TimeUnit.MILLISECONDS);
+        remoteNode.shutdown();
+
+        assertEquals("remote", cache.get("board-3", () -> "local"));
+        assertEquals(1, cache.getStats().getLeaseWaits());
+        assertEquals(0, cache.getStats().getLoads());
+    }
+
+    @Test
+    void testLoadsLocallyWhenLeaseWaitTimesOut() {
+        CacheLoadLease lease = mock(CacheLoadLease.class);
+        when(lease.tryAcquire(anyString(), any(), any())).thenReturn(null);
+        CoalescingCache cache = new CoalescingCache(backing, lease, Duration.ofSeconds(5),
+                Duration.ofMillis(30), Duration.ofMillis(10));
+
+        assertEquals("local", cache.get("board-4", () -> "local"));
+        assertEquals(1, cache.getStats().getLeaseTimeouts());
+        assertEquals(1, cache.getStats().getLoads());
+    }
+
+    private static List<Future<String>> runConcurrently(Callable<String> task,
+            CountDownLatch release) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch started = new CountDownLatch(THREADS);
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            results.add(executor.submit(() -> {
+                started.countDown();
+                return task.call();
+            }));
+        }
+        started.await(5, TimeUnit.SECONDS);
+        // give every thread time to reach the in-flight load before it completes
+        Thread.sleep(200);
+        release.countDown();
+        executor.shutdown();
+        return results;
+    }
+}
@@ -0,0 +1,96 @@
+package com.company.app.infrastructure.redis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.company.app.infrastructure.redis.cache.hotkey.CountMinSketch;
+import com.company.app.infrastructure.redis.cache.hotkey.HotKeyDetector;
+import com.company.app.infrastructure.redis.cache.hotkey.HotKeyReplica;
+
+/**
+ * Unit tests for count-min hot-key detection and the local hot-key replica (without Redis dependency)
+ */
+class HotKeyReplicaUnitTest {
+
+    @Test
+    void testSketchNeverUnderestimates() {
+        CountMinSketch sketch = new CountMinSketch(1024, Long.MAX_VALUE);
+        for (int i = 0; i < 5_000; i++) {
+            sketch.increment("board-" + (i % 500));
+        }
+        for (int i = 0; i < 500; i++) {
+            assertTrue(sketch.estimate("board-" + i) >= 10);
+        }
+    }
+
+    @Test
+    void testSkewedWorkloadDetectsOnlyHotBoards() {
+        HotKeyDetector detector = new HotKeyDetector(4096, 1_000_000, 500, 8);
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            // 30% of reads go to three boards, the rest spread over 10k boards
+            String board = random.nextInt(10) < 3 ? "hot-" + random.nextInt(3) : "cold-" + random.nextInt(10_000);
+            detector.record(board);
+        }
+
+        List<String> hot = detector.getHotKeys().stream().map(HotKeyDetector.HotKey::key).toList();
+        assertEquals(3, hot.size(), "Only the skewed boards should be hot: " + hot);
+        assertTrue(hot.containsAll(List.of("hot-0", "hot-1", "hot-2")));
+    }
+
+    @Test
+    void testHotKeysCoolDownAfterTrafficShifts() {
+        HotKeyDetector detector = new HotKeyDetector(4096, 10_000, 1_000, 8);
+        for (int i = 0; i < 5_000; i++) {
+            detector.record("board-a");
+        }
+        assertTrue(detector.isHot("board-a"));
+
+        for (int i = 0; i < 40_000; i++) {
+            detector.record("board-b");
+        }
+
+        assertFalse(detector.isHot("board-a"), "Aging should drop keys that are no longer read");
+        assertTrue(detector.isHot("board-b"));
+    }
+
+    @Test
+    void testReplicaServesHotKeysLocallyUntilInvalidated() {
+        HotKeyReplica replica = new HotKeyReplica(true, new HotKeyDetector(1024, 1_000_000, 3, 8), 100,
+                Duration.ofMinutes(1));
+        AtomicInteger redisReads = new AtomicInteger();
+
+        for (int i = 0; i < 10; i++) {
+            replica.get("board-1", "all", () -> "v" + redisReads.incrementAndGet());
+        }
+        // two cold reads, then one load that fills the replica
+        assertEquals(3, redisReads.get());
+
+        replica.invalidate("board-1");
+        assertEquals("v4", replica.get("board-1", "all", () -> "v" + redisReads.incrementAndGet()));
+        assertEquals("v4", replica.get("board-1", "all", () -> "v" + redisReads.incrementAndGet()));
+        assertEquals(1, replica.getStats().getInvalidations());
+    }
+
+    @Test
+    void testLoadRacingAnInvalidationIsNotReplicated() {
+        HotKeyReplica replica = new HotKeyReplica(true, new HotKeyDetector(1024, 1_000_000, 1, 8), 100,
+                Duration.ofMinutes(1));
+
+        // the write lands while the read is still in flight
+        replica.get("board-1", "all", () -> {
+            replica.invalidate("board-1");
+            return "stale";
+        });
+
+        assertEquals("fresh", replica.get("board-1", "all", () -> "fresh"));
+    }
+}
@@ -0,0 +1,132 @@
+package com.company.app.infrastructure.redis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.locks.LockSupport;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import com.company.app.infrastructure.redis.monitoring.CacheMetricsService;
+import com.company.app.infrastructure.redis.monitoring.CacheMetricsService.CacheMetrics;
+import com.company.app.infrastructure.redis.monitoring.CacheMetricsService.RegionSnapshot;
+import com.company.app.infrastructure.redis.monitoring.InstrumentedCacheDecorator;
+import com.company.app.infrastructure.redis.monitoring.LatencyHistogram;
+import com.company.app.infrastructure.redis.monitoring.LatencyHistogram.LatencySnapshot;
+
+/**
+ * Unit tests for the instrumented cache layer and the per-region metrics it feeds (without Redis dependency)
+ */
+class InstrumentedCacheUnitTest {
+
+    private final CacheMetricsService metricsService = new CacheMetricsService();
+    private final InstrumentedCacheDecorator decorator = new InstrumentedCacheDecorator(metricsService, true);
+
+    @Test
+    void testOperationsAreCountedPerRegion() {
+        Cache tasks = decorator.decorate(new ConcurrentMapCache("tasks"));
+        Cache taskLists = decorator.decorate(new ConcurrentMapCache("taskLists"));
+
+        tasks.get("task-1");
+        assertEquals("loaded", tasks.get("task-1", () -> "loaded"));
+        tasks.get("task-1");
+        tasks.get("task-1", () -> "unused");
+        tasks.put("task-2", "value");
+        tasks.evict("task-1");
+        taskLists.get("board-1");
+
+        CacheMetrics metrics = metricsService.getCacheMetrics();
+        assertEquals(2, metrics.getTotalHits());
+        assertEquals(3, metrics.getTotalMisses());
+        assertEquals(1, metrics.getTotalPuts());
+        assertEquals(1, metrics.getTotalEvictions());
+
+        RegionSnapshot region = metrics.getRegions().get("tasks");
+        assertEquals(0.5, region.getHitRatio());
+        assertEquals(4, region.getLatencies().get(CacheMetricsService.GET).getCount());
+        assertEquals(1, region.getLatencies().get(CacheMetricsService.LOAD).getCount());
+        assertEquals(1, metrics.getOperationCounts().get("taskLists_miss"));
+        assertTrue(metricsService.getAverageOperationTimes().containsKey("tasks_get"));
+
+        metricsService.resetMetrics();
+        tasks.get("task-2");
+        assertEquals(1, metricsService.getCacheMetrics().getTotalHits());
+        assertEquals(0, metricsService.getCacheMetrics().getTotalMisses());
+    }
+
+    @Test
+    void testLoadTimeIsKeptOutOfLookupLatency() {
+        Cache tasks = decorator.decorate(new ConcurrentMapCache("tasks"));
+
+        tasks.get("task-1", () -> {
+            LockSupport.parkNanos(20_000_000);
+            return "loaded";
+        });
+
+        RegionSnapshot region = metricsService.getCacheMetrics().getRegions().get("tasks");
+        assertTrue(region.getLatencies().get(CacheMetricsService.LOAD).getMaxMicros() >= 20_000);
+        assertTrue(region.getLatencies().get(CacheMetricsService.GET).getMaxMicros() < 20_000);
+    }
+
+    @Test
+    void testHistogramPercentilesStayWithinBucketError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int micros = 1; micros <= 1000; micros++) {
+            histogram.record(micros * 1000L);
+        }
+
+        LatencySnapshot snapshot = histogram.snapshot();
+        assertEquals(1000, snapshot.getCount());
+        assertEquals(500.5, snapshot.getMeanMicros(), 0.01);
+        assertWithin(500, snapshot.getP50Micros());
+        assertWithin(900, snapshot.getP90Micros());
+        assertWithin(990, snapshot.getP99Micros());
+        assertEquals(1000, snapshot.getMaxMicros(), 0.01);
+        assertTrue(snapshot.getP999Micros() <= snapshot.getMaxMicros());
+    }
+
+    @Test
+    void testConcurrentRecordingLosesNoCounts() throws InterruptedException {
+        Cache tasks = decorator.decorate(new ConcurrentMapCache("tasks"));
+        tasks.put("task-1", "value");
+        int threads = 8;
+        int readsPerThread = 20_000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < readsPerThread; i++) {
+                    tasks.get(i % 2 == 0 ? "task-1" : "missing");
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        CacheMetrics metrics = metricsService.getCacheMetrics();
+        assertEquals(threads * readsPerThread / 2, metrics.getTotalHits());
+        assertEquals(threads * readsPerThread / 2, metrics.getTotalMisses());
+        assertEquals(threads * readsPerThread,
+                metrics.getRegions().get("tasks").getLatencies().get(CacheMetricsService.GET).getCount());
+    }
+
+    private static void assertWithin(double expected, double actual) {
+        assertTrue(actual >= expected && actual <= expected * 1.25,
+                "Percentile " + actual + " not within 25% above " + expected);
+    }
+}
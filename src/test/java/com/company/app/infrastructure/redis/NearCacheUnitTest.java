@@ -0,0 +1,118 @@
+package com.company.app.infrastructure.redis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.company.app.infrastructure.redis.cache.near.CacheInvalidationBus;
+import com.company.app.infrastructure.redis.cache.near.LocalCacheStore;
+import com.company.app.infrastructure.redis.cache.near.NearCache;
+
+/**
+ * Unit tests for the two-tier near cache (without Redis dependency)
+ * Uses an in-memory map as L2 and a mocked template for the invalidation channel
+ */
+class NearCacheUnitTest {
+
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    private final CacheInvalidationBus bus = new CacheInvalidationBus(redisTemplate);
+    private final ConcurrentMapCache l2 = new ConcurrentMapCache("tasks");
+    private final NearCache nearCache = new NearCache(l2,
+            new LocalCacheStore(100, 1024 * 1024, Duration.ofMinutes(1)), bus);
+
+    @Test
+    void testL1ServesAfterFirstL2Hit() {
+        l2.put("task-1", "value-1");
+
+        assertEquals("value-1", nearCache.get("task-1").get());
+        l2.evict("task-1"); // L1 must still hold it
+        assertEquals("value-1", nearCache.get("task-1").get());
+
+        NearCache.NearCacheStats stats = nearCache.getStats();
+        assertEquals(1, stats.getL1Hits());
+        assertEquals(1, stats.getL2Hits());
+        assertEquals(0.5, stats.getL1HitRatio());
+    }
+
+    @Test
+    void testWritesAreBroadcast() {
+        nearCache.put("task-2", "value-2");
+        nearCache.evict("task-2");
+
+        assertNull(nearCache.get("task-2"));
+        verify(redisTemplate, times(2)).convertAndSend(eq(CacheInvalidationBus.CHANNEL), anyString());
+    }
+
+    @Test
+    void testRemoteInvalidationEvictsLocalCopy() {
+        bus.register(nearCache);
+        nearCache.put("task-3", "value-3");
+        l2.put("task-3", "value-3-updated-by-other-node");
+
+        bus.onMessage(message("other-node|E|tasks|task-3"), null);
+
+        assertEquals("value-3-updated-by-other-node", nearCache.get("task-3").get());
+    }
+
+    @Test
+    void testInvalidationDuringL2ReadIsNotLost() {
+        // the other node's update lands while this node is still reading the old value from L2
+        ConcurrentMapCache racingL2 = new ConcurrentMapCache("tasks") {
+            @Override
+            public ValueWrapper get(Object key) {
+                ValueWrapper stale = super.get(key);
+                super.put(key, "value-5-updated-by-other-node");
+                bus.onMessage(message("other-node|E|tasks|" + key), null);
+                return stale;
+            }
+        };
+        NearCache racing = new NearCache(racingL2, new LocalCacheStore(100, 1024 * 1024, Duration.ofMinutes(1)), bus);
+        bus.register(racing);
+        racingL2.put("task-5", "value-5");
+
+        assertEquals("value-5", racing.get("task-5").get());
+
+        assertEquals(0, racing.getStats().getL1Size());
+    }
+
+    @Test
+    void testOwnMessagesAreIgnored() {
+        bus.register(nearCache);
+        nearCache.put("task-4", "value-4");
+        l2.evict("task-4");
+
+        bus.onMessage(message(bus.getNodeId() + "|E|tasks|task-4"), null);
+
+        assertNotNull(nearCache.get("task-4"));
+    }
+
+    @Test
+    void testLocalStoreIsBoundedByWeight() {
+        LocalCacheStore store = new LocalCacheStore(10_000, 16 * 4096, Duration.ofMinutes(1));
+        for (int i = 0; i < 1000; i++) {
+            store.put("key-" + i, "x".repeat(512));
+        }
+
+        assertTrue(store.weightedSize() <= 16 * 4096);
+        assertTrue(store.evictionCount() > 0);
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(CacheInvalidationBus.CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+}
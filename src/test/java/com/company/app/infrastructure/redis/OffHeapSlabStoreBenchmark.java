@@ -0,0 +1,111 @@
+package com.company.app.infrastructure.redis;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import com.company.app.infrastructure.redis.cache.near.LocalCacheStore;
+import com.company.app.infrastructure.redis.cache.near.NearCacheStore;
+import com.company.app.infrastructure.redis.cache.near.OffHeapSlabStore;
+import com.company.app.infrastructure.redis.config.CacheConfig;
+import com.company.app.modules.taskCore.infrastructure.cache.TaskCacheBinarySerializer;
+
+/**
+ * Heap footprint and GC comparison of the off-heap slab store against the on-heap store for cached task lists.
+ * Not part of the unit suite: heap and GC figures depend on the machine and on explicit GC being honoured,
+ * so they are printed rather than asserted. Run the main method from the test classpath, e.g. in the IDE
+ */
+public final class OffHeapSlabStoreBenchmark {
+
+    private static final int LISTS = 400;
+    private static final int TASKS_PER_LIST = 100;
+    private static final int READS = 20_000;
+
+    private final RedisSerializer<Object> serializer = new TaskCacheBinarySerializer(CacheConfig.jsonSerializer());
+
+    public static void main(String[] args) {
+        new OffHeapSlabStoreBenchmark().run();
+    }
+
+    private void run() {
+        byte[][] encoded = new byte[LISTS][];
+        for (int i = 0; i < LISTS; i++) {
+            encoded[i] = serializer.serialize(OffHeapSlabStoreUnitTest.tasks("board-" + i, TASKS_PER_LIST));
+        }
+
+        Measurement onHeap = measure(new LocalCacheStore(LISTS * 2, 1024L * 1024 * 1024, Duration.ofMinutes(5)),
+                encoded);
+        Measurement offHeap = measure(new OffHeapSlabStore(serializer, 512L * 1024 * 1024, 4 * 1024 * 1024, 4096,
+                LISTS * 2, Duration.ofMinutes(5)), encoded);
+
+        // the off-heap store trades a long-lived heap graph (old-gen marking, full GC pauses) for short-lived
+        // decoded copies per read (cheap young collections)
+        System.out.printf("%d lists x %d tasks, %d reads%n", LISTS, TASKS_PER_LIST, READS);
+        System.out.printf("on-heap store:  %.1f MB heap retained, full GC %d ms, %d collections / %d ms%n",
+                onHeap.retainedHeap() / 1048576.0, onHeap.fullGcMillis(), onHeap.collections(), onHeap.gcMillis());
+        System.out.printf("off-heap store: %.1f MB heap retained + %.1f MB direct, full GC %d ms, "
+                + "%d collections / %d ms%n", offHeap.retainedHeap() / 1048576.0,
+                offHeap.offHeapBytes() / 1048576.0, offHeap.fullGcMillis(), offHeap.collections(),
+                offHeap.gcMillis());
+    }
+
+    private Measurement measure(NearCacheStore store, byte[][] encoded) {
+        long baseline = usedHeapAfterGc();
+        for (int i = 0; i < encoded.length; i++) {
+            // both stores receive freshly decoded lists, as the near cache does after a Redis hit
+            store.put("board-" + i, serializer.deserialize(encoded[i]));
+        }
+        long retained = usedHeapAfterGc() - baseline;
+        long before = collectionMillis();
+        System.gc();
+        long fullGcMillis = collectionMillis() - before;
+
+        long collections = collectionCount();
+        long gcMillis = collectionMillis();
+        long checksum = 0;
+        for (int i = 0; i < READS; i++) {
+            Object value = store.get("board-" + ThreadLocalRandom.current().nextInt(encoded.length));
+            checksum += value != null ? ((List<?>) value).size() : 0;
+        }
+        if (checksum != (long) READS * TASKS_PER_LIST) {
+            throw new IllegalStateException("Store lost entries during the benchmark: " + checksum);
+        }
+        Measurement measurement = new Measurement(retained, store.offHeapBytes(), fullGcMillis,
+                collectionCount() - collections, collectionMillis() - gcMillis);
+        Reference.reachabilityFence(store);
+        store.clear();
+        return measurement;
+    }
+
+    private static long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static long collectionCount() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionCount).sum();
+    }
+
+    private static long collectionMillis() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionTime).sum();
+    }
+
+    private record Measurement(long retainedHeap, long offHeapBytes, long fullGcMillis, long collections,
+            long gcMillis) {
+    }
+}
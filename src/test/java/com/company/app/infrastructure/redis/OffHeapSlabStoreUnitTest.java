@@ -0,0 +1,140 @@
+package com.company.app.infrastructure.redis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import com.company.app.infrastructure.redis.cache.near.OffHeapSlabStore;
+import com.company.app.infrastructure.redis.config.CacheConfig;
+import com.company.app.modules.taskCore.application.dto.TaskResponse;
+import com.company.app.modules.taskCore.domain.valueobject.Priority;
+import com.company.app.modules.taskCore.domain.valueobject.TaskStatus;
+import com.company.app.modules.taskCore.infrastructure.cache.TaskCacheBinarySerializer;
+
+/**
+ * Unit tests for the off-heap slab store (without Redis dependency); the heap footprint and GC comparison
+ * against the on-heap store is OffHeapSlabStoreBenchmark, outside the unit suite
+ */
+class OffHeapSlabStoreUnitTest {
+
+    private static final int TASKS_PER_LIST = 100;
+
+    private final RedisSerializer<Object> serializer = new TaskCacheBinarySerializer(CacheConfig.jsonSerializer());
+
+    @Test
+    void testTaskListsRoundTripThroughSlabs() {
+        OffHeapSlabStore store = new OffHeapSlabStore(serializer, 8 * 1024 * 1024, 1024 * 1024, 4096, 100,
+                Duration.ofMinutes(1));
+        List<TaskResponse> tasks = tasks("board-1", TASKS_PER_LIST);
+
+        store.put("board-1", tasks);
+
+        assertEquals(tasks, store.get("board-1"));
+        assertEquals(1, store.size());
+        assertEquals(1024 * 1024, store.offHeapBytes());
+        assertTrue(store.weightedSize() >= serializer.serialize(tasks).length);
+    }
+
+    @Test
+    void testClockGivesRecentlyReadEntriesASecondChance() {
+        // one slab of three 64-byte chunks: room for exactly three small values
+        OffHeapSlabStore store = new OffHeapSlabStore(serializer, 192, 192, 64, 100, Duration.ofMinutes(1));
+        store.put("a", "value-a");
+        store.put("b", "value-b");
+        store.put("c", "value-c");
+        assertEquals("value-a", store.get("a"));
+
+        store.put("d", "value-d");
+
+        assertEquals("value-a", store.get("a"));
+        assertNull(store.get("b"));
+        assertEquals("value-c", store.get("c"));
+        assertEquals("value-d", store.get("d"));
+        assertEquals(1, store.evictionCount());
+    }
+
+    @Test
+    void testChunksAreReusedAfterOverwriteAndRemoval() {
+        OffHeapSlabStore store = new OffHeapSlabStore(serializer, 64 * 1024, 16 * 1024, 256, 100,
+                Duration.ofMinutes(1));
+        List<TaskResponse> large = tasks("board-1", 20);
+        List<TaskResponse> small = tasks("board-1", 2);
+
+        store.put("board-1", large);
+        long largeWeight = store.weightedSize();
+        store.put("board-1", small);
+        assertTrue(store.weightedSize() < largeWeight);
+        assertEquals(small, store.get("board-1"));
+
+        for (int i = 0; i < 50; i++) {
+            store.put("other-" + i, tasks("other-" + i, 5));
+            store.remove("other-" + i);
+        }
+        assertEquals(small, store.get("board-1"));
+        store.clear();
+        assertEquals(0, store.weightedSize());
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void testOversizedValuesAndExpiredEntriesAreNotServed() throws InterruptedException {
+        OffHeapSlabStore store = new OffHeapSlabStore(serializer, 1024, 1024, 256, 100, Duration.ofMillis(30));
+
+        store.put("board-1", tasks("board-1", TASKS_PER_LIST));
+        assertNull(store.get("board-1"));
+        assertEquals(1, store.rejectedCount());
+
+        store.put("key", "value");
+        assertEquals("value", store.get("key"));
+        Thread.sleep(60);
+        assertNull(store.get("key"));
+        assertEquals(0, store.weightedSize());
+    }
+
+    @Test
+    void testReadsDecodeFreshCopiesInsteadOfHoldingTheLists() {
+        OffHeapSlabStore store = new OffHeapSlabStore(serializer, 8 * 1024 * 1024, 1024 * 1024, 4096, 100,
+                Duration.ofMinutes(1));
+        List<TaskResponse> tasks = tasks("board-1", TASKS_PER_LIST);
+
+        store.put("board-1", tasks);
+        Object first = store.get("board-1");
+        Object second = store.get("board-1");
+
+        // only the encoded bytes are kept (off the heap); every read decodes a new, short-lived list
+        assertEquals(tasks, first);
+        assertEquals(tasks, second);
+        assertNotSame(tasks, first);
+        assertNotSame(first, second);
+        assertTrue(store.offHeapBytes() > 0);
+    }
+
+    static List<TaskResponse> tasks(String boardId, int count) {
+        List<TaskResponse> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 9, 30).plusMinutes(i);
+            tasks.add(TaskResponse.builder()
+                    .id(boardId + "-task-" + i)
+                    .title("Task " + i + " on " + boardId)
+                    .description(i % 3 == 0 ? null : "Description for task " + i + " on " + boardId)
+                    .status(TaskStatus.values()[i % TaskStatus.values().length])
+                    .priority(Priority.values()[i % Priority.values().length])
+                    .assignedTo("user-" + (i % 10))
+                    .createdAt(createdAt)
+                    .dueDate(i % 2 == 0 ? createdAt.plusDays(3) : null)
+                    .boardId(boardId)
+                    .overdue(i % 5 == 0)
+                    .build());
+        }
+        return tasks;
+    }
+}
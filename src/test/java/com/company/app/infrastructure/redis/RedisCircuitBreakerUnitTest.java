@@ -0,0 +1,239 @@
+package com.company.app.infrastructure.redis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.cache.Cache;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisKeyCommands;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.mock.env.MockEnvironment;
+
+import com.company.app.infrastructure.redis.cache.breaker.CircuitBreakerCacheDecorator;
+import com.company.app.infrastructure.redis.cache.breaker.CircuitBreakingRedisConnectionFactory;
+import com.company.app.infrastructure.redis.cache.breaker.RedisCircuitBreaker;
+import com.company.app.infrastructure.redis.cache.breaker.RedisCircuitBreaker.CircuitBreakerStats;
+import com.company.app.infrastructure.redis.cache.breaker.RedisCircuitBreaker.State;
+
+/**
+ * Latency and error injection against a Redis cache region behind the circuit breaker
+ * (the Redis connection is mocked; injected latency and timeouts stand in for a sick Redis)
+ */
+class RedisCircuitBreakerUnitTest {
+
+    private static final long INJECTED_LATENCY_MILLIS = 60;
+
+    private final AtomicLong latencyMillis = new AtomicLong();
+    private final AtomicBoolean failing = new AtomicBoolean();
+    private final AtomicInteger deletes = new AtomicInteger();
+    private final AtomicInteger databaseLoads = new AtomicInteger();
+
+    private RedisCircuitBreaker breaker;
+    private CircuitBreakerCacheDecorator decorator;
+    private Cache cache;
+
+    @BeforeEach
+    void setUp() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("app.cache.circuit-breaker.window-size", "10")
+                .withProperty("app.cache.circuit-breaker.minimum-calls", "5")
+                .withProperty("app.cache.circuit-breaker.slow-call-threshold", "20ms")
+                .withProperty("app.cache.circuit-breaker.open-duration", "100ms")
+                .withProperty("app.cache.circuit-breaker.probe-interval", "20ms")
+                .withProperty("app.cache.circuit-breaker.probe-successes", "2");
+        environment.setConversionService(new ApplicationConversionService());
+        breaker = new RedisCircuitBreaker(environment);
+
+        RedisConnectionFactory guarded = new CircuitBreakingRedisConnectionFactory(sickRedis(), breaker);
+        RedisCacheManager cacheManager = RedisCacheManager.builder(RedisCacheWriter.nonLockingRedisCacheWriter(guarded))
+                .cacheDefaults(RedisCacheConfiguration.defaultCacheConfig().entryTtl(Duration.ofMinutes(5)))
+                .build();
+        cacheManager.afterPropertiesSet();
+        decorator = new CircuitBreakerCacheDecorator(breaker, 100);
+        cache = decorator.decorate(cacheManager.getCache("tasks"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        breaker.destroy();
+    }
+
+    @Test
+    void testSlowRedisOpensBreakerAndRequestsFailFastUntilProbesRecover() {
+        assertEquals("db-1", cache.get("task-1", databaseLoader()));
+        assertEquals(State.CLOSED, breaker.getState());
+
+        latencyMillis.set(INJECTED_LATENCY_MILLIS);
+        for (int i = 0; i < 10 && breaker.getState() == State.CLOSED; i++) {
+            cache.get("task-" + i);
+        }
+        assertEquals(State.OPEN, breaker.getState());
+
+        // while open, reads skip Redis entirely and go straight to the database
+        long start = System.nanoTime();
+        assertEquals("db-2", cache.get("task-1", databaseLoader()));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue(elapsedMillis < INJECTED_LATENCY_MILLIS / 2, "Open breaker should fail fast, took " + elapsedMillis);
+
+        // probes against a still slow Redis keep the breaker open
+        awaitUntil(() -> transitions().getOrDefault("HALF_OPEN->OPEN", 0L) >= 1);
+        assertTrue(breaker.getState() != State.CLOSED);
+
+        latencyMillis.set(0);
+        awaitUntil(() -> breaker.getState() == State.CLOSED);
+
+        assertEquals("db-3", cache.get("task-2", databaseLoader()));
+        Map<String, Long> transitions = transitions();
+        assertEquals(1L, transitions.get("CLOSED->OPEN"));
+        assertTrue(transitions.get("OPEN->HALF_OPEN") >= 2);
+        assertEquals(1L, transitions.get("HALF_OPEN->CLOSED"));
+        assertTrue(breaker.getStats().getRejectedCalls() > 0);
+    }
+
+    @Test
+    void testEvictionsAndBypassedPutsDuringOutageAreReplayedOnRecovery() {
+        failing.set(true);
+        for (int i = 0; i < 10 && breaker.getState() == State.CLOSED; i++) {
+            cache.get("task-" + i);
+        }
+        assertEquals(State.OPEN, breaker.getState());
+
+        cache.evict("task-1");
+        // a bypassed put leaves the old value in Redis, so its key is evicted on recovery as well
+        cache.put("task-2", "updated");
+        assertEquals(2, decorator.getStats().get("tasks").getPendingEvictions());
+        assertEquals(1, decorator.getStats().get("tasks").getBypassedWrites());
+        assertEquals(0, deletes.get());
+
+        failing.set(false);
+        // recovery actions run on the probe thread right after the breaker closes
+        awaitUntil(() -> breaker.getState() == State.CLOSED
+                && decorator.getStats().get("tasks").getReplayedEvictions() == 2);
+
+        assertEquals(2, deletes.get());
+        assertEquals(0, decorator.getStats().get("tasks").getPendingEvictions());
+        assertEquals(2, decorator.getStats().get("tasks").getReplayedEvictions());
+    }
+
+    @Test
+    void testConcurrentOutcomesKeepTheWindowConsistentAndOpenOnce() throws Exception {
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            runConcurrently(callers, () -> breaker.recordSuccess(0));
+            CircuitBreakerStats stats = breaker.getStats();
+            assertEquals(State.CLOSED, stats.getState());
+            assertEquals(8 * 5_000, stats.getCalls());
+            assertEquals(10, stats.getBufferedCalls());
+            assertEquals(0.0, stats.getFailureRate());
+
+            // probes keep failing, so the breaker cannot close and reopen while the failures are recorded
+            failing.set(true);
+            runConcurrently(callers, () -> breaker.recordFailure(0));
+            assertTrue(breaker.getState() != State.CLOSED);
+            assertEquals(1L, transitions().get("CLOSED->OPEN"));
+            assertEquals(8 * 5_000, breaker.getStats().getFailures());
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    private static void runConcurrently(ExecutorService callers, Runnable call) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        for (int thread = 0; thread < 8; thread++) {
+            results.add(callers.submit(() -> {
+                start.await();
+                for (int i = 0; i < 5_000; i++) {
+                    call.run();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> result : results) {
+            result.get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private RedisConnectionFactory sickRedis() {
+        RedisConnectionFactory factory = mock(RedisConnectionFactory.class);
+        RedisConnection connection = mock(RedisConnection.class);
+        RedisStringCommands strings = mock(RedisStringCommands.class);
+        RedisKeyCommands keys = mock(RedisKeyCommands.class);
+        when(factory.getConnection()).thenReturn(connection);
+        when(connection.stringCommands()).thenReturn(strings);
+        when(connection.keyCommands()).thenReturn(keys);
+        when(strings.get(any())).thenAnswer(invocation -> {
+            injectFault();
+            return null;
+        });
+        when(keys.del(any())).thenAnswer(invocation -> {
+            injectFault();
+            deletes.incrementAndGet();
+            return 1L;
+        });
+        when(connection.ping()).thenAnswer(invocation -> {
+            injectFault();
+            return "PONG";
+        });
+        return factory;
+    }
+
+    private void injectFault() throws InterruptedException {
+        if (failing.get()) {
+            throw new QueryTimeoutException("Injected Redis command timeout");
+        }
+        long latency = latencyMillis.get();
+        if (latency > 0) {
+            Thread.sleep(latency);
+        }
+    }
+
+    private Callable<String> databaseLoader() {
+        return () -> "db-" + databaseLoads.incrementAndGet();
+    }
+
+    private Map<String, Long> transitions() {
+        return breaker.getStats().getTransitions();
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition not reached within 5s");
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.company.app.infrastructure.redis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.mock.env.MockEnvironment;
+
+import com.company.app.infrastructure.redis.ratelimit.RedisRateLimiter;
+import com.company.app.infrastructure.redis.ratelimit.RedisRateLimiter.RateLimitDecision;
+import com.company.app.infrastructure.redis.ratelimit.RedisRateLimiter.RateLimitPolicy;
+
+/**
+ * Tests for the GCRA rate limiter script against a local Redis (localhost:6379)
+ * Skipped when no Redis server is reachable
+ */
+class RedisRateLimiterRedisTest {
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory("localhost", 6379);
+        connectionFactory.afterPropertiesSet();
+        try {
+            connectionFactory.getConnection().ping();
+        } catch (Exception e) {
+            connectionFactory.destroy();
+            Assumptions.abort("Redis is not available on localhost:6379");
+        }
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        if (connectionFactory != null) {
+            connectionFactory.destroy();
+        }
+    }
+
+    @Test
+    void testConcurrentCallersNeverOvershootTheLimit() throws InterruptedException {
+        RedisRateLimiter limiter = new RedisRateLimiter(redisTemplate,
+                new MockEnvironment().withProperty("app.rate-limit.local.prefetch", "1"));
+        Map<String, RateLimitPolicy> buckets = Map.of("", new RateLimitPolicy(100, Duration.ofMinutes(10)));
+        String subject = "test-" + UUID.randomUUID();
+        AtomicInteger allowed = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        for (int i = 0; i < 400; i++) {
+            executor.execute(() -> {
+                if (limiter.tryAcquire(subject, buckets).isAllowed()) {
+                    allowed.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(100, allowed.get());
+        RateLimitDecision rejected = limiter.tryAcquire(subject, buckets);
+        assertFalse(rejected.isAllowed());
+        // one request is released every period / limit = 6s
+        assertTrue(rejected.getRetryAfterMillis() > 0 && rejected.getRetryAfterMillis() <= 6000);
+        redisTemplate.delete("rate_limit:{" + subject + "}");
+    }
+
+    @Test
+    void testLocalPermitsAreReservedInRedis() {
+        RedisRateLimiter limiter = new RedisRateLimiter(redisTemplate,
+                new MockEnvironment().withProperty("app.rate-limit.local.prefetch", "10"));
+        Map<String, RateLimitPolicy> buckets = Map.of("", new RateLimitPolicy(25, Duration.ofMinutes(10)));
+        String subject = "test-" + UUID.randomUUID();
+
+        int allowed = 0;
+        for (int i = 0; i < 40; i++) {
+            allowed += limiter.tryAcquire(subject, buckets).isAllowed() ? 1 : 0;
+        }
+
+        // one batch of 10 while at least 20 are left, then one Redis check per request
+        assertEquals(25, allowed);
+        assertEquals(9, limiter.getStats().getAllowedLocally());
+        assertEquals(31, limiter.getStats().getRedisChecks());
+        redisTemplate.delete("rate_limit:{" + subject + "}");
+    }
+}
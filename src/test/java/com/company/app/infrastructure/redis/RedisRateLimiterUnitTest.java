@@ -0,0 +1,163 @@
+package com.company.app.infrastructure.redis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.company.app.infrastructure.redis.ratelimit.RedisRateLimiter;
+import com.company.app.infrastructure.redis.ratelimit.RedisRateLimiter.RateLimitDecision;
+import com.company.app.modules.taskCore.presentation.filter.TaskRateLimitFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * Unit tests for the rate limiter and its filter: one script per check over the caller and endpoint buckets,
+ * local permits reserved by the script, failing open while Redis is down, and 429 responses
+ * (Redis template mocked: the acquire script replies {granted, remaining, retry after ms})
+ */
+class RedisRateLimiterUnitTest {
+
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    private final List<List<String>> scriptKeys = new ArrayList<>();
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCallerAndEndpointBucketsAreCheckedInOneScript() {
+        reply(List.of(1L, 29L, 0L));
+        RedisRateLimiter limiter = limiter(new MockEnvironment()
+                .withProperty("app.rate-limit.local.prefetch", "1")
+                .withProperty("app.rate-limit.endpoints.create.limit", "30"));
+
+        RateLimitDecision decision = limiter.tryAcquire("user:alice", "create");
+        limiter.tryAcquire("user:alice", "board");
+
+        assertTrue(decision.isAllowed());
+        assertEquals(30, decision.getLimit());
+        assertEquals(29, decision.getRemaining());
+        assertEquals(List.of("rate_limit:{user:alice}", "rate_limit:{user:alice}:create"), scriptKeys.get(0));
+        // no policy for the board endpoint: the caller bucket only
+        assertEquals(List.of("rate_limit:{user:alice}"), scriptKeys.get(1));
+        verify(redisTemplate, times(2)).execute(any(RedisScript.class), anyList(), any(Object[].class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testPermitsReservedByTheScriptAreSpentLocally() {
+        reply(List.of(5L, 200L, 0L));
+        RedisRateLimiter limiter = limiter(new MockEnvironment().withProperty("app.rate-limit.local.prefetch", "5"));
+
+        List<RateLimitDecision> decisions = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            decisions.add(limiter.tryAcquire("user:bob", "get"));
+        }
+
+        assertTrue(decisions.stream().allMatch(RateLimitDecision::isAllowed));
+        assertEquals(List.of(false, true, true, true, true, false),
+                decisions.stream().map(RateLimitDecision::isLocal).toList());
+        verify(redisTemplate, times(2)).execute(any(RedisScript.class), anyList(), any(Object[].class));
+        assertEquals(4, limiter.getStats().getAllowedLocally());
+        assertEquals(2, limiter.getStats().getRedisChecks());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRequestsPassWhileRedisIsUnavailable() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenThrow(new QueryTimeoutException("Redis command timed out"));
+        RedisRateLimiter limiter = limiter(new MockEnvironment());
+
+        assertTrue(limiter.tryAcquire("user:carol", "get").isAllowed());
+        assertEquals(1, limiter.getStats().getFailures());
+    }
+
+    @Test
+    void testRejectedRequestsGetTooManyRequestsWithRetryAfter() throws Exception {
+        reply(List.of(0L, 0L, 1500L));
+        RedisRateLimiter limiter = limiter(new MockEnvironment().withProperty("app.rate-limit.user.limit", "10"));
+        TaskRateLimitFilter filter = filter(limiter, new MockEnvironment()
+                .withProperty("app.rate-limit.trusted-proxies", "10.0.0.1, 127.0.0.1"));
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/api/tasks/task-1/status");
+        request.addHeader("X-User-Id", "dave");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertEquals(429, response.getStatus());
+        assertEquals("2", response.getHeader("Retry-After"));
+        assertEquals("10", response.getHeader("X-RateLimit-Limit"));
+        assertTrue(response.getContentAsString().contains("TooManyRequests"));
+        assertNull(chain.getRequest());
+        assertEquals(List.of("rate_limit:{user:dave}"), scriptKeys.get(0));
+        assertEquals(1, limiter.getStats().getRejectedByEndpoint().get("update-status"));
+
+        MockHttpServletRequest health = new MockHttpServletRequest("GET", "/api/tasks/health");
+        MockFilterChain healthChain = new MockFilterChain();
+        filter.doFilter(health, new MockHttpServletResponse(), healthChain);
+        assertNotNull(healthChain.getRequest());
+        assertEquals(1, scriptKeys.size());
+    }
+
+    @Test
+    void testUserHeaderIsOnlyTrustedFromConfiguredProxies() throws Exception {
+        reply(List.of(1L, 299L, 0L));
+        RedisRateLimiter limiter = limiter(new MockEnvironment().withProperty("app.rate-limit.local.prefetch", "1"));
+        TaskRateLimitFilter filter = filter(limiter, new MockEnvironment()
+                .withProperty("app.rate-limit.trusted-proxies", "10.0.0.1"));
+
+        // a client setting the header itself is still limited by its address
+        MockHttpServletRequest direct = new MockHttpServletRequest("GET", "/api/tasks/task-1");
+        direct.setRemoteAddr("203.0.113.7");
+        direct.addHeader("X-User-Id", "victim");
+        filter.doFilter(direct, new MockHttpServletResponse(), new MockFilterChain());
+
+        MockHttpServletRequest proxied = new MockHttpServletRequest("GET", "/api/tasks/task-1");
+        proxied.setRemoteAddr("10.0.0.1");
+        proxied.addHeader("X-User-Id", "erin");
+        filter.doFilter(proxied, new MockHttpServletResponse(), new MockFilterChain());
+
+        MockHttpServletRequest authenticated = new MockHttpServletRequest("GET", "/api/tasks/task-1");
+        authenticated.setRemoteAddr("203.0.113.7");
+        authenticated.setUserPrincipal(() -> "frank");
+        authenticated.addHeader("X-User-Id", "victim");
+        filter.doFilter(authenticated, new MockHttpServletResponse(), new MockFilterChain());
+
+        assertEquals(List.of(List.of("rate_limit:{ip:203.0.113.7}"), List.of("rate_limit:{user:erin}"),
+                List.of("rate_limit:{user:frank}")), scriptKeys);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void reply(List<Long> reply) {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenAnswer(invocation -> {
+            scriptKeys.add(List.copyOf((List<String>) invocation.getArgument(1)));
+            return reply;
+        });
+    }
+
+    private static TaskRateLimitFilter filter(RedisRateLimiter limiter, MockEnvironment environment) {
+        return new TaskRateLimitFilter(limiter, new ObjectMapper().registerModule(new JavaTimeModule()), environment);
+    }
+
+    private RedisRateLimiter limiter(MockEnvironment environment) {
+        return new RedisRateLimiter(redisTemplate, environment);
+    }
+}
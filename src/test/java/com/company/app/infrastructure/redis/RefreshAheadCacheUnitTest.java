@@ -0,0 +1,89 @@
+package com.company.app.infrastructure.redis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import com.company.app.infrastructure.redis.cache.refresh.CacheEnvelope;
+import com.company.app.infrastructure.redis.cache.refresh.RefreshAheadCache;
+
+/**
+ * Unit tests for stale-while-revalidate and XFetch early refresh (without Redis dependency)
+ * Background refreshes run on the calling thread so results are deterministic
+ */
+class RefreshAheadCacheUnitTest {
+
+    private final ConcurrentMapCache backing = new ConcurrentMapCache("taskLists");
+    private final RefreshAheadCache cache = new RefreshAheadCache(backing, Duration.ofMinutes(10), 1.0,
+            Runnable::run);
+
+    @Test
+    void testMissStoresEnvelopeWithSoftExpiry() {
+        assertEquals("tasks", cache.get("board-1", () -> "tasks"));
+
+        CacheEnvelope envelope = assertInstanceOf(CacheEnvelope.class, backing.get("board-1").get());
+        assertEquals("tasks", envelope.getValue());
+        assertEquals("tasks", cache.get("board-1").get());
+        assertEquals(1, cache.getStats().getMisses());
+    }
+
+    @Test
+    void testStaleValueIsServedAndRefreshed() {
+        backing.put("board-2", new CacheEnvelope("old", System.currentTimeMillis() - 1, 5));
+
+        assertEquals("old", cache.get("board-2", () -> "new"));
+        assertEquals("new", cache.get("board-2").get());
+
+        RefreshAheadCache.RefreshStats stats = cache.getStats();
+        assertEquals(1, stats.getStaleHits());
+        assertEquals(1, stats.getRefreshes());
+    }
+
+    @Test
+    void testRefreshBypassesCacheForItsOwnKey() {
+        backing.put("board-3", new CacheEnvelope("old", System.currentTimeMillis() - 1, 5));
+        AtomicInteger innerHits = new AtomicInteger();
+
+        cache.get("board-3", () -> {
+            if (cache.get("board-3") != null) {
+                innerHits.incrementAndGet();
+            }
+            return "new";
+        });
+
+        assertEquals(0, innerHits.get());
+    }
+
+    @Test
+    void testExpensiveEntryRefreshesBeforeSoftExpiry() {
+        // one second left, but the value took a day to compute: XFetch refreshes almost surely
+        backing.put("board-4", new CacheEnvelope("old", System.currentTimeMillis() + 1_000, 86_400_000));
+
+        assertEquals("old", cache.get("board-4", () -> "new"));
+        assertEquals("new", cache.get("board-4").get());
+        assertEquals(1, cache.getStats().getEarlyRefreshes());
+        assertEquals(0, cache.getStats().getStaleHits());
+    }
+
+    @Test
+    void testFreshEntryIsNotRefreshed() {
+        backing.put("board-5", new CacheEnvelope("current", System.currentTimeMillis() + 600_000, 5));
+
+        assertEquals("current", cache.get("board-5", () -> "new"));
+        assertEquals(0, cache.getStats().getRefreshes());
+    }
+
+    @Test
+    void testValuesWrittenBeforeEnablingAreReturnedAsIs() {
+        backing.put("board-6", "legacy");
+
+        assertEquals("legacy", cache.get("board-6", () -> "new"));
+        assertNull(cache.get("board-7"));
+    }
+}
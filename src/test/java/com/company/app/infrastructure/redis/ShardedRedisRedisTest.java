@@ -0,0 +1,98 @@
+package com.company.app.infrastructure.redis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.company.app.infrastructure.redis.sharding.ShardedRedisConnectionFactory;
+
+/**
+ * Tests for client-side sharding against several local Redis servers (ports from -Dredis.shard.ports,
+ * default 6379,6380,6381, e.g. started with redis-server --port 6380)
+ * Skipped when any of them is not reachable
+ */
+class ShardedRedisRedisTest {
+
+    private static final Map<String, LettuceConnectionFactory> nodes = new LinkedHashMap<>();
+    private static ShardedRedisConnectionFactory sharding;
+    private static StringRedisTemplate redisTemplate;
+
+    @BeforeAll
+    static void connect() {
+        for (String port : System.getProperty("redis.shard.ports", "6379,6380,6381").split(",")) {
+            LettuceConnectionFactory node = new LettuceConnectionFactory("localhost", Integer.parseInt(port.trim()));
+            node.afterPropertiesSet();
+            nodes.put("localhost:" + port.trim(), node);
+            try {
+                node.getConnection().ping();
+            } catch (Exception e) {
+                disconnect();
+                Assumptions.abort("Redis is not available on localhost:" + port.trim());
+            }
+        }
+        sharding = new ShardedRedisConnectionFactory(new LinkedHashMap<>(nodes), 160);
+        redisTemplate = new StringRedisTemplate(sharding);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        nodes.values().forEach(LettuceConnectionFactory::destroy);
+        nodes.clear();
+    }
+
+    @Test
+    void testKeysAreStoredOnTheirRingNode() {
+        String prefix = "test-shard-" + UUID.randomUUID() + ":";
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            keys.add(prefix + i);
+            redisTemplate.opsForValue().set(prefix + i, String.valueOf(i));
+        }
+
+        for (String key : keys) {
+            String owner = sharding.nodeFor(key);
+            nodes.forEach((node, factory) -> assertEquals(node.equals(owner),
+                    Boolean.TRUE.equals(new StringRedisTemplate(factory).hasKey(key)), key + " on " + node));
+        }
+        List<String> values = redisTemplate.opsForValue().multiGet(keys);
+        for (int i = 0; i < keys.size(); i++) {
+            assertEquals(String.valueOf(i), values.get(i));
+        }
+        try (var cursor = redisTemplate.scan(ScanOptions.scanOptions().match(prefix + "*").count(100).build())) {
+            assertEquals(keys.size(), cursor.stream().count());
+        }
+
+        assertEquals(keys.size(), redisTemplate.delete(keys));
+        assertNull(redisTemplate.opsForValue().get(keys.get(0)));
+    }
+
+    @Test
+    void testBoardKeysShareOneNode() {
+        String boardId = UUID.randomUUID().toString();
+        String viewKey = "board_view:{" + boardId + "}:tasks";
+        String listKey = "taskLists::task_list:board:{" + boardId + "}:v0";
+        redisTemplate.opsForValue().set(listKey, "cached");
+        redisTemplate.opsForHash().put(viewKey, "task-1", "{}");
+
+        RedisConnectionFactory owner = nodes.get(sharding.nodeFor(viewKey));
+        assertEquals(Set.of(viewKey, listKey),
+                new StringRedisTemplate(owner).keys("*{" + boardId + "}*"));
+
+        redisTemplate.delete(List.of(viewKey, listKey));
+    }
+}
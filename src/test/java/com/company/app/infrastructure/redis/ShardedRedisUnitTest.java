@@ -0,0 +1,209 @@
+package com.company.app.infrastructure.redis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisScriptingCommands;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.ReturnType;
+
+import com.company.app.infrastructure.redis.sharding.ConsistentHashRing;
+import com.company.app.infrastructure.redis.sharding.ShardedRedisConnectionFactory;
+import com.company.app.modules.taskCore.infrastructure.cache.TaskCacheService;
+
+/**
+ * Unit tests for client-side sharding: key distribution, remapping when a node is added, hash tag colocation,
+ * and command routing over mocked node connections (split MGET, pipelines, cross-node scripts)
+ */
+class ShardedRedisUnitTest {
+
+    private static final List<String> NODES = List.of("redis-a:6379", "redis-b:6379", "redis-c:6379");
+    private static final int KEYS = 30_000;
+
+    private final Map<String, RedisStringCommands> stringCommands = new HashMap<>();
+    private final Map<String, RedisScriptingCommands> scriptingCommands = new HashMap<>();
+    private final Map<String, List<Object>> pipelineReplies = new HashMap<>();
+
+    @Test
+    void testKeysSpreadEvenlyAcrossNodes() {
+        ConsistentHashRing ring = new ConsistentHashRing(NODES, 160);
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            counts.merge(ring.nodeFor("tasks::task-" + i), 1, Integer::sum);
+        }
+
+        for (String node : NODES) {
+            double share = counts.get(node) / (double) KEYS;
+            assertTrue(Math.abs(share - 1.0 / 3) < 0.05, node + " holds " + share + " of the keys");
+            assertEquals(1.0 / 3, ring.ownership().get(node), 0.05);
+        }
+    }
+
+    @Test
+    void testAddingANodeOnlyMovesKeysToTheNewNode() {
+        ConsistentHashRing ring = new ConsistentHashRing(NODES, 160);
+        ConsistentHashRing grown = ring.withNode("redis-d:6379");
+
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            String key = "tasks::task-" + i;
+            String before = ring.nodeFor(key);
+            String after = grown.nodeFor(key);
+            if (!before.equals(after)) {
+                moved++;
+                assertEquals("redis-d:6379", after, key + " moved between existing nodes");
+            }
+        }
+        double movedShare = moved / (double) KEYS;
+        assertTrue(movedShare > 0.2 && movedShare < 0.3, "Adding a fourth node moved " + movedShare + " of the keys");
+    }
+
+    @Test
+    void testBoardKeysShareTheNodeOfTheirHashTag() {
+        ConsistentHashRing ring = new ConsistentHashRing(NODES, 160);
+        TaskCacheService keys = new TaskCacheService(null, null, null, null);
+
+        for (int i = 0; i < 200; i++) {
+            String boardId = "board-" + i;
+            String node = ring.nodeFor("board_view:{" + boardId + "}:tasks");
+            assertEquals(node, ring.nodeFor("taskLists::" + keys.generateBoardTasksKey(boardId) + ":v3"));
+            assertEquals(node, ring.nodeFor("taskCounts::" + keys.generateTaskCountKey(boardId, null) + ":v0"));
+            assertEquals(node, ring.nodeFor("cache_gen:" + TaskCacheService.boardScope(boardId)));
+        }
+    }
+
+    @Test
+    void testMultiKeyReadsAreSplitPerNodeAndReassembledInOrder() {
+        ShardedRedisConnectionFactory factory = factory();
+        byte[][] keys = keysOnDistinctNodes(factory, 4);
+        for (String node : NODES) {
+            when(stringCommands.get(node).mGet(any(byte[][].class))).thenAnswer(invocation -> {
+                List<byte[]> values = new ArrayList<>();
+                for (Object key : invocation.getArguments()) {
+                    values.add(("value-of-" + new String((byte[]) key, StandardCharsets.UTF_8)).getBytes());
+                }
+                return values;
+            });
+        }
+
+        List<byte[]> values = factory.getConnection().stringCommands().mGet(keys);
+
+        assertEquals(keys.length, values.size());
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals("value-of-" + new String(keys[i], StandardCharsets.UTF_8),
+                    new String(values.get(i), StandardCharsets.UTF_8));
+        }
+        assertTrue(factory.getStats().getSplitCommands() >= 1);
+    }
+
+    @Test
+    void testPipelineRepliesKeepTheOriginalCommandOrder() {
+        ShardedRedisConnectionFactory factory = factory();
+        byte[][] keys = keysOnDistinctNodes(factory, 2);
+        byte[] sameNodeAsFirst = keyOn(factory, factory.nodeFor(new String(keys[0], StandardCharsets.UTF_8)), 1);
+        pipelineReplies.put(factory.nodeFor(new String(keys[0], StandardCharsets.UTF_8)),
+                new ArrayList<>(List.of("first", "third")));
+        pipelineReplies.put(factory.nodeFor(new String(keys[1], StandardCharsets.UTF_8)),
+                new ArrayList<>(List.of("second")));
+
+        RedisConnection connection = factory.getConnection();
+        connection.openPipeline();
+        connection.stringCommands().get(keys[0]);
+        connection.stringCommands().get(keys[1]);
+        connection.stringCommands().get(sameNodeAsFirst);
+
+        assertEquals(List.of("first", "second", "third"), connection.closePipeline());
+    }
+
+    @Test
+    void testScriptsMustKeepTheirKeysOnOneNode() {
+        ShardedRedisConnectionFactory factory = factory();
+        byte[][] keys = keysOnDistinctNodes(factory, 2);
+        byte[] script = "return 1".getBytes(StandardCharsets.UTF_8);
+        RedisScriptingCommands scripting = factory.getConnection().scriptingCommands();
+
+        assertThrows(InvalidDataAccessApiUsageException.class,
+                () -> scripting.eval(script, ReturnType.INTEGER, 2, keys[0], keys[1]));
+        scriptingCommands.values().forEach(commands ->
+                verify(commands, never()).eval(any(byte[].class), any(ReturnType.class), anyInt(), any(byte[][].class)));
+
+        byte[] first = "board_view:{b1}:tasks".getBytes(StandardCharsets.UTF_8);
+        byte[] second = "board_view:{b1}:status:TODO".getBytes(StandardCharsets.UTF_8);
+        scripting.eval(script, ReturnType.INTEGER, 2, first, second, "arg".getBytes(StandardCharsets.UTF_8));
+
+        verify(scriptingCommands.get(factory.nodeFor("{b1}"))).eval(any(byte[].class), any(ReturnType.class),
+                anyInt(), any(byte[][].class));
+        assertEquals(1, factory.getStats().getCrossNodeRejections());
+    }
+
+    private ShardedRedisConnectionFactory factory() {
+        Map<String, RedisConnectionFactory> nodes = new LinkedHashMap<>();
+        for (String node : NODES) {
+            nodes.put(node, nodeFactory(node));
+        }
+        return new ShardedRedisConnectionFactory(nodes, 160);
+    }
+
+    private RedisConnectionFactory nodeFactory(String node) {
+        RedisStringCommands strings = mock(RedisStringCommands.class);
+        RedisScriptingCommands scripting = mock(RedisScriptingCommands.class);
+        stringCommands.put(node, strings);
+        scriptingCommands.put(node, scripting);
+
+        RedisConnection connection = mock(RedisConnection.class);
+        AtomicBoolean pipelined = new AtomicBoolean();
+        when(connection.stringCommands()).thenReturn(strings);
+        when(connection.scriptingCommands()).thenReturn(scripting);
+        when(connection.isPipelined()).thenAnswer(invocation -> pipelined.get());
+        doAnswer(invocation -> {
+            pipelined.set(true);
+            return null;
+        }).when(connection).openPipeline();
+        when(connection.closePipeline()).thenAnswer(invocation -> {
+            pipelined.set(false);
+            return pipelineReplies.getOrDefault(node, List.of());
+        });
+
+        RedisConnectionFactory factory = mock(RedisConnectionFactory.class);
+        when(factory.getConnection()).thenReturn(connection);
+        return factory;
+    }
+
+    // one key per node, then keys cycling over the nodes again
+    private static byte[][] keysOnDistinctNodes(ShardedRedisConnectionFactory factory, int count) {
+        byte[][] keys = new byte[count][];
+        for (int i = 0; i < count; i++) {
+            keys[i] = keyOn(factory, NODES.get(i % NODES.size()), i);
+        }
+        return keys;
+    }
+
+    private static byte[] keyOn(ShardedRedisConnectionFactory factory, String node, int salt) {
+        for (int i = 0;; i++) {
+            String key = "tasks::task-" + salt + "-" + i;
+            if (factory.nodeFor(key).equals(node)) {
+                return key.getBytes(StandardCharsets.UTF_8);
+            }
+        }
+    }
+}
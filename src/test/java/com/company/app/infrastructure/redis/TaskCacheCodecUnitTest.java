@@ -0,0 +1,125 @@
+package com.company.app.infrastructure.redis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import com.company.app.infrastructure.redis.cache.refresh.CacheEnvelope;
+import com.company.app.infrastructure.redis.config.CacheConfig;
+import com.company.app.modules.taskCore.application.dto.TaskResponse;
+import com.company.app.modules.taskCore.domain.valueobject.Priority;
+import com.company.app.modules.taskCore.domain.valueobject.TaskStatus;
+import com.company.app.modules.taskCore.infrastructure.cache.TaskCacheBinarySerializer;
+
+/**
+ * Round-trip tests for the binary cache codec and a size comparison against JSON
+ */
+class TaskCacheCodecUnitTest {
+
+    private static final int LIST_SIZE = 500;
+
+    private final RedisSerializer<Object> json = CacheConfig.jsonSerializer();
+    private final RedisSerializer<Object> binary = new TaskCacheBinarySerializer(CacheConfig.jsonSerializer());
+
+    @Test
+    void testTaskRoundTrip() {
+        TaskResponse task = task(1);
+        assertEquals(task, binary.deserialize(binary.serialize(task)));
+    }
+
+    @Test
+    void testTaskWithNullFieldsRoundTrip() {
+        TaskResponse task = TaskResponse.builder().id("only-id").overdue(true).build();
+        assertEquals(task, binary.deserialize(binary.serialize(task)));
+    }
+
+    @Test
+    void testListAndCountRoundTrip() {
+        List<TaskResponse> tasks = tasks(20);
+        assertEquals(tasks, binary.deserialize(binary.serialize(tasks)));
+        assertEquals(42L, binary.deserialize(binary.serialize(42L)));
+        assertEquals(List.of(), binary.deserialize(binary.serialize(List.of())));
+        assertNull(binary.deserialize(binary.serialize(null)));
+    }
+
+    @Test
+    void testRefreshEnvelopeRoundTrip() {
+        CacheEnvelope listEnvelope = new CacheEnvelope(tasks(3), 1_700_000_000_000L, 42);
+        CacheEnvelope countEnvelope = new CacheEnvelope(7L, 1_700_000_000_000L, 3);
+
+        assertEquals(listEnvelope, binary.deserialize(binary.serialize(listEnvelope)));
+        assertEquals(countEnvelope, binary.deserialize(binary.serialize(countEnvelope)));
+        assertEquals(countEnvelope, json.deserialize(json.serialize(countEnvelope)));
+    }
+
+    @Test
+    void testIdListRoundTrip() {
+        List<String> uuids = List.of(UUID.randomUUID().toString(), UUID.randomUUID().toString());
+        List<String> mixed = List.of("task-1", UUID.randomUUID().toString());
+
+        byte[] packed = binary.serialize(uuids);
+        assertEquals(uuids, binary.deserialize(packed));
+        assertEquals(mixed, binary.deserialize(binary.serialize(mixed)));
+        assertTrue(packed.length < 2 + 1 + 2 * 17, "UUID ids should be packed into 16 bytes each");
+    }
+
+    @Test
+    void testOtherTypesFallBackToJson() {
+        Map<String, Object> value = new HashMap<>();
+        value.put("key", "value");
+        assertEquals(value, binary.deserialize(binary.serialize(value)));
+    }
+
+    @Test
+    void testReadsValuesWrittenAsJson() {
+        List<TaskResponse> tasks = tasks(5);
+        assertEquals(tasks, binary.deserialize(json.serialize(tasks)));
+        assertEquals(task(7), binary.deserialize(json.serialize(task(7))));
+    }
+
+    @Test
+    void testBinaryIsLessThanHalfTheSizeOfJson() {
+        List<TaskResponse> tasks = tasks(LIST_SIZE);
+
+        byte[] jsonBytes = json.serialize(tasks);
+        byte[] binaryBytes = binary.serialize(tasks);
+
+        assertEquals(tasks, binary.deserialize(binaryBytes));
+        assertTrue(binaryBytes.length * 2 < jsonBytes.length,
+                "Binary encoding should be less than half the size of JSON");
+    }
+
+    private static List<TaskResponse> tasks(int count) {
+        List<TaskResponse> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tasks.add(task(i));
+        }
+        return tasks;
+    }
+
+    private static TaskResponse task(int i) {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 9, 30).plusMinutes(i);
+        return TaskResponse.builder()
+                .id("task-" + i)
+                .title("Task " + i)
+                .description(i % 3 == 0 ? null : "Description for task " + i)
+                .status(TaskStatus.values()[i % TaskStatus.values().length])
+                .priority(Priority.values()[i % Priority.values().length])
+                .assignedTo("user-" + (i % 10))
+                .createdAt(createdAt)
+                .dueDate(i % 2 == 0 ? createdAt.plusDays(3) : null)
+                .boardId("board-" + (i % 4))
+                .overdue(i % 5 == 0)
+                .build();
+    }
+}
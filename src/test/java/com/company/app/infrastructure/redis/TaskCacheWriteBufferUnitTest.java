@@ -0,0 +1,190 @@
+package com.company.app.infrastructure.redis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.company.app.infrastructure.redis.cache.CacheGenerationService;
+import com.company.app.infrastructure.redis.cache.breaker.RedisCircuitBreaker;
+import com.company.app.infrastructure.redis.cache.near.CacheInvalidationBus;
+import com.company.app.infrastructure.redis.cache.ttl.AdaptiveTtlPolicy;
+import com.company.app.modules.taskCore.application.dto.TaskResponse;
+import com.company.app.modules.taskCore.domain.valueobject.TaskStatus;
+import com.company.app.modules.taskCore.infrastructure.cache.BoardTaskViewCache;
+import com.company.app.modules.taskCore.infrastructure.cache.TaskCacheService;
+import com.company.app.modules.taskCore.infrastructure.cache.TaskCacheWriteBuffer;
+import com.company.app.modules.taskCore.infrastructure.cache.TaskCacheWriteBuffer.TaskCacheWrites;
+import com.company.app.modules.taskCore.infrastructure.cache.TaskExistenceFilter;
+
+/**
+ * Unit tests for post-commit cache updates: buffered per transaction, deduplicated, applied once after commit
+ * and discarded on rollback (Redis template mocked, transactions driven by a resourceless transaction manager)
+ */
+class TaskCacheWriteBufferUnitTest {
+
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    private final CacheGenerationService generations = new CacheGenerationService(redisTemplate,
+            new CacheInvalidationBus(redisTemplate), new AdaptiveTtlPolicy(new MockEnvironment()),
+            new RedisCircuitBreaker(new MockEnvironment()), Duration.ofMinutes(1), 100_000);
+    private final TaskCacheService taskCacheService = spy(new TaskCacheService(null, generations, null, null));
+    private final BoardTaskViewCache boardTaskViewCache = mock(BoardTaskViewCache.class);
+    private final TaskExistenceFilter taskExistenceFilter = mock(TaskExistenceFilter.class);
+    private final TaskCacheWriteBuffer buffer = new TaskCacheWriteBuffer(taskCacheService, boardTaskViewCache,
+            taskExistenceFilter);
+    private final TransactionTemplate transactions = new TransactionTemplate(new ResourcelessTransactionManager());
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testUpdatesAreAppliedOnceAfterCommitAndDeduplicated() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenReturn(List.of(3L, 4L));
+        TaskResponse first = task("task-1", TaskStatus.TODO);
+        TaskResponse second = task("task-1", TaskStatus.IN_PROGRESS);
+
+        transactions.executeWithoutResult(status -> {
+            // two service writes to the same task in one transaction
+            buffer.current().cacheTask("task-1", first).upsertBoardView(first).invalidation().userStatus("alice");
+            buffer.current().cacheTask("task-1", second).upsertBoardView(second).invalidation().userStatus("alice");
+            buffer.current().submit();
+
+            verifyNoInteractions(boardTaskViewCache, redisTemplate);
+            verify(taskCacheService, never()).cacheTask(anyString(), any());
+        });
+
+        InOrder order = inOrder(taskCacheService, boardTaskViewCache, redisTemplate);
+        order.verify(taskCacheService).cacheTask("task-1", second);
+        order.verify(boardTaskViewCache).upsert(second);
+        ArgumentCaptor<List<String>> keys = ArgumentCaptor.forClass(List.class);
+        order.verify(redisTemplate, times(1)).execute(any(RedisScript.class), keys.capture(), any(Object[].class));
+        assertEquals(List.of("cache_gen:user-status:alice"), keys.getValue());
+        verify(taskCacheService, times(1)).cacheTask(anyString(), any());
+        verify(boardTaskViewCache, times(1)).upsert(any());
+
+        TaskCacheWriteBuffer.WriteBufferStats stats = buffer.getStats();
+        assertEquals(1, stats.getCommittedTransactions());
+        assertEquals(4, stats.getRecordedOperations());
+        assertEquals(2, stats.getDeduplicatedOperations());
+    }
+
+    @Test
+    void testRolledBackWritesNeverReachTheCache() {
+        assertThrows(IllegalStateException.class, () -> transactions.executeWithoutResult(status -> {
+            TaskCacheWrites writes = buffer.current().cacheTask("task-1", task("task-1", TaskStatus.DONE))
+                    .upsertBoardView(task("task-1", TaskStatus.DONE))
+                    .deleteTask("task-2");
+            writes.invalidation().user("alice").overdue();
+            writes.submit();
+            throw new IllegalStateException("constraint violation");
+        }));
+
+        verify(taskCacheService, never()).cacheTask(anyString(), any());
+        verifyNoInteractions(boardTaskViewCache, redisTemplate, taskExistenceFilter);
+        assertEquals(1, buffer.getStats().getRolledBackTransactions());
+        assertEquals(0, buffer.getStats().getCommittedTransactions());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testDeleteCancelsPendingPutAndFailedPutUnlinksTheEntry() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenReturn(List.of());
+        doThrow(new IllegalStateException("serialization failed")).when(taskCacheService)
+                .cacheTask("task-2", task("task-2", TaskStatus.TODO));
+
+        transactions.executeWithoutResult(status -> {
+            buffer.current().cacheTask("task-1", task("task-1", TaskStatus.TODO))
+                    .cacheTask("task-2", task("task-2", TaskStatus.TODO))
+                    .removeFromBoardView("board-1", "task-1")
+                    .deleteTask("task-1");
+        });
+
+        verify(taskCacheService, never()).cacheTask("task-1", task("task-1", TaskStatus.TODO));
+        verify(boardTaskViewCache).remove("board-1", "task-1");
+        ArgumentCaptor<List<String>> keys = ArgumentCaptor.forClass(List.class);
+        verify(redisTemplate, times(1)).execute(any(RedisScript.class), keys.capture(), any(Object[].class));
+        // the delete bumps the deleted tasks generation ahead of its unlink, which read-ahead seeds check
+        assertEquals(List.of("cache_gen:deleted_tasks", "tasks::task-1", "cache_index:tasks", "tasks::task-2",
+                "cache_index:tasks"), keys.getValue());
+        verify(taskExistenceFilter).recordDeleted("task-1");
+        assertEquals(1, buffer.getStats().getFailedOperations());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCreatedTasksReachTheLocalFilterAfterCommit() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenReturn(List.of());
+
+        transactions.executeWithoutResult(status -> {
+            buffer.current().createTask("task-1").cacheTask("task-1", task("task-1", TaskStatus.TODO)).submit();
+            verifyNoInteractions(taskExistenceFilter);
+        });
+
+        verify(taskExistenceFilter).recordCreated("task-1");
+    }
+
+    @Test
+    void testWritesOutsideTransactionsAreAppliedOnSubmit() {
+        TaskResponse task = task("task-1", TaskStatus.TODO);
+
+        TaskCacheWrites writes = buffer.current().cacheTask("task-1", task).upsertBoardView(task);
+        verifyNoInteractions(boardTaskViewCache);
+        writes.submit();
+
+        verify(taskCacheService).cacheTask("task-1", task);
+        verify(boardTaskViewCache).upsert(task);
+        assertEquals(1, buffer.getStats().getImmediateWrites());
+    }
+
+    private static TaskResponse task(String id, TaskStatus status) {
+        return TaskResponse.builder().id(id).boardId("board-1").title("Task " + id).status(status).build();
+    }
+
+    /**
+     * Transaction manager without a resource: only drives the synchronization callbacks
+     */
+    private static final class ResourcelessTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.company.app.infrastructure.redis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.mock.env.MockEnvironment;
+
+import com.company.app.infrastructure.redis.cache.near.BloomFilter;
+import com.company.app.infrastructure.redis.cache.near.CacheInvalidationBus;
+import com.company.app.modules.taskCore.domain.repository.TaskRepository;
+import com.company.app.modules.taskCore.infrastructure.cache.TaskExistenceFilter;
+
+/**
+ * Unit tests for the Bloom filter and negative cache guarding task reads (without Redis dependency)
+ */
+class TaskExistenceFilterUnitTest {
+
+    private final TaskRepository taskRepository = mock(TaskRepository.class);
+    private final TaskExistenceFilter filter = new TaskExistenceFilter(taskRepository,
+            new MockEnvironment().withProperty("app.cache.task-filter.expected-insertions", "10000"),
+            new CacheInvalidationBus(mock(StringRedisTemplate.class)));
+
+    @Test
+    void testBloomFilterHasNoFalseNegativesAndBoundedFalsePositives() {
+        BloomFilter bloom = new BloomFilter(10_000, 0.01);
+        List<String> added = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            String id = UUID.randomUUID().toString();
+            bloom.put(id);
+            added.add(id);
+        }
+
+        added.forEach(id -> assertTrue(bloom.mightContain(id)));
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (bloom.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 300, "False positive rate should stay near 1%, was " + falsePositives);
+    }
+
+    @Test
+    void testEverythingPassesUntilFirstRebuild() {
+        assertTrue(filter.mightExist(UUID.randomUUID().toString()));
+        assertFalse(filter.rejects(UUID.randomUUID().toString()));
+    }
+
+    @Test
+    void testUnknownIdsAreRejectedOnceConfirmedMissing() {
+        UUID existing = UUID.randomUUID();
+        when(taskRepository.findIdsAfter(eq(new UUID(0L, 0L)), any(Pageable.class))).thenReturn(List.of(existing));
+        when(taskRepository.findIdsAfter(eq(existing), any(Pageable.class))).thenReturn(List.of());
+
+        filter.rebuild();
+
+        String unknown = UUID.randomUUID().toString();
+        assertTrue(filter.mightExist(existing.toString()));
+        // ruled out by the Bloom filter: skips the cache, but the database is still asked once
+        assertFalse(filter.mightExist(unknown));
+        assertFalse(filter.rejects(unknown));
+
+        filter.recordMissing(unknown);
+        assertTrue(filter.rejects(unknown));
+        assertEquals(1, filter.getStats().getBloomRejections());
+        assertEquals(1, filter.getStats().getNegativeHits());
+    }
+
+    @Test
+    void testTaskFoundDespiteTheFilterIsAddedToIt() {
+        when(taskRepository.findIdsAfter(any(UUID.class), any(Pageable.class))).thenReturn(List.of());
+        filter.rebuild();
+
+        // created on another node whose broadcast never arrived
+        String created = UUID.randomUUID().toString();
+        assertFalse(filter.mightExist(created));
+
+        filter.recordFound(created);
+        filter.recordFound(created);
+
+        assertTrue(filter.mightExist(created));
+        assertEquals(1, filter.getStats().getMissedCreations());
+    }
+
+    @Test
+    void testCreatedAndMissingIdsAreTracked() {
+        when(taskRepository.findIdsAfter(any(UUID.class), any(Pageable.class))).thenReturn(List.of());
+        filter.rebuild();
+
+        String created = UUID.randomUUID().toString();
+        filter.recordCreated(created);
+        assertTrue(filter.mightExist(created));
+
+        filter.recordDeleted(created);
+        assertFalse(filter.mightExist(created));
+        assertTrue(filter.rejects(created));
+        assertEquals(1, filter.getStats().getNegativeHits());
+    }
+
+    @Test
+    void testIdsCreatedDuringRebuildSurviveTheSwap() {
+        String createdMidScan = UUID.randomUUID().toString();
+        when(taskRepository.findIdsAfter(any(UUID.class), any(Pageable.class))).thenAnswer(invocation -> {
+            // the new task is not yet visible to the scan
+            filter.recordCreated(createdMidScan);
+            return List.of();
+        });
+
+        filter.rebuild();
+
+        assertTrue(filter.mightExist(createdMidScan));
+    }
+}
@@ -0,0 +1,112 @@
+package com.company.app.infrastructure.redis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import com.company.app.infrastructure.redis.cache.CacheKeyIndex;
+import com.company.app.infrastructure.redis.config.CacheConfig;
+import com.company.app.modules.taskCore.application.dto.TaskResponse;
+import com.company.app.modules.taskCore.domain.valueobject.TaskStatus;
+import com.company.app.modules.taskCore.infrastructure.cache.TaskCacheBinarySerializer;
+import com.company.app.modules.taskCore.infrastructure.cache.TaskIdListCache;
+
+/**
+ * Unit tests for id-list caching with MGET hydration (Redis connection mocked)
+ */
+class TaskIdListCacheUnitTest {
+
+    private final RedisSerializer<Object> serializer = new TaskCacheBinarySerializer(CacheConfig.jsonSerializer());
+    private final RedisConnectionFactory connectionFactory = mock(RedisConnectionFactory.class);
+    private final RedisConnection connection = mock(RedisConnection.class);
+    private final RedisStringCommands stringCommands = mock(RedisStringCommands.class);
+    private final List<Collection<String>> databaseLookups = new ArrayList<>();
+
+    private TaskIdListCache idListCache;
+
+    @BeforeEach
+    void setUp() {
+        when(connectionFactory.getConnection()).thenReturn(connection);
+        when(connection.stringCommands()).thenReturn(stringCommands);
+        when(connection.zSetCommands()).thenReturn(mock(RedisZSetCommands.class));
+        idListCache = new TaskIdListCache(new ConcurrentMapCacheManager("userTasks"), connectionFactory,
+                serializer, new CacheKeyIndex(connectionFactory, 100));
+    }
+
+    @Test
+    void testHydrationFetchesOnlyMissingTasks() {
+        // cached: a and c; b is missing from the tasks region
+        when(connection.closePipeline()).thenReturn(List.of(Arrays.asList(
+                serializer.serialize(task("a")), null, serializer.serialize(task("c")))));
+
+        List<TaskResponse> tasks = idListCache.hydrate(List.of("a", "b", "c"), this::findByIds);
+
+        assertEquals(List.of("a", "b", "c"), tasks.stream().map(TaskResponse::getId).toList());
+        assertEquals(List.of(List.of("b")), databaseLookups);
+        // loaded from the database: never overwrites a newer copy written meanwhile
+        verify(stringCommands).set(eq(key("b")), any(byte[].class), any(), eq(SetOption.ifAbsent()));
+        assertEquals(1, idListCache.getStats().getIdsFromDatabase());
+    }
+
+    @Test
+    void testDeletedTasksAreDropped() {
+        when(connection.closePipeline()).thenReturn(List.of(Arrays.asList(
+                serializer.serialize(task("a")), null)));
+
+        List<TaskResponse> tasks = idListCache.hydrate(List.of("a", "gone"), ids -> List.of());
+
+        assertEquals(List.of("a"), tasks.stream().map(TaskResponse::getId).toList());
+    }
+
+    @Test
+    void testListMissCachesIdsAndSkipsHydration() {
+        List<TaskResponse> first = idListCache.get("userTasks", "user_task:u1:v0",
+                () -> List.of(task("x"), task("y")), this::findByIds);
+
+        assertEquals(List.of("x", "y"), first.stream().map(TaskResponse::getId).toList());
+        verify(stringCommands, never()).mGet(any(byte[][].class));
+        verify(stringCommands, times(2)).set(any(byte[].class), any(byte[].class), any(), any());
+
+        when(connection.closePipeline()).thenReturn(List.of(Arrays.asList(
+                serializer.serialize(task("x")), serializer.serialize(task("y")))));
+        List<TaskResponse> second = idListCache.get("userTasks", "user_task:u1:v0",
+                () -> List.of(), this::findByIds);
+
+        assertEquals(List.of("x", "y"), second.stream().map(TaskResponse::getId).toList());
+        assertEquals(List.of(), databaseLookups);
+    }
+
+    private List<TaskResponse> findByIds(Collection<String> ids) {
+        databaseLookups.add(List.copyOf(ids));
+        return ids.stream().map(TaskIdListCacheUnitTest::task).toList();
+    }
+
+    private static TaskResponse task(String id) {
+        return TaskResponse.builder().id(id).title("Task " + id).status(TaskStatus.TODO).build();
+    }
+
+    private static byte[] key(String id) {
+        return ("tasks::" + id).getBytes(StandardCharsets.UTF_8);
+    }
+}
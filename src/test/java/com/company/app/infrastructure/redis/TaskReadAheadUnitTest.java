@@ -0,0 +1,182 @@
+package com.company.app.infrastructure.redis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.mock.env.MockEnvironment;
+
+import com.company.app.infrastructure.redis.cache.CacheGenerationService;
+import com.company.app.infrastructure.redis.cache.CacheInvalidationBatch;
+import com.company.app.infrastructure.redis.cache.readahead.ReadAheadCache.ReadAheadStats;
+import com.company.app.infrastructure.redis.cache.readahead.ReadAheadCacheDecorator;
+import com.company.app.modules.taskCore.application.dto.TaskResponse;
+import com.company.app.modules.taskCore.infrastructure.cache.TaskIdListCache;
+import com.company.app.modules.taskCore.infrastructure.cache.TaskReadAhead;
+import com.company.app.modules.taskCore.infrastructure.cache.TaskReadAhead.ListType;
+
+/**
+ * Unit tests for read-ahead of list elements into the tasks region and the hit tracking behind its metric
+ * (the pipelined SET NX is mocked; the tasks region is an in-memory cache)
+ */
+class TaskReadAheadUnitTest {
+
+    private final MockEnvironment environment = new MockEnvironment()
+            .withProperty("app.cache.read-ahead.lists", "board,user")
+            .withProperty("app.cache.read-ahead.batch-size", "2")
+            .withProperty("app.cache.read-ahead.max-tasks-per-list", "5");
+    private final ReadAheadCacheDecorator decorator = new ReadAheadCacheDecorator(environment);
+    private final TaskIdListCache taskIdListCache = mock(TaskIdListCache.class);
+    private final CacheGenerationService generations = mock(CacheGenerationService.class);
+    private final TaskReadAhead readAhead = new TaskReadAhead(taskIdListCache, generations, decorator, environment);
+
+    @AfterEach
+    void tearDown() {
+        readAhead.destroy();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testBoardLoadIsSeededInBoundedBatches() {
+        when(taskIdListCache.seedIfAbsent(anyList(), any(Duration.class))).thenAnswer(invocation -> {
+            List<TaskResponse> batch = invocation.getArgument(0);
+            // the first task was already cached by a write; SET NX leaves it alone
+            return batch.stream().map(TaskResponse::getId).filter(id -> !id.equals("task-0")).toList();
+        });
+        decorator.decorate(new ConcurrentMapCache("tasks"));
+
+        readAhead.seed(ListType.BOARD, tasks(7), readAhead.mark());
+
+        verify(taskIdListCache, timeout(2000).times(3)).seedIfAbsent(anyList(), any(Duration.class));
+        awaitBatches(3);
+        TaskReadAhead.ReadAheadPolicyStats stats = readAhead.getStats();
+        assertEquals(4, stats.getSeededTasks());
+        assertEquals(1, stats.getSkippedExisting());
+        assertEquals(1, stats.getTriggeredLists().get("board"));
+        assertEquals(4, stats.getTasksRegion().getSeededKeys());
+    }
+
+    @Test
+    void testListTypesOutsideThePolicyAreNotSeeded() {
+        readAhead.seed(ListType.STATUS, tasks(3), 0);
+        readAhead.seed(ListType.BOARD, List.of(), 0);
+
+        verify(taskIdListCache, never()).seedIfAbsent(anyList(), any(Duration.class));
+        assertEquals(0, readAhead.getStats().getTriggeredLists().get("status"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testDeleteBetweenListLoadAndSeedUnlinksTheSeededTasks() {
+        when(generations.newBatch()).thenCallRealMethod();
+        when(generations.currentGeneration("deleted_tasks")).thenReturn(3L);
+        // the list is loaded at generation 3; a delete commits before the first batch is written
+        when(generations.storedGeneration("deleted_tasks")).thenReturn(3L, 4L);
+        when(taskIdListCache.seedIfAbsent(anyList(), any(Duration.class))).thenAnswer(invocation ->
+                ((List<TaskResponse>) invocation.getArgument(0)).stream().map(TaskResponse::getId).toList());
+        decorator.decorate(new ConcurrentMapCache("tasks"));
+
+        long mark = readAhead.mark();
+        List<TaskResponse> loaded = tasks(5);
+        readAhead.seed(ListType.BOARD, loaded, mark);
+
+        ArgumentCaptor<CacheInvalidationBatch> unlinked = ArgumentCaptor.forClass(CacheInvalidationBatch.class);
+        verify(generations, timeout(2000)).invalidate(unlinked.capture());
+        // the written batch is removed again and the rest of the stale list is never written
+        assertEquals(List.of("task-0", "task-1"), List.copyOf(unlinked.getValue().getKeys().get("tasks")));
+        verify(taskIdListCache, times(1)).seedIfAbsent(anyList(), any(Duration.class));
+        awaitStats(stats -> stats.getUnlinkedStale() == 2);
+        TaskReadAhead.ReadAheadPolicyStats stats = readAhead.getStats();
+        assertEquals(1, stats.getStaleLists());
+        assertEquals(0, stats.getSeededTasks());
+        assertEquals(0, stats.getTasksRegion().getSeededKeys());
+    }
+
+    @Test
+    void testListLoadedBeforeADeleteIsNotSeeded() {
+        when(generations.currentGeneration(anyString())).thenReturn(3L);
+        when(generations.storedGeneration(anyString())).thenReturn(4L);
+
+        readAhead.seed(ListType.BOARD, tasks(3), readAhead.mark());
+
+        awaitStats(stats -> stats.getStaleLists() == 1);
+        verify(taskIdListCache, never()).seedIfAbsent(anyList(), any(Duration.class));
+        verify(generations, never()).invalidate(any());
+    }
+
+    @Test
+    void testLaterReadsOfSeededKeysAreCountedOnce() {
+        ConcurrentMapCache redis = new ConcurrentMapCache("tasks");
+        Cache tasks = decorator.decorate(redis);
+        List<TaskResponse> loaded = tasks(3);
+        loaded.forEach(task -> redis.put(task.getId(), task)); // written by the id list load itself
+
+        readAhead.recordSeeded(ListType.USER, loaded);
+
+        tasks.get("task-0", () -> null);
+        tasks.get("task-0", () -> null);
+        tasks.get("task-1");
+        tasks.put("task-2", loaded.get(2)); // rewritten by a task update: no longer the read-ahead copy
+        tasks.get("task-2");
+
+        ReadAheadStats stats = decorator.getStats().get("tasks");
+        assertEquals(3, stats.getSeededKeys());
+        assertEquals(2, stats.getHits());
+        assertEquals(0, stats.getMissedAfterSeed());
+        assertEquals(0, stats.getTrackedKeys());
+    }
+
+    @Test
+    void testSeededKeyMissingFromRedisIsNotAHit() {
+        Cache tasks = decorator.decorate(new ConcurrentMapCache("tasks"));
+        decorator.recordSeeded("tasks", List.of("task-0"));
+
+        assertEquals("db", tasks.get("task-0", () -> "db"));
+
+        ReadAheadStats stats = decorator.getStats().get("tasks");
+        assertEquals(0, stats.getHits());
+        assertEquals(1, stats.getMissedAfterSeed());
+    }
+
+    private void awaitBatches(long expected) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(2).toNanos();
+        while (readAhead.getStats().getBatches() < expected) {
+            assertTrue(System.nanoTime() < deadline, "Read-ahead batches not written within 2s");
+            Thread.onSpinWait();
+        }
+    }
+
+    private void awaitStats(Predicate<TaskReadAhead.ReadAheadPolicyStats> condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(2).toNanos();
+        while (!condition.test(readAhead.getStats())) {
+            assertTrue(System.nanoTime() < deadline, "Read-ahead stats not reached within 2s");
+            Thread.onSpinWait();
+        }
+    }
+
+    private static List<TaskResponse> tasks(int count) {
+        List<TaskResponse> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tasks.add(TaskResponse.builder().id("task-" + i).boardId("board-1").title("Task " + i).build());
+        }
+        return tasks;
+    }
+}